@@ -0,0 +1,128 @@
+package com.allan.javazure.controller;
+
+import com.allan.javazure.JavazureApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares {@code POST /messages} with the same request on the message fast lane, against the
+ * application running on the fake Firestore without write latency, so the difference is the
+ * filter chain and handler dispatch each route goes through. Latency is sampled per request;
+ * after each iteration the process CPU time per request is printed. Client and server share
+ * the JVM, so the CPU figure includes the client, which is the same for both routes.
+ * Run with {@code mvn -Pbenchmark -DskipTests integration-test -Dbenchmark.include=MessageFastLaneBenchmark}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class MessageFastLaneBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private ConfigurableApplicationContext application;
+    private HttpClient http;
+    private URI messagesUri;
+    private URI fastLaneUri;
+    private long cpuAtStart;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        application = SpringApplication.run(JavazureApplication.class,
+                "--spring.profiles.active=fake-firestore",
+                "--server.port=0",
+                "--messages.fast-lane.enabled=true",
+                "--messages.fast-lane.path=/messages/fast",
+                "--fake-firestore.read-latency=none",
+                "--fake-firestore.write-latency=none",
+                "--messages.limiter.enabled=false",
+                "--logging.level.root=WARN");
+        int httpPort = ((WebServerApplicationContext) application).getWebServer().getPort();
+
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        messagesUri = URI.create("http://127.0.0.1:" + httpPort + "/messages");
+        fastLaneUri = URI.create("http://127.0.0.1:" + httpPort + "/messages/fast");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        application.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startCpuMeasurement() {
+        requests.set(0);
+        cpuAtStart = os.getProcessCpuTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportCpuPerRequest() {
+        long count = requests.get();
+        if (count > 0) {
+            System.out.printf("%n%.1f us CPU per request (%d requests)%n",
+                    (os.getProcessCpuTime() - cpuAtStart) / 1000.0 / count, count);
+        }
+    }
+
+    @Benchmark
+    public int controller() throws Exception {
+        return post(messagesUri);
+    }
+
+    @Benchmark
+    public int fastLane() throws Exception {
+        return post(fastLaneUri);
+    }
+
+    private int post(URI uri) throws Exception {
+        String body = "{\"author\":\"Benchmark\",\"content\":\"" + content() + "\"}";
+        HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        requests.incrementAndGet();
+        return response.statusCode();
+    }
+
+    /**
+     * Distinct content per message, so none is suppressed as a resend.
+     */
+    private String content() {
+        return "Benchmark message number " + sequence.incrementAndGet()
+                + " with a few sentences of typical length for the contact form.";
+    }
+}
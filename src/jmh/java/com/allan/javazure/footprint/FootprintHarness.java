@@ -0,0 +1,219 @@
+package com.allan.javazure.footprint;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Boots the application once per profile set, drives the same message workload against each
+ * and reports resident set size, heap, metaspace and live threads afterwards.
+ * Every run uses the in-memory fake Firestore, so the numbers depend on nothing but the build.
+ * <p>
+ * Run with {@code mvn -Pbenchmark -DskipTests test-compile exec:exec@footprint}, tuned by the
+ * {@code footprint.*} Maven properties: {@code profiles} (runs separated by {@code ;}),
+ * {@code requests}, {@code concurrency}, {@code jvm-args} for the application JVM, and
+ * {@code max-rss-mb}, above which a run fails the harness so regressions break the build.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public final class FootprintHarness {
+
+    private static final String MAIN_CLASS = "com.allan.javazure.JavazureApplication";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private final int requests = Integer.getInteger("footprint.requests", 2000);
+    private final int concurrency = Integer.getInteger("footprint.concurrency", 8);
+    private final long maxRssMb = Long.getLong("footprint.max-rss-mb", 0);
+    private final List<String> jvmArgs = Arrays.stream(System.getProperty("footprint.jvm-args",
+            "-XX:MaxRAMPercentage=60 -XX:+UseSerialGC -Xss512k").trim().split("\\s+"))
+            .filter(arg -> !arg.isEmpty()).toList();
+    private final Path logDirectory = Path.of(System.getProperty("footprint.log-directory", "target/footprint"));
+
+    private FootprintHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new FootprintHarness().run(System.getProperty("footprint.profiles", "default;lean").split(";"));
+    }
+
+    private void run(String[] profileSets) throws Exception {
+        Files.createDirectories(logDirectory);
+        List<Footprint> results = new ArrayList<>();
+        for (String profiles : profileSets) {
+            results.add(measure(profiles.trim()));
+        }
+
+        System.out.printf("%nFootprint after %d messages at concurrency %d (JVM args: %s)%n",
+                requests, concurrency, String.join(" ", jvmArgs));
+        System.out.printf("%-16s %10s %10s %10s %12s %8s %10s%n",
+                "profiles", "startup s", "RSS MB", "heap MB", "metaspace MB", "threads", "errors");
+        boolean exceeded = false;
+        for (Footprint result : results) {
+            System.out.printf("%-16s %10.1f %10.1f %10.1f %12.1f %8d %10d%n", result.profiles(),
+                    result.startupSeconds(), result.rssMb(), result.heapMb(), result.metaspaceMb(),
+                    result.threads(), result.errors());
+            exceeded |= maxRssMb > 0 && result.rssMb() > maxRssMb;
+        }
+        if (exceeded) {
+            System.out.printf("RSS exceeds the budget of %d MB%n", maxRssMb);
+            System.exit(1);
+        }
+    }
+
+    private Footprint measure(String profiles) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        String activeProfiles = profiles.equals("default") ? "fake-firestore" : "fake-firestore," + profiles;
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), MAIN_CLASS,
+                "--spring.profiles.active=" + activeProfiles,
+                "--server.port=" + port,
+                "--management.endpoints.web.exposure.include=health,metrics",
+                "--fake-firestore.read-latency=fixed:PT0.001S",
+                "--fake-firestore.write-latency=fixed:PT0.002S",
+                "--messages.limiter.enabled=false",
+                "--logging.level.root=WARN"));
+        Path log = logDirectory.resolve(profiles.replace(',', '-') + ".log");
+        Process app = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+
+        try {
+            URI base = URI.create("http://127.0.0.1:" + port);
+            long started = System.nanoTime();
+            awaitHealthy(app, base.resolve("/actuator/health"), log);
+            double startupSeconds = (System.nanoTime() - started) / 1e9;
+
+            int errors = drive(base.resolve("/messages"));
+            Thread.sleep(2000); // let request threads and buffers settle
+
+            return new Footprint(profiles, startupSeconds, rssKb(app.pid()) / 1024.0,
+                    metric(base, "jvm.memory.used", "area:heap") / (1024 * 1024),
+                    metric(base, "jvm.memory.used", "id:Metaspace") / (1024 * 1024),
+                    (int) metric(base, "jvm.threads.live", null), errors);
+        } finally {
+            app.destroy();
+            if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                app.destroyForcibly();
+            }
+        }
+    }
+
+    private void awaitHealthy(Process app, URI health, Path log) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Application exited during startup, see " + log);
+            }
+            try {
+                if (http.send(HttpRequest.newBuilder(health).GET().build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Application did not become healthy within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    /**
+     * Posts the workload's messages, each with distinct content so none is suppressed as a resend.
+     *
+     * @return The number of requests that did not succeed
+     */
+    private int drive(URI messages) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(clients.submit(() -> {
+                    for (int n = next.getAndIncrement(); n < requests; n = next.getAndIncrement()) {
+                        String body = "{\"author\":\"Footprint\",\"content\":\"Workload message number " + n
+                                + " with a few sentences of typical length for the contact form.\"}";
+                        HttpRequest request = HttpRequest.newBuilder(messages)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                                .build();
+                        try {
+                            if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        return errors.get();
+    }
+
+    /**
+     * Sums the measurement of an actuator metric, optionally narrowed by one tag.
+     */
+    private double metric(URI base, String name, String tag) throws Exception {
+        URI uri = base.resolve("/actuator/metrics/" + name + (tag != null ? "?tag=" + tag : ""));
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+        return measurements.isEmpty() ? Double.NaN : measurements.get(0).path("value").asDouble();
+    }
+
+    /**
+     * Reads the resident set size of a process from {@code /proc}, or from {@code ps} elsewhere.
+     */
+    private static long rssKb(long pid) throws Exception {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (Files.isReadable(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+        String output = new String(ps.getInputStream().readAllBytes(), StandardCharsets.US_ASCII).trim();
+        ps.waitFor();
+        return output.isEmpty() ? -1 : Long.parseLong(output);
+    }
+
+    private record Footprint(String profiles, double startupSeconds, double rssMb, double heapMb,
+                             double metaspaceMb, int threads, int errors) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.allan.javazure.grpc;
+
+import com.allan.javazure.JavazureApplication;
+import com.allan.javazure.grpc.v1.CreateMessageRequest;
+import com.allan.javazure.grpc.v1.MessageIngestionGrpc;
+import com.allan.javazure.grpc.v1.SaveMessagesResponse;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares message ingestion through {@code POST /messages} with the gRPC {@code SaveMessage}
+ * and {@code SaveMessages} calls, against the application running on the fake Firestore
+ * without write latency. Throughput is reported in messages per second; after each iteration
+ * the process CPU time per message is printed. Client and server share the JVM, so the CPU
+ * figure includes encoding on both sides, as a producer and this service would pay together.
+ * Run with {@code mvn -Pbenchmark -DskipTests integration-test -Dbenchmark.include=IngestionBenchmark}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class IngestionBenchmark {
+
+    private static final int STREAM_SIZE = 100;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private ConfigurableApplicationContext application;
+    private HttpClient http;
+    private URI messagesUri;
+    private ManagedChannel channel;
+    private long cpuAtStart;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        application = SpringApplication.run(JavazureApplication.class,
+                "--spring.profiles.active=fake-firestore",
+                "--server.port=0",
+                "--grpc.server.enabled=true",
+                "--grpc.server.port=0",
+                "--fake-firestore.read-latency=none",
+                "--fake-firestore.write-latency=none",
+                "--messages.limiter.enabled=false",
+                "--logging.level.root=WARN");
+        int httpPort = ((WebServerApplicationContext) application).getWebServer().getPort();
+        int grpcPort = application.getBean(GrpcServerLifecycle.class).getPort();
+
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        messagesUri = URI.create("http://127.0.0.1:" + httpPort + "/messages");
+        channel = NettyChannelBuilder.forAddress("127.0.0.1", grpcPort).usePlaintext().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        application.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startCpuMeasurement() {
+        messages.set(0);
+        cpuAtStart = os.getProcessCpuTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportCpuPerMessage() {
+        long count = messages.get();
+        if (count > 0) {
+            System.out.printf("%n%.1f us CPU per message (%d messages)%n",
+                    (os.getProcessCpuTime() - cpuAtStart) / 1000.0 / count, count);
+        }
+    }
+
+    @Benchmark
+    public int restPost() throws Exception {
+        String body = "{\"author\":\"Benchmark\",\"content\":\"" + content() + "\"}";
+        HttpResponse<Void> response = http.send(HttpRequest.newBuilder(messagesUri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        messages.incrementAndGet();
+        return response.statusCode();
+    }
+
+    @Benchmark
+    public String grpcUnary() {
+        String id = MessageIngestionGrpc.newBlockingStub(channel)
+                .saveMessage(request())
+                .getMessageId();
+        messages.incrementAndGet();
+        return id;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STREAM_SIZE)
+    public long grpcStream() throws Exception {
+        CompletableFuture<SaveMessagesResponse> response = new CompletableFuture<>();
+        StreamObserver<CreateMessageRequest> requests = MessageIngestionGrpc.newStub(channel)
+                .saveMessages(new StreamObserver<>() {
+                    @Override
+                    public void onNext(SaveMessagesResponse value) {
+                        response.complete(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        response.completeExceptionally(error);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+        for (int i = 0; i < STREAM_SIZE; i++) {
+            requests.onNext(request());
+        }
+        requests.onCompleted();
+        messages.addAndGet(STREAM_SIZE);
+        return response.get(1, TimeUnit.MINUTES).getSaved();
+    }
+
+    private CreateMessageRequest request() {
+        return CreateMessageRequest.newBuilder().setAuthor("Benchmark").setContent(content()).build();
+    }
+
+    /**
+     * Distinct content per message, so none is suppressed as a resend.
+     */
+    private String content() {
+        return "Benchmark message number " + sequence.incrementAndGet()
+                + " with a few sentences of typical length for the contact form.";
+    }
+}
@@ -0,0 +1,80 @@
+package com.allan.javazure.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.Normalizer;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures {@link MessageSanitizer} against the straightforward multi-pass equivalent
+ * (normalize, then one regular expression per rule, then trim) on typical message shapes.
+ * Run with {@code mvn -Pbenchmark -DskipTests integration-test -Dbenchmark.include=MessageSanitizer};
+ * add {@code -prof gc} to the JMH arguments to compare allocation per call.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageSanitizerBenchmark {
+
+    private static final Pattern STRIPPED =
+            Pattern.compile("[\\p{Cc}&&[^\\t\\n\\r\\u0085]]|[\\u00AD\\u180E\\u200B\\u200E\\u200F\\u202A-\\u202E\\u2060-\\u2064\\u2066-\\u2069\\uFEFF]");
+    private static final Pattern LINE_BREAK = Pattern.compile("\\r\\n?|[\\u0085\\u2028\\u2029]");
+    private static final Pattern SPACES = Pattern.compile("[\\t\\p{Zs}]+");
+    private static final Pattern SPACE_AROUND_BREAK = Pattern.compile(" ?\\n ?");
+    private static final Pattern BREAK_RUN = Pattern.compile("\\n{3,}");
+
+    /**
+     * Shape of the benchmarked message: already clean ASCII, clean accented text,
+     * pasted text needing changes, and text in decomposed form.
+     */
+    @Param({"CLEAN_ASCII", "CLEAN_UNICODE", "DIRTY", "DECOMPOSED"})
+    public String shape;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        String sentence = switch (shape) {
+            case "CLEAN_ASCII" -> "Hi Allan, I enjoyed the talk on Azure Container Apps. Could you share the slides?";
+            case "CLEAN_UNICODE" -> "Ol\u00E1 Allan, adorei a palestra sobre Azure. Voc\u00EA poderia compartilhar os slides? Obrigado!";
+            case "DIRTY" -> "\uFEFFHi  Allan,\u200B I enjoyed\tthe talk\r\n\r\n\r\non Azure\u00A0Container Apps.\u0007 ";
+            case "DECOMPOSED" -> "Ola\u0301 Allan, adorei a palestra. Voce\u0302 poderia compartilhar? Obrigado\u0300!";
+            default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+        };
+        // About 500 characters, a typical contact form message.
+        text = (sentence + "\n").repeat(6).strip();
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return MessageSanitizer.sanitize(text);
+    }
+
+    @Benchmark
+    public String multiPass() {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+        String stripped = STRIPPED.matcher(normalized).replaceAll("");
+        String lines = LINE_BREAK.matcher(stripped).replaceAll("\n");
+        String spaces = SPACES.matcher(lines).replaceAll(" ");
+        String breaks = SPACE_AROUND_BREAK.matcher(spaces).replaceAll("\n");
+        return BREAK_RUN.matcher(breaks).replaceAll("\n\n").strip();
+    }
+}
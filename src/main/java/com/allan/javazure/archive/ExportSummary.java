@@ -0,0 +1,22 @@
+package com.allan.javazure.archive;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of a single export run.
+ *
+ * @param exportId The identifier of the run, also used as the segment file prefix
+ * @param from The inclusive lower bound of {@code createdAt} that was exported
+ * @param to The exclusive upper bound of {@code createdAt}, stored as the new watermark
+ * @param documents The number of documents written
+ * @param segments The segment files written
+ * @param durationMillis The wall-clock duration of the run
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record ExportSummary(String exportId, Instant from, Instant to, long documents,
+                            List<String> segments, long durationMillis) {
+}
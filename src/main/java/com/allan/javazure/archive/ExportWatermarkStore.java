@@ -0,0 +1,60 @@
+package com.allan.javazure.archive;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Persists the high-water mark of the last successful export.
+ * The mark is the exclusive upper bound of {@code createdAt} that has already been
+ * exported, so the next run only reads documents created after it.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class ExportWatermarkStore {
+
+    private final Path file;
+
+    /**
+     * Constructs a new ExportWatermarkStore backed by the given file.
+     *
+     * @param file The file holding the watermark as an ISO-8601 instant
+     */
+    public ExportWatermarkStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads the stored watermark.
+     *
+     * @return The watermark, or empty if no export has completed yet
+     * @throws IOException if the file exists but cannot be read
+     */
+    public Optional<Instant> read() throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        String value = Files.readString(file, StandardCharsets.UTF_8).trim();
+        return value.isEmpty() ? Optional.empty() : Optional.of(Instant.parse(value));
+    }
+
+    /**
+     * Stores a new watermark, replacing the previous one atomically.
+     *
+     * @param watermark The new watermark
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Instant watermark) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        Files.writeString(temp, watermark.toString(), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
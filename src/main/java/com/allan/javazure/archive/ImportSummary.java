@@ -0,0 +1,20 @@
+package com.allan.javazure.archive;
+
+/**
+ * Result or in-flight progress of an import run.
+ *
+ * @param source The file or directory being imported
+ * @param read The number of records read from the archives
+ * @param written The number of documents confirmed by Firestore
+ * @param failed The number of documents that failed after all retries
+ * @param skipped The number of lines that were malformed or incomplete
+ * @param durationMillis The elapsed wall-clock time
+ * @param documentsPerSecond The confirmed write throughput
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record ImportSummary(String source, long read, long written, long failed, long skipped,
+                            long durationMillis, double documentsPerSecond) {
+}
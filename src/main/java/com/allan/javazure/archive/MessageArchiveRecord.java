@@ -0,0 +1,57 @@
+package com.allan.javazure.archive;
+
+import com.allan.javazure.service.MessageDocument;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentSnapshot;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One line of a message archive file.
+ * Mirrors the fields of a stored message document so that an export can be
+ * replayed into Firestore without losing the original identifiers or timestamps.
+ *
+ * @param messageId The original message identifier
+ * @param author The resolved author name
+ * @param content The message content
+ * @param createdAt The original creation instant
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record MessageArchiveRecord(String messageId, String author, String content, Instant createdAt) {
+
+    /**
+     * Builds an archive record from a stored message document.
+     * Falls back to the document ID when the document has no messageId field.
+     *
+     * @param snapshot The Firestore document snapshot
+     * @return The archive record
+     */
+    public static MessageArchiveRecord fromSnapshot(DocumentSnapshot snapshot) {
+        String messageId = snapshot.getString(MessageDocument.MESSAGE_ID);
+        Timestamp createdAt = snapshot.getTimestamp(MessageDocument.CREATED_AT);
+        return new MessageArchiveRecord(
+                messageId != null ? messageId : snapshot.getId(),
+                snapshot.getString(MessageDocument.AUTHOR),
+                snapshot.getString(MessageDocument.CONTENT),
+                createdAt != null ? MessageDocument.toInstant(createdAt) : null);
+    }
+
+    /**
+     * Converts this record back into the Firestore document representation.
+     *
+     * @return Map representing the message document
+     */
+    public Map<String, Object> toDocument() {
+        Map<String, Object> document = new HashMap<>(8);
+        document.put(MessageDocument.MESSAGE_ID, messageId);
+        document.put(MessageDocument.AUTHOR, author);
+        document.put(MessageDocument.CONTENT, content);
+        document.put(MessageDocument.CREATED_AT, MessageDocument.toTimestamp(createdAt));
+        return document;
+    }
+}
@@ -0,0 +1,57 @@
+package com.allan.javazure.archive;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for triggering and inspecting message exports.
+ * Exposed at {@code /actuator/messageexport} once added to
+ * {@code management.endpoints.web.exposure.include}.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@Endpoint(id = "messageexport")
+public class MessageExportEndpoint {
+
+    private final MessageExportService exportService;
+
+    /**
+     * Constructs a new MessageExportEndpoint.
+     *
+     * @param exportService The service performing the export
+     */
+    public MessageExportEndpoint(MessageExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Reports whether an export is running and the result of the last run.
+     *
+     * @return The export status
+     */
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", exportService.isRunning());
+        status.put("lastExport", exportService.getLastSummary());
+        return status;
+    }
+
+    /**
+     * Runs an incremental export and waits for it to complete.
+     *
+     * @return Summary of the completed run
+     */
+    @WriteOperation
+    public ExportSummary export() {
+        return exportService.export();
+    }
+}
@@ -0,0 +1,283 @@
+package com.allan.javazure.archive;
+
+import com.allan.javazure.config.FirebaseConfig;
+import com.allan.javazure.cost.FirestoreCostScope;
+import com.allan.javazure.service.MessageLayout;
+import com.allan.javazure.service.MessageTimelineReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exports the messages collection to compressed NDJSON archive files.
+ * The pending {@code createdAt} range is split into partitions that are paged through
+ * in parallel, each streaming into its own segment files, so memory use is bounded by
+ * one page per partition and shard. Reads go through {@link MessageTimelineReader},
+ * so any {@link MessageLayout} is exported as one ordered stream. A high-water mark is
+ * stored after every successful run, making subsequent runs incremental.
+ * 
+ * createdAt is stamped before the write commits, so a message may become visible after a
+ * run has read past its createdAt. Each run therefore stops {@code safetyLag} before it
+ * started, and leaves later messages to the next run.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Service
+public class MessageExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageExportService.class);
+
+    private static final DateTimeFormatter EXPORT_ID_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private static final String WATERMARK_FILE = "export.watermark";
+
+    private final Firestore firestore;
+    private final MessageTimelineReader timelineReader;
+    private final ObjectMapper objectMapper;
+    private final Path exportDirectory;
+    private final int partitions;
+    private final int segmentMaxRecords;
+    private final int parallelism;
+    private final Duration safetyLag;
+    private final ExportWatermarkStore watermarkStore;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile ExportSummary lastSummary;
+
+    /**
+     * Constructs a new MessageExportService.
+     *
+     * @param firestore The background Firestore client (can be null for mock mode)
+     * @param layout The layout the messages are stored in
+     * @param objectMapper The mapper used to serialize archive records
+     * @param exportDirectory The directory export runs and the watermark are written to
+     * @param partitions The number of createdAt ranges the pending window is split into
+     * @param pageSize The number of documents fetched per query page
+     * @param segmentMaxRecords The number of records per segment file
+     * @param parallelism The number of partitions exported concurrently
+     * @param safetyLag How long before its start a run stops, longer than any write takes to commit
+     */
+    @Autowired
+    public MessageExportService(@Qualifier(FirebaseConfig.BACKGROUND_FIRESTORE) @Nullable Firestore firestore,
+                                MessageLayout layout,
+                                ObjectMapper objectMapper,
+                                @Value("${messages.export.directory:exports}") String exportDirectory,
+                                @Value("${messages.export.partitions:4}") int partitions,
+                                @Value("${messages.export.page-size:500}") int pageSize,
+                                @Value("${messages.export.segment-max-records:50000}") int segmentMaxRecords,
+                                @Value("${messages.export.parallelism:4}") int parallelism,
+                                @Value("${messages.export.safety-lag:PT30S}") Duration safetyLag) {
+        if (partitions <= 0 || pageSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Export partitions, page size and parallelism must be positive");
+        }
+        if (safetyLag.isNegative()) {
+            throw new IllegalArgumentException("Export safety lag must not be negative");
+        }
+        this.firestore = firestore;
+        this.timelineReader = firestore != null ? new MessageTimelineReader(firestore, layout, pageSize) : null;
+        this.objectMapper = objectMapper;
+        this.exportDirectory = Paths.get(exportDirectory);
+        this.partitions = partitions;
+        this.segmentMaxRecords = segmentMaxRecords;
+        this.parallelism = parallelism;
+        this.safetyLag = safetyLag;
+        this.watermarkStore = new ExportWatermarkStore(this.exportDirectory.resolve(WATERMARK_FILE));
+    }
+
+    /**
+     * Exports every message created since the stored watermark.
+     *
+     * @return Summary of the completed run
+     * @throws IllegalStateException if Firestore is not available or an export is already running
+     * @throws RuntimeException if the export fails; the watermark is left unchanged in that case
+     */
+    public ExportSummary export() {
+        if (firestore == null) {
+            throw new IllegalStateException("Firestore is not available - export requires a database connection");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("An export is already running");
+        }
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open("job:export")) {
+            ExportSummary summary = runExport();
+            lastSummary = summary;
+            return summary;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Checks whether an export is currently running.
+     *
+     * @return true if an export is in progress
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Gets the summary of the last successful export run.
+     *
+     * @return The last summary, or null if no export has completed since startup
+     */
+    @Nullable
+    public ExportSummary getLastSummary() {
+        return lastSummary;
+    }
+
+    private ExportSummary runExport() {
+        long startedAt = System.nanoTime();
+        Instant now = Instant.now();
+        Instant to = now.minus(safetyLag);
+        String exportId = "messages-" + EXPORT_ID_FORMAT.format(now);
+
+        try {
+            Optional<Instant> from = watermarkStore.read().or(timelineReader::findEarliestCreatedAt);
+            List<PartitionResult> results = new ArrayList<>();
+
+            if (from.isPresent() && !from.get().isBefore(to)) {
+                to = from.get(); // Nothing has settled since the last run; never move the watermark back
+            } else if (from.isPresent()) {
+                Path runDirectory = Files.createDirectories(exportDirectory.resolve(exportId));
+                results = exportPartitions(planPartitions(from.get(), to, partitions), runDirectory, exportId);
+            }
+
+            watermarkStore.write(to);
+
+            long documents = results.stream().mapToLong(PartitionResult::records).sum();
+            List<String> segments = results.stream()
+                    .flatMap(result -> result.segments().stream())
+                    .map(Path::toString)
+                    .toList();
+            long durationMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+
+            logger.info("Export {} finished: {} documents in {} segments ({} ms)",
+                       exportId, documents, segments.size(), durationMillis);
+            return new ExportSummary(exportId, from.orElse(to), to, documents, segments, durationMillis);
+
+        } catch (IOException e) {
+            logger.error("Export {} failed while writing archive files", exportId, e);
+            throw new UncheckedIOException("Failed to write message export", e);
+        }
+    }
+
+    private List<PartitionResult> exportPartitions(List<ExportPartition> plan, Path runDirectory, String exportId) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, plan.size()), runnable -> {
+            Thread thread = new Thread(runnable, "message-export-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<PartitionResult>> futures = new ArrayList<>(plan.size());
+            for (ExportPartition partition : plan) {
+                futures.add(executor.submit(FirestoreCostScope.propagate(() -> exportPartition(partition, runDirectory, exportId))));
+            }
+
+            List<PartitionResult> results = new ArrayList<>(plan.size());
+            for (Future<PartitionResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+            throw new RuntimeException("Message export was interrupted", e);
+
+        } catch (ExecutionException e) {
+            logger.error("Export {} failed", exportId, e.getCause());
+            throw new RuntimeException("Message export failed", e.getCause());
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Pages through a single createdAt partition and streams it into segment files.
+     *
+     * @param partition The partition to export
+     * @param runDirectory The directory of the current run
+     * @param exportId The identifier of the current run
+     * @return The number of records and the segments written
+     */
+    private PartitionResult exportPartition(ExportPartition partition, Path runDirectory, String exportId)
+            throws IOException {
+        NdjsonSegmentWriter writer = new NdjsonSegmentWriter(
+                runDirectory, exportId + "-p" + partition.index(), segmentMaxRecords, objectMapper);
+        try (writer) {
+            Iterator<QueryDocumentSnapshot> documents = timelineReader.read(partition.from(), partition.to());
+            while (documents.hasNext()) {
+                writer.write(MessageArchiveRecord.fromSnapshot(documents.next()));
+            }
+        }
+
+        logger.debug("Export partition {} [{} - {}) wrote {} documents",
+                    partition.index(), partition.from(), partition.to(), writer.getRecordCount());
+        return new PartitionResult(writer.getRecordCount(), writer.getSegments());
+    }
+
+    /**
+     * Splits {@code [from, to)} into at most {@code count} contiguous, equally sized ranges.
+     *
+     * @param from The inclusive lower bound
+     * @param to The exclusive upper bound
+     * @param count The desired number of partitions
+     * @return The partitions in ascending order
+     */
+    static List<ExportPartition> planPartitions(Instant from, Instant to, int count) {
+        long totalNanos = Duration.between(from, to).toNanos();
+        int effectiveCount = (int) Math.max(1, Math.min(count, totalNanos));
+        long step = totalNanos / effectiveCount;
+
+        List<ExportPartition> plan = new ArrayList<>(effectiveCount);
+        Instant start = from;
+        for (int i = 0; i < effectiveCount; i++) {
+            Instant end = (i == effectiveCount - 1) ? to : start.plusNanos(step);
+            plan.add(new ExportPartition(i, start, end));
+            start = end;
+        }
+        return plan;
+    }
+
+    /**
+     * A contiguous createdAt range exported by a single worker.
+     */
+    record ExportPartition(int index, Instant from, Instant to) {
+    }
+
+    private record PartitionResult(long records, List<Path> segments) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.allan.javazure.archive;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for restoring message archives and following their progress.
+ * Exposed at {@code /actuator/messageimport} once added to
+ * {@code management.endpoints.web.exposure.include}.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@Endpoint(id = "messageimport")
+public class MessageImportEndpoint {
+
+    private final MessageImportService importService;
+
+    /**
+     * Constructs a new MessageImportEndpoint.
+     *
+     * @param importService The service performing the import
+     */
+    public MessageImportEndpoint(MessageImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Reports the progress of the running import, or the result of the last one.
+     *
+     * @return The import status
+     */
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", importService.isRunning());
+        status.put("progress", importService.getProgress());
+        return status;
+    }
+
+    /**
+     * Imports an archive file or directory on the server and waits for it to complete.
+     *
+     * @param path The archive file or directory, as seen by the application
+     * @return Summary of the completed run
+     */
+    @WriteOperation
+    public ImportSummary importArchives(String path) {
+        return importService.importArchives(Paths.get(path));
+    }
+}
@@ -0,0 +1,277 @@
+package com.allan.javazure.archive;
+
+import com.allan.javazure.config.FirebaseConfig;
+import com.allan.javazure.cost.FirestoreCostScope;
+import com.allan.javazure.cost.ScopePropagatingExecutor;
+import com.allan.javazure.service.MessageLayout;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.BulkWriterOptions;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteResult;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Restores archived messages into the messages collection.
+ * Archives are read with streaming decompression and written through a Firestore
+ * {@link BulkWriter}, which batches writes, adapts its parallelism, and ramps its rate
+ * up following the 500/50/5 rule (start at 500 ops/s, grow by 50% every 5 minutes).
+ * Documents are keyed by their original messageId, so replaying an archive twice is
+ * idempotent and the original createdAt values are preserved.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Service
+public class MessageImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageImportService.class);
+
+    /**
+     * gRPC codes that indicate a transient failure worth retrying.
+     */
+    public static final Set<Status.Code> RETRYABLE_CODES = EnumSet.of(
+            Status.Code.ABORTED, Status.Code.CANCELLED, Status.Code.DEADLINE_EXCEEDED,
+            Status.Code.INTERNAL, Status.Code.RESOURCE_EXHAUSTED, Status.Code.UNAVAILABLE, Status.Code.UNKNOWN);
+
+    private final Firestore firestore;
+    private final MessageLayout layout;
+    private final ObjectMapper objectMapper;
+    private final int initialOpsPerSecond;
+    private final int maxOpsPerSecond;
+    private final int maxInFlight;
+    private final int maxRetryAttempts;
+    private final long progressInterval;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile ImportProgress progress;
+
+    /**
+     * Constructs a new MessageImportService.
+     *
+     * @param firestore The background Firestore client (can be null for mock mode)
+     * @param layout The layout restored messages are written in
+     * @param objectMapper The mapper used to parse archive records
+     * @param initialOpsPerSecond The BulkWriter starting rate
+     * @param maxOpsPerSecond The ceiling the BulkWriter ramps up to
+     * @param maxInFlight The maximum number of unacknowledged writes held in memory
+     * @param maxRetryAttempts The number of attempts before a write is reported as failed
+     * @param progressInterval The number of records between progress log lines
+     */
+    @Autowired
+    public MessageImportService(@Qualifier(FirebaseConfig.BACKGROUND_FIRESTORE) @Nullable Firestore firestore,
+                                MessageLayout layout,
+                                ObjectMapper objectMapper,
+                                @Value("${messages.import.initial-ops-per-second:500}") int initialOpsPerSecond,
+                                @Value("${messages.import.max-ops-per-second:10000}") int maxOpsPerSecond,
+                                @Value("${messages.import.max-in-flight:5000}") int maxInFlight,
+                                @Value("${messages.import.max-retry-attempts:10}") int maxRetryAttempts,
+                                @Value("${messages.import.progress-interval:10000}") long progressInterval) {
+        if (maxInFlight <= 0 || progressInterval <= 0) {
+            throw new IllegalArgumentException("Import in-flight limit and progress interval must be positive");
+        }
+        this.firestore = firestore;
+        this.layout = layout;
+        this.objectMapper = objectMapper;
+        this.initialOpsPerSecond = initialOpsPerSecond;
+        this.maxOpsPerSecond = maxOpsPerSecond;
+        this.maxInFlight = maxInFlight;
+        this.maxRetryAttempts = maxRetryAttempts;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Imports an archive file, or every archive file under a directory.
+     *
+     * @param source The archive file or directory
+     * @return Summary of the completed run
+     * @throws IllegalStateException if Firestore is not available or an import is already running
+     * @throws IllegalArgumentException if the source does not exist
+     */
+    public ImportSummary importArchives(Path source) {
+        if (firestore == null) {
+            throw new IllegalStateException("Firestore is not available - import requires a database connection");
+        }
+        if (!Files.exists(source)) {
+            throw new IllegalArgumentException("Archive source does not exist: " + source);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("An import is already running");
+        }
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open("job:import")) {
+            ImportProgress current = new ImportProgress(source.toString());
+            progress = current;
+            runImport(source, current);
+            ImportSummary summary = current.toSummary();
+            logger.info("Import of {} finished: {} written, {} failed, {} skipped ({} docs/s)",
+                       source, summary.written(), summary.failed(), summary.skipped(),
+                       String.format("%.1f", summary.documentsPerSecond()));
+            return summary;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Gets the progress of the running import, or the result of the last one.
+     *
+     * @return The progress snapshot, or null if no import has run since startup
+     */
+    @Nullable
+    public ImportSummary getProgress() {
+        ImportProgress current = progress;
+        return current != null ? current.toSummary() : null;
+    }
+
+    /**
+     * Checks whether an import is currently running.
+     *
+     * @return true if an import is in progress
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void runImport(Path source, ImportProgress current) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        BulkWriter bulkWriter = firestore.bulkWriter(BulkWriterOptions.builder()
+                .setInitialOpsPerSecond(initialOpsPerSecond)
+                .setMaxOpsPerSecond(maxOpsPerSecond)
+                .setExecutor(ScopePropagatingExecutor.newIdleExitingExecutor("message-import-bulk-writer")) // Flushes in the job scope
+                .build());
+        bulkWriter.addWriteErrorListener(error ->
+                RETRYABLE_CODES.contains(error.getStatus().getCode()) && error.getFailedAttempts() < maxRetryAttempts);
+
+        boolean closed = false;
+        try {
+            for (Path archive : NdjsonArchiveReader.listArchives(source)) {
+                importFile(archive, bulkWriter, inFlight, current);
+            }
+            closed = true;
+            bulkWriter.close(); // Flushes pending batches and waits for every write to settle
+
+        } catch (IOException e) {
+            logger.error("Import of {} failed while reading archives", source, e);
+            throw new UncheckedIOException("Failed to read message archive", e);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+            throw new RuntimeException("Message import was interrupted", e);
+
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Message import failed", e.getCause());
+
+        } finally {
+            if (!closed) {
+                closeQuietly(bulkWriter); // Settles the writes queued before the failure, so the counts are final
+            }
+        }
+    }
+
+    private static void closeQuietly(BulkWriter bulkWriter) {
+        try {
+            bulkWriter.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+        } catch (ExecutionException | RuntimeException e) {
+            logger.warn("Failed to settle queued import writes: {}", e.getMessage());
+        }
+    }
+
+    private void importFile(Path archive, BulkWriter bulkWriter, Semaphore inFlight, ImportProgress current) throws IOException, InterruptedException {
+        logger.info("Importing archive {}", archive);
+
+        try (NdjsonArchiveReader reader = new NdjsonArchiveReader(archive, objectMapper)) {
+            while (true) {
+                MessageArchiveRecord record;
+                try {
+                    record = reader.next();
+                } catch (IllegalArgumentException e) {
+                    current.skipped.incrementAndGet();
+                    logger.warn("{} in {} - skipping", e.getMessage(), archive);
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                if (record.messageId() == null || record.messageId().isBlank() || record.createdAt() == null) {
+                    current.skipped.incrementAndGet();
+                    logger.warn("Skipping incomplete record at line {} in {}", reader.getLineNumber(), archive);
+                    continue;
+                }
+
+                inFlight.acquire();
+                ApiFuture<WriteResult> write = bulkWriter.set(
+                        layout.document(firestore, record.messageId(), record.createdAt()), record.toDocument());
+                ApiFutures.addCallback(write, new ApiFutureCallback<>() {
+                    @Override
+                    public void onSuccess(WriteResult result) {
+                        current.written.incrementAndGet();
+                        inFlight.release();
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        current.failed.incrementAndGet();
+                        inFlight.release();
+                        logger.error("Failed to import message '{}': {}", record.messageId(), t.getMessage());
+                    }
+                }, MoreExecutors.directExecutor());
+
+                if (current.read.incrementAndGet() % progressInterval == 0) {
+                    ImportSummary snapshot = current.toSummary();
+                    logger.info("Import progress: {} read, {} written, {} failed ({} docs/s)",
+                               snapshot.read(), snapshot.written(), snapshot.failed(),
+                               String.format("%.1f", snapshot.documentsPerSecond()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Mutable counters of a running import, updated from BulkWriter callbacks.
+     */
+    private static final class ImportProgress {
+
+        private final String source;
+        private final long startedAt = System.nanoTime();
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+
+        private ImportProgress(String source) {
+            this.source = source;
+        }
+
+        private ImportSummary toSummary() {
+            long elapsedNanos = Math.max(1, System.nanoTime() - startedAt);
+            long confirmed = written.get();
+            return new ImportSummary(source, read.get(), confirmed, failed.get(), skipped.get(),
+                    elapsedNanos / 1_000_000, confirmed * 1_000_000_000d / elapsedNanos);
+        }
+    }
+}
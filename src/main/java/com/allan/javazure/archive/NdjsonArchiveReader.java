@@ -0,0 +1,110 @@
+package com.allan.javazure.archive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams archive records out of NDJSON files, decompressing gzip on the fly.
+ * Only one line is held in memory at a time, so arbitrarily large archives can be read.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class NdjsonArchiveReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long lineNumber;
+
+    /**
+     * Opens an archive file; files ending in {@code .gz} are decompressed transparently.
+     *
+     * @param file The archive file
+     * @param objectMapper The mapper used to parse records
+     * @throws IOException if the file cannot be opened
+     */
+    public NdjsonArchiveReader(Path file, ObjectMapper objectMapper) throws IOException {
+        InputStream input = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            input = new GZIPInputStream(input, BUFFER_SIZE);
+        }
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.objectReader = objectMapper.readerFor(MessageArchiveRecord.class);
+    }
+
+    /**
+     * Reads the next record, skipping blank lines.
+     *
+     * @return The next record, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line is not a valid archive record
+     */
+    public MessageArchiveRecord next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                try {
+                    return objectReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException("Malformed archive record at line " + lineNumber, e);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of the line read last.
+     *
+     * @return The 1-based line number
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Lists the archive files under a path in name order.
+     * A regular file is returned as is; a directory is searched recursively for
+     * {@code .ndjson} and {@code .ndjson.gz} files.
+     *
+     * @param source The file or directory
+     * @return The archive files
+     * @throws IOException if the directory cannot be listed
+     */
+    public static List<Path> listArchives(Path source) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return List.of(source);
+        }
+        try (Stream<Path> files = Files.walk(source)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.endsWith(".ndjson") || name.endsWith(NdjsonSegmentWriter.SEGMENT_EXTENSION);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,121 @@
+package com.allan.javazure.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams archive records into gzip-compressed NDJSON segment files.
+ * A new segment is started every {@code maxRecordsPerSegment} records, so a single
+ * partition never produces one unbounded file and memory use stays constant.
+ * Instants are always written as ISO-8601 strings, whatever the mapper defaults are.
+ * Not thread-safe: each export partition owns its own writer.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class NdjsonSegmentWriter implements Closeable {
+
+    /**
+     * File extension used for every archive segment.
+     */
+    public static final String SEGMENT_EXTENSION = ".ndjson.gz";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final String filePrefix;
+    private final int maxRecordsPerSegment;
+    private final ObjectWriter objectWriter;
+    private final List<Path> segments = new ArrayList<>();
+
+    private BufferedWriter current;
+    private int recordsInSegment;
+    private long recordCount;
+
+    /**
+     * Constructs a new NdjsonSegmentWriter.
+     *
+     * @param directory The directory the segments are written to
+     * @param filePrefix The prefix of every segment file name
+     * @param maxRecordsPerSegment The number of records after which a new segment is started
+     * @param objectMapper The mapper used to serialize records
+     */
+    public NdjsonSegmentWriter(Path directory, String filePrefix, int maxRecordsPerSegment, ObjectMapper objectMapper) {
+        if (maxRecordsPerSegment <= 0) {
+            throw new IllegalArgumentException("maxRecordsPerSegment must be positive");
+        }
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.maxRecordsPerSegment = maxRecordsPerSegment;
+        this.objectWriter = objectMapper.writerFor(MessageArchiveRecord.class)
+                .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Appends a record, rolling over to a new segment when the current one is full.
+     *
+     * @param record The record to write
+     * @throws IOException if the segment cannot be written
+     */
+    public void write(MessageArchiveRecord record) throws IOException {
+        if (current == null || recordsInSegment >= maxRecordsPerSegment) {
+            rollSegment();
+        }
+        current.write(objectWriter.writeValueAsString(record));
+        current.write('\n');
+        recordsInSegment++;
+        recordCount++;
+    }
+
+    /**
+     * Gets the segment files written so far.
+     *
+     * @return The segment paths in write order
+     */
+    public List<Path> getSegments() {
+        return List.copyOf(segments);
+    }
+
+    /**
+     * Gets the total number of records written.
+     *
+     * @return The record count
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    private void rollSegment() throws IOException {
+        closeCurrent();
+        Path segment = directory.resolve(String.format("%s-%05d%s", filePrefix, segments.size(), SEGMENT_EXTENSION));
+        current = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(segment), BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE);
+        segments.add(segment);
+        recordsInSegment = 0;
+    }
+
+    private void closeCurrent() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeCurrent();
+    }
+}
@@ -0,0 +1,101 @@
+package com.allan.javazure.config;
+
+import com.allan.javazure.cost.CostAccountingFirestoreRpc;
+import com.allan.javazure.cost.FirestoreCostMeter;
+import com.allan.javazure.firestore.FakeFirestoreRpc;
+import com.allan.javazure.firestore.FaultProfile;
+import com.allan.javazure.firestore.InMemoryDocumentStore;
+import com.allan.javazure.firestore.LatencyDistribution;
+import com.google.cloud.firestore.Firestore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Replaces Firestore with an in-memory, latency- and fault-injecting stand-in under the
+ * {@code fake-firestore} profile, for reproducible performance testing on one machine.
+ * See {@code application-fake-firestore.properties} for the knobs.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Configuration
+@Profile("fake-firestore")
+public class FakeFirestoreConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeFirestoreConfig.class);
+
+    private final ResourceLoader resourceLoader;
+    private final String projectId;
+    private final String readLatency;
+    private final String writeLatency;
+
+    public FakeFirestoreConfig(ResourceLoader resourceLoader,
+                               @Value("${fake-firestore.project-id:fake-project}") String projectId,
+                               @Value("${fake-firestore.read-latency:lognormal:PT0.008S,0.4}") String readLatency,
+                               @Value("${fake-firestore.write-latency:lognormal:PT0.025S,0.5}") String writeLatency) {
+        this.resourceLoader = resourceLoader;
+        this.projectId = projectId;
+        this.readLatency = readLatency;
+        this.writeLatency = writeLatency;
+    }
+
+    @Bean
+    public InMemoryDocumentStore fakeDocumentStore() {
+        return new InMemoryDocumentStore();
+    }
+
+    @Bean
+    public FaultProfile fakeFirestoreFaults(@Value("${fake-firestore.error-rate:0}") double errorRate,
+                                            @Value("${fake-firestore.throttle.ops-per-second:0}") int throttleOpsPerSecond,
+                                            @Value("${fake-firestore.stall.probability:0}") double stallProbability,
+                                            @Value("${fake-firestore.stall.duration:PT30S}") Duration stallDuration,
+                                            @Value("${fake-firestore.deadline:PT60S}") Duration deadline) {
+        return new FaultProfile(errorRate, throttleOpsPerSecond, stallProbability, stallDuration, deadline);
+    }
+
+    @Bean
+    @Primary
+    public Firestore fakeFirestore(InMemoryDocumentStore store, FaultProfile faults,
+                                   ObjectProvider<FirestoreCostMeter> costMeter,
+                                   @Value("${fake-firestore.seed:42}") long seed,
+                                   @Value("${fake-firestore.client-threads:8}") int clientThreads) {
+        logger.warn("Using the in-memory fake Firestore (read latency {}, write latency {}, {}) - data is not persisted",
+                   readLatency, writeLatency, faults);
+        return createClient("interactive", store, faults, costMeter.getIfAvailable(), seed, clientThreads);
+    }
+
+    /**
+     * The background jobs' client: same documents, latency and faults, but its own backend
+     * threads, mirroring the separate client {@link FirebaseConfig} creates for them.
+     */
+    @Bean(FirebaseConfig.BACKGROUND_FIRESTORE)
+    public Firestore fakeBackgroundFirestore(InMemoryDocumentStore store, FaultProfile faults,
+                                             ObjectProvider<FirestoreCostMeter> costMeter,
+                                             @Value("${fake-firestore.seed:42}") long seed,
+                                             @Value("${fake-firestore.background.client-threads:2}") int clientThreads) {
+        return createClient("background", store, faults, costMeter.getIfAvailable(), seed + 1, clientThreads);
+    }
+
+    private Firestore createClient(String name, InMemoryDocumentStore store, FaultProfile faults,
+                                   @Nullable FirestoreCostMeter costMeter, long seed, int clientThreads) {
+        FakeFirestoreRpc backend = new FakeFirestoreRpc(store,
+                LatencyDistribution.parse(readLatency, resourceLoader),
+                LatencyDistribution.parse(writeLatency, resourceLoader),
+                faults, seed, clientThreads);
+        if (costMeter == null) {
+            return backend.createClient(projectId);
+        }
+        return backend.createClient(projectId, rpc -> new CostAccountingFirestoreRpc(rpc, name, costMeter));
+    }
+}
@@ -1,22 +1,45 @@
 package com.allan.javazure.config;
 
+import com.allan.javazure.cost.FirestoreCostMeter;
+import com.allan.javazure.firestore.FirestoreClientFactory;
+import com.allan.javazure.firestore.FirestoreClientSettings;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
 import com.google.cloud.firestore.Firestore;
-import com.google.firebase.cloud.FirestoreClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.lang.Nullable;
 
 import javax.annotation.PostConstruct;
 import java.io.InputStream;
+import java.time.Duration;
 
+/**
+ * Initializes Firebase and provides the Firestore clients.
+ * Interactive message writes and background jobs (export, import, retention, duplicate count
+ * merging) get separate clients - the {@code @Primary} one and {@value #BACKGROUND_FIRESTORE} -
+ * each with its own channel pool and callback threads, tuned by {@code firestore.interactive.*}
+ * and {@code firestore.background.*}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
 @Configuration
 public class FirebaseConfig {
 
+    /**
+     * Qualifier of the Firestore client used by background jobs.
+     */
+    public static final String BACKGROUND_FIRESTORE = "backgroundFirestore";
+
     @Value("${firebase.enabled:true}")
     private boolean firebaseEnabled;
 
@@ -26,6 +49,11 @@ public class FirebaseConfig {
     @Value("${firebase.credentials-path:}")
     private String credentialsPath;
 
+    @Value("${firestore.bulkheads.enabled:true}")
+    private boolean bulkheadsEnabled;
+
+    private GoogleCredentials credentials;
+
     @PostConstruct
     public void initialize() {
         if (!firebaseEnabled) {
@@ -65,6 +93,7 @@ public class FirebaseConfig {
                 }
 
                 if (credentials != null) {
+                    this.credentials = credentials;
                     optionsBuilder.setCredentials(credentials);
                 } else {
                     System.out.println("No Firebase credentials found, using default (may fail if not running on GCP)");
@@ -80,15 +109,48 @@ public class FirebaseConfig {
 
     @Bean
     @ConditionalOnProperty(value = "firebase.enabled", havingValue = "true", matchIfMissing = true)
-    public Firestore getDatabase() {
+    public FirestoreClientFactory firestoreClientFactory(ObjectProvider<FirestoreCostMeter> costMeter) {
+        return new FirestoreClientFactory(projectId, credentials, costMeter.getIfAvailable());
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(value = "firebase.enabled", havingValue = "true", matchIfMissing = true)
+    public Firestore getDatabase(FirestoreClientFactory clientFactory,
+                                 @Value("${firestore.interactive.channel-pool-size:2}") int channelPoolSize,
+                                 @Value("${firestore.interactive.keep-alive-time:PT1M}") Duration keepAliveTime,
+                                 @Value("${firestore.interactive.keep-alive-timeout:PT20S}") Duration keepAliveTimeout,
+                                 @Value("${firestore.interactive.max-inbound-message-size:4194304}") int maxInboundMessageSize,
+                                 @Value("${firestore.interactive.callback-threads:4}") int callbackThreads) {
+        return createClient(clientFactory, "interactive", new FirestoreClientSettings(channelPoolSize,
+                keepAliveTime, keepAliveTimeout, maxInboundMessageSize, callbackThreads));
+    }
+
+    @Bean(BACKGROUND_FIRESTORE)
+    @ConditionalOnProperty(value = "firebase.enabled", havingValue = "true", matchIfMissing = true)
+    public Firestore backgroundFirestore(FirestoreClientFactory clientFactory,
+                                         @Qualifier("getDatabase") @Nullable Firestore interactiveFirestore,
+                                         @Value("${firestore.background.channel-pool-size:1}") int channelPoolSize,
+                                         @Value("${firestore.background.keep-alive-time:PT0S}") Duration keepAliveTime,
+                                         @Value("${firestore.background.keep-alive-timeout:PT20S}") Duration keepAliveTimeout,
+                                         @Value("${firestore.background.max-inbound-message-size:16777216}") int maxInboundMessageSize,
+                                         @Value("${firestore.background.callback-threads:2}") int callbackThreads) {
+        if (!bulkheadsEnabled || interactiveFirestore == null) {
+            return interactiveFirestore;
+        }
+        return createClient(clientFactory, "background", new FirestoreClientSettings(channelPoolSize,
+                keepAliveTime, keepAliveTimeout, maxInboundMessageSize, callbackThreads));
+    }
+
+    private Firestore createClient(FirestoreClientFactory clientFactory, String name, FirestoreClientSettings settings) {
         try {
             if (FirebaseApp.getApps().isEmpty()) {
                 System.out.println("No Firebase app initialized - returning null for mock mode");
                 return null;
             }
-            return FirestoreClient.getFirestore();
+            return clientFactory.create(name, settings);
         } catch (Exception e) {
-            System.err.println("Could not get Firestore instance: " + e.getMessage());
+            System.err.println("Could not create the " + name + " Firestore client: " + e.getMessage());
             return null; // Will be handled gracefully in service
         }
     }
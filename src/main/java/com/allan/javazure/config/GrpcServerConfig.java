@@ -0,0 +1,48 @@
+package com.allan.javazure.config;
+
+import com.allan.javazure.grpc.GrpcServerLifecycle;
+import com.allan.javazure.grpc.GrpcServerLifecycle.GrpcServerSettings;
+import com.allan.javazure.grpc.MessageIngestionGrpcService;
+import com.allan.javazure.service.MessageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the gRPC ingestion endpoint, served next to the JSON API when
+ * {@code grpc.server.enabled} is set. It saves through the primary {@link MessageService},
+ * so gRPC messages are deduplicated and shed exactly like those posted to {@code /messages}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnProperty(value = "grpc.server.enabled", havingValue = "true")
+public class GrpcServerConfig {
+
+    @Bean
+    public MessageIngestionGrpcService messageIngestionGrpcService(
+            MessageService messageService,
+            @Value("${grpc.server.max-in-flight-per-stream:32}") int maxInFlight,
+            @Value("${grpc.server.max-reported-failures:100}") int maxReportedFailures) {
+        return new MessageIngestionGrpcService(messageService, maxInFlight, maxReportedFailures);
+    }
+
+    @Bean
+    public GrpcServerLifecycle grpcServer(
+            MessageIngestionGrpcService service,
+            @Value("${grpc.server.port:9090}") int port,
+            @Value("${grpc.server.threads:4}") int threads,
+            @Value("${grpc.server.queue-capacity:1000}") int queueCapacity,
+            @Value("${grpc.server.max-inbound-message-size:65536}") int maxInboundMessageSize,
+            @Value("${grpc.server.flow-control-window:1048576}") int flowControlWindow,
+            @Value("${grpc.server.max-concurrent-calls-per-connection:100}") int maxConcurrentCallsPerConnection,
+            @Value("${grpc.server.shutdown-grace-period:PT10S}") Duration shutdownGracePeriod) {
+        return new GrpcServerLifecycle(service, new GrpcServerSettings(port, threads, queueCapacity,
+                maxInboundMessageSize, flowControlWindow, maxConcurrentCallsPerConnection, shutdownGracePeriod));
+    }
+}
@@ -0,0 +1,96 @@
+package com.allan.javazure.config;
+
+import com.allan.javazure.controller.MessageController;
+import com.allan.javazure.events.MessageEventBus;
+import com.allan.javazure.firestore.FirestoreClientFactory;
+import com.allan.javazure.service.MessageService;
+import com.google.cloud.firestore.Firestore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Support for the low-footprint {@code lean} profile, see {@code application-lean.properties}.
+ * Beans are created lazily except those on the message write path, which should not pay
+ * their creation on the first visitor's request, and those with {@code @Scheduled} jobs,
+ * which would otherwise never be scheduled. Spring Security is excluded in this profile,
+ * since {@link SecurityConfig} permits every request anyway; the response headers it would
+ * have added are set by a plain filter instead. Tomcat's per-connection socket buffers are
+ * shrunk to {@code lean.tomcat.socket-buffer-size}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Configuration
+@Profile("lean")
+public class LeanProfileConfig {
+
+    /**
+     * Bean types created at startup even though lazy initialization is on.
+     */
+    private static final Set<Class<?>> EAGER_TYPES = Set.of(
+            MessageController.class, MessageService.class, Firestore.class, FirestoreClientFactory.class,
+            MessageEventBus.class);
+
+    @Bean
+    public static LazyInitializationExcludeFilter leanEagerBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (EAGER_TYPES.stream().anyMatch(type -> type.isAssignableFrom(beanType)) || hasScheduledMethods(beanType));
+    }
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> leanTomcatBuffers(
+            @Value("${lean.tomcat.socket-buffer-size:4096}") int socketBufferSize) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            connector.setProperty("socket.appReadBufSize", Integer.toString(socketBufferSize));
+            connector.setProperty("socket.appWriteBufSize", Integer.toString(socketBufferSize));
+        });
+    }
+
+    @Bean
+    public SecurityHeadersFilter leanSecurityHeadersFilter() {
+        return new SecurityHeadersFilter();
+    }
+
+    static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Boolean>) method ->
+                AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ? Boolean.TRUE : null).isEmpty();
+    }
+
+    /**
+     * Sets the response headers Spring Security adds by default.
+     */
+    static class SecurityHeadersFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            response.setHeader("X-Content-Type-Options", "nosniff");
+            response.setHeader("X-Frame-Options", "DENY");
+            response.setHeader("X-XSS-Protection", "0");
+            response.setHeader("Cache-Control", "no-cache, no-store, max-age=0, must-revalidate");
+            response.setHeader("Pragma", "no-cache");
+            response.setHeader("Expires", "0");
+            if (request.isSecure()) {
+                response.setHeader("Strict-Transport-Security", "max-age=31536000 ; includeSubDomains");
+            }
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.allan.javazure.config;
+
+import com.allan.javazure.controller.MessageFastLaneHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+/**
+ * Routes {@code POST messages.fast-lane.path} to the {@link MessageFastLaneHandler}, an
+ * opt-in equivalent of {@code POST /messages} for clients sending many messages, enabled
+ * with {@code messages.fast-lane.enabled=true}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnProperty(value = "messages.fast-lane.enabled", havingValue = "true")
+public class MessageFastLaneConfig {
+
+    @Bean
+    public RouterFunction<ServerResponse> messageFastLaneRoute(MessageFastLaneHandler handler,
+                                                               @Value("${messages.fast-lane.path:/messages/fast}") String path) {
+        return RouterFunctions.route()
+                .POST(path, handler::createMessage)
+                .build();
+    }
+}
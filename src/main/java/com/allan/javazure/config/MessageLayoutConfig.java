@@ -0,0 +1,42 @@
+package com.allan.javazure.config;
+
+import com.allan.javazure.service.BucketedMessageLayout;
+import com.allan.javazure.service.FlatMessageLayout;
+import com.allan.javazure.service.MessageLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Selects the storage layout of the messages collection.
+ * {@code flat} keeps every message in the top-level collection; {@code bucketed} writes to
+ * sharded time-bucket subcollections to sustain higher write rates.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Configuration
+public class MessageLayoutConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageLayoutConfig.class);
+
+    @Bean
+    public MessageLayout messageLayout(@Value("${messages.layout.type:flat}") String type,
+                                       @Value("${messages.layout.shards:8}") int shards,
+                                       @Value("${messages.layout.bucket:HOURS}") ChronoUnit bucket) {
+        switch (type.toLowerCase()) {
+            case "flat":
+                return new FlatMessageLayout();
+            case "bucketed":
+                logger.info("Storing messages in {} bucketed layout with {} shards per bucket", bucket, shards);
+                return new BucketedMessageLayout(shards, bucket);
+            default:
+                throw new IllegalArgumentException("Unknown messages.layout.type: " + type);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.allan.javazure.config;
+
+import com.allan.javazure.dedup.DuplicateMessageDetector;
+import com.allan.javazure.drain.WriteGate;
+import com.allan.javazure.limit.AdaptiveConcurrencyLimiter;
+import com.allan.javazure.service.ConcurrencyLimitedMessageService;
+import com.allan.javazure.service.DrainingMessageService;
+import com.allan.javazure.service.DuplicateSuppressingMessageService;
+import com.allan.javazure.service.FirebaseMessageService;
+import com.allan.javazure.service.MessageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the MessageService used by the web layer.
+ * Wraps {@link FirebaseMessageService}, outermost first, in the drain gate, duplicate
+ * suppression and the adaptive concurrency limit, each unless disabled, so that a draining
+ * replica refuses saves first and resends are answered before they can take a write slot.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Configuration
+public class MessageServiceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageServiceConfig.class);
+
+    /**
+     * Creates the primary MessageService.
+     *
+     * @param firebaseMessageService The service writing messages to Firestore
+     * @param limiter The adaptive concurrency limiter
+     * @param detector The duplicate detector
+     * @param gate The gate refusing saves while the replica drains
+     * @param limiterEnabled Whether saves pass through the concurrency limit
+     * @param dedupEnabled Whether resends are suppressed
+     * @param drainEnabled Whether saves pass through the drain gate
+     * @param drainRetryAfter Delay after which a client refused by a draining replica may try again
+     * @return The decorated message service
+     */
+    @Bean
+    @Primary
+    public MessageService messageService(FirebaseMessageService firebaseMessageService,
+                                         AdaptiveConcurrencyLimiter limiter,
+                                         DuplicateMessageDetector detector,
+                                         WriteGate gate,
+                                         @Value("${messages.limiter.enabled:true}") boolean limiterEnabled,
+                                         @Value("${messages.dedup.enabled:true}") boolean dedupEnabled,
+                                         @Value("${messages.drain.enabled:true}") boolean drainEnabled,
+                                         @Value("${messages.drain.retry-after:PT1S}") Duration drainRetryAfter) {
+        MessageService service = firebaseMessageService;
+        if (limiterEnabled) {
+            service = new ConcurrencyLimitedMessageService(service, limiter);
+        }
+        if (dedupEnabled) {
+            service = new DuplicateSuppressingMessageService(service, detector);
+        }
+        if (drainEnabled) {
+            service = new DrainingMessageService(service, gate, drainRetryAfter);
+        }
+        logger.info("Message service: concurrency limit {}, duplicate suppression {}, drain gate {}",
+                   limiterEnabled ? "on" : "off", dedupEnabled ? "on" : "off", drainEnabled ? "on" : "off");
+        return service;
+    }
+}
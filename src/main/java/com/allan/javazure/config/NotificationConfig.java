@@ -0,0 +1,65 @@
+package com.allan.javazure.config;
+
+import com.allan.javazure.notification.SmtpTransport;
+import com.allan.javazure.notification.WebhookTransport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configuration of the owner notification transports.
+ * Each transport is created only when its destination is configured; with none,
+ * the notification dispatcher stays idle.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Configuration
+public class NotificationConfig {
+
+    /**
+     * Creates the webhook transport when a webhook URL is configured.
+     *
+     * @param url The webhook URL
+     * @param timeout The connect and request timeout
+     * @param objectMapper The application's JSON mapper
+     * @return The webhook transport
+     */
+    @Bean
+    @ConditionalOnProperty(name = "notifications.webhook.url")
+    public WebhookTransport webhookTransport(@Value("${notifications.webhook.url}") URI url,
+                                             @Value("${notifications.webhook.timeout:PT10S}") Duration timeout,
+                                             ObjectMapper objectMapper) {
+        return new WebhookTransport(url, timeout, objectMapper);
+    }
+
+    /**
+     * Creates the SMTP transport when an owner address is configured.
+     * The mail server itself is configured through {@code spring.mail.*}.
+     *
+     * @param mailSender The mail sender, available once {@code spring.mail.host} is set
+     * @param from The sender address
+     * @param to The owner's address
+     * @return The SMTP transport
+     * @throws IllegalStateException if no mail server is configured
+     */
+    @Bean
+    @ConditionalOnProperty(name = "notifications.smtp.to")
+    public SmtpTransport smtpTransport(ObjectProvider<JavaMailSender> mailSender,
+                                       @Value("${notifications.smtp.from:noreply@javazure.local}") String from,
+                                       @Value("${notifications.smtp.to}") String to) {
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null) {
+            throw new IllegalStateException("notifications.smtp.to is set but spring.mail.host is not configured");
+        }
+        return new SmtpTransport(sender, from, to);
+    }
+}
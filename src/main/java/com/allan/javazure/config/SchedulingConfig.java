@@ -0,0 +1,17 @@
+package com.allan.javazure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs, such as message retention.
+ * Each job is only registered when its own {@code *.enabled} property is set.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
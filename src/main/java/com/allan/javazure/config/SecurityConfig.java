@@ -1,15 +1,47 @@
 package com.allan.javazure.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 
 @Configuration
+@Profile("!lean") // the lean profile excludes Spring Security, see LeanProfileConfig
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * Filter chain of the message fast lane, see MessageFastLaneHandler. Every request is
+     * permitted anyway, so it keeps only the response headers of the default chain and drops
+     * the session, security context, request cache, anonymous and authorization filters.
+     */
+    @Bean
+    @Order(1)
+    @ConditionalOnProperty(value = "messages.fast-lane.enabled", havingValue = "true")
+    public SecurityFilterChain fastLaneFilterChain(HttpSecurity http,
+                                                   @Value("${messages.fast-lane.path:/messages/fast}") String path) throws Exception {
+        http
+            .securityMatcher(PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, path))
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(AbstractHttpConfigurer::disable)
+            .securityContext(AbstractHttpConfigurer::disable)
+            .requestCache(AbstractHttpConfigurer::disable)
+            .anonymous(AbstractHttpConfigurer::disable)
+            .servletApi(AbstractHttpConfigurer::disable)
+            .exceptionHandling(AbstractHttpConfigurer::disable)
+            .logout(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -20,4 +52,4 @@ public class SecurityConfig {
         
         return http.build();
     }
-}
\ No newline at end of file
+}
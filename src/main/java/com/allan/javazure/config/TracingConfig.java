@@ -0,0 +1,80 @@
+package com.allan.javazure.config;
+
+import com.allan.javazure.tracing.FileSpanExporter;
+import com.allan.javazure.tracing.TailSamplingSpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanExporters;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of trace export.
+ * Spring Boot creates the spans (from the message observations and incoming W3C
+ * {@code traceparent} headers) and the OTLP exporter when
+ * {@code management.otlp.tracing.endpoint} is set; this configuration adds an optional
+ * local file exporter and routes every exporter through tail-based sampling.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Configuration
+public class TracingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TracingConfig.class);
+
+    /**
+     * Creates the file exporter when a file is configured.
+     *
+     * @param path The file spans are appended to
+     * @param objectMapper The application's JSON mapper
+     * @return The file span exporter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file-exporter.path")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.file-exporter.path}") String path,
+                                             ObjectMapper objectMapper) {
+        logger.info("Exporting spans to file {}", path);
+        return new FileSpanExporter(Path.of(path), objectMapper);
+    }
+
+    /**
+     * Collects the registered span exporters, replacing Spring Boot's default so that
+     * spans only reach them once their trace has been kept by the tail sampler.
+     *
+     * @param exporters The registered span exporters, in order
+     * @param tailSamplingEnabled Whether traces are sampled after they finish
+     * @param slowThreshold Root span duration from which a trace is always kept
+     * @param fastSampleRatio Fraction of fast successful traces to keep
+     * @param maxBufferedTraces Maximum number of undecided traces held in memory
+     * @param maxTraceAge How long an undecided trace is held before it is decided anyway
+     * @return The exporters used by the span processor
+     */
+    @Bean
+    public SpanExporters spanExporters(ObjectProvider<SpanExporter> exporters,
+                                       @Value("${tracing.tail-sampling.enabled:true}") boolean tailSamplingEnabled,
+                                       @Value("${tracing.tail-sampling.slow-threshold:PT0.5S}") Duration slowThreshold,
+                                       @Value("${tracing.tail-sampling.fast-sample-ratio:0.1}") double fastSampleRatio,
+                                       @Value("${tracing.tail-sampling.max-buffered-traces:10000}") int maxBufferedTraces,
+                                       @Value("${tracing.tail-sampling.max-trace-age:PT30S}") Duration maxTraceAge) {
+        List<SpanExporter> delegates = exporters.orderedStream().toList();
+        if (!tailSamplingEnabled || delegates.isEmpty()) {
+            return SpanExporters.of(delegates);
+        }
+
+        logger.info("Tail sampling traces: keeping failed traces, traces slower than {} and {} of the rest",
+                   slowThreshold, fastSampleRatio);
+        return SpanExporters.of(new TailSamplingSpanExporter(SpanExporter.composite(delegates), slowThreshold,
+                fastSampleRatio, maxBufferedTraces, maxTraceAge));
+    }
+}
@@ -1,21 +1,32 @@
 package com.allan.javazure.controller;
 
+import com.allan.javazure.diagnostics.MessageValidationEvent;
 import com.allan.javazure.dto.CreateMessageRequest;
 import com.allan.javazure.dto.MessageResponse;
+import com.allan.javazure.limit.LimitExceededException;
+import com.allan.javazure.service.MessageRequestValidator;
 import com.allan.javazure.service.MessageService;
+import com.allan.javazure.service.SaveResult;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * REST Controller for handling message-related HTTP requests.
  * Provides endpoints for displaying the portfolio page and handling message submissions.
+ * Message creation and its validation are observed as children of the HTTP request span.
  * 
  * @author Allan
  * @version 1.0.0
@@ -27,16 +38,54 @@ public class MessageController {
 
     private static final Logger logger = LoggerFactory.getLogger(MessageController.class);
     
+    /**
+     * Observation name of a message creation request.
+     */
+    public static final String CREATE_OBSERVATION = "messages.create";
+
+    /**
+     * Observation name of the validation of a message creation request.
+     */
+    public static final String VALIDATE_OBSERVATION = "messages.validate";
+
+    /**
+     * Header carrying the client's key for a message, unchanged across resends of it.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    
     private final MessageService messageService;
 
+    private final ObservationRegistry observationRegistry;
+
     /**
-     * Constructs a new MessageController with the specified message service.
+     * Constructs a new MessageController with the specified message service, without observations.
      *
      * @param messageService The service responsible for handling message operations
      */
-    @Autowired
     public MessageController(MessageService messageService) {
+        this(messageService, ObservationRegistry.NOOP);
+    }
+
+    /**
+     * Constructs a new MessageController with the specified message service and observation registry.
+     *
+     * @param messageService The service responsible for handling message operations
+     * @param observationRegistry The registry recording request observations
+     */
+    public MessageController(MessageService messageService, ObservationRegistry observationRegistry) {
         this.messageService = messageService;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Constructs a new MessageController from the application context.
+     *
+     * @param messageService The service responsible for handling message operations
+     * @param observationRegistry The observation registry, if observability is configured
+     */
+    @Autowired
+    public MessageController(MessageService messageService, ObjectProvider<ObservationRegistry> observationRegistry) {
+        this(messageService, observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
     }
 
     /**
@@ -53,65 +102,123 @@ public class MessageController {
     /**
      * Handles the creation of new messages submitted through the contact form.
      * Validates the request data and delegates message saving to the service layer.
+     * The servlet thread is released while the message is written; the response is
+     * completed once the service confirms the save.
      * 
      * @param request The message creation request containing content and author information
-     * @return ResponseEntity containing the operation result and appropriate HTTP status
+     * @return Future of the ResponseEntity containing the operation result and appropriate HTTP status
+     */
+    public CompletableFuture<ResponseEntity<MessageResponse>> createMessage(CreateMessageRequest request) {
+        return createMessage(request, null);
+    }
+
+    /**
+     * Handles the creation of a new message, as {@link #createMessage(CreateMessageRequest)}.
+     * A resend carrying the same {@code Idempotency-Key} as a message saved within the
+     * duplicate window is answered with that message instead of being saved again.
+     * 
+     * @param request The message creation request containing content and author information
+     * @param idempotencyKey The client's key for the message, or null if none was sent
+     * @return Future of the ResponseEntity containing the operation result and appropriate HTTP status
      */
     @PostMapping("/messages")
     @ResponseBody
-    public ResponseEntity<MessageResponse> createMessage(@Valid @RequestBody CreateMessageRequest request) {
+    public CompletableFuture<ResponseEntity<MessageResponse>> createMessage(
+            @Valid @RequestBody CreateMessageRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         logger.info("Received message creation request from author: {}", 
                    request.getAuthor() != null ? request.getAuthor() : "Anonymous");
         
-        try {
-            validateMessageRequest(request);
-            
-            messageService.saveMessage(request.getAuthor(), request.getContent());
+        Observation observation = Observation.createNotStarted(CREATE_OBSERVATION, observationRegistry).start();
+        try (Observation.Scope scope = observation.openScope()) {
+            MessageValidationEvent validationEvent = new MessageValidationEvent();
+            validationEvent.begin();
+            Observation.createNotStarted(VALIDATE_OBSERVATION, observationRegistry)
+                    .observe(() -> validateMessageRequest(request));
+            validationEvent.commit(request.getAuthor(), request.getContent(), null);
             
-            logger.info("Successfully saved message from: {}", 
-                       request.getAuthor() != null ? request.getAuthor() : "Anonymous");
+            CompletableFuture<SaveResult> saved = idempotencyKey != null
+                    ? messageService.saveMessageAsync(request.getAuthor(), request.getContent(), idempotencyKey)
+                    : messageService.saveMessageAsync(request.getAuthor(), request.getContent());
+            return saved
+                    .whenComplete((result, error) -> stopObservation(observation, error))
+                    .thenApply(result -> {
+                        logger.info("Successfully saved message from: {}", 
+                                   request.getAuthor() != null ? request.getAuthor() : "Anonymous");
+                        return ResponseEntity.ok(createSuccessResponse(result));
+                    })
+                    .exceptionally(this::handleSaveFailure);
             
-            return ResponseEntity.ok(createSuccessResponse());
-            
-        } catch (IllegalArgumentException e) {
-            logger.warn("Invalid message request: {}", e.getMessage());
-            return ResponseEntity.badRequest()
-                    .body(createErrorResponse("Invalid message data: " + e.getMessage()));
-                    
-        } catch (Exception e) {
-            logger.error("Error processing message creation request", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("Unable to process your message. Please try again later."));
+        } catch (RuntimeException e) {
+            stopObservation(observation, e);
+            return CompletableFuture.completedFuture(handleSaveFailure(e));
         }
     }
 
     /**
-     * Validates the incoming message request for required fields and business rules.
+     * Stops an observation, recording the failure first if there was one. Shed requests are
+     * tagged rather than recorded as errors, so overload does not force every trace to be kept.
      * 
-     * @param request The request to validate
-     * @throws IllegalArgumentException if validation fails
+     * @param observation The observation to stop
+     * @param error The failure, possibly wrapped in a CompletionException, or null on success
      */
-    private void validateMessageRequest(CreateMessageRequest request) {
-        if (request.getContent() == null || request.getContent().trim().isEmpty()) {
-            throw new IllegalArgumentException("Message content cannot be empty");
+    private static void stopObservation(Observation observation, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof LimitExceededException) {
+            observation.lowCardinalityKeyValue("outcome", "shed");
+        } else if (cause != null) {
+            observation.error(cause);
         }
+        observation.stop();
+    }
+
+    /**
+     * Maps a failed save to the appropriate error response.
+     * 
+     * @param error The failure, possibly wrapped in a CompletionException
+     * @return ResponseEntity with status 400 for invalid data, 503 with Retry-After when the
+     *         write path is saturated, 500 otherwise
+     */
+    private ResponseEntity<MessageResponse> handleSaveFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
         
-        if (request.getContent().trim().length() > 1000) {
-            throw new IllegalArgumentException("Message content cannot exceed 1000 characters");
+        if (cause instanceof LimitExceededException limitExceeded) {
+            logger.debug("Shedding message request: {}", cause.getMessage());
+            long retryAfterSeconds = Math.max(1, (limitExceeded.getRetryAfter().toMillis() + 999) / 1000);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                    .body(createErrorResponse("The service is busy. Please try again shortly."));
         }
         
-        if (request.getAuthor() != null && request.getAuthor().length() > 100) {
-            throw new IllegalArgumentException("Author name cannot exceed 100 characters");
+        if (cause instanceof IllegalArgumentException) {
+            logger.warn("Invalid message request: {}", cause.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("Invalid message data: " + cause.getMessage()));
         }
+        
+        logger.error("Error processing message creation request", cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse("Unable to process your message. Please try again later."));
+    }
+
+    /**
+     * Validates the incoming message request for required fields and business rules.
+     * 
+     * @param request The request to validate
+     * @throws IllegalArgumentException if validation fails
+     */
+    private void validateMessageRequest(CreateMessageRequest request) {
+        MessageRequestValidator.validate(request.getContent(), request.getAuthor());
     }
 
     /**
-     * Creates a standardized success response.
+     * Creates a standardized success response carrying the saved message identity.
      * 
+     * @param result The identity of the saved message
      * @return MessageResponse indicating successful operation
      */
-    private MessageResponse createSuccessResponse() {
-        return new MessageResponse("Message sent successfully!", true);
+    private MessageResponse createSuccessResponse(SaveResult result) {
+        return MessageResponse.success("Message sent successfully!", result.messageId(), result.createdAt());
     }
 
     /**
@@ -0,0 +1,80 @@
+package com.allan.javazure.controller;
+
+import com.allan.javazure.diagnostics.MessageBindingEvent;
+import com.allan.javazure.dto.CreateMessageRequest;
+import com.allan.javazure.dto.MessageResponse;
+import com.allan.javazure.service.MessageRequestValidator;
+import jakarta.servlet.ServletException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.io.IOException;
+
+/**
+ * Handles {@code POST} on the message fast lane, a functional route that accepts exactly what
+ * {@code POST /messages} accepts and answers exactly as it does. It binds the body with the
+ * same message converters, checks the {@code @Valid} constraints directly instead of through
+ * bean validation, and hands the request to {@link MessageController#createMessage}, so
+ * sanitizing, validation, observations and error responses are shared. What it skips is the
+ * annotation-driven argument resolution and, see {@code SecurityConfig}, most of the security
+ * filter chain.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnProperty(value = "messages.fast-lane.enabled", havingValue = "true")
+public class MessageFastLaneHandler {
+
+    private final MessageController messageController;
+
+    /**
+     * Constructs a new MessageFastLaneHandler.
+     *
+     * @param messageController The controller creating the messages
+     */
+    @Autowired
+    public MessageFastLaneHandler(MessageController messageController) {
+        this.messageController = messageController;
+    }
+
+    /**
+     * Creates a message from a JSON {@link CreateMessageRequest} body. A body that cannot be
+     * read or fails the request constraints is rejected with a plain 400, as a failed
+     * {@code @Valid} would be.
+     *
+     * @param request The HTTP request
+     * @return The response, completed once the message is saved
+     * @throws ServletException if the body's content type is not supported
+     * @throws IOException if the body cannot be read
+     */
+    public ServerResponse createMessage(ServerRequest request) throws ServletException, IOException {
+        MessageBindingEvent bindingEvent = new MessageBindingEvent();
+        bindingEvent.begin();
+        CreateMessageRequest body = request.body(CreateMessageRequest.class);
+        if (body == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Required request body is missing");
+        }
+        bindingEvent.commit(body.getAuthor(), body.getContent(), null);
+
+        if (!MessageRequestValidator.meetsRequestConstraints(body.getContent(), body.getAuthor())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Validation failed");
+        }
+        String idempotencyKey = request.headers().firstHeader(MessageController.IDEMPOTENCY_KEY_HEADER);
+        return ServerResponse.async(messageController.createMessage(body, idempotencyKey)
+                .thenApply(MessageFastLaneHandler::toServerResponse));
+    }
+
+    private static ServerResponse toServerResponse(ResponseEntity<MessageResponse> entity) {
+        return ServerResponse.status(entity.getStatusCode())
+                .headers(headers -> headers.addAll(entity.getHeaders()))
+                .body(entity.getBody());
+    }
+}
@@ -0,0 +1,76 @@
+package com.allan.javazure.controller;
+
+import com.allan.javazure.dto.MessageResponse;
+import com.allan.javazure.dto.MessageStatsResponse;
+import com.allan.javazure.service.MessageCounterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * REST Controller serving aggregated message counts from the sharded counters.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Controller
+@ConditionalOnProperty(value = "messages.counters.enabled", havingValue = "true", matchIfMissing = true)
+public class MessageStatsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageStatsController.class);
+
+    private final MessageCounterService counterService;
+
+    /**
+     * Constructs a new MessageStatsController with the specified counter service.
+     *
+     * @param counterService The service maintaining the message counters
+     */
+    @Autowired
+    public MessageStatsController(MessageCounterService counterService) {
+        this.counterService = counterService;
+    }
+
+    /**
+     * Returns the total message count and the count of a UTC day.
+     * 
+     * @param day The day to report, defaults to today (UTC)
+     * @return ResponseEntity with the counts, 400 for a day outside the served range,
+     *         or 503 when counters are unavailable
+     */
+    @GetMapping("/messages/stats")
+    @ResponseBody
+    public ResponseEntity<?> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        if (!counterService.isAvailable()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(MessageResponse.error("Message statistics are not available"));
+        }
+        
+        LocalDate effectiveDay = day != null ? day : LocalDate.now(ZoneOffset.UTC);
+        if (!counterService.isServedDay(effectiveDay)) {
+            return ResponseEntity.badRequest().body(MessageResponse.error(
+                    "Day must be between " + counterService.getEarliestDay() + " and today (UTC)"));
+        }
+        try {
+            return ResponseEntity.ok(new MessageStatsResponse(
+                    counterService.getTotalCount(), effectiveDay, counterService.getDailyCount(effectiveDay)));
+        } catch (RuntimeException e) {
+            logger.error("Error reading message statistics", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(MessageResponse.error("Unable to read message statistics. Please try again later."));
+        }
+    }
+}
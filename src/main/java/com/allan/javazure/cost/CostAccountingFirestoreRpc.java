@@ -0,0 +1,284 @@
+package com.allan.javazure.cost;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.api.gax.rpc.ApiCallContext;
+import com.google.api.gax.rpc.BidiStreamingCallable;
+import com.google.api.gax.rpc.ResponseObserver;
+import com.google.api.gax.rpc.ServerStreamingCallable;
+import com.google.api.gax.rpc.StreamController;
+import com.google.api.gax.rpc.UnaryCallable;
+import com.google.cloud.firestore.spi.v1.FirestoreRpc;
+import com.google.cloud.firestore.v1.FirestoreClient.ListCollectionIdsPagedResponse;
+import com.google.cloud.firestore.v1.FirestoreClient.ListDocumentsPagedResponse;
+import com.google.cloud.firestore.v1.FirestoreClient.PartitionQueryPagedResponse;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.firestore.v1.BatchGetDocumentsRequest;
+import com.google.firestore.v1.BatchGetDocumentsResponse;
+import com.google.firestore.v1.BatchWriteRequest;
+import com.google.firestore.v1.BatchWriteResponse;
+import com.google.firestore.v1.BeginTransactionRequest;
+import com.google.firestore.v1.BeginTransactionResponse;
+import com.google.firestore.v1.CommitRequest;
+import com.google.firestore.v1.CommitResponse;
+import com.google.firestore.v1.ListCollectionIdsRequest;
+import com.google.firestore.v1.ListDocumentsRequest;
+import com.google.firestore.v1.ListenRequest;
+import com.google.firestore.v1.ListenResponse;
+import com.google.firestore.v1.PartitionQueryRequest;
+import com.google.firestore.v1.RollbackRequest;
+import com.google.firestore.v1.RunQueryRequest;
+import com.google.firestore.v1.RunQueryResponse;
+import com.google.firestore.v1.Write;
+import com.google.protobuf.Empty;
+import com.google.protobuf.MessageLite;
+import com.google.rpc.Code;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Counts the billable operations of every call a Firestore client makes, plugged in
+ * between the client and its transport like {@link com.allan.javazure.firestore.FakeFirestoreRpc}.
+ * Each RPC is attributed to the {@link FirestoreCostScope} current when it starts and
+ * recorded in the {@link FirestoreCostMeter}:
+ * <ul>
+ *   <li>a lookup reads every document asked for, found or missing;</li>
+ *   <li>a query reads every document it returns, and at least one;</li>
+ *   <li>a commit or batch write writes or deletes each of its writes that succeeded;</li>
+ *   <li>every request and response adds its serialized size to the bytes.</li>
+ * </ul>
+ * Transaction control, paged list calls and listeners only count as RPCs.
+ * <p>
+ * The client chains many calls through callbacks and its executor, for instance the reads
+ * and commit of a transaction after its begin. Responses are therefore delivered, and tasks
+ * submitted to {@link #getExecutor()} run, in the scope of the RPC or submitter, so a whole
+ * transaction is attributed to the caller that started it.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class CostAccountingFirestoreRpc implements FirestoreRpc {
+
+    private final FirestoreRpc delegate;
+    private final String client;
+    private final FirestoreCostMeter meter;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Constructs a new CostAccountingFirestoreRpc.
+     *
+     * @param delegate The transport that makes the calls
+     * @param client The name of the client, tagging its operations
+     * @param meter The meter the operations are recorded in
+     */
+    public CostAccountingFirestoreRpc(FirestoreRpc delegate, String client, FirestoreCostMeter meter) {
+        this.delegate = delegate;
+        this.client = client;
+        this.meter = meter;
+        this.executor = new ScopePropagatingExecutor(delegate.getExecutor());
+    }
+
+    @Override
+    public UnaryCallable<CommitRequest, CommitResponse> commitCallable() {
+        return unary(delegate.commitCallable(), (request, response) -> countWrites(request.getWritesList(), index -> true));
+    }
+
+    @Override
+    public UnaryCallable<BatchWriteRequest, BatchWriteResponse> batchWriteCallable() {
+        return unary(delegate.batchWriteCallable(), (request, response) -> countWrites(request.getWritesList(),
+                index -> index >= response.getStatusCount() || response.getStatus(index).getCode() == Code.OK_VALUE));
+    }
+
+    @Override
+    public ServerStreamingCallable<BatchGetDocumentsRequest, BatchGetDocumentsResponse> batchGetDocumentsCallable() {
+        return streaming(delegate.batchGetDocumentsCallable(),
+                response -> response.hasFound() || response.hasMissing(), false);
+    }
+
+    @Override
+    public ServerStreamingCallable<RunQueryRequest, RunQueryResponse> runQueryCallable() {
+        return streaming(delegate.runQueryCallable(), RunQueryResponse::hasDocument, true);
+    }
+
+    @Override
+    public UnaryCallable<BeginTransactionRequest, BeginTransactionResponse> beginTransactionCallable() {
+        return unary(delegate.beginTransactionCallable(), OperationCounter.none());
+    }
+
+    @Override
+    public UnaryCallable<RollbackRequest, Empty> rollbackCallable() {
+        return unary(delegate.rollbackCallable(), OperationCounter.none());
+    }
+
+    @Override
+    public UnaryCallable<ListCollectionIdsRequest, ListCollectionIdsPagedResponse> listCollectionIdsPagedCallable() {
+        return unary(delegate.listCollectionIdsPagedCallable(), OperationCounter.none());
+    }
+
+    @Override
+    public UnaryCallable<PartitionQueryRequest, PartitionQueryPagedResponse> partitionQueryPagedCallable() {
+        return unary(delegate.partitionQueryPagedCallable(), OperationCounter.none());
+    }
+
+    @Override
+    public UnaryCallable<ListDocumentsRequest, ListDocumentsPagedResponse> listDocumentsPagedCallable() {
+        return unary(delegate.listDocumentsPagedCallable(), OperationCounter.none());
+    }
+
+    @Override
+    public BidiStreamingCallable<ListenRequest, ListenResponse> listenCallable() {
+        return delegate.listenCallable();
+    }
+
+    @Override
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public void shutdownNow() {
+        delegate.shutdownNow();
+    }
+
+    @Override
+    public void close() throws Exception {
+        delegate.close();
+    }
+
+    private <Q, R> UnaryCallable<Q, R> unary(UnaryCallable<Q, R> callable, OperationCounter<Q, R> counter) {
+        return new UnaryCallable<>() {
+            @Override
+            public ApiFuture<R> futureCall(Q request, ApiCallContext context) {
+                FirestoreCostScope scope = FirestoreCostScope.current();
+                meter.record(client, scope, 0, 0, 0, sizeOf(request), 1);
+
+                ApiFuture<R> call = callable.futureCall(request, context);
+                SettableApiFuture<R> result = SettableApiFuture.create();
+                result.addListener(() -> {
+                    if (result.isCancelled()) {
+                        call.cancel(false);
+                    }
+                }, MoreExecutors.directExecutor());
+                ApiFutures.addCallback(call, new ApiFutureCallback<R>() {
+                    @Override
+                    public void onSuccess(R response) {
+                        Operations operations = counter.count(request, response);
+                        meter.record(client, scope, 0, operations.writes(), operations.deletes(), sizeOf(response), 0);
+                        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.enter(scope)) {
+                            result.set(response);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.enter(scope)) {
+                            result.setException(t);
+                        }
+                    }
+                }, MoreExecutors.directExecutor());
+                return result;
+            }
+        };
+    }
+
+    private <Q, R> ServerStreamingCallable<Q, R> streaming(ServerStreamingCallable<Q, R> callable,
+                                                           Predicate<R> readsDocument, boolean readsAtLeastOne) {
+        return new ServerStreamingCallable<>() {
+            @Override
+            public void call(Q request, ResponseObserver<R> observer, ApiCallContext context) {
+                FirestoreCostScope scope = FirestoreCostScope.current();
+                meter.record(client, scope, 0, 0, 0, sizeOf(request), 1);
+                AtomicLong reads = new AtomicLong();
+
+                callable.call(request, new ResponseObserver<>() {
+                    @Override
+                    public void onStart(StreamController controller) {
+                        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.enter(scope)) {
+                            observer.onStart(controller);
+                        }
+                    }
+
+                    @Override
+                    public void onResponse(R response) {
+                        long read = readsDocument.test(response) ? 1 : 0;
+                        reads.addAndGet(read);
+                        meter.record(client, scope, read, 0, 0, sizeOf(response), 0);
+                        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.enter(scope)) {
+                            observer.onResponse(response);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.enter(scope)) {
+                            observer.onError(t);
+                        }
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        if (readsAtLeastOne && reads.get() == 0) {
+                            meter.record(client, scope, 1, 0, 0, 0, 0);
+                        }
+                        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.enter(scope)) {
+                            observer.onComplete();
+                        }
+                    }
+                }, context);
+            }
+        };
+    }
+
+    private static Operations countWrites(List<Write> writes, IntPredicate applied) {
+        long written = 0;
+        long deleted = 0;
+        for (int i = 0; i < writes.size(); i++) {
+            if (!applied.test(i)) {
+                continue;
+            }
+            if (writes.get(i).hasDelete()) {
+                deleted++;
+            } else {
+                written++;
+            }
+        }
+        return new Operations(written, deleted);
+    }
+
+    private static long sizeOf(Object message) {
+        return message instanceof MessageLite lite ? lite.getSerializedSize() : 0;
+    }
+
+    /**
+     * Documents a successful call wrote and deleted.
+     */
+    private record Operations(long writes, long deletes) {
+
+        static final Operations NONE = new Operations(0, 0);
+    }
+
+    /**
+     * Counts the documents a successful call wrote and deleted from its request and response.
+     */
+    @FunctionalInterface
+    private interface OperationCounter<Q, R> {
+
+        Operations count(Q request, R response);
+
+        static <Q, R> OperationCounter<Q, R> none() {
+            return (request, response) -> Operations.NONE;
+        }
+    }
+}
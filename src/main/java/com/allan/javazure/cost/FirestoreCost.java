@@ -0,0 +1,83 @@
+package com.allan.javazure.cost;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running totals of the billable Firestore operations of one caller: documents read,
+ * written and deleted, payload bytes sent and received, and RPCs made.
+ * Updated concurrently from Firestore callback threads.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class FirestoreCost {
+
+    private final AtomicLong reads = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong deletes = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong rpcs = new AtomicLong();
+
+    /**
+     * Adds operations to the totals.
+     *
+     * @param reads Documents read
+     * @param writes Documents written
+     * @param deletes Documents deleted
+     * @param bytes Payload bytes sent or received
+     * @param rpcs RPCs started
+     */
+    public void add(long reads, long writes, long deletes, long bytes, long rpcs) {
+        if (reads != 0) {
+            this.reads.addAndGet(reads);
+        }
+        if (writes != 0) {
+            this.writes.addAndGet(writes);
+        }
+        if (deletes != 0) {
+            this.deletes.addAndGet(deletes);
+        }
+        if (bytes != 0) {
+            this.bytes.addAndGet(bytes);
+        }
+        if (rpcs != 0) {
+            this.rpcs.addAndGet(rpcs);
+        }
+    }
+
+    public long getReads() {
+        return reads.get();
+    }
+
+    public long getWrites() {
+        return writes.get();
+    }
+
+    public long getDeletes() {
+        return deletes.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public long getRpcs() {
+        return rpcs.get();
+    }
+
+    /**
+     * Formats the totals for the {@code X-Firestore-Cost} response header.
+     *
+     * @return The totals, e.g. {@code reads=1, writes=2, deletes=0, bytes=512, rpcs=2}
+     */
+    public String format() {
+        return "reads=" + getReads() + ", writes=" + getWrites() + ", deletes=" + getDeletes()
+                + ", bytes=" + getBytes() + ", rpcs=" + getRpcs();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
@@ -0,0 +1,49 @@
+package com.allan.javazure.cost;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Debug aid enabled by {@code firestore.cost.response-header=true}: adds the Firestore
+ * operations a request performed to its response, as the {@value #HEADER} header, e.g.
+ * {@code reads=0, writes=2, deletes=0, bytes=612, rpcs=1}. The header is written with the
+ * body, after the request's Firestore calls completed, also for asynchronous handlers.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@ControllerAdvice
+@ConditionalOnProperty(value = "firestore.cost.response-header", havingValue = "true")
+public class FirestoreCostHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * The response header carrying the request's operations.
+     */
+    public static final String HEADER = "X-Firestore-Cost";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            FirestoreCostScope scope = FirestoreCostInterceptor.getScope(servletRequest.getServletRequest());
+            if (scope != null) {
+                response.getHeaders().set(HEADER, scope.getCost().format());
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,85 @@
+package com.allan.javazure.cost;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Attributes the Firestore operations of each web request to its endpoint, as the
+ * {@link FirestoreCostScope} {@code http:<method> <path pattern>}, e.g.
+ * {@code http:POST /messages}. The scope is kept as a request attribute so the async
+ * dispatch of a request re-enters the same scope, and {@link FirestoreCostHeaderAdvice}
+ * can report its operations.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnProperty(value = "firestore.cost.enabled", havingValue = "true", matchIfMissing = true)
+public class FirestoreCostInterceptor implements AsyncHandlerInterceptor, WebMvcConfigurer {
+
+    /**
+     * The request attribute holding the request's scope.
+     */
+    public static final String SCOPE_ATTRIBUTE = FirestoreCostInterceptor.class.getName() + ".scope";
+
+    private static final String ACTIVATION_ATTRIBUTE = FirestoreCostInterceptor.class.getName() + ".activation";
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        FirestoreCostScope scope = getScope(request);
+        if (scope == null) {
+            scope = FirestoreCostScope.of(callerOf(request));
+            request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        }
+        request.setAttribute(ACTIVATION_ATTRIBUTE, scope.enter());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        leave(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                @Nullable Exception ex) {
+        leave(request);
+    }
+
+    /**
+     * Gets the scope of a request.
+     *
+     * @param request The request
+     * @return The scope, or null if the request was not intercepted
+     */
+    @Nullable
+    public static FirestoreCostScope getScope(HttpServletRequest request) {
+        return request.getAttribute(SCOPE_ATTRIBUTE) instanceof FirestoreCostScope scope ? scope : null;
+    }
+
+    static String callerOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return "http:" + request.getMethod() + " " + (pattern != null ? pattern : "unmatched");
+    }
+
+    private static void leave(HttpServletRequest request) {
+        if (request.getAttribute(ACTIVATION_ATTRIBUTE) instanceof FirestoreCostScope.Activation activation) {
+            request.removeAttribute(ACTIVATION_ATTRIBUTE);
+            activation.close();
+        }
+    }
+}
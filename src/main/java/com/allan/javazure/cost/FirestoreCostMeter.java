@@ -0,0 +1,118 @@
+package com.allan.javazure.cost;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accumulates the Firestore operations counted by {@link CostAccountingFirestoreRpc} per
+ * client and caller, and publishes them as {@code firestore.cost.reads}, {@code .writes},
+ * {@code .deletes}, {@code .bytes} and {@code .rpcs} counters tagged with {@code client}
+ * and {@code caller}. Operations started outside any {@link FirestoreCostScope} are
+ * counted under the caller {@value #UNATTRIBUTED}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnProperty(value = "firestore.cost.enabled", havingValue = "true", matchIfMissing = true)
+public class FirestoreCostMeter implements MeterBinder {
+
+    /**
+     * The caller of operations started outside any scope.
+     */
+    public static final String UNATTRIBUTED = "unattributed";
+
+    private final Map<CallerKey, FirestoreCost> totals = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * Records operations of one RPC, to the caller's totals and to the scope's own.
+     *
+     * @param client The name of the Firestore client
+     * @param scope The scope the RPC was started in, or null
+     * @param reads Documents read
+     * @param writes Documents written
+     * @param deletes Documents deleted
+     * @param bytes Payload bytes sent or received
+     * @param rpcs RPCs started
+     */
+    public void record(String client, @Nullable FirestoreCostScope scope,
+                       long reads, long writes, long deletes, long bytes, long rpcs) {
+        String caller = scope != null ? scope.getCaller() : UNATTRIBUTED;
+        totals(new CallerKey(client, caller)).add(reads, writes, deletes, bytes, rpcs);
+        if (scope != null) {
+            scope.getCost().add(reads, writes, deletes, bytes, rpcs);
+        }
+    }
+
+    /**
+     * Gets the operations of one caller on one client.
+     *
+     * @param client The name of the Firestore client
+     * @param caller The endpoint or job name
+     * @return The running totals, or null if the caller has not used the client
+     */
+    @Nullable
+    public FirestoreCost getTotals(String client, String caller) {
+        return totals.get(new CallerKey(client, caller));
+    }
+
+    private FirestoreCost totals(CallerKey key) {
+        FirestoreCost cost = totals.get(key);
+        if (cost != null) {
+            return cost;
+        }
+        return totals.computeIfAbsent(key, k -> {
+            FirestoreCost created = new FirestoreCost();
+            MeterRegistry current = registry;
+            if (current != null) {
+                register(current, k, created);
+            }
+            return created;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        totals.forEach((key, cost) -> register(registry, key, cost));
+    }
+
+    private static void register(MeterRegistry registry, CallerKey key, FirestoreCost cost) {
+        Tags tags = Tags.of("client", key.client(), "caller", key.caller());
+        FunctionCounter.builder("firestore.cost.reads", cost, FirestoreCost::getReads)
+                .description("Documents read from Firestore")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("firestore.cost.writes", cost, FirestoreCost::getWrites)
+                .description("Documents written to Firestore")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("firestore.cost.deletes", cost, FirestoreCost::getDeletes)
+                .description("Documents deleted from Firestore")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("firestore.cost.bytes", cost, FirestoreCost::getBytes)
+                .description("Payload bytes sent to and received from Firestore")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("firestore.cost.rpcs", cost, FirestoreCost::getRpcs)
+                .description("Firestore RPCs started")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private record CallerKey(String client, String caller) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.allan.javazure.cost;
+
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The caller Firestore operations are attributed to - an endpoint such as
+ * {@code http:POST /messages} or a background job such as {@code job:retention} - together
+ * with the operations it performed so far. A scope is bound to the thread entering it; the
+ * {@link CostAccountingFirestoreRpc} reads it when an RPC starts and attributes the RPC's
+ * whole cost to it, even when the response arrives on another thread. Work handed to other
+ * threads keeps its caller through {@link #propagate}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public final class FirestoreCostScope {
+
+    private static final ThreadLocal<FirestoreCostScope> CURRENT = new ThreadLocal<>();
+
+    private final String caller;
+    private final FirestoreCost cost = new FirestoreCost();
+
+    private FirestoreCostScope(String caller) {
+        this.caller = caller;
+    }
+
+    /**
+     * Creates a scope without entering it.
+     *
+     * @param caller The endpoint or job name
+     * @return The scope
+     */
+    public static FirestoreCostScope of(String caller) {
+        return new FirestoreCostScope(caller);
+    }
+
+    /**
+     * Creates a scope and enters it on the current thread.
+     *
+     * @param caller The endpoint or job name
+     * @return The activation, to be closed on the same thread
+     */
+    public static Activation open(String caller) {
+        return of(caller).enter();
+    }
+
+    /**
+     * Gets the scope the current thread is in.
+     *
+     * @return The scope, or null outside any scope
+     */
+    @Nullable
+    public static FirestoreCostScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Enters this scope on the current thread until the activation is closed, which
+     * restores the scope the thread was in before.
+     *
+     * @return The activation
+     */
+    public Activation enter() {
+        return enter(this);
+    }
+
+    /**
+     * Wraps a task to run in the scope current at the time of wrapping.
+     *
+     * @param task The task
+     * @return The wrapped task, or the task itself outside any scope
+     */
+    public static Runnable propagate(Runnable task) {
+        FirestoreCostScope scope = current();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            try (Activation ignored = enter(scope)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Wraps a task to run in the scope current at the time of wrapping.
+     *
+     * @param task The task
+     * @param <T> The result type
+     * @return The wrapped task, or the task itself outside any scope
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        FirestoreCostScope scope = current();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            try (Activation ignored = enter(scope)) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Enters a scope, or leaves every scope when it is null, until the activation is closed.
+     */
+    static Activation enter(@Nullable FirestoreCostScope scope) {
+        FirestoreCostScope previous = CURRENT.get();
+        if (scope == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(scope);
+        }
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public String getCaller() {
+        return caller;
+    }
+
+    /**
+     * Gets the operations performed in this scope so far.
+     *
+     * @return The running totals
+     */
+    public FirestoreCost getCost() {
+        return cost;
+    }
+
+    /**
+     * A scope entered on a thread, left when closed.
+     */
+    @FunctionalInterface
+    public interface Activation extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,105 @@
+package com.allan.javazure.cost;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A scheduled executor running each task in the {@link FirestoreCostScope} it was submitted
+ * from. The {@link CostAccountingFirestoreRpc} hands it to the client for transactions and
+ * response callbacks; jobs pass one to their {@link com.google.cloud.firestore.BulkWriter},
+ * which otherwise flushes its batches on a private thread outside the job's scope.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public final class ScopePropagatingExecutor extends AbstractExecutorService
+        implements ScheduledExecutorService {
+
+    private static final long IDLE_KEEP_ALIVE_SECONDS = 5;
+
+    private final ScheduledExecutorService delegate;
+
+    /**
+     * Wraps an executor.
+     *
+     * @param delegate The executor running the tasks, shut down with this one
+     */
+    public ScopePropagatingExecutor(ScheduledExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Creates an executor on a single daemon thread that exits once idle, for callers that
+     * cannot tell when its last task is submitted - a BulkWriter keeps running listeners on
+     * its executor after close returns - and so never shut it down.
+     *
+     * @param threadName The name of the thread
+     * @return The executor
+     */
+    public static ScopePropagatingExecutor newIdleExitingExecutor(String threadName) {
+        ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.setKeepAliveTime(IDLE_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        pool.allowCoreThreadTimeOut(true);
+        return new ScopePropagatingExecutor(pool);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(FirestoreCostScope.propagate(command));
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return delegate.schedule(FirestoreCostScope.propagate(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return delegate.schedule(FirestoreCostScope.propagate(callable), delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return delegate.scheduleAtFixedRate(FirestoreCostScope.propagate(command), initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return delegate.scheduleWithFixedDelay(FirestoreCostScope.propagate(command), initialDelay, delay, unit);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
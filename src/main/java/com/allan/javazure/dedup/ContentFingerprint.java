@@ -0,0 +1,92 @@
+package com.allan.javazure.dedup;
+
+import com.allan.javazure.service.MessageSanitizer;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 128-bit MurmurHash3 fingerprint of a message's normalized content, optionally
+ * combined with the author. Normalization sanitizes the text with {@link MessageSanitizer},
+ * lower-cases it and collapses runs of whitespace, so resends that differ only in spacing,
+ * case or invisible characters produce the same fingerprint. Messages sent
+ * with an idempotency key are fingerprinted by the key instead.
+ *
+ * @param high The upper 64 bits of the hash
+ * @param low The lower 64 bits of the hash
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record ContentFingerprint(long high, long low) {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * Separates the author from the content in the hashed input.
+     */
+    private static final char SEPARATOR = '\u0000';
+
+    /**
+     * Seed of the hash of idempotency keys, so a key never shares a fingerprint with content.
+     */
+    private static final int IDEMPOTENCY_KEY_SEED = 0x1d3a7c55;
+
+    /**
+     * Computes the fingerprint of a message.
+     *
+     * @param author The resolved author, ignored unless {@code includeAuthor} is set
+     * @param content The message content
+     * @param includeAuthor Whether the same content from different authors is distinct
+     * @return The fingerprint
+     */
+    public static ContentFingerprint of(String author, String content, boolean includeAuthor) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        if (includeAuthor) {
+            hasher.putString(normalize(author), StandardCharsets.UTF_8).putChar(SEPARATOR);
+        }
+        return of(hasher.putString(normalize(content), StandardCharsets.UTF_8).hash());
+    }
+
+    /**
+     * Computes the fingerprint of a message identified by a client-generated idempotency key
+     * instead of its content. The key is compared verbatim and always together with the
+     * author, so one author's key never matches another author's message.
+     *
+     * @param author The resolved author
+     * @param idempotencyKey The key the client sends with every attempt of the message
+     * @return The fingerprint
+     */
+    public static ContentFingerprint ofIdempotencyKey(String author, String idempotencyKey) {
+        return of(Hashing.murmur3_128(IDEMPOTENCY_KEY_SEED).newHasher()
+                .putString(normalize(author), StandardCharsets.UTF_8)
+                .putChar(SEPARATOR)
+                .putString(idempotencyKey, StandardCharsets.UTF_8)
+                .hash());
+    }
+
+    private static ContentFingerprint of(HashCode hash) {
+        ByteBuffer bytes = ByteBuffer.wrap(hash.asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        return new ContentFingerprint(bytes.getLong(), bytes.getLong());
+    }
+
+    /**
+     * Normalizes text for comparison.
+     *
+     * @param text The text, may be null
+     * @return The sanitized, lower-cased text with whitespace runs collapsed to one space
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(MessageSanitizer.sanitize(text)).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
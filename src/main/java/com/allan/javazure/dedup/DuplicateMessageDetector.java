@@ -0,0 +1,379 @@
+package com.allan.javazure.dedup;
+
+import com.allan.javazure.config.FirebaseConfig;
+import com.allan.javazure.cost.FirestoreCostScope;
+import com.allan.javazure.service.SaveResult;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.WriteBatch;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Suppresses resends of the same message content within a rolling time window.
+ * A {@link RotatingBloomFilter} answers "certainly new" for most messages without touching
+ * shared state; when it answers "maybe seen", an exact map from {@link ContentFingerprint}
+ * to the original save confirms the duplicate, so filter false positives never drop a
+ * message. A duplicate is answered with the original message's identity, sharing the
+ * original's result if that save is still in flight, and never reaches Firestore. The
+ * author is part of the fingerprint by default, so that identity is only ever returned to
+ * the sender of the original; without it, identical content from another author is
+ * dropped and answered with the first author's message.
+ * <p>
+ * Both structures have a fixed size: the filter is sized from the expected message rate,
+ * and once {@code max-tracked} originals are held, further messages are saved untracked
+ * until entries expire. Idempotency keys are remembered in a separate map with its own
+ * cap, {@code max-idempotency-keys}, so a client cycling through keys can never push
+ * content fingerprints out. With the {@code MERGE} action, duplicate counts are accumulated
+ * in memory and flushed periodically as one increment per original to the
+ * {@value #DUPLICATES_COLLECTION} collection.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+public class DuplicateMessageDetector implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateMessageDetector.class);
+
+    /**
+     * Collection holding one duplicate counter document per original message ID.
+     */
+    public static final String DUPLICATES_COLLECTION = "message_duplicates";
+
+    /**
+     * Field of a duplicate counter document holding the number of suppressed resends.
+     */
+    public static final String COUNT_FIELD = "count";
+
+    /**
+     * Field of a duplicate counter document holding when counts were last merged.
+     */
+    public static final String LAST_SEEN_FIELD = "lastSeenAt";
+
+    /**
+     * What happens to a suppressed duplicate.
+     */
+    public enum Action {
+        /** The duplicate is discarded. */
+        DROP,
+        /** The duplicate is discarded and counted against the original message. */
+        MERGE
+    }
+
+    private final Firestore firestore;
+    private final Action action;
+    private final boolean includeAuthor;
+    private final Duration window;
+    private final long sliceMillis;
+    private final int maxTracked;
+    private final int maxKeys;
+    private final Clock clock;
+
+    private final RotatingBloomFilter filter;
+    private final ConcurrentHashMap<ContentFingerprint, Original> originals = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ContentFingerprint, Original> keys = new ConcurrentHashMap<>();
+    private final AtomicLong slice;
+
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong untracked = new AtomicLong();
+
+    /**
+     * Constructs a new DuplicateMessageDetector.
+     *
+     * @param firestore The background Firestore client, used by the MERGE action (can be null for mock mode)
+     * @param action What happens to a suppressed duplicate
+     * @param includeAuthor Whether the same content from different authors is distinct
+     * @param window How long a message suppresses resends of its content
+     * @param slices Number of filter slices the window is divided into
+     * @param expectedMessagesPerWindow Distinct messages expected per window, used to size the filter
+     * @param falsePositiveRate Target false positive rate of the filter
+     * @param maxTracked Maximum number of originals held for exact confirmation
+     * @param maxKeys Maximum number of idempotency keys held for replaying retried requests
+     */
+    @Autowired
+    public DuplicateMessageDetector(@Qualifier(FirebaseConfig.BACKGROUND_FIRESTORE) @Nullable Firestore firestore,
+                                    @Value("${messages.dedup.action:DROP}") Action action,
+                                    @Value("${messages.dedup.include-author:true}") boolean includeAuthor,
+                                    @Value("${messages.dedup.window:PT10M}") Duration window,
+                                    @Value("${messages.dedup.slices:4}") int slices,
+                                    @Value("${messages.dedup.expected-messages-per-window:100000}") long expectedMessagesPerWindow,
+                                    @Value("${messages.dedup.false-positive-rate:0.01}") double falsePositiveRate,
+                                    @Value("${messages.dedup.max-tracked:100000}") int maxTracked,
+                                    @Value("${messages.dedup.max-idempotency-keys:10000}") int maxKeys) {
+        this(firestore, action, includeAuthor, window, slices, expectedMessagesPerWindow, falsePositiveRate,
+             maxTracked, maxKeys, Clock.systemUTC());
+    }
+
+    DuplicateMessageDetector(@Nullable Firestore firestore, Action action, boolean includeAuthor, Duration window,
+                             int slices, long expectedMessagesPerWindow, double falsePositiveRate, int maxTracked,
+                             int maxKeys, Clock clock) {
+        this.firestore = firestore;
+        this.action = action;
+        this.includeAuthor = includeAuthor;
+        this.window = window;
+        this.sliceMillis = Math.max(1, window.toMillis() / slices);
+        this.maxTracked = maxTracked;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.filter = new RotatingBloomFilter(slices, Math.max(1, expectedMessagesPerWindow / slices), falsePositiveRate);
+        this.slice = new AtomicLong(clock.millis() / sliceMillis);
+
+        logger.info("Duplicate suppression over {} ({} filter bytes, {} tracked originals, action {})",
+                   window, filter.sizeInBytes(), maxTracked, action);
+    }
+
+    /**
+     * Saves a message unless its content was already saved within the window.
+     *
+     * @param author The author as submitted
+     * @param content The content as submitted
+     * @param save Starts the actual save; only called for messages that are not duplicates
+     * @return The future of the save, or of the original save for a duplicate
+     */
+    public CompletableFuture<SaveResult> saveOnce(String author, String content,
+                                                  Supplier<CompletableFuture<SaveResult>> save) {
+        return saveOnce(author, content, null, save);
+    }
+
+    /**
+     * Saves a message unless its content was already saved within the window. An idempotency
+     * key only adds a way to recognise retries: a repeated key, per author, is answered with
+     * the message first saved under it even if the content was edited since, while the
+     * content is checked whatever the key, so fresh keys do not get resends through.
+     *
+     * @param author The author as submitted
+     * @param content The content as submitted
+     * @param idempotencyKey The client's key for the message, or null if it sent none
+     * @param save Starts the actual save; only called for messages that are not duplicates
+     * @return The future of the save, or of the original save for a duplicate
+     */
+    public CompletableFuture<SaveResult> saveOnce(String author, String content, @Nullable String idempotencyKey,
+                                                  Supplier<CompletableFuture<SaveResult>> save) {
+        if (content == null || content.isBlank()) {
+            return save.get(); // invalid input is rejected by the save itself
+        }
+        long now = clock.millis();
+        rotateIfDue(now);
+
+        ContentFingerprint key = idempotencyKey != null && !idempotencyKey.isBlank()
+                ? ContentFingerprint.ofIdempotencyKey(author, idempotencyKey)
+                : null;
+        if (key != null) {
+            Original retried = keys.get(key);
+            if (retried != null && !retried.isExpired(now)) {
+                return suppress(retried);
+            }
+        }
+
+        ContentFingerprint fingerprint = ContentFingerprint.of(author, content, includeAuthor);
+        if (filter.mightContain(fingerprint.high(), fingerprint.low())) {
+            Original original = originals.get(fingerprint);
+            if (original != null && !original.isExpired(now)) {
+                rememberKey(key, original);
+                return suppress(original);
+            }
+        }
+
+        Original candidate = new Original(now);
+        if (originals.size() >= maxTracked) {
+            untracked.incrementAndGet();
+            if (key == null) {
+                return save.get();
+            }
+        } else {
+            Original existing = originals.putIfAbsent(fingerprint, candidate);
+            if (existing != null) {
+                if (!existing.isExpired(now)) {
+                    rememberKey(key, existing);
+                    return suppress(existing);
+                }
+                originals.replace(fingerprint, existing, candidate);
+            }
+            filter.put(fingerprint.high(), fingerprint.low());
+        }
+        rememberKey(key, candidate);
+
+        CompletableFuture<SaveResult> result;
+        try {
+            result = save.get();
+        } catch (RuntimeException e) {
+            forget(fingerprint, key, candidate);
+            candidate.result.completeExceptionally(e);
+            throw e;
+        }
+        result.whenComplete((saved, error) -> {
+            if (error != null) {
+                forget(fingerprint, key, candidate); // a failed save must not suppress its retry
+                candidate.result.completeExceptionally(error);
+            } else {
+                candidate.result.complete(saved);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Writes the duplicate counts accumulated by the MERGE action.
+     */
+    @Scheduled(initialDelayString = "${messages.dedup.flush-interval:PT30S}",
+               fixedDelayString = "${messages.dedup.flush-interval:PT30S}")
+    public void flushDuplicateCounts() {
+        if (action != Action.MERGE || firestore == null) {
+            return;
+        }
+        Map<String, Long> counts = new HashMap<>();
+        for (Original original : originals.values()) {
+            long pending = original.pendingDuplicates.getAndSet(0);
+            SaveResult saved = original.result.getNow(null);
+            if (pending > 0 && saved != null) {
+                counts.merge(saved.messageId(), pending, Long::sum);
+            } else if (pending > 0) {
+                original.pendingDuplicates.addAndGet(pending); // original still in flight
+            }
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        WriteBatch batch = firestore.batch();
+        Instant now = clock.instant();
+        counts.forEach((messageId, count) -> batch.set(firestore.collection(DUPLICATES_COLLECTION).document(messageId),
+                Map.of(COUNT_FIELD, FieldValue.increment(count),
+                       LAST_SEEN_FIELD, Timestamp.ofTimeSecondsAndNanos(now.getEpochSecond(), now.getNano())),
+                SetOptions.merge()));
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open("job:dedup-flush")) {
+            batch.commit().get();
+            logger.debug("Merged duplicate counts of {} messages", counts.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while merging duplicate counts");
+        } catch (Exception e) {
+            logger.warn("Failed to merge duplicate counts of {} messages", counts.size(), e);
+        }
+    }
+
+    /**
+     * Gets the number of duplicates suppressed so far.
+     *
+     * @return The duplicate count
+     */
+    public long getDuplicates() {
+        return duplicates.get();
+    }
+
+    /**
+     * Gets the number of originals currently held for exact confirmation.
+     *
+     * @return The tracked original count
+     */
+    public int getTracked() {
+        return originals.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("messages.dedup.duplicates", duplicates, AtomicLong::get)
+                .description("Resent messages suppressed before reaching Firestore")
+                .register(registry);
+        FunctionCounter.builder("messages.dedup.untracked", untracked, AtomicLong::get)
+                .description("Messages saved without duplicate tracking because the exact set was full")
+                .register(registry);
+        Gauge.builder("messages.dedup.tracked", this, DuplicateMessageDetector::getTracked)
+                .description("Original messages held for exact duplicate confirmation")
+                .register(registry);
+    }
+
+    /**
+     * Gets the number of idempotency keys currently held for replaying retries.
+     *
+     * @return The tracked key count
+     */
+    public int getTrackedKeys() {
+        return keys.size();
+    }
+
+    /**
+     * Remembers which original an idempotency key was answered with, while there is room.
+     */
+    private void rememberKey(@Nullable ContentFingerprint key, Original original) {
+        if (key != null && keys.size() < maxKeys) {
+            keys.putIfAbsent(key, original);
+        }
+    }
+
+    private void forget(ContentFingerprint fingerprint, @Nullable ContentFingerprint key, Original candidate) {
+        originals.remove(fingerprint, candidate);
+        if (key != null) {
+            keys.remove(key, candidate);
+        }
+    }
+
+    private CompletableFuture<SaveResult> suppress(Original original) {
+        duplicates.incrementAndGet();
+        if (action == Action.MERGE) {
+            original.pendingDuplicates.incrementAndGet();
+        }
+        return original.result.copy();
+    }
+
+    /**
+     * Rotates the filter once per elapsed slice and drops expired originals. Only the
+     * thread that advances the slice counter does the work; lookups never wait for it.
+     */
+    private void rotateIfDue(long now) {
+        long current = slice.get();
+        long due = now / sliceMillis;
+        if (due <= current || !slice.compareAndSet(current, due)) {
+            return;
+        }
+        long rotations = Math.min(due - current, Integer.MAX_VALUE);
+        for (long i = 0; i < rotations && i <= filter.getSliceCount(); i++) {
+            filter.rotate();
+        }
+        // Expired originals with unmerged counts stay until the scheduled flush has written them.
+        originals.values().removeIf(original -> original.isExpired(now) && original.pendingDuplicates.get() == 0);
+        keys.values().removeIf(original -> original.isExpired(now));
+    }
+
+    /**
+     * An original message within the window and its pending duplicate count.
+     */
+    private final class Original {
+
+        private final long firstSeenMillis;
+        private final CompletableFuture<SaveResult> result = new CompletableFuture<>();
+        private final AtomicLong pendingDuplicates = new AtomicLong();
+
+        private Original(long firstSeenMillis) {
+            this.firstSeenMillis = firstSeenMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return now - firstSeenMillis >= window.toMillis();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.allan.javazure.dedup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over a sliding time window, built from a ring of equally sized slices.
+ * Insertions go to the current slice and lookups check every slice; rotating clears the
+ * oldest slice and makes it current, so entries are forgotten after a full turn of the
+ * ring. Memory is fixed at construction.
+ * <p>
+ * Lookups and insertions are lock-free: bits live in {@link AtomicLongArray}s and are
+ * set with a compare-and-set loop. Only rotation is serialised. A lookup racing a rotation
+ * may miss entries of the slice being cleared, which are about to expire anyway.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class RotatingBloomFilter {
+
+    private final AtomicLongArray[] slices;
+    private final long bitsPerSlice;
+    private final int hashFunctions;
+    private volatile int current;
+
+    /**
+     * Constructs a new RotatingBloomFilter sized for the given load.
+     *
+     * @param sliceCount Number of slices in the ring, at least 2
+     * @param expectedInsertionsPerSlice Insertions expected between two rotations
+     * @param falsePositiveRate Target false positive rate of one slice, between 0 and 1
+     */
+    public RotatingBloomFilter(int sliceCount, long expectedInsertionsPerSlice, double falsePositiveRate) {
+        if (sliceCount < 2) {
+            throw new IllegalArgumentException("A rotating filter needs at least 2 slices");
+        }
+        if (expectedInsertionsPerSlice < 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertionsPerSlice * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long words = Math.max(1, (bits + 63) / 64);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filter slice would exceed the maximum array size");
+        }
+        this.bitsPerSlice = words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitsPerSlice / expectedInsertionsPerSlice * ln2));
+        this.slices = new AtomicLongArray[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new AtomicLongArray((int) words);
+        }
+    }
+
+    /**
+     * Checks whether an entry may have been inserted within the window.
+     *
+     * @param hash1 First half of the entry's 128-bit hash
+     * @param hash2 Second half of the entry's 128-bit hash
+     * @return false if the entry was certainly not inserted, true if it probably was
+     */
+    public boolean mightContain(long hash1, long hash2) {
+        for (AtomicLongArray slice : slices) {
+            if (contains(slice, hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inserts an entry into the current slice.
+     *
+     * @param hash1 First half of the entry's 128-bit hash
+     * @param hash2 Second half of the entry's 128-bit hash
+     */
+    public void put(long hash1, long hash2) {
+        AtomicLongArray slice = slices[current];
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = bitIndex(hash1, hash2, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long value;
+            do {
+                value = slice.get(word);
+                if ((value & mask) != 0) {
+                    break;
+                }
+            } while (!slice.compareAndSet(word, value, value | mask));
+        }
+    }
+
+    /**
+     * Forgets the oldest slice and starts inserting into it.
+     */
+    public synchronized void rotate() {
+        int next = (current + 1) % slices.length;
+        AtomicLongArray slice = slices[next];
+        for (int word = 0; word < slice.length(); word++) {
+            slice.set(word, 0L);
+        }
+        current = next;
+    }
+
+    /**
+     * Gets the memory used by the filter's bits.
+     *
+     * @return The size of all slices in bytes
+     */
+    public long sizeInBytes() {
+        return bitsPerSlice / 8 * slices.length;
+    }
+
+    /**
+     * Gets the number of slices in the ring.
+     *
+     * @return The slice count
+     */
+    public int getSliceCount() {
+        return slices.length;
+    }
+
+    /**
+     * Gets the number of hash functions applied per entry.
+     *
+     * @return The hash function count
+     */
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    private boolean contains(AtomicLongArray slice, long hash1, long hash2) {
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = bitIndex(hash1, hash2, i);
+            if ((slice.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Derives the i-th bit from two hashes (Kirsch-Mitzenmacher double hashing).
+     */
+    private long bitIndex(long hash1, long hash2, int i) {
+        return ((hash1 + i * hash2) & Long.MAX_VALUE) % bitsPerSlice;
+    }
+}
@@ -0,0 +1,166 @@
+package com.allan.javazure.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint that starts a bounded Java Flight Recorder recording on demand and
+ * serves the resulting file. Recordings use the low-overhead {@code default} settings plus
+ * every message ingestion event, and are capped in both duration and size.
+ * Exposed at {@code /actuator/jfr} once added to {@code management.endpoints.web.exposure.include}.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+
+    private static final List<Class<? extends Event>> INGESTION_EVENTS = List.of(
+            MessageBindingEvent.class, MessageValidationEvent.class, MessageDocumentEvent.class,
+            MessagePersistEvent.class, MessageSaveEvent.class);
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+    private Path recordingFile;
+
+    /**
+     * Constructs a new JfrRecordingEndpoint.
+     *
+     * @param defaultDuration The duration used when the caller does not specify one
+     * @param maxDuration The upper bound of any requested duration
+     * @param maxSizeBytes The maximum size of the recording on disk
+     */
+    public JfrRecordingEndpoint(@Value("${diagnostics.jfr.default-duration:PT30S}") Duration defaultDuration,
+                                @Value("${diagnostics.jfr.max-duration:PT5M}") Duration maxDuration,
+                                @Value("${diagnostics.jfr.max-size-bytes:52428800}") long maxSizeBytes) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * Reports the state of the current or last recording.
+     *
+     * @return The recording status
+     */
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("stopTime", recording.getStopTime());
+        status.put("size", recording.getState() == RecordingState.RUNNING ? null : recordingFileSize());
+        return status;
+    }
+
+    /**
+     * Starts a new recording that stops by itself after the requested duration.
+     *
+     * @param durationSeconds The recording length in seconds, capped by the configured maximum
+     * @return The recording status
+     * @throws IllegalStateException if a recording is already running
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A JFR recording is already running");
+        }
+
+        Duration requested = durationSeconds != null ? Duration.ofSeconds(durationSeconds) : defaultDuration;
+        Duration duration = requested.compareTo(maxDuration) > 0 ? maxDuration : requested;
+
+        try {
+            discardPrevious();
+            Recording next = new Recording(Configuration.getConfiguration("default"));
+            INGESTION_EVENTS.forEach(next::enable);
+            recordingFile = Files.createTempFile("javazure-", ".jfr");
+            next.setName("javazure-on-demand");
+            next.setToDisk(true);
+            next.setMaxSize(maxSizeBytes);
+            next.setDuration(duration);
+            next.setDestination(recordingFile);
+            next.start();
+            recording = next;
+            logger.info("Started on-demand JFR recording for {} to {}", duration, recordingFile);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create JFR recording file", e);
+
+        } catch (ParseException e) {
+            throw new IllegalStateException("Could not load JFR default configuration", e);
+        }
+        return status();
+    }
+
+    /**
+     * Downloads the finished recording from {@code /actuator/jfr/recording.jfr}.
+     *
+     * @param file The requested file name, always {@code recording.jfr}
+     * @return The recording file, 409 while it is still running, or 404 if none exists
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector String file) {
+        if (recording == null || !"recording.jfr".equals(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() != RecordingState.STOPPED && recording.getState() != RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(409);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(recordingFile), WebEndpointResponse.STATUS_OK);
+    }
+
+    private void discardPrevious() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (recordingFile != null) {
+            Files.deleteIfExists(recordingFile);
+            recordingFile = null;
+        }
+    }
+
+    private Long recordingFileSize() {
+        try {
+            return recordingFile != null && Files.exists(recordingFile) ? Files.size(recordingFile) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
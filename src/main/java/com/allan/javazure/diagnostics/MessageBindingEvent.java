@@ -0,0 +1,18 @@
+package com.allan.javazure.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the JSON deserialization of a message creation request body.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Name("com.allan.javazure.MessageBinding")
+@Label("Message Binding")
+@Description("JSON deserialization of a message creation request body")
+public class MessageBindingEvent extends MessageStageEvent {
+}
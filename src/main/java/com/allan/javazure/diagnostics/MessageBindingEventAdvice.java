@@ -0,0 +1,75 @@
+package com.allan.javazure.diagnostics;
+
+import com.allan.javazure.dto.CreateMessageRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Times the JSON binding of {@link CreateMessageRequest} bodies with a {@link MessageBindingEvent}.
+ * The event is started before the message converter reads the body and committed once the
+ * request object exists, so it measures deserialization only. It travels with the input
+ * message handed to the converter rather than with the thread, so a body that fails to
+ * deserialize leaves nothing behind on the pooled request thread.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@ControllerAdvice
+public class MessageBindingEventAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == CreateMessageRequest.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        MessageBindingEvent event = new MessageBindingEvent();
+        event.begin();
+        return new TimedInputMessage(inputMessage, event);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        if (inputMessage instanceof TimedInputMessage timed && body instanceof CreateMessageRequest request) {
+            timed.event.commit(request.getAuthor(), request.getContent(), null);
+        }
+        return body;
+    }
+
+    /**
+     * An input message carrying the binding event started for it.
+     */
+    private static final class TimedInputMessage implements HttpInputMessage {
+
+        private final HttpInputMessage delegate;
+        private final MessageBindingEvent event;
+
+        TimedInputMessage(HttpInputMessage delegate, MessageBindingEvent event) {
+            this.delegate = delegate;
+            this.event = event;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+}
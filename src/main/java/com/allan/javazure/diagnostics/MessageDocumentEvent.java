@@ -0,0 +1,18 @@
+package com.allan.javazure.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the construction of the Firestore document for a message.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Name("com.allan.javazure.MessageDocument")
+@Label("Message Document")
+@Description("Construction of the Firestore document for a message")
+public class MessageDocumentEvent extends MessageStageEvent {
+}
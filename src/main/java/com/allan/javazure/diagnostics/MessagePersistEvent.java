@@ -0,0 +1,19 @@
+package com.allan.javazure.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the persistence of a message: the Firestore round trip,
+ * or the log line written in mock mode.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Name("com.allan.javazure.MessagePersist")
+@Label("Message Persist")
+@Description("Persistence of a message: the Firestore round trip, or the log line in mock mode")
+public class MessagePersistEvent extends MessageStageEvent {
+}
@@ -0,0 +1,18 @@
+package com.allan.javazure.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering a complete {@code MessageService.saveMessage} call.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Name("com.allan.javazure.MessageSave")
+@Label("Message Save")
+@Description("The complete MessageService.saveMessage call")
+public class MessageSaveEvent extends MessageStageEvent {
+}
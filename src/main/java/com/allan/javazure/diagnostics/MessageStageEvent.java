@@ -0,0 +1,60 @@
+package com.allan.javazure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class of the Java Flight Recorder events emitted for each stage of message ingestion.
+ * Events are cheap when no recording is active: fields are only populated and the event
+ * only committed when {@link #shouldCommit()} says a recording wants it.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Category({"Javazure", "Message Ingestion"})
+@StackTrace(false)
+public abstract class MessageStageEvent extends Event {
+
+    /**
+     * Persistence mode reported when Firestore is available.
+     */
+    public static final String MODE_FIRESTORE = "firestore";
+
+    /**
+     * Persistence mode reported when the service runs without a database.
+     */
+    public static final String MODE_MOCK = "mock";
+
+    @Label("Author Length")
+    @Description("Length of the author name in UTF-16 code units, -1 when absent")
+    int authorLength;
+
+    @Label("Content Length")
+    @Description("Length of the message content in UTF-16 code units, -1 when absent")
+    int contentLength;
+
+    @Label("Mode")
+    @Description("Persistence mode (firestore or mock), empty when not yet known")
+    String mode;
+
+    /**
+     * Ends the event and commits it with the message dimensions if a recording is interested.
+     *
+     * @param author The message author, can be null
+     * @param content The message content, can be null
+     * @param mode The persistence mode, can be null when unknown at this stage
+     */
+    public void commit(String author, String content, String mode) {
+        end();
+        if (shouldCommit()) {
+            this.authorLength = author != null ? author.length() : -1;
+            this.contentLength = content != null ? content.length() : -1;
+            this.mode = mode;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.allan.javazure.diagnostics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the validation of a message, both in the controller and in the service.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Name("com.allan.javazure.MessageValidation")
+@Label("Message Validation")
+@Description("Validation of a message creation request or of the content passed to the service")
+public class MessageValidationEvent extends MessageStageEvent {
+}
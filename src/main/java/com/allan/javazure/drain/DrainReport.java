@@ -0,0 +1,34 @@
+package com.allan.javazure.drain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Outcome of draining a replica before it stopped.
+ *
+ * @param startedAt When the drain started
+ * @param duration How long the drain took, from refusing writes to the last spilled message
+ * @param savesInFlight The saves in flight when writes were refused
+ * @param savesAbandoned The saves still in flight at the deadline, whose clients get no answer
+ * @param messagesSpilled The messages sinks had not consumed, written to a spill file for replay
+ * @param messagesLost The messages sinks had not consumed that could not be spilled
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record DrainReport(Instant startedAt, Duration duration, int savesInFlight, int savesAbandoned,
+                          int messagesSpilled, int messagesLost) {
+
+    /**
+     * Checks whether the drain lost nothing: every save answered and every message consumed or spilled.
+     *
+     * @return true if nothing was abandoned or lost
+     */
+    @JsonIgnore
+    public boolean isLossless() {
+        return savesAbandoned == 0 && messagesLost == 0;
+    }
+}
@@ -0,0 +1,296 @@
+package com.allan.javazure.drain;
+
+import com.allan.javazure.events.MessageEventBus;
+import com.allan.javazure.service.MessageSavedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the replica when the application context closes, so scaling in loses no writes.
+ * Being a lifecycle bean of the default phase, it stops before the web server's graceful
+ * shutdown. Draining then:
+ * <ol>
+ *   <li>marks the replica's readiness {@code REFUSING_TRAFFIC} and closes the {@link WriteGate},
+ *       so new saves are answered 503 with Retry-After and go to another replica,</li>
+ *   <li>waits for the saves in flight, so their clients get an answer,</li>
+ *   <li>lets the {@link MessageEventBus} sinks consume what is queued, and</li>
+ *   <li>writes what they could not consume to a spill file, replayed to the same sinks on the
+ *       next start of a replica sharing the spill directory.</li>
+ * </ol>
+ * All of it shares one drain timeout, derived from {@code messages.drain.shutdown-budget}: the
+ * web server's graceful shutdown phase, which follows the drain and may take up to
+ * {@code spring.lifecycle.timeout-per-shutdown-phase}, and the gRPC server's grace period when
+ * it runs, are taken off the budget, so the whole shutdown stays below the platform's
+ * termination grace period. Saves still in flight at the deadline are abandoned: their clients
+ * get no answer and retry. How long the drain took and what it left behind is logged, kept as
+ * the {@code messages.drain.last.*} metrics and stored next to the spill files, so the next
+ * replica reports the previous shutdown too.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnProperty(value = "messages.drain.enabled", havingValue = "true", matchIfMissing = true)
+public class GracefulDrainCoordinator implements SmartLifecycle, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(GracefulDrainCoordinator.class);
+
+    private final WriteGate gate;
+    private final MessageEventBus bus;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SpillStore spillStore;
+    private final Duration timeout;
+
+    private final AtomicLong replayed = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile DrainReport lastReport;
+
+    /**
+     * Constructs a new GracefulDrainCoordinator from the application context.
+     *
+     * @param gate The gate admitting saves
+     * @param bus The bus whose sinks are drained
+     * @param eventPublisher The publisher of the readiness change
+     * @param objectMapper The mapper used for the spill files
+     * @param shutdownBudget How long the whole shutdown may take
+     * @param shutdownPhaseTimeout How long each later shutdown phase may take
+     * @param grpcEnabled Whether the gRPC server runs
+     * @param grpcGracePeriod How long the gRPC server gives running calls on shutdown
+     * @param spillDirectory The directory of the spill files
+     */
+    @Autowired
+    public GracefulDrainCoordinator(WriteGate gate, MessageEventBus bus, ApplicationEventPublisher eventPublisher,
+                                    ObjectMapper objectMapper,
+                                    @Value("${messages.drain.shutdown-budget:PT25S}") Duration shutdownBudget,
+                                    @Value("${spring.lifecycle.timeout-per-shutdown-phase:PT30S}") Duration shutdownPhaseTimeout,
+                                    @Value("${grpc.server.enabled:false}") boolean grpcEnabled,
+                                    @Value("${grpc.server.shutdown-grace-period:PT10S}") Duration grpcGracePeriod,
+                                    @Value("${messages.drain.spill-directory:spill}") String spillDirectory) {
+        this(gate, bus, eventPublisher, new SpillStore(Path.of(spillDirectory), objectMapper),
+             drainTimeout(shutdownBudget, shutdownPhaseTimeout, grpcEnabled ? grpcGracePeriod : Duration.ZERO));
+    }
+
+    /**
+     * Constructs a new GracefulDrainCoordinator with the specified spill store.
+     *
+     * @param gate The gate admitting saves
+     * @param bus The bus whose sinks are drained
+     * @param eventPublisher The publisher of the readiness change
+     * @param spillStore The store of spill files and drain reports
+     * @param timeout How long the whole drain may take
+     */
+    public GracefulDrainCoordinator(WriteGate gate, MessageEventBus bus, ApplicationEventPublisher eventPublisher,
+                                    SpillStore spillStore, Duration timeout) {
+        this.gate = gate;
+        this.bus = bus;
+        this.eventPublisher = eventPublisher;
+        this.spillStore = spillStore;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Derives the drain timeout from the shutdown budget. The drain runs in the first shutdown
+     * phase, as does the gRPC server's stop; the web server's graceful shutdown follows in a
+     * later phase, which Spring waits on for up to the phase timeout. What they may take is
+     * left out of the budget.
+     *
+     * @param shutdownBudget How long the whole shutdown may take
+     * @param shutdownPhaseTimeout How long each later shutdown phase may take
+     * @param grpcGracePeriod How long the gRPC server's stop may take, zero if it does not run
+     * @return How long the drain may take
+     * @throws IllegalStateException if nothing of the budget is left for the drain
+     */
+    static Duration drainTimeout(Duration shutdownBudget, Duration shutdownPhaseTimeout, Duration grpcGracePeriod) {
+        Duration timeout = shutdownBudget.minus(shutdownPhaseTimeout).minus(grpcGracePeriod);
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalStateException("messages.drain.shutdown-budget (" + shutdownBudget
+                    + ") leaves no time to drain after spring.lifecycle.timeout-per-shutdown-phase ("
+                    + shutdownPhaseTimeout + ") and the gRPC shutdown grace period (" + grpcGracePeriod + ")");
+        }
+        return timeout;
+    }
+
+    @Override
+    public void start() {
+        loadLastReport();
+        replaySpilled();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (running) {
+            drain();
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Refuses new saves, waits for those in flight, drains the sinks and spills what is left.
+     *
+     * @return The report of the drain
+     */
+    public DrainReport drain() {
+        long started = System.nanoTime();
+        Instant startedAt = Instant.now();
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        gate.close();
+        int savesInFlight = gate.getInFlight();
+        logger.info("Draining: refusing new saves, waiting for {} in flight", savesInFlight);
+
+        int savesAbandoned = 0;
+        try {
+            if (!gate.awaitIdle(timeout)) {
+                savesAbandoned = gate.getInFlight();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            savesAbandoned = gate.getInFlight();
+        }
+
+        Duration remaining = Duration.ofNanos(Math.max(0, timeout.toNanos() - (System.nanoTime() - started)));
+        Map<String, List<MessageSavedEvent>> undelivered = bus.drain(remaining);
+        int undeliveredCount = undelivered.values().stream().mapToInt(List::size).sum();
+        int spilled = 0;
+        int lost = 0;
+        if (undeliveredCount > 0) {
+            try {
+                spilled = spillStore.spill(undelivered);
+            } catch (IOException e) {
+                lost = undeliveredCount;
+                logger.error("Failed to spill {} undelivered messages", undeliveredCount, e);
+            }
+        }
+
+        DrainReport report = new DrainReport(startedAt, Duration.ofNanos(System.nanoTime() - started),
+                savesInFlight, savesAbandoned, spilled, lost);
+        lastReport = report;
+        try {
+            spillStore.writeReport(report);
+        } catch (IOException e) {
+            logger.warn("Failed to store the drain report", e);
+        }
+        logger.info("Drained in {} ms: {} saves awaited, {} abandoned, {} messages spilled, {} lost",
+                   report.duration().toMillis(), savesInFlight, savesAbandoned, spilled, lost);
+        return report;
+    }
+
+    /**
+     * Publishes the messages of every spill file to the sinks they were queued for, deleting
+     * each file once replayed. Files that cannot be read are kept for inspection.
+     *
+     * @return The number of messages queued again
+     */
+    int replaySpilled() {
+        List<Path> files;
+        try {
+            files = spillStore.pending();
+        } catch (IOException e) {
+            logger.error("Failed to list spill files", e);
+            return 0;
+        }
+        int queued = 0;
+        for (Path file : files) {
+            try {
+                Map<String, List<MessageSavedEvent>> bySink = new LinkedHashMap<>();
+                for (SpilledMessage message : spillStore.read(file)) {
+                    bySink.computeIfAbsent(message.sink(), sink -> new ArrayList<>()).add(message.toEvent());
+                }
+                for (Map.Entry<String, List<MessageSavedEvent>> sink : bySink.entrySet()) {
+                    try {
+                        queued += bus.replay(sink.getKey(), sink.getValue());
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Discarding {} spilled messages of unknown sink '{}'",
+                                   sink.getValue().size(), sink.getKey());
+                    }
+                }
+                spillStore.delete(file);
+            } catch (IOException e) {
+                logger.error("Failed to replay spill file {}", file, e);
+            }
+        }
+        if (!files.isEmpty()) {
+            logger.info("Replayed {} spilled messages from {} files", queued, files.size());
+        }
+        replayed.addAndGet(queued);
+        return queued;
+    }
+
+    private void loadLastReport() {
+        try {
+            spillStore.readReport().ifPresent(report -> {
+                lastReport = report;
+                logger.info("Previous drain at {} took {} ms: {} saves abandoned, {} messages spilled, {} lost",
+                           report.startedAt(), report.duration().toMillis(), report.savesAbandoned(),
+                           report.messagesSpilled(), report.messagesLost());
+            });
+        } catch (IOException e) {
+            logger.warn("Failed to read the previous drain report", e);
+        }
+    }
+
+    /**
+     * Gets the report of the last drain, by this replica or, until it drains, a previous one.
+     *
+     * @return The report, or null if no drain has been recorded
+     */
+    public DrainReport getLastReport() {
+        return lastReport;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("messages.drain.in-flight", gate, WriteGate::getInFlight)
+                .description("Saves admitted by the drain gate that have not finished")
+                .register(registry);
+        Gauge.builder("messages.drain.last.duration", this,
+                        coordinator -> coordinator.lastReport != null
+                                ? coordinator.lastReport.duration().toNanos() / 1e9 : Double.NaN)
+                .description("Time the last drain took")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("messages.drain.last.abandoned", this,
+                        coordinator -> coordinator.lastReport != null
+                                ? coordinator.lastReport.savesAbandoned() : Double.NaN)
+                .description("Saves still in flight at the deadline of the last drain")
+                .register(registry);
+        Gauge.builder("messages.drain.last.spilled", this,
+                        coordinator -> coordinator.lastReport != null
+                                ? coordinator.lastReport.messagesSpilled() : Double.NaN)
+                .description("Undelivered messages spilled by the last drain")
+                .register(registry);
+        FunctionCounter.builder("messages.drain.replayed", replayed, AtomicLong::get)
+                .description("Spilled messages queued again on start")
+                .register(registry);
+    }
+}
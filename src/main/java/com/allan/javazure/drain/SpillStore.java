@@ -0,0 +1,161 @@
+package com.allan.javazure.drain;
+
+import com.allan.javazure.service.MessageSavedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Local files outliving a replica's restart: NDJSON spill files of messages sinks had not
+ * consumed, and the report of the last drain. Files are written under a temporary name and
+ * moved into place, so a replica killed while spilling never leaves a half-written file.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class SpillStore {
+
+    private static final String SPILL_PREFIX = "spill-";
+    private static final String SPILL_EXTENSION = ".ndjson";
+    private static final String REPORT_FILE = "last-drain.json";
+
+    private final Path directory;
+    private final ObjectWriter messageWriter;
+    private final ObjectReader messageReader;
+    private final ObjectWriter reportWriter;
+    private final ObjectReader reportReader;
+
+    /**
+     * Constructs a new SpillStore.
+     *
+     * @param directory The directory holding the spill files and the drain report
+     * @param objectMapper The mapper used to serialize messages and reports
+     */
+    public SpillStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.messageWriter = objectMapper.writerFor(SpilledMessage.class)
+                .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.messageReader = objectMapper.readerFor(SpilledMessage.class);
+        this.reportWriter = objectMapper.writerFor(DrainReport.class)
+                .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.reportReader = objectMapper.readerFor(DrainReport.class);
+    }
+
+    /**
+     * Writes undelivered messages to a new spill file.
+     *
+     * @param messages The messages, by sink name
+     * @return The number of messages written
+     * @throws IOException if the file cannot be written
+     */
+    public int spill(Map<String, List<MessageSavedEvent>> messages) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, SPILL_PREFIX, ".tmp");
+        int count = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, List<MessageSavedEvent>> sink : messages.entrySet()) {
+                for (MessageSavedEvent event : sink.getValue()) {
+                    writer.write(messageWriter.writeValueAsString(SpilledMessage.of(sink.getKey(), event)));
+                    writer.write('\n');
+                    count++;
+                }
+            }
+        }
+        String name = SPILL_PREFIX + System.currentTimeMillis() + "-" + ProcessHandle.current().pid() + SPILL_EXTENSION;
+        Files.move(temp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Lists the spill files waiting to be replayed, oldest first.
+     *
+     * @return The spill files
+     * @throws IOException if the directory cannot be listed
+     */
+    public List<Path> pending() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SPILL_PREFIX) && name.endsWith(SPILL_EXTENSION);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Reads the messages of a spill file.
+     *
+     * @param file The spill file
+     * @return The messages, in the order they were spilled
+     * @throws IOException if the file cannot be read or holds a malformed line
+     */
+    public List<SpilledMessage> read(Path file) throws IOException {
+        List<SpilledMessage> messages = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    messages.add(messageReader.readValue(line));
+                }
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Deletes a replayed spill file.
+     *
+     * @param file The spill file
+     * @throws IOException if the file cannot be deleted
+     */
+    public void delete(Path file) throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Stores the report of a drain, replacing the previous one.
+     *
+     * @param report The report
+     * @throws IOException if the file cannot be written
+     */
+    public void writeReport(DrainReport report) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, REPORT_FILE, ".tmp");
+        Files.writeString(temp, reportWriter.writeValueAsString(report), StandardCharsets.UTF_8);
+        Files.move(temp, directory.resolve(REPORT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the report of the last drain.
+     *
+     * @return The report, or empty if no drain has completed yet
+     * @throws IOException if the file exists but cannot be read
+     */
+    public Optional<DrainReport> readReport() throws IOException {
+        Path file = directory.resolve(REPORT_FILE);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(reportReader.readValue(file.toFile()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.allan.javazure.drain;
+
+import com.allan.javazure.service.MessageSavedEvent;
+
+import java.time.Instant;
+
+/**
+ * A saved message a sink had not consumed when the replica stopped, as written to a spill file.
+ *
+ * @param sink The name of the sink the message was queued for
+ * @param messageId The message ID
+ * @param author The author, null for anonymous messages
+ * @param content The content
+ * @param createdAt When the message was created
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record SpilledMessage(String sink, String messageId, String author, String content, Instant createdAt) {
+
+    /**
+     * Creates the spilled form of a message queued for a sink.
+     *
+     * @param sink The sink name
+     * @param event The saved message
+     * @return The spilled message
+     */
+    public static SpilledMessage of(String sink, MessageSavedEvent event) {
+        return new SpilledMessage(sink, event.messageId(), event.author(), event.content(), event.createdAt());
+    }
+
+    /**
+     * Restores the saved message to publish it again.
+     *
+     * @return The saved message
+     */
+    public MessageSavedEvent toEvent() {
+        return new MessageSavedEvent(messageId, author, content, createdAt);
+    }
+}
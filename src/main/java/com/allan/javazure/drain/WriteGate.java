@@ -0,0 +1,97 @@
+package com.allan.javazure.drain;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits message writes while the replica serves traffic and counts those in flight, so a
+ * draining replica can refuse new writes and wait for the admitted ones to finish.
+ * A write is admitted by {@link #tryEnter()} and must be ended by exactly one {@link #exit()}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+public class WriteGate {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Object idle = new Object();
+
+    private volatile boolean open = true;
+
+    /**
+     * Admits a write unless the gate is closed.
+     *
+     * @return true if the write was admitted and must be ended by {@link #exit()}
+     */
+    public boolean tryEnter() {
+        inFlight.incrementAndGet();
+        // Checked after counting, so a write that sees the gate open is always awaited by the drain
+        if (!open) {
+            exit();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ends an admitted write.
+     */
+    public void exit() {
+        if (inFlight.decrementAndGet() == 0) {
+            synchronized (idle) {
+                idle.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Refuses every write from now on. Writes already admitted continue.
+     */
+    public void close() {
+        open = false;
+    }
+
+    /**
+     * Checks whether writes are admitted.
+     *
+     * @return true until the gate is closed
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Gets the number of admitted writes that have not ended.
+     *
+     * @return The in-flight write count
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Waits for every admitted write to end.
+     *
+     * @param timeout How long to wait
+     * @return true if no write was in flight when this returned
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitIdle(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (idle) {
+            while (inFlight.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(idle, remaining);
+            }
+        }
+        return true;
+    }
+}
@@ -1,5 +1,9 @@
 package com.allan.javazure.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
 /**
  * Data Transfer Object for message operation responses.
  * Provides standardized response format for API operations.
@@ -8,6 +12,7 @@ package com.allan.javazure.dto;
  * @version 1.0.0
  * @since 2025-01-01
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MessageResponse {
 
     /**
@@ -20,6 +25,16 @@ public class MessageResponse {
      */
     private boolean success;
 
+    /**
+     * The identifier of the saved message. Only present on successful saves.
+     */
+    private String messageId;
+
+    /**
+     * The creation timestamp of the saved message. Only present on successful saves.
+     */
+    private Instant createdAt;
+
     /**
      * Default constructor for JSON serialization.
      */
@@ -47,6 +62,21 @@ public class MessageResponse {
         return new MessageResponse(message, true);
     }
 
+    /**
+     * Creates a success response for a saved message, including its identity.
+     *
+     * @param message The success message
+     * @param messageId The identifier of the saved message
+     * @param createdAt The creation timestamp of the saved message
+     * @return A new MessageResponse indicating success
+     */
+    public static MessageResponse success(String message, String messageId, Instant createdAt) {
+        MessageResponse response = new MessageResponse(message, true);
+        response.setMessageId(messageId);
+        response.setCreatedAt(createdAt);
+        return response;
+    }
+
     /**
      * Creates an error response with the specified message.
      *
@@ -93,6 +123,42 @@ public class MessageResponse {
         this.success = success;
     }
 
+    /**
+     * Gets the identifier of the saved message.
+     *
+     * @return The message identifier, or null if no message was saved
+     */
+    public String getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * Sets the identifier of the saved message.
+     *
+     * @param messageId The message identifier to set
+     */
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    /**
+     * Gets the creation timestamp of the saved message.
+     *
+     * @return The creation timestamp, or null if no message was saved
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Sets the creation timestamp of the saved message.
+     *
+     * @param createdAt The creation timestamp to set
+     */
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
     /**
      * Returns a string representation of this response.
      *
@@ -103,6 +169,8 @@ public class MessageResponse {
         return "MessageResponse{" +
                 "message='" + message + "'" +
                 ", success=" + success +
+                (messageId != null ? ", messageId='" + messageId + "'" : "") +
+                (createdAt != null ? ", createdAt=" + createdAt : "") +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.allan.javazure.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for message statistics.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class MessageStatsResponse {
+
+    /**
+     * The total number of messages received.
+     */
+    private long total;
+
+    /**
+     * The UTC day the daily count refers to.
+     */
+    private LocalDate day;
+
+    /**
+     * The number of messages received on {@link #day}.
+     */
+    private long dailyCount;
+
+    /**
+     * Default constructor for JSON serialization.
+     */
+    public MessageStatsResponse() {
+    }
+
+    /**
+     * Constructs a new MessageStatsResponse.
+     *
+     * @param total The total number of messages received
+     * @param day The UTC day of the daily count
+     * @param dailyCount The number of messages received that day
+     */
+    public MessageStatsResponse(long total, LocalDate day, long dailyCount) {
+        this.total = total;
+        this.day = day;
+        this.dailyCount = dailyCount;
+    }
+
+    /**
+     * Gets the total number of messages received.
+     *
+     * @return The total count
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Sets the total number of messages received.
+     *
+     * @param total The total count to set
+     */
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /**
+     * Gets the UTC day the daily count refers to.
+     *
+     * @return The day
+     */
+    public LocalDate getDay() {
+        return day;
+    }
+
+    /**
+     * Sets the UTC day the daily count refers to.
+     *
+     * @param day The day to set
+     */
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    /**
+     * Gets the number of messages received on the day.
+     *
+     * @return The daily count
+     */
+    public long getDailyCount() {
+        return dailyCount;
+    }
+
+    /**
+     * Sets the number of messages received on the day.
+     *
+     * @param dailyCount The daily count to set
+     */
+    public void setDailyCount(long dailyCount) {
+        this.dailyCount = dailyCount;
+    }
+
+    /**
+     * Returns a string representation of this response.
+     *
+     * @return String representation containing the counts
+     */
+    @Override
+    public String toString() {
+        return "MessageStatsResponse{" +
+                "total=" + total +
+                ", day=" + day +
+                ", dailyCount=" + dailyCount +
+                '}';
+    }
+}
@@ -0,0 +1,234 @@
+package com.allan.javazure.events;
+
+import com.allan.javazure.service.MessageSavedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fans saved messages out to every registered {@link MessageSink}.
+ * Each sink has its own bounded queue and worker threads ({@link SinkChannel}), so
+ * publishing a message costs one queue offer per sink on the thread that completed the
+ * save, and a slow sink only fills its own queue: its overflow policy then drops messages
+ * or, for {@code BLOCK}, delays the publisher by at most the sink's block timeout. As that
+ * thread may be a Firestore callback thread, {@code BLOCK} is only accepted for sinks off the
+ * request path; other sinks configured with it drop their oldest message instead.
+ * <p>
+ * A sink's settings can be overridden with {@code messages.bus.sinks.<name>.*} properties.
+ * Per sink, the age of the oldest queued message is published as {@code messages.bus.lag},
+ * next to queued, delivered, dropped and failed counts. On shutdown, the sinks get up to
+ * {@code messages.bus.shutdown-timeout} to consume what is queued, unless {@link #drain}
+ * already stopped them.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+public class MessageEventBus implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageEventBus.class);
+
+    private static final String SINK_PROPERTIES = "messages.bus.sinks.";
+
+    private final Map<String, SinkChannel> channels = new LinkedHashMap<>();
+    private final Duration shutdownTimeout;
+
+    /**
+     * Constructs a new MessageEventBus from the application context.
+     *
+     * @param sinks The registered sinks
+     * @param environment The environment holding sink setting overrides
+     * @param shutdownTimeout How long the sinks may take to consume their queues on shutdown
+     */
+    @Autowired
+    public MessageEventBus(ObjectProvider<MessageSink> sinks, Environment environment,
+                           @Value("${messages.bus.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this(sinks.orderedStream().map(sink -> Map.entry(sink, settings(sink, environment))).toList(),
+             shutdownTimeout);
+    }
+
+    /**
+     * Constructs a new MessageEventBus with the specified sinks and settings.
+     *
+     * @param sinks The sinks, each with the settings of its channel
+     * @param shutdownTimeout How long the sinks may take to consume their queues on shutdown
+     * @throws IllegalArgumentException if two sinks have the same name
+     */
+    public MessageEventBus(List<Map.Entry<MessageSink, SinkSettings>> sinks, Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+        for (Map.Entry<MessageSink, SinkSettings> sink : sinks) {
+            String name = sink.getKey().getName();
+            if (channels.containsKey(name)) {
+                throw new IllegalArgumentException("A message sink named '" + name + "' is already registered");
+            }
+            SinkSettings settings = withSafeOverflow(sink.getKey(), sink.getValue());
+            channels.put(name, new SinkChannel(sink.getKey(), settings));
+            logger.info("Message sink '{}' registered with {}", name, settings);
+        }
+    }
+
+    /**
+     * Queues a saved message for every sink. Never blocks, unless a sink off the request
+     * path with the {@code BLOCK} overflow policy is full.
+     *
+     * @param event The saved message
+     */
+    @EventListener
+    public void publish(MessageSavedEvent event) {
+        for (SinkChannel channel : channels.values()) {
+            channel.publish(event);
+        }
+    }
+
+    /**
+     * Gets the lag of a sink: how long its oldest queued message has been waiting.
+     *
+     * @param name The sink name
+     * @return The lag, zero when the sink's queue is empty
+     * @throws IllegalArgumentException if no sink of this name is registered
+     */
+    public Duration getLag(String name) {
+        return channel(name).getLag();
+    }
+
+    /**
+     * Gets the number of messages waiting for a sink.
+     *
+     * @param name The sink name
+     * @return The queued message count
+     * @throws IllegalArgumentException if no sink of this name is registered
+     */
+    public int getQueued(String name) {
+        return channel(name).getQueued();
+    }
+
+    /**
+     * Gets the number of messages a sink dropped because its queue was full.
+     *
+     * @param name The sink name
+     * @return The dropped message count
+     * @throws IllegalArgumentException if no sink of this name is registered
+     */
+    public long getDropped(String name) {
+        return channel(name).getDropped();
+    }
+
+    /**
+     * Gets the number of messages a sink consumed.
+     *
+     * @param name The sink name
+     * @return The delivered message count
+     * @throws IllegalArgumentException if no sink of this name is registered
+     */
+    public long getDelivered(String name) {
+        return channel(name).getDelivered();
+    }
+
+    /**
+     * Gets the number of messages in batches a sink failed to consume.
+     *
+     * @param name The sink name
+     * @return The failed message count
+     * @throws IllegalArgumentException if no sink of this name is registered
+     */
+    public long getFailed(String name) {
+        return channel(name).getFailed();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        channels.values().forEach(channel -> channel.bindTo(registry));
+    }
+
+    /**
+     * Queues messages for one sink only, such as those it left undelivered before a restart.
+     *
+     * @param name The sink name
+     * @param events The messages, oldest first
+     * @return The number of messages queued
+     * @throws IllegalArgumentException if no sink of this name is registered
+     */
+    public int replay(String name, List<MessageSavedEvent> events) {
+        return channel(name).replay(events);
+    }
+
+    /**
+     * Stops accepting messages and lets every sink consume its queue until the deadline.
+     * Safe to call more than once; later calls return nothing.
+     *
+     * @param timeout How long all sinks together may take
+     * @return The messages left undelivered, by sink name; sinks that consumed everything are omitted
+     */
+    public Map<String, List<MessageSavedEvent>> drain(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<String, List<MessageSavedEvent>> undelivered = new LinkedHashMap<>();
+        for (Map.Entry<String, SinkChannel> channel : channels.entrySet()) {
+            Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+            List<MessageSavedEvent> abandoned = channel.getValue().close(remaining);
+            if (!abandoned.isEmpty()) {
+                undelivered.put(channel.getKey(), abandoned);
+            }
+        }
+        return undelivered;
+    }
+
+    /**
+     * Stops accepting messages and lets the sinks consume their queues, within the shutdown timeout.
+     *
+     * @return The number of messages left undelivered
+     */
+    @PreDestroy
+    public int close() {
+        return drain(shutdownTimeout).values().stream().mapToInt(List::size).sum();
+    }
+
+    private SinkChannel channel(String name) {
+        SinkChannel channel = channels.get(name);
+        if (channel == null) {
+            throw new IllegalArgumentException("No message sink named '" + name + "'");
+        }
+        return channel;
+    }
+
+    /**
+     * Replaces the {@code BLOCK} overflow policy with {@code DROP_OLDEST} for a sink on the
+     * request path, whose publisher must not wait.
+     */
+    static SinkSettings withSafeOverflow(MessageSink sink, SinkSettings settings) {
+        if (settings.overflow() != SinkSettings.Overflow.BLOCK || sink.isOffRequestPath()) {
+            return settings;
+        }
+        logger.warn("Message sink '{}' is on the request path and cannot use the BLOCK overflow policy, "
+                + "dropping its oldest message instead", sink.getName());
+        return settings.withOverflow(SinkSettings.Overflow.DROP_OLDEST);
+    }
+
+    /**
+     * Resolves the settings of a sink: its own defaults, overridden by its properties.
+     */
+    static SinkSettings settings(MessageSink sink, Environment environment) {
+        SinkSettings defaults = sink.getSettings();
+        String prefix = SINK_PROPERTIES + sink.getName() + ".";
+        return new SinkSettings(
+                environment.getProperty(prefix + "queue-capacity", Integer.class, defaults.queueCapacity()),
+                environment.getProperty(prefix + "max-batch-size", Integer.class, defaults.maxBatchSize()),
+                environment.getProperty(prefix + "max-batch-delay", Duration.class, defaults.maxBatchDelay()),
+                environment.getProperty(prefix + "workers", Integer.class, defaults.workers()),
+                environment.getProperty(prefix + "overflow", SinkSettings.Overflow.class, defaults.overflow()),
+                environment.getProperty(prefix + "block-timeout", Duration.class, defaults.blockTimeout()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.allan.javazure.events;
+
+import com.allan.javazure.service.MessageSavedEvent;
+
+import java.util.List;
+
+/**
+ * A consumer of saved messages, fed in batches by the {@link MessageEventBus}.
+ * Every sink bean is registered with the bus and gets its own queue and worker threads,
+ * so a slow or failing sink delays neither the request that saved the message nor any
+ * other sink.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public interface MessageSink {
+
+    /**
+     * Gets the name of the sink, used in thread names, metric tags and the
+     * {@code messages.bus.sinks.<name>.*} properties that override its settings.
+     *
+     * @return The sink name
+     */
+    String getName();
+
+    /**
+     * Gets the queueing, batching and threading the sink asks for.
+     *
+     * @return The default settings of the sink
+     */
+    default SinkSettings getSettings() {
+        return SinkSettings.DEFAULTS;
+    }
+
+    /**
+     * Tells whether messages only ever reach the sink off the request path, for instance
+     * because it is fed by a batch job rather than by saves. Only such sinks may use the
+     * {@link SinkSettings.Overflow#BLOCK} policy: the bus publishes saved messages on the
+     * thread that completed the save, often a Firestore callback thread, and replaces
+     * {@code BLOCK} with {@code DROP_OLDEST} for every other sink.
+     *
+     * @return true if a full queue may make the publisher wait
+     */
+    default boolean isOffRequestPath() {
+        return false;
+    }
+
+    /**
+     * Consumes a batch of saved messages, on one of the sink's worker threads.
+     * A batch that throws is counted as failed and not delivered again; sinks that
+     * need retries perform them here.
+     *
+     * @param messages The messages, in the order they were published
+     * @throws Exception if the batch could not be consumed
+     */
+    void accept(List<MessageSavedEvent> messages) throws Exception;
+}
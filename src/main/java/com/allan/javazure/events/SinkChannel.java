@@ -0,0 +1,270 @@
+package com.allan.javazure.events;
+
+import com.allan.javazure.cost.FirestoreCostScope;
+import com.allan.javazure.service.MessageSavedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The queue and worker threads feeding one {@link MessageSink}.
+ * Publishing only offers to the queue, applying the sink's overflow policy when it is full;
+ * workers collect batches of up to {@code maxBatchSize} messages, waiting at most
+ * {@code maxBatchDelay} after a batch's first message for more, and hand them to the sink.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+class SinkChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(SinkChannel.class);
+
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final MessageSink sink;
+    private final SinkSettings settings;
+    private final BlockingQueue<Envelope> queue;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile Timer deliveryTimer;
+
+    SinkChannel(MessageSink sink, SinkSettings settings) {
+        this.sink = sink;
+        this.settings = settings;
+        this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+        for (int i = 1; i <= settings.workers(); i++) {
+            Thread worker = new Thread(this::deliverUntilStopped, "sink-" + sink.getName() + "-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues a message for the sink, applying the overflow policy if the queue is full.
+     *
+     * @param event The saved message
+     * @return true if the message was queued
+     */
+    boolean publish(MessageSavedEvent event) {
+        published.incrementAndGet();
+        Envelope envelope = new Envelope(event, System.nanoTime());
+        if (!running) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        boolean queued = switch (settings.overflow()) {
+            case DROP_NEWEST -> queue.offer(envelope);
+            case DROP_OLDEST -> offerDroppingOldest(envelope);
+            case BLOCK -> offerWaiting(envelope);
+        };
+        if (!queued) {
+            dropped.incrementAndGet();
+        }
+        return queued;
+    }
+
+    private boolean offerDroppingOldest(Envelope envelope) {
+        while (!queue.offer(envelope)) {
+            if (queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerWaiting(Envelope envelope) {
+        try {
+            return queue.offer(envelope, settings.blockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting messages and waits for the workers to deliver what is queued.
+     * A batch a worker still holds when the timeout elapses is interrupted and counted as failed.
+     *
+     * @param timeout How long to wait for the queue to drain
+     * @return The messages still queued when the timeout elapsed, oldest first
+     */
+    List<MessageSavedEvent> close(Duration timeout) {
+        running = false;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Thread worker : workers) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0) {
+                    TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.forEach(Thread::interrupt);
+        List<Envelope> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        if (!abandoned.isEmpty()) {
+            logger.warn("Sink '{}' stopped with {} undelivered messages", sink.getName(), abandoned.size());
+        }
+        return abandoned.stream().map(Envelope::event).toList();
+    }
+
+    /**
+     * Queues messages left undelivered by an earlier run, as if they had just been published.
+     *
+     * @param events The messages
+     * @return The number of messages queued, the others being dropped by the overflow policy
+     */
+    int replay(List<MessageSavedEvent> events) {
+        int queued = 0;
+        for (MessageSavedEvent event : events) {
+            if (publish(event)) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+
+    private void deliverUntilStopped() {
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open("sink:" + sink.getName())) {
+            while (running || !queue.isEmpty()) {
+                Envelope first = queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    deliver(collectBatch(first));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Collects the messages queued with the first one, waiting until the batch is full or
+     * {@code maxBatchDelay} has passed since the first one was published.
+     */
+    private List<MessageSavedEvent> collectBatch(Envelope first) throws InterruptedException {
+        List<Envelope> batch = new ArrayList<>(Math.min(settings.maxBatchSize(), queue.size() + 1));
+        batch.add(first);
+        long deadline = first.publishedAt() + settings.maxBatchDelay().toNanos();
+        while (batch.size() < settings.maxBatchSize()) {
+            queue.drainTo(batch, settings.maxBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= settings.maxBatchSize() || remaining <= 0 || !running) {
+                break;
+            }
+            // Wait in slices, so closing the channel does not wait out a long batch delay
+            Envelope next = queue.poll(Math.min(remaining, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+        return batch.stream().map(Envelope::event).toList();
+    }
+
+    private void deliver(List<MessageSavedEvent> batch) {
+        long started = System.nanoTime();
+        try {
+            sink.accept(batch);
+            delivered.addAndGet(batch.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.addAndGet(batch.size());
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            logger.warn("Sink '{}' failed to consume {} messages", sink.getName(), batch.size(), e);
+        } finally {
+            Timer timer = deliveryTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Gets how long the oldest queued message has been waiting.
+     *
+     * @return The lag of the sink, zero when its queue is empty
+     */
+    Duration getLag() {
+        Envelope oldest = queue.peek();
+        return oldest != null ? Duration.ofNanos(Math.max(0, System.nanoTime() - oldest.publishedAt())) : Duration.ZERO;
+    }
+
+    int getQueued() {
+        return queue.size();
+    }
+
+    long getDelivered() {
+        return delivered.get();
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+
+    long getFailed() {
+        return failed.get();
+    }
+
+    String getName() {
+        return sink.getName();
+    }
+
+    void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("sink", sink.getName());
+        Gauge.builder("messages.bus.lag", this, channel -> channel.getLag().toNanos() / 1e9)
+                .description("Time the oldest message queued for the sink has been waiting")
+                .baseUnit("seconds")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("messages.bus.queued", this, SinkChannel::getQueued)
+                .description("Messages waiting for the sink")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("messages.bus.published", published, AtomicLong::get)
+                .description("Messages published to the sink")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("messages.bus.delivered", delivered, AtomicLong::get)
+                .description("Messages consumed by the sink")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("messages.bus.dropped", dropped, AtomicLong::get)
+                .description("Messages dropped by the sink's overflow policy")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("messages.bus.failed", failed, AtomicLong::get)
+                .description("Messages in batches the sink failed to consume")
+                .tags(tags)
+                .register(registry);
+        deliveryTimer = Timer.builder("messages.bus.delivery")
+                .description("Time the sink took to consume a batch")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private record Envelope(MessageSavedEvent event, long publishedAt) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.allan.javazure.events;
+
+import java.time.Duration;
+
+/**
+ * Queueing, batching and threading of one {@link MessageSink}.
+ *
+ * @param queueCapacity The number of messages waiting for the sink
+ * @param maxBatchSize The largest batch handed to the sink
+ * @param maxBatchDelay How long a batch waits for more messages after its first one
+ * @param workers The number of threads delivering batches to the sink
+ * @param overflow What happens to a message published while the queue is full
+ * @param blockTimeout How long the {@link Overflow#BLOCK} policy waits for room before dropping
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record SinkSettings(int queueCapacity, int maxBatchSize, Duration maxBatchDelay, int workers,
+                           Overflow overflow, Duration blockTimeout) {
+
+    /**
+     * Settings of sinks that ask for none: small batches, one worker, newest messages dropped.
+     */
+    public static final SinkSettings DEFAULTS =
+            new SinkSettings(1000, 100, Duration.ofMillis(100), 1, Overflow.DROP_NEWEST, Duration.ofMillis(50));
+
+    /**
+     * What happens to a message published while a sink's queue is full. Every dropped
+     * message is counted in {@code messages.bus.dropped}.
+     */
+    public enum Overflow {
+        /** The published message is dropped. */
+        DROP_NEWEST,
+        /** The oldest queued message is dropped to make room. */
+        DROP_OLDEST,
+        /**
+         * The publisher waits up to the block timeout for room, then drops the message.
+         * Only for sinks off the request path, see {@link MessageSink#isOffRequestPath()}.
+         */
+        BLOCK
+    }
+
+    /**
+     * Returns these settings with another overflow policy.
+     *
+     * @param overflow The overflow policy
+     * @return The settings with the given overflow policy
+     */
+    public SinkSettings withOverflow(Overflow overflow) {
+        return new SinkSettings(queueCapacity, maxBatchSize, maxBatchDelay, workers, overflow, blockTimeout);
+    }
+
+    public SinkSettings {
+        if (queueCapacity < 1 || maxBatchSize < 1 || workers < 1) {
+            throw new IllegalArgumentException("Sink queue capacity, batch size and workers must be positive");
+        }
+        if (maxBatchDelay.isNegative() || blockTimeout.isNegative()) {
+            throw new IllegalArgumentException("Sink delays must not be negative");
+        }
+    }
+}
@@ -0,0 +1,493 @@
+package com.allan.javazure.firestore;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.core.SettableApiFuture;
+import com.google.api.gax.grpc.GrpcCallContext;
+import com.google.api.gax.grpc.GrpcStatusCode;
+import com.google.api.gax.rpc.ApiCallContext;
+import com.google.api.gax.rpc.ApiException;
+import com.google.api.gax.rpc.ApiExceptionFactory;
+import com.google.api.gax.rpc.BidiStreamingCallable;
+import com.google.api.gax.rpc.ClientStream;
+import com.google.api.gax.rpc.ClientStreamReadyObserver;
+import com.google.api.gax.rpc.PageContext;
+import com.google.api.gax.rpc.PagedListDescriptor;
+import com.google.api.gax.rpc.ResponseObserver;
+import com.google.api.gax.rpc.ServerStreamingCallable;
+import com.google.api.gax.rpc.StreamController;
+import com.google.api.gax.rpc.UnaryCallable;
+import com.google.cloud.NoCredentials;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreOptions;
+import com.google.cloud.firestore.spi.v1.FirestoreRpc;
+import com.google.cloud.firestore.v1.FirestoreClient.ListCollectionIdsPagedResponse;
+import com.google.cloud.firestore.v1.FirestoreClient.ListDocumentsPagedResponse;
+import com.google.cloud.firestore.v1.FirestoreClient.PartitionQueryPagedResponse;
+import com.google.firestore.v1.BatchGetDocumentsRequest;
+import com.google.firestore.v1.BatchGetDocumentsResponse;
+import com.google.firestore.v1.BatchWriteRequest;
+import com.google.firestore.v1.BatchWriteResponse;
+import com.google.firestore.v1.BeginTransactionRequest;
+import com.google.firestore.v1.BeginTransactionResponse;
+import com.google.firestore.v1.CommitRequest;
+import com.google.firestore.v1.CommitResponse;
+import com.google.firestore.v1.Document;
+import com.google.firestore.v1.ListCollectionIdsRequest;
+import com.google.firestore.v1.ListDocumentsRequest;
+import com.google.firestore.v1.ListDocumentsResponse;
+import com.google.firestore.v1.ListenRequest;
+import com.google.firestore.v1.ListenResponse;
+import com.google.firestore.v1.PartitionQueryRequest;
+import com.google.firestore.v1.RollbackRequest;
+import com.google.firestore.v1.RunQueryRequest;
+import com.google.firestore.v1.RunQueryResponse;
+import com.google.firestore.v1.Value;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Empty;
+import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process stand-in for the Firestore backend, plugged in below the official client
+ * through {@link FirestoreOptions.Builder#setServiceRpcFactory}. Every client feature
+ * built on the v1 API - batches, transactions, {@code BulkWriter}, queries and cursors -
+ * runs unchanged against an {@link InMemoryDocumentStore}, while each call is delayed by a
+ * {@link LatencyDistribution} and may be throttled, failed or stalled per the {@link FaultProfile}.
+ * Delays are scheduled, never slept, so thousands of concurrent calls need only one timer thread;
+ * responses are then delivered from a cached pool, like gRPC does, so blocking callbacks do not
+ * hold up other calls.
+ * Documents are listed in a single page; listen, partition and collection ID RPCs are not
+ * simulated and fail with {@code UNIMPLEMENTED}.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class FakeFirestoreRpc implements FirestoreRpc {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeFirestoreRpc.class);
+
+    private static final Set<Status.Code> RETRYABLE_CODES = EnumSet.of(
+            Status.Code.ABORTED, Status.Code.DEADLINE_EXCEEDED, Status.Code.RESOURCE_EXHAUSTED, Status.Code.UNAVAILABLE);
+
+    /**
+     * Pages of listed documents; the store answers in one page, so no next page is ever requested.
+     */
+    private static final PagedListDescriptor<ListDocumentsRequest, ListDocumentsResponse, Document> LIST_DOCUMENTS_PAGES =
+            new PagedListDescriptor<>() {
+                @Override
+                public String emptyToken() {
+                    return "";
+                }
+
+                @Override
+                public ListDocumentsRequest injectToken(ListDocumentsRequest request, String token) {
+                    return request.toBuilder().setPageToken(token).build();
+                }
+
+                @Override
+                public ListDocumentsRequest injectPageSize(ListDocumentsRequest request, int pageSize) {
+                    return request.toBuilder().setPageSize(pageSize).build();
+                }
+
+                @Override
+                public Integer extractPageSize(ListDocumentsRequest request) {
+                    return request.getPageSize();
+                }
+
+                @Override
+                public String extractNextToken(ListDocumentsResponse response) {
+                    return response.getNextPageToken();
+                }
+
+                @Override
+                public Iterable<Document> extractResources(ListDocumentsResponse response) {
+                    return response.getDocumentsList();
+                }
+            };
+
+    private final InMemoryDocumentStore store;
+    private final LatencyDistribution readLatency;
+    private final LatencyDistribution writeLatency;
+    private final FaultInjector faults;
+    private final ScheduledThreadPoolExecutor timer;
+    private final ExecutorService responseExecutor;
+    private final ScheduledThreadPoolExecutor clientExecutor;
+
+    /**
+     * Constructs a new FakeFirestoreRpc.
+     *
+     * @param store The store holding the documents
+     * @param readLatency The latency of lookups and queries
+     * @param writeLatency The latency of commits, batch writes and transaction control
+     * @param faults The faults to inject
+     * @param seed The seed of the latency and fault sequence
+     * @param threads The number of threads of the executor the client runs its own work on,
+     *                such as transaction bodies and BulkWriter backoff
+     */
+    public FakeFirestoreRpc(InMemoryDocumentStore store, LatencyDistribution readLatency,
+                            LatencyDistribution writeLatency, FaultProfile faults, long seed, int threads) {
+        this.store = store;
+        this.readLatency = readLatency;
+        this.writeLatency = writeLatency;
+        this.faults = new FaultInjector(faults, seed);
+        this.timer = new ScheduledThreadPoolExecutor(1, daemonThreads("fake-firestore-timer-"));
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.responseExecutor = Executors.newCachedThreadPool(daemonThreads("fake-firestore-response-"));
+        this.clientExecutor = new ScheduledThreadPoolExecutor(threads, daemonThreads("fake-firestore-client-"));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Creates a Firestore client talking to this backend.
+     *
+     * @param projectId The project ID the document names are built from
+     * @return The client
+     */
+    public Firestore createClient(String projectId) {
+        return createClient(projectId, UnaryOperator.identity());
+    }
+
+    /**
+     * Creates a Firestore client talking to this backend through a decorator, such as
+     * a {@link com.allan.javazure.cost.CostAccountingFirestoreRpc}.
+     *
+     * @param projectId The project ID the document names are built from
+     * @param decorator Wraps this backend for the client
+     * @return The client
+     */
+    public Firestore createClient(String projectId, UnaryOperator<FirestoreRpc> decorator) {
+        return FirestoreOptions.newBuilder()
+                .setProjectId(projectId)
+                .setCredentials(NoCredentials.getInstance())
+                .setServiceRpcFactory(options -> decorator.apply(this))
+                .build()
+                .getService();
+    }
+
+    /**
+     * Gets the store behind this backend.
+     *
+     * @return The document store
+     */
+    public InMemoryDocumentStore getStore() {
+        return store;
+    }
+
+    @Override
+    public UnaryCallable<CommitRequest, CommitResponse> commitCallable() {
+        return unary(writeLatency, request -> Math.max(1, request.getWritesCount()),
+                request -> store.commit(request.getWritesList(), request.getTransaction()));
+    }
+
+    @Override
+    public UnaryCallable<BatchWriteRequest, BatchWriteResponse> batchWriteCallable() {
+        return unary(writeLatency, request -> Math.max(1, request.getWritesCount()),
+                request -> store.batchWrite(request.getWritesList()));
+    }
+
+    @Override
+    public ServerStreamingCallable<BatchGetDocumentsRequest, BatchGetDocumentsResponse> batchGetDocumentsCallable() {
+        return streaming(readLatency, this::batchGet);
+    }
+
+    @Override
+    public ServerStreamingCallable<RunQueryRequest, RunQueryResponse> runQueryCallable() {
+        return streaming(readLatency, this::runQuery);
+    }
+
+    @Override
+    public UnaryCallable<BeginTransactionRequest, BeginTransactionResponse> beginTransactionCallable() {
+        return unary(writeLatency, request -> 1, request -> BeginTransactionResponse.newBuilder()
+                .setTransaction(store.beginTransaction(request.getOptions()))
+                .build());
+    }
+
+    @Override
+    public UnaryCallable<RollbackRequest, Empty> rollbackCallable() {
+        return unary(writeLatency, request -> 1, request -> {
+            store.rollback(request.getTransaction());
+            return Empty.getDefaultInstance();
+        });
+    }
+
+    @Override
+    public UnaryCallable<ListCollectionIdsRequest, ListCollectionIdsPagedResponse> listCollectionIdsPagedCallable() {
+        return unimplemented("listCollectionIds");
+    }
+
+    @Override
+    public UnaryCallable<PartitionQueryRequest, PartitionQueryPagedResponse> partitionQueryPagedCallable() {
+        return unimplemented("partitionQuery");
+    }
+
+    @Override
+    public UnaryCallable<ListDocumentsRequest, ListDocumentsPagedResponse> listDocumentsPagedCallable() {
+        UnaryCallable<ListDocumentsRequest, ListDocumentsResponse> pages = unary(readLatency, request -> 1,
+                this::listDocuments);
+        return new UnaryCallable<>() {
+            @Override
+            public ApiFuture<ListDocumentsPagedResponse> futureCall(ListDocumentsRequest request,
+                                                                     ApiCallContext context) {
+                PageContext<ListDocumentsRequest, ListDocumentsResponse, Document> pageContext = PageContext.create(
+                        pages, LIST_DOCUMENTS_PAGES, request, context != null ? context : GrpcCallContext.createDefault());
+                return ListDocumentsPagedResponse.createAsync(pageContext, pages.futureCall(request, context));
+            }
+        };
+    }
+
+    @Override
+    public BidiStreamingCallable<ListenRequest, ListenResponse> listenCallable() {
+        return new BidiStreamingCallable<>() {
+            @Override
+            public ClientStream<ListenRequest> internalCall(ResponseObserver<ListenResponse> observer,
+                                                            ClientStreamReadyObserver<ListenRequest> onReady,
+                                                            ApiCallContext context) {
+                observer.onStart(new NoopStreamController());
+                observer.onError(toApiException(
+                        Status.UNIMPLEMENTED.withDescription("listen is not simulated").asRuntimeException()));
+                return new ClientStream<>() {
+                    @Override
+                    public void send(ListenRequest request) {
+                    }
+
+                    @Override
+                    public void closeSendWithError(Throwable t) {
+                    }
+
+                    @Override
+                    public void closeSend() {
+                    }
+
+                    @Override
+                    public boolean isSendReady() {
+                        return false;
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public ScheduledExecutorService getExecutor() {
+        return clientExecutor;
+    }
+
+    @Override
+    public void shutdown() {
+        timer.shutdown();
+        responseExecutor.shutdown();
+        clientExecutor.shutdown();
+    }
+
+    @Override
+    public void shutdownNow() {
+        timer.shutdownNow();
+        responseExecutor.shutdownNow();
+        clientExecutor.shutdownNow();
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    private List<BatchGetDocumentsResponse> batchGet(BatchGetDocumentsRequest request) {
+        ByteString transaction = transactionOf(request.hasNewTransaction(), request.getTransaction(),
+                () -> store.beginTransaction(request.getNewTransaction()));
+        Timestamp readTime = store.readTime();
+        List<BatchGetDocumentsResponse> responses = new ArrayList<>(request.getDocumentsCount());
+        for (String name : request.getDocumentsList()) {
+            Document document = store.get(name, transaction);
+            BatchGetDocumentsResponse.Builder response = BatchGetDocumentsResponse.newBuilder().setReadTime(readTime);
+            if (document == null) {
+                response.setMissing(name);
+            } else {
+                response.setFound(request.hasMask() ? mask(document, request.getMask().getFieldPathsList()) : document);
+            }
+            if (responses.isEmpty() && request.hasNewTransaction()) {
+                response.setTransaction(transaction);
+            }
+            responses.add(response.build());
+        }
+        return responses;
+    }
+
+    private ListDocumentsResponse listDocuments(ListDocumentsRequest request) {
+        ListDocumentsResponse.Builder response = ListDocumentsResponse.newBuilder();
+        for (Document document
+                : store.listDocuments(request.getParent(), request.getCollectionId(), request.getShowMissing())) {
+            response.addDocuments(request.hasMask() ? mask(document, request.getMask().getFieldPathsList()) : document);
+        }
+        return response.build();
+    }
+
+    private List<RunQueryResponse> runQuery(RunQueryRequest request) {
+        ByteString transaction = transactionOf(request.hasNewTransaction(), request.getTransaction(),
+                () -> store.beginTransaction(request.getNewTransaction()));
+        Timestamp readTime = store.readTime();
+        List<RunQueryResponse> responses = new ArrayList<>();
+        for (Document document : store.runQuery(request.getParent(), request.getStructuredQuery(), transaction)) {
+            responses.add(RunQueryResponse.newBuilder().setDocument(document).setReadTime(readTime).build());
+        }
+        if (responses.isEmpty()) {
+            responses.add(RunQueryResponse.newBuilder().setReadTime(readTime).build());
+        }
+        if (request.hasNewTransaction()) {
+            responses.set(0, responses.get(0).toBuilder().setTransaction(transaction).build());
+        }
+        return responses;
+    }
+
+    private static ByteString transactionOf(boolean newTransaction, ByteString existing,
+                                            Supplier<ByteString> begin) {
+        if (newTransaction) {
+            return begin.get();
+        }
+        return existing.isEmpty() ? null : existing;
+    }
+
+    private static Document mask(Document document, List<String> fieldPaths) {
+        Map<String, Value> fields = new TreeMap<>();
+        for (String fieldPath : fieldPaths) {
+            Value value = FirestoreValues.get(document.getFieldsMap(), fieldPath);
+            if (value != null) {
+                FirestoreValues.set(fields, fieldPath, value);
+            }
+        }
+        return document.toBuilder().clearFields().putAllFields(fields).build();
+    }
+
+    private <Q, R> UnaryCallable<Q, R> unary(LatencyDistribution latency, ToIntFunction<Q> operations,
+                                             Function<Q, R> handler) {
+        return new UnaryCallable<>() {
+            @Override
+            public ApiFuture<R> futureCall(Q request, ApiCallContext context) {
+                SettableApiFuture<R> future = SettableApiFuture.create();
+                FaultInjector.Outcome outcome = faults.next(operations.applyAsInt(request), latency);
+                after(outcome, () -> {
+                    try {
+                        future.set(handle(outcome, request, handler));
+                    } catch (RuntimeException e) {
+                        future.setException(e);
+                    }
+                });
+                return future;
+            }
+        };
+    }
+
+    private <Q, R> ServerStreamingCallable<Q, R> streaming(LatencyDistribution latency, Function<Q, List<R>> handler) {
+        return new ServerStreamingCallable<>() {
+            @Override
+            public void call(Q request, ResponseObserver<R> observer, ApiCallContext context) {
+                AtomicBoolean cancelled = new AtomicBoolean();
+                observer.onStart(new NoopStreamController() {
+                    @Override
+                    public void cancel() {
+                        cancelled.set(true);
+                    }
+                });
+                FaultInjector.Outcome outcome = faults.next(1, latency);
+                after(outcome, () -> {
+                    List<R> responses;
+                    try {
+                        responses = handle(outcome, request, handler);
+                    } catch (RuntimeException e) {
+                        observer.onError(e);
+                        return;
+                    }
+                    for (R response : responses) {
+                        if (cancelled.get()) {
+                            return;
+                        }
+                        observer.onResponse(response);
+                    }
+                    observer.onComplete();
+                });
+            }
+        };
+    }
+
+    /**
+     * Runs a call's completion once its simulated latency has elapsed.
+     */
+    private void after(FaultInjector.Outcome outcome, Runnable completion) {
+        timer.schedule(() -> responseExecutor.execute(completion), outcome.delay().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static <Q, R> R handle(FaultInjector.Outcome outcome, Q request, Function<Q, R> handler) {
+        if (outcome.failure() != null) {
+            logger.debug("Injecting {} after {}", outcome.failure(), outcome.delay());
+            throw toApiException(Status.fromCode(outcome.failure())
+                    .withDescription("Injected by fake Firestore").asRuntimeException());
+        }
+        try {
+            return handler.apply(request);
+        } catch (StatusRuntimeException e) {
+            throw toApiException(e);
+        }
+    }
+
+    private static <Q, R> UnaryCallable<Q, R> unimplemented(String method) {
+        return new UnaryCallable<>() {
+            @Override
+            public ApiFuture<R> futureCall(Q request, ApiCallContext context) {
+                return ApiFutures.immediateFailedFuture(toApiException(
+                        Status.UNIMPLEMENTED.withDescription(method + " is not simulated").asRuntimeException()));
+            }
+        };
+    }
+
+    private static ApiException toApiException(StatusRuntimeException e) {
+        Status.Code code = e.getStatus().getCode();
+        return ApiExceptionFactory.createException(
+                e.getStatus().getDescription(), e, GrpcStatusCode.of(code), RETRYABLE_CODES.contains(code));
+    }
+
+    private static class NoopStreamController implements StreamController {
+
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void request(int count) {
+        }
+    }
+}
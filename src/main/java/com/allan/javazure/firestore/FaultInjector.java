@@ -0,0 +1,80 @@
+package com.allan.javazure.firestore;
+
+import io.grpc.Status;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Decides the latency and fate of every simulated call from one seeded random source,
+ * so a single-threaded benchmark replays the exact same sequence of delays and faults.
+ * Throttling is a token bucket refilled at {@link FaultProfile#throttleOpsPerSecond()}
+ * that holds one second's worth of operations.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+final class FaultInjector {
+
+    private final FaultProfile profile;
+    private final Random random;
+
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    FaultInjector(FaultProfile profile, long seed) {
+        this.profile = profile;
+        this.random = new Random(seed);
+        this.tokens = profile.throttleOpsPerSecond();
+    }
+
+    /**
+     * Decides the outcome of a call.
+     *
+     * @param operations The number of operations the call performs, e.g. writes in a commit
+     * @param latency The distribution of the call's latency
+     * @return The outcome
+     */
+    synchronized Outcome next(int operations, LatencyDistribution latency) {
+        Duration delay = latency.sample(random);
+        Status.Code failure = null;
+        if (throttled(operations)) {
+            failure = Status.Code.RESOURCE_EXHAUSTED;
+        } else if (random.nextDouble() < profile.errorRate()) {
+            failure = Status.Code.UNAVAILABLE;
+        }
+        if (random.nextDouble() < profile.stallProbability()) {
+            delay = delay.plus(profile.stallDuration());
+        }
+        if (delay.compareTo(profile.deadline()) > 0) {
+            return new Outcome(profile.deadline(), Status.Code.DEADLINE_EXCEEDED);
+        }
+        return new Outcome(delay, failure);
+    }
+
+    private boolean throttled(int operations) {
+        int rate = profile.throttleOpsPerSecond();
+        if (rate == 0) {
+            return false;
+        }
+        long now = System.nanoTime();
+        tokens = Math.min(rate, tokens + (now - lastRefillNanos) * rate / 1e9);
+        lastRefillNanos = now;
+        if (tokens < Math.min(operations, rate)) {
+            return true;
+        }
+        tokens -= operations; // Calls larger than the bucket are admitted when it is full and leave a debt
+        return false;
+    }
+
+    /**
+     * The simulated latency of a call and the status it fails with, if any.
+     *
+     * @param delay The time until the call completes
+     * @param failure The failure status, or null if the call succeeds
+     */
+    record Outcome(Duration delay, @Nullable Status.Code failure) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.allan.javazure.firestore;
+
+import java.time.Duration;
+
+/**
+ * The faults the simulated Firestore injects into its calls.
+ *
+ * @param errorRate The probability a call fails with {@code UNAVAILABLE}
+ * @param throttleOpsPerSecond The operations per second above which calls fail with
+ *                             {@code RESOURCE_EXHAUSTED}, zero for no throttling
+ * @param stallProbability The probability a call hangs for an extra {@code stallDuration}
+ * @param stallDuration How long a stalled call hangs
+ * @param deadline The client deadline; calls slower than this fail with {@code DEADLINE_EXCEEDED}
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record FaultProfile(double errorRate, int throttleOpsPerSecond, double stallProbability,
+                           Duration stallDuration, Duration deadline) {
+
+    /**
+     * A profile that injects no faults.
+     */
+    public static final FaultProfile NONE = new FaultProfile(0, 0, 0, Duration.ZERO, Duration.ofMinutes(10));
+
+    public FaultProfile {
+        if (errorRate < 0 || errorRate > 1 || stallProbability < 0 || stallProbability > 1) {
+            throw new IllegalArgumentException("Error rate and stall probability must be between 0 and 1");
+        }
+        if (throttleOpsPerSecond < 0 || stallDuration.isNegative() || deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("Throttle rate, stall duration and deadline must not be negative");
+        }
+    }
+}
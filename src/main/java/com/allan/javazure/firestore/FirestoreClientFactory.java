@@ -0,0 +1,181 @@
+package com.allan.javazure.firestore;
+
+import com.allan.javazure.cost.CostAccountingFirestoreRpc;
+import com.allan.javazure.cost.FirestoreCostMeter;
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.auth.Credentials;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.FirestoreOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates named Firestore clients, each with its own gRPC channel pool and callback executor.
+ * Clients created for different purposes share no connections and no threads, so a bulk
+ * export saturating its client's channels or stalling its callbacks cannot delay the
+ * responses of another client - a bulkhead between interactive writes and background jobs.
+ * <p>
+ * The callback executor runs the gRPC response handling of its client and with it every
+ * {@code ApiFuture} callback registered with a direct executor. Its threads are published as
+ * {@code executor.*} metrics tagged with the client name.
+ * <p>
+ * Given a {@link FirestoreCostMeter}, every call of the clients is counted by a
+ * {@link CostAccountingFirestoreRpc} under the client's name.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class FirestoreClientFactory implements MeterBinder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FirestoreClientFactory.class);
+
+    private final String projectId;
+    private final Credentials credentials;
+    private final FirestoreCostMeter costMeter;
+
+    private final Map<String, ThreadPoolExecutor> callbackExecutors = new LinkedHashMap<>();
+    private final List<Firestore> clients = new ArrayList<>();
+
+    /**
+     * Constructs a new FirestoreClientFactory.
+     *
+     * @param projectId The project the clients connect to
+     * @param credentials The credentials of the clients, or null for application default credentials
+     */
+    public FirestoreClientFactory(String projectId, @Nullable Credentials credentials) {
+        this(projectId, credentials, null);
+    }
+
+    /**
+     * Constructs a new FirestoreClientFactory whose clients count their operations.
+     *
+     * @param projectId The project the clients connect to
+     * @param credentials The credentials of the clients, or null for application default credentials
+     * @param costMeter The meter the clients' operations are recorded in, or null not to count them
+     */
+    public FirestoreClientFactory(String projectId, @Nullable Credentials credentials,
+                                  @Nullable FirestoreCostMeter costMeter) {
+        this.projectId = projectId;
+        this.credentials = credentials;
+        this.costMeter = costMeter;
+    }
+
+    /**
+     * Creates a client with its own channel pool and callback executor.
+     *
+     * @param name The purpose of the client, unique per factory, used in thread and metric names
+     * @param settings The transport settings of the client
+     * @return The client, closed when the factory is closed
+     * @throws IllegalArgumentException if a client of this name was already created
+     */
+    public synchronized Firestore create(String name, FirestoreClientSettings settings) {
+        if (callbackExecutors.containsKey(name)) {
+            throw new IllegalArgumentException("A Firestore client named '" + name + "' already exists");
+        }
+        ThreadPoolExecutor callbackExecutor = callbackExecutor(name, settings.callbackThreads());
+        FirestoreOptions.Builder options = FirestoreOptions.newBuilder()
+                .setProjectId(projectId)
+                .setChannelProvider(channelProvider(settings, callbackExecutor));
+        if (credentials != null) {
+            options.setCredentials(credentials);
+        }
+        if (costMeter != null) {
+            options.setServiceRpcFactory(clientOptions -> new CostAccountingFirestoreRpc(
+                    new FirestoreOptions.DefaultFirestoreRpcFactory().create(clientOptions), name, costMeter));
+        }
+
+        Firestore firestore;
+        try {
+            firestore = options.build().getService();
+        } catch (RuntimeException e) {
+            callbackExecutor.shutdownNow();
+            throw e;
+        }
+        callbackExecutors.put(name, callbackExecutor);
+        clients.add(firestore);
+
+        logger.info("Created Firestore client '{}' with {} channels and {} callback threads",
+                   name, settings.channelPoolSize(), settings.callbackThreads());
+        return firestore;
+    }
+
+    /**
+     * Gets the callback executor of a client.
+     *
+     * @param name The name the client was created with
+     * @return The executor, or null if no client of this name was created
+     */
+    synchronized ExecutorService getCallbackExecutor(String name) {
+        return callbackExecutors.get(name);
+    }
+
+    /**
+     * Builds the channel provider of one client.
+     *
+     * @param settings The transport settings of the client
+     * @param callbackExecutor The executor running the client's response callbacks
+     * @return The channel provider
+     */
+    static InstantiatingGrpcChannelProvider channelProvider(FirestoreClientSettings settings,
+                                                            ExecutorService callbackExecutor) {
+        InstantiatingGrpcChannelProvider.Builder channels = FirestoreOptions.getDefaultTransportChannelProviderBuilder()
+                .setPoolSize(settings.channelPoolSize())
+                .setMaxInboundMessageSize(settings.maxInboundMessageSize())
+                .setExecutor(callbackExecutor);
+        if (!settings.keepAliveTime().isZero()) {
+            channels.setKeepAliveTime(org.threeten.bp.Duration.ofMillis(settings.keepAliveTime().toMillis()))
+                    .setKeepAliveTimeout(org.threeten.bp.Duration.ofMillis(settings.keepAliveTimeout().toMillis()));
+        }
+        return channels.build();
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        callbackExecutors.forEach((name, executor) ->
+                new ExecutorServiceMetrics(executor, "firestore." + name, Tags.of("client", name)).bindTo(registry));
+    }
+
+    /**
+     * Closes every client created, then stops their callback executors.
+     */
+    @Override
+    public synchronized void close() {
+        for (Firestore client : clients) {
+            try {
+                client.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close Firestore client", e);
+            }
+        }
+        clients.clear();
+        callbackExecutors.values().forEach(ExecutorService::shutdown);
+    }
+
+    private static ThreadPoolExecutor callbackExecutor(String name, int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "firestore-" + name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,29 @@
+package com.allan.javazure.firestore;
+
+import java.time.Duration;
+
+/**
+ * Transport settings of one Firestore client created by {@link FirestoreClientFactory}.
+ *
+ * @param channelPoolSize The number of gRPC channels requests are spread over
+ * @param keepAliveTime The idle time after which a channel pings the server, zero to disable keep-alive
+ * @param keepAliveTimeout How long a keep-alive ping may go unanswered before the channel is closed
+ * @param maxInboundMessageSize The largest response message accepted, in bytes
+ * @param callbackThreads The number of threads running the client's response callbacks
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record FirestoreClientSettings(int channelPoolSize, Duration keepAliveTime, Duration keepAliveTimeout,
+                                      int maxInboundMessageSize, int callbackThreads) {
+
+    public FirestoreClientSettings {
+        if (channelPoolSize <= 0 || maxInboundMessageSize <= 0 || callbackThreads <= 0) {
+            throw new IllegalArgumentException("Channel pool size, max inbound message size and callback threads must be positive");
+        }
+        if (keepAliveTime.isNegative() || keepAliveTimeout.isNegative()) {
+            throw new IllegalArgumentException("Keep-alive time and timeout must not be negative");
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.allan.javazure.firestore;
+
+import com.google.firestore.v1.ArrayValue;
+import com.google.firestore.v1.MapValue;
+import com.google.firestore.v1.Value;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Value semantics of the Firestore wire format used by the in-memory store: the
+ * cross-type ordering of query results, field path navigation and numeric transforms.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+final class FirestoreValues {
+
+    /**
+     * Orders values the way Firestore indexes do: first by type, then within the type.
+     */
+    static final Comparator<Value> ORDER = FirestoreValues::compare;
+
+    private FirestoreValues() {
+    }
+
+    /**
+     * Gets the position of a value's type in Firestore's cross-type ordering.
+     *
+     * @param value The value
+     * @return The type rank, lowest first
+     */
+    static int typeOrder(Value value) {
+        switch (value.getValueTypeCase()) {
+            case NULL_VALUE:
+                return 0;
+            case BOOLEAN_VALUE:
+                return 1;
+            case INTEGER_VALUE:
+            case DOUBLE_VALUE:
+                return 2;
+            case TIMESTAMP_VALUE:
+                return 3;
+            case STRING_VALUE:
+                return 4;
+            case BYTES_VALUE:
+                return 5;
+            case REFERENCE_VALUE:
+                return 6;
+            case GEO_POINT_VALUE:
+                return 7;
+            case ARRAY_VALUE:
+                return 8;
+            case MAP_VALUE:
+                return 9;
+            default:
+                throw new IllegalArgumentException("Unsupported value type: " + value.getValueTypeCase());
+        }
+    }
+
+    static int compare(Value left, Value right) {
+        int byType = Integer.compare(typeOrder(left), typeOrder(right));
+        if (byType != 0) {
+            return byType;
+        }
+        switch (left.getValueTypeCase()) {
+            case NULL_VALUE:
+                return 0;
+            case BOOLEAN_VALUE:
+                return Boolean.compare(left.getBooleanValue(), right.getBooleanValue());
+            case INTEGER_VALUE:
+            case DOUBLE_VALUE:
+                return compareNumbers(left, right);
+            case TIMESTAMP_VALUE:
+                return compareTimestamps(left.getTimestampValue(), right.getTimestampValue());
+            case STRING_VALUE:
+                return compareBytes(left.getStringValueBytes(), right.getStringValueBytes());
+            case BYTES_VALUE:
+                return compareBytes(left.getBytesValue(), right.getBytesValue());
+            case REFERENCE_VALUE:
+                return comparePaths(left.getReferenceValue(), right.getReferenceValue());
+            case GEO_POINT_VALUE:
+                int byLatitude = Double.compare(left.getGeoPointValue().getLatitude(), right.getGeoPointValue().getLatitude());
+                return byLatitude != 0 ? byLatitude
+                        : Double.compare(left.getGeoPointValue().getLongitude(), right.getGeoPointValue().getLongitude());
+            case ARRAY_VALUE:
+                return compareArrays(left.getArrayValue(), right.getArrayValue());
+            default:
+                return compareMaps(left.getMapValue(), right.getMapValue());
+        }
+    }
+
+    /**
+     * Checks equality the way equality filters do, where {@code 1 == 1.0}.
+     */
+    static boolean equal(Value left, Value right) {
+        return compare(left, right) == 0;
+    }
+
+    static boolean isNumber(Value value) {
+        return value.hasIntegerValue() || value.hasDoubleValue();
+    }
+
+    static boolean isNaN(Value value) {
+        return value.hasDoubleValue() && Double.isNaN(value.getDoubleValue());
+    }
+
+    /**
+     * Adds two numeric values, staying integral when both are integers and saturating on overflow.
+     */
+    static Value add(Value left, Value right) {
+        if (left.hasIntegerValue() && right.hasIntegerValue()) {
+            long a = left.getIntegerValue();
+            long b = right.getIntegerValue();
+            long sum = a + b;
+            if (((a ^ sum) & (b ^ sum)) < 0) {
+                sum = a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+            }
+            return Value.newBuilder().setIntegerValue(sum).build();
+        }
+        return Value.newBuilder().setDoubleValue(asDouble(left) + asDouble(right)).build();
+    }
+
+    /**
+     * Splits a field path into its segments, honouring backtick-quoted segments.
+     *
+     * @param fieldPath The dotted field path, e.g. {@code a.b} or {@code `a.b`.c}
+     * @return The segments
+     */
+    static List<String> segments(String fieldPath) {
+        List<String> segments = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < fieldPath.length(); i++) {
+            char c = fieldPath.charAt(i);
+            if (c == '\\' && quoted && i + 1 < fieldPath.length()) {
+                current.append(fieldPath.charAt(++i));
+            } else if (c == '`') {
+                quoted = !quoted;
+            } else if (c == '.' && !quoted) {
+                segments.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        segments.add(current.toString());
+        return segments;
+    }
+
+    /**
+     * Reads a possibly nested field.
+     *
+     * @param fields The document fields
+     * @param fieldPath The field path
+     * @return The value, or null if the field does not exist
+     */
+    static Value get(Map<String, Value> fields, String fieldPath) {
+        Iterator<String> path = segments(fieldPath).iterator();
+        Value value = fields.get(path.next());
+        while (value != null && path.hasNext()) {
+            value = value.hasMapValue() ? value.getMapValue().getFieldsMap().get(path.next()) : null;
+        }
+        return value;
+    }
+
+    /**
+     * Writes a possibly nested field, creating intermediate maps as needed.
+     *
+     * @param fields The mutable document fields
+     * @param fieldPath The field path
+     * @param value The value to write, or null to delete the field
+     */
+    static void set(Map<String, Value> fields, String fieldPath, Value value) {
+        set(fields, segments(fieldPath), 0, value);
+    }
+
+    private static void set(Map<String, Value> fields, List<String> path, int index, Value value) {
+        String key = path.get(index);
+        if (index == path.size() - 1) {
+            if (value == null) {
+                fields.remove(key);
+            } else {
+                fields.put(key, value);
+            }
+            return;
+        }
+        Value existing = fields.get(key);
+        Map<String, Value> child = new TreeMap<>(existing != null && existing.hasMapValue()
+                ? existing.getMapValue().getFieldsMap() : Map.of());
+        set(child, path, index + 1, value);
+        fields.put(key, Value.newBuilder().setMapValue(MapValue.newBuilder().putAllFields(child)).build());
+    }
+
+    static int comparePaths(String left, String right) {
+        String[] a = left.split("/");
+        String[] b = right.split("/");
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            int bySegment = a[i].compareTo(b[i]);
+            if (bySegment != 0) {
+                return bySegment;
+            }
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    static int compareTimestamps(Timestamp left, Timestamp right) {
+        int bySeconds = Long.compare(left.getSeconds(), right.getSeconds());
+        return bySeconds != 0 ? bySeconds : Integer.compare(left.getNanos(), right.getNanos());
+    }
+
+    private static int compareNumbers(Value left, Value right) {
+        if (left.hasIntegerValue() && right.hasIntegerValue()) {
+            return Long.compare(left.getIntegerValue(), right.getIntegerValue());
+        }
+        double a = asDouble(left);
+        double b = asDouble(right);
+        if (Double.isNaN(a) || Double.isNaN(b)) {
+            return Boolean.compare(!Double.isNaN(a), !Double.isNaN(b)); // NaN sorts before every number
+        }
+        return Double.compare(a == 0.0 ? 0.0 : a, b == 0.0 ? 0.0 : b); // -0.0 equals 0.0
+    }
+
+    private static double asDouble(Value value) {
+        return value.hasIntegerValue() ? value.getIntegerValue() : value.getDoubleValue();
+    }
+
+    private static int compareBytes(ByteString left, ByteString right) {
+        return ByteString.unsignedLexicographicalComparator().compare(left, right);
+    }
+
+    private static int compareArrays(ArrayValue left, ArrayValue right) {
+        for (int i = 0; i < Math.min(left.getValuesCount(), right.getValuesCount()); i++) {
+            int byElement = compare(left.getValues(i), right.getValues(i));
+            if (byElement != 0) {
+                return byElement;
+            }
+        }
+        return Integer.compare(left.getValuesCount(), right.getValuesCount());
+    }
+
+    private static int compareMaps(MapValue left, MapValue right) {
+        Iterator<Map.Entry<String, Value>> a = new TreeMap<>(left.getFieldsMap()).entrySet().iterator();
+        Iterator<Map.Entry<String, Value>> b = new TreeMap<>(right.getFieldsMap()).entrySet().iterator();
+        while (a.hasNext() && b.hasNext()) {
+            Map.Entry<String, Value> x = a.next();
+            Map.Entry<String, Value> y = b.next();
+            int byKey = x.getKey().compareTo(y.getKey());
+            if (byKey != 0) {
+                return byKey;
+            }
+            int byValue = compare(x.getValue(), y.getValue());
+            if (byValue != 0) {
+                return byValue;
+            }
+        }
+        return Boolean.compare(a.hasNext(), b.hasNext());
+    }
+}
@@ -0,0 +1,376 @@
+package com.allan.javazure.firestore;
+
+import com.google.firestore.v1.ArrayValue;
+import com.google.firestore.v1.BatchWriteResponse;
+import com.google.firestore.v1.CommitResponse;
+import com.google.firestore.v1.Document;
+import com.google.firestore.v1.DocumentTransform.FieldTransform;
+import com.google.firestore.v1.Precondition;
+import com.google.firestore.v1.StructuredQuery;
+import com.google.firestore.v1.TransactionOptions;
+import com.google.firestore.v1.Value;
+import com.google.firestore.v1.Write;
+import com.google.firestore.v1.WriteResult;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe, in-memory document database speaking the Firestore v1 wire format.
+ * Commits are atomic and stamped with strictly increasing microsecond update times.
+ * Transactions are optimistic: every document read inside a transaction is recorded
+ * with its update time, and the commit is rejected with {@code ABORTED} if any of them
+ * changed since, which makes the client retry just like lock contention on the real
+ * service. Read-only transactions and {@code read_time} reads see the latest data.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class InMemoryDocumentStore {
+
+    private static final Timestamp MISSING = Timestamp.getDefaultInstance();
+
+    private final NavigableMap<String, Document> documents = new TreeMap<>(FirestoreValues::comparePaths);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<ByteString, Map<String, Timestamp>> transactions = new ConcurrentHashMap<>();
+    private final AtomicLong transactionIds = new AtomicLong();
+
+    private long lastCommitMicros;
+
+    /**
+     * Starts a transaction.
+     *
+     * @param options The transaction options, ignored beyond validation
+     * @return The transaction ID
+     */
+    public ByteString beginTransaction(TransactionOptions options) {
+        ByteString id = ByteString.copyFromUtf8("tx-" + transactionIds.incrementAndGet());
+        transactions.put(id, new ConcurrentHashMap<>());
+        return id;
+    }
+
+    /**
+     * Discards a transaction.
+     *
+     * @param transaction The transaction ID
+     */
+    public void rollback(ByteString transaction) {
+        transactions.remove(transaction);
+    }
+
+    /**
+     * Applies writes atomically, validating the reads of the transaction first if one is given.
+     *
+     * @param writes The writes, in order
+     * @param transaction The transaction ID, or null for a plain batch
+     * @return The commit response
+     * @throws StatusRuntimeException with ABORTED, NOT_FOUND, ALREADY_EXISTS or FAILED_PRECONDITION
+     */
+    public CommitResponse commit(List<Write> writes, @Nullable ByteString transaction) {
+        lock.writeLock().lock();
+        try {
+            if (transaction != null && !transaction.isEmpty()) {
+                validateReads(transaction);
+            }
+            Timestamp commitTime = nextCommitTime();
+            Map<String, Document> staged = new HashMap<>();
+            CommitResponse.Builder response = CommitResponse.newBuilder().setCommitTime(commitTime);
+            for (Write write : writes) {
+                response.addWriteResults(apply(write, commitTime, staged));
+            }
+            staged.forEach((name, document) -> {
+                if (document.getName().isEmpty()) {
+                    documents.remove(name);
+                } else {
+                    documents.put(name, document);
+                }
+            });
+            return response.build();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies writes independently of each other, reporting a status per write.
+     *
+     * @param writes The writes
+     * @return The batch write response
+     */
+    public BatchWriteResponse batchWrite(List<Write> writes) {
+        BatchWriteResponse.Builder response = BatchWriteResponse.newBuilder();
+        for (Write write : writes) {
+            try {
+                response.addWriteResults(commit(List.of(write), null).getWriteResults(0));
+                response.addStatus(com.google.rpc.Status.newBuilder().setCode(Status.Code.OK.value()));
+            } catch (StatusRuntimeException e) {
+                response.addWriteResults(WriteResult.getDefaultInstance());
+                response.addStatus(com.google.rpc.Status.newBuilder()
+                        .setCode(e.getStatus().getCode().value())
+                        .setMessage(String.valueOf(e.getStatus().getDescription())));
+            }
+        }
+        return response.build();
+    }
+
+    /**
+     * Reads a document.
+     *
+     * @param name The full document name
+     * @param transaction The transaction the read belongs to, or null
+     * @return The document, or null if it does not exist
+     */
+    @Nullable
+    public Document get(String name, @Nullable ByteString transaction) {
+        lock.readLock().lock();
+        try {
+            Document document = documents.get(name);
+            recordRead(transaction, name, document);
+            return document;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a structured query.
+     *
+     * @param parent The parent resource name the query's collections are relative to
+     * @param query The query
+     * @param transaction The transaction the read belongs to, or null
+     * @return The matching documents, in query order
+     */
+    public List<Document> runQuery(String parent, StructuredQuery query, @Nullable ByteString transaction) {
+        lock.readLock().lock();
+        try {
+            List<Document> results = InMemoryQuery.run(documents, parent, query);
+            for (Document document : results) {
+                recordRead(transaction, document.getName(), documents.get(document.getName()));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the documents of a collection, by name.
+     *
+     * @param parent The parent resource name the collection is relative to
+     * @param collectionId The collection ID
+     * @param showMissing Whether documents that do not exist but have subcollections are listed, by name only
+     * @return The documents in name order
+     */
+    public List<Document> listDocuments(String parent, String collectionId, boolean showMissing) {
+        String prefix = parent + "/" + collectionId + "/";
+        lock.readLock().lock();
+        try {
+            Map<String, Document> listed = new LinkedHashMap<>();
+            // Names are ordered segment by segment, so a document sorts right before its descendants
+            for (Map.Entry<String, Document> entry
+                    : documents.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+                int end = entry.getKey().indexOf('/', prefix.length());
+                if (end < 0) {
+                    listed.put(entry.getKey(), entry.getValue());
+                } else if (showMissing) {
+                    String name = entry.getKey().substring(0, end);
+                    listed.putIfAbsent(name, Document.newBuilder().setName(name).build());
+                }
+            }
+            return new ArrayList<>(listed.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of stored documents.
+     *
+     * @return The document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the time reads are served at.
+     *
+     * @return The current read time
+     */
+    public Timestamp readTime() {
+        return toTimestamp(Instant.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    private void recordRead(@Nullable ByteString transaction, String name, @Nullable Document document) {
+        if (transaction == null || transaction.isEmpty()) {
+            return;
+        }
+        Map<String, Timestamp> reads = transactions.get(transaction);
+        if (reads == null) {
+            throw Status.INVALID_ARGUMENT.withDescription("Unknown or expired transaction").asRuntimeException();
+        }
+        reads.putIfAbsent(name, document != null ? document.getUpdateTime() : MISSING);
+    }
+
+    private void validateReads(ByteString transaction) {
+        Map<String, Timestamp> reads = transactions.remove(transaction);
+        if (reads == null) {
+            throw Status.INVALID_ARGUMENT.withDescription("Unknown or expired transaction").asRuntimeException();
+        }
+        for (Map.Entry<String, Timestamp> read : reads.entrySet()) {
+            Document current = documents.get(read.getKey());
+            Timestamp currentVersion = current != null ? current.getUpdateTime() : MISSING;
+            if (!currentVersion.equals(read.getValue())) {
+                throw Status.ABORTED.withDescription("Transaction lock timeout: " + read.getKey() + " was modified")
+                        .asRuntimeException();
+            }
+        }
+    }
+
+    private WriteResult apply(Write write, Timestamp commitTime, Map<String, Document> staged) {
+        String name = write.hasDelete() ? write.getDelete()
+                : write.hasUpdate() ? write.getUpdate().getName() : write.getTransform().getDocument();
+        Document existing = staged.containsKey(name) ? staged.get(name) : documents.get(name);
+        if (existing != null && existing.getName().isEmpty()) {
+            existing = null; // Deleted earlier in this commit
+        }
+        if (write.hasCurrentDocument()) {
+            checkPrecondition(write.getCurrentDocument(), name, existing);
+        }
+
+        if (write.hasDelete()) {
+            staged.put(name, Document.getDefaultInstance());
+            return WriteResult.newBuilder().setUpdateTime(commitTime).build();
+        }
+
+        Map<String, Value> fields = new TreeMap<>();
+        if (write.hasUpdate()) {
+            if (write.hasUpdateMask()) {
+                if (existing != null) {
+                    fields.putAll(existing.getFieldsMap());
+                }
+                for (String fieldPath : write.getUpdateMask().getFieldPathsList()) {
+                    FirestoreValues.set(fields, fieldPath, FirestoreValues.get(write.getUpdate().getFieldsMap(), fieldPath));
+                }
+            } else {
+                fields.putAll(write.getUpdate().getFieldsMap());
+            }
+        } else if (existing != null) {
+            fields.putAll(existing.getFieldsMap());
+        }
+
+        List<FieldTransform> transforms = write.hasTransform()
+                ? write.getTransform().getFieldTransformsList() : write.getUpdateTransformsList();
+        WriteResult.Builder result = WriteResult.newBuilder().setUpdateTime(commitTime);
+        for (FieldTransform transform : transforms) {
+            Value value = transform(transform, FirestoreValues.get(fields, transform.getFieldPath()), commitTime);
+            FirestoreValues.set(fields, transform.getFieldPath(), value);
+            result.addTransformResults(value);
+        }
+
+        staged.put(name, Document.newBuilder()
+                .setName(name)
+                .putAllFields(fields)
+                .setCreateTime(existing != null ? existing.getCreateTime() : commitTime)
+                .setUpdateTime(commitTime)
+                .build());
+        return result.build();
+    }
+
+    private static void checkPrecondition(Precondition precondition, String name, @Nullable Document existing) {
+        if (precondition.hasExists()) {
+            if (precondition.getExists() && existing == null) {
+                throw Status.NOT_FOUND.withDescription("No document to update: " + name).asRuntimeException();
+            }
+            if (!precondition.getExists() && existing != null) {
+                throw Status.ALREADY_EXISTS.withDescription("Document already exists: " + name).asRuntimeException();
+            }
+        } else if (precondition.hasUpdateTime()
+                && (existing == null || !existing.getUpdateTime().equals(precondition.getUpdateTime()))) {
+            throw Status.FAILED_PRECONDITION.withDescription("Update time mismatch: " + name).asRuntimeException();
+        }
+    }
+
+    private static Value transform(FieldTransform transform, @Nullable Value current, Timestamp commitTime) {
+        switch (transform.getTransformTypeCase()) {
+            case SET_TO_SERVER_VALUE:
+                return Value.newBuilder().setTimestampValue(commitTime).build();
+            case INCREMENT:
+                return current != null && FirestoreValues.isNumber(current)
+                        ? FirestoreValues.add(current, transform.getIncrement()) : transform.getIncrement();
+            case MAXIMUM:
+                return current != null && FirestoreValues.isNumber(current)
+                        && FirestoreValues.compare(current, transform.getMaximum()) >= 0 ? current : transform.getMaximum();
+            case MINIMUM:
+                return current != null && FirestoreValues.isNumber(current)
+                        && FirestoreValues.compare(current, transform.getMinimum()) <= 0 ? current : transform.getMinimum();
+            case APPEND_MISSING_ELEMENTS: {
+                List<Value> elements = current != null && current.hasArrayValue()
+                        ? new ArrayList<>(current.getArrayValue().getValuesList()) : new ArrayList<>();
+                for (Value element : transform.getAppendMissingElements().getValuesList()) {
+                    if (elements.stream().noneMatch(existing -> FirestoreValues.equal(existing, element))) {
+                        elements.add(element);
+                    }
+                }
+                return Value.newBuilder().setArrayValue(ArrayValue.newBuilder().addAllValues(elements)).build();
+            }
+            case REMOVE_ALL_FROM_ARRAY: {
+                List<Value> elements = current != null && current.hasArrayValue()
+                        ? new ArrayList<>(current.getArrayValue().getValuesList()) : new ArrayList<>();
+                elements.removeIf(existing -> transform.getRemoveAllFromArray().getValuesList().stream()
+                        .anyMatch(removed -> FirestoreValues.equal(existing, removed)));
+                return Value.newBuilder().setArrayValue(ArrayValue.newBuilder().addAllValues(elements)).build();
+            }
+            default:
+                throw Status.INVALID_ARGUMENT.withDescription("Unsupported transform: " + transform.getTransformTypeCase())
+                        .asRuntimeException();
+        }
+    }
+
+    /**
+     * Issues strictly increasing commit times at microsecond precision, like Firestore.
+     */
+    private Timestamp nextCommitTime() {
+        Instant now = Instant.now();
+        long micros = Math.max(now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000, lastCommitMicros + 1);
+        lastCommitMicros = micros;
+        return Timestamp.newBuilder()
+                .setSeconds(Math.floorDiv(micros, 1_000_000))
+                .setNanos((int) Math.floorMod(micros, 1_000_000) * 1_000)
+                .build();
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryDocumentStore{" +
+                "documents=" + size() +
+                ", openTransactions=" + transactions.size() +
+                '}';
+    }
+}
@@ -0,0 +1,317 @@
+package com.allan.javazure.firestore;
+
+import com.google.firestore.v1.Cursor;
+import com.google.firestore.v1.Document;
+import com.google.firestore.v1.StructuredQuery;
+import com.google.firestore.v1.StructuredQuery.CollectionSelector;
+import com.google.firestore.v1.StructuredQuery.Direction;
+import com.google.firestore.v1.StructuredQuery.FieldFilter;
+import com.google.firestore.v1.StructuredQuery.FieldReference;
+import com.google.firestore.v1.StructuredQuery.Filter;
+import com.google.firestore.v1.StructuredQuery.Order;
+import com.google.firestore.v1.Value;
+import io.grpc.Status;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Evaluates a {@link StructuredQuery} against the documents of an {@link InMemoryDocumentStore}
+ * with Firestore's semantics: implicit ordering by the inequality field and by document name,
+ * type-restricted range filters, cursors, offset, limit and projections. Candidates are found
+ * with a key range scan for single collections and a full scan for collection groups.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+final class InMemoryQuery {
+
+    static final String DOCUMENT_ID = "__name__";
+
+    private InMemoryQuery() {
+    }
+
+    /**
+     * Runs a query.
+     *
+     * @param documents Every stored document, keyed and ordered by name
+     * @param parent The parent resource name, e.g. {@code projects/p/databases/d/documents}
+     * @param query The query
+     * @return The matching, ordered, projected documents
+     */
+    static List<Document> run(NavigableMap<String, Document> documents, String parent, StructuredQuery query) {
+        if (query.getFromCount() != 1) {
+            throw Status.INVALID_ARGUMENT.withDescription("Queries must select exactly one collection").asRuntimeException();
+        }
+        CollectionSelector from = query.getFrom(0);
+        List<Order> orders = effectiveOrders(query);
+        Comparator<Document> comparator = comparator(orders);
+
+        List<Document> matches = new ArrayList<>();
+        for (Document document : candidates(documents, parent, from).values()) {
+            if (inCollection(document.getName(), parent, from)
+                    && hasOrderedFields(document, orders)
+                    && (!query.hasWhere() || matches(query.getWhere(), document))) {
+                matches.add(document);
+            }
+        }
+        matches.sort(comparator);
+
+        List<Document> results = new ArrayList<>();
+        int skipped = 0;
+        int limit = query.hasLimit() ? query.getLimit().getValue() : Integer.MAX_VALUE;
+        for (Document document : matches) {
+            if (query.hasStartAt() && !afterStart(document, query.getStartAt(), orders)) {
+                continue;
+            }
+            if (query.hasEndAt() && !beforeEnd(document, query.getEndAt(), orders)) {
+                break;
+            }
+            if (skipped < query.getOffset()) {
+                skipped++;
+                continue;
+            }
+            if (results.size() >= limit) {
+                break;
+            }
+            results.add(query.hasSelect() ? project(document, query.getSelect()) : document);
+        }
+        return results;
+    }
+
+    private static NavigableMap<String, Document> candidates(NavigableMap<String, Document> documents, String parent,
+                                                             CollectionSelector from) {
+        String prefix = from.getAllDescendants() ? parent + "/" : parent + "/" + from.getCollectionId() + "/";
+        // Names are ordered segment by segment, so every child of the prefix sorts between these bounds
+        return documents.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean inCollection(String name, String parent, CollectionSelector from) {
+        String relative = name.substring(parent.length() + 1);
+        String[] segments = relative.split("/");
+        if (from.getAllDescendants()) {
+            return segments.length >= 2 && segments[segments.length - 2].equals(from.getCollectionId());
+        }
+        return segments.length == 2 && segments[0].equals(from.getCollectionId());
+    }
+
+    /**
+     * Completes the requested ordering the way the backend does: an inequality field comes
+     * first when nothing else is ordered, and document name always breaks ties.
+     */
+    private static List<Order> effectiveOrders(StructuredQuery query) {
+        List<Order> orders = new ArrayList<>(query.getOrderByList());
+        if (orders.isEmpty() && query.hasWhere()) {
+            String inequalityField = inequalityField(query.getWhere());
+            if (inequalityField != null) {
+                orders.add(order(inequalityField, Direction.ASCENDING));
+            }
+        }
+        boolean orderedByName = orders.stream().anyMatch(order -> DOCUMENT_ID.equals(order.getField().getFieldPath()));
+        if (!orderedByName) {
+            Direction direction = orders.isEmpty() ? Direction.ASCENDING : orders.get(orders.size() - 1).getDirection();
+            orders.add(order(DOCUMENT_ID, direction));
+        }
+        return orders;
+    }
+
+    private static String inequalityField(Filter filter) {
+        if (filter.hasCompositeFilter()) {
+            for (Filter child : filter.getCompositeFilter().getFiltersList()) {
+                String field = inequalityField(child);
+                if (field != null) {
+                    return field;
+                }
+            }
+        } else if (filter.hasFieldFilter()) {
+            switch (filter.getFieldFilter().getOp()) {
+                case LESS_THAN:
+                case LESS_THAN_OR_EQUAL:
+                case GREATER_THAN:
+                case GREATER_THAN_OR_EQUAL:
+                case NOT_EQUAL:
+                case NOT_IN:
+                    return filter.getFieldFilter().getField().getFieldPath();
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ordered queries only return documents that have every ordered field, like the backend.
+     */
+    private static boolean hasOrderedFields(Document document, List<Order> orders) {
+        for (Order order : orders) {
+            if (value(document, order.getField().getFieldPath()) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Order order(String fieldPath, Direction direction) {
+        return Order.newBuilder()
+                .setField(FieldReference.newBuilder().setFieldPath(fieldPath))
+                .setDirection(direction)
+                .build();
+    }
+
+    private static Comparator<Document> comparator(List<Order> orders) {
+        return (left, right) -> {
+            for (Order order : orders) {
+                Value a = value(left, order.getField().getFieldPath());
+                Value b = value(right, order.getField().getFieldPath());
+                int result = compareNullable(a, b);
+                if (result != 0) {
+                    return order.getDirection() == Direction.DESCENDING ? -result : result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * Compares a document with a cursor over the leading orderings the cursor has values for.
+     */
+    private static int compareToCursor(Document document, Cursor cursor, List<Order> orders) {
+        for (int i = 0; i < cursor.getValuesCount() && i < orders.size(); i++) {
+            Order order = orders.get(i);
+            Value bound = cursor.getValues(i);
+            Value value = value(document, order.getField().getFieldPath());
+            int result = DOCUMENT_ID.equals(order.getField().getFieldPath()) && bound.hasReferenceValue()
+                    ? FirestoreValues.comparePaths(document.getName(), bound.getReferenceValue())
+                    : compareNullable(value, bound);
+            if (result != 0) {
+                return order.getDirection() == Direction.DESCENDING ? -result : result;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean afterStart(Document document, Cursor startAt, List<Order> orders) {
+        int result = compareToCursor(document, startAt, orders);
+        return startAt.getBefore() ? result >= 0 : result > 0;
+    }
+
+    private static boolean beforeEnd(Document document, Cursor endAt, List<Order> orders) {
+        int result = compareToCursor(document, endAt, orders);
+        return endAt.getBefore() ? result < 0 : result <= 0;
+    }
+
+    private static boolean matches(Filter filter, Document document) {
+        switch (filter.getFilterTypeCase()) {
+            case COMPOSITE_FILTER:
+                for (Filter child : filter.getCompositeFilter().getFiltersList()) {
+                    if (!matches(child, document)) {
+                        return false;
+                    }
+                }
+                return true;
+            case FIELD_FILTER:
+                return matches(filter.getFieldFilter(), document);
+            case UNARY_FILTER: {
+                Value value = value(document, filter.getUnaryFilter().getField().getFieldPath());
+                switch (filter.getUnaryFilter().getOp()) {
+                    case IS_NAN:
+                        return value != null && FirestoreValues.isNaN(value);
+                    case IS_NOT_NAN:
+                        return value != null && !FirestoreValues.isNaN(value) && !value.hasNullValue();
+                    case IS_NULL:
+                        return value != null && value.hasNullValue();
+                    case IS_NOT_NULL:
+                        return value != null && !value.hasNullValue();
+                    default:
+                        throw unsupported(filter.getUnaryFilter().getOp().toString());
+                }
+            }
+            default:
+                throw unsupported(filter.getFilterTypeCase().toString());
+        }
+    }
+
+    private static boolean matches(FieldFilter filter, Document document) {
+        Value value = value(document, filter.getField().getFieldPath());
+        if (value == null) {
+            return false;
+        }
+        Value operand = filter.getValue();
+        switch (filter.getOp()) {
+            case EQUAL:
+                return FirestoreValues.equal(value, operand);
+            case NOT_EQUAL:
+                return !value.hasNullValue() && !FirestoreValues.equal(value, operand);
+            case LESS_THAN:
+                return comparable(value, operand) && FirestoreValues.compare(value, operand) < 0;
+            case LESS_THAN_OR_EQUAL:
+                return comparable(value, operand) && FirestoreValues.compare(value, operand) <= 0;
+            case GREATER_THAN:
+                return comparable(value, operand) && FirestoreValues.compare(value, operand) > 0;
+            case GREATER_THAN_OR_EQUAL:
+                return comparable(value, operand) && FirestoreValues.compare(value, operand) >= 0;
+            case ARRAY_CONTAINS:
+                return value.hasArrayValue() && contains(value.getArrayValue().getValuesList(), operand);
+            case IN:
+                return contains(operand.getArrayValue().getValuesList(), value);
+            case NOT_IN:
+                return !value.hasNullValue() && !contains(operand.getArrayValue().getValuesList(), value);
+            case ARRAY_CONTAINS_ANY:
+                return value.hasArrayValue() && value.getArrayValue().getValuesList().stream()
+                        .anyMatch(element -> contains(operand.getArrayValue().getValuesList(), element));
+            default:
+                throw unsupported(filter.getOp().toString());
+        }
+    }
+
+    /**
+     * Range filters only match values of the operand's type, e.g. timestamps never match strings.
+     */
+    private static boolean comparable(Value value, Value operand) {
+        return FirestoreValues.typeOrder(value) == FirestoreValues.typeOrder(operand)
+                && !FirestoreValues.isNaN(value) && !FirestoreValues.isNaN(operand);
+    }
+
+    private static boolean contains(List<Value> values, Value candidate) {
+        return values.stream().anyMatch(value -> FirestoreValues.equal(value, candidate));
+    }
+
+    private static Value value(Document document, String fieldPath) {
+        if (DOCUMENT_ID.equals(fieldPath)) {
+            return Value.newBuilder().setReferenceValue(document.getName()).build();
+        }
+        return FirestoreValues.get(document.getFieldsMap(), fieldPath);
+    }
+
+    /**
+     * Orders missing values last; only cursors with more values than the document has
+     * fields can hit this.
+     */
+    private static int compareNullable(Value left, Value right) {
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : 1) : -1;
+        }
+        return FirestoreValues.compare(left, right);
+    }
+
+    private static Document project(Document document, StructuredQuery.Projection projection) {
+        Map<String, Value> fields = new TreeMap<>();
+        for (FieldReference field : projection.getFieldsList()) {
+            Value value = DOCUMENT_ID.equals(field.getFieldPath()) ? null
+                    : FirestoreValues.get(document.getFieldsMap(), field.getFieldPath());
+            if (value != null) {
+                FirestoreValues.set(fields, field.getFieldPath(), value);
+            }
+        }
+        return document.toBuilder().clearFields().putAllFields(fields).build();
+    }
+
+    private static RuntimeException unsupported(String feature) {
+        return Status.UNIMPLEMENTED.withDescription("Unsupported query feature: " + feature).asRuntimeException();
+    }
+}
@@ -0,0 +1,113 @@
+package com.allan.javazure.firestore;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * A distribution the simulated latency of a Firestore call is drawn from.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public interface LatencyDistribution {
+
+    /**
+     * Draws one latency.
+     *
+     * @param random The source of randomness, seeded for reproducible runs
+     * @return The latency, never negative
+     */
+    Duration sample(Random random);
+
+    /**
+     * Parses a distribution specification:
+     * {@code none}, {@code fixed:<duration>}, {@code lognormal:<median>,<sigma>} or
+     * {@code replay:<resource location>} of a recorded histogram (see {@link ReplayedLatency}).
+     * Durations use the ISO-8601 format, e.g. {@code PT0.025S}.
+     *
+     * @param spec The specification
+     * @param resourceLoader The loader resolving replay locations
+     * @return The distribution
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    static LatencyDistribution parse(String spec, ResourceLoader resourceLoader) {
+        String trimmed = spec.trim();
+        int separator = trimmed.indexOf(':');
+        String type = (separator < 0 ? trimmed : trimmed.substring(0, separator)).toLowerCase();
+        String arguments = separator < 0 ? "" : trimmed.substring(separator + 1).trim();
+        if (!type.equals("none") && !type.equals("fixed") && !type.equals("lognormal") && !type.equals("replay")) {
+            throw new IllegalArgumentException("Unknown latency distribution: " + type);
+        }
+        try {
+            switch (type) {
+                case "none":
+                    return new Fixed(Duration.ZERO);
+                case "fixed":
+                    return new Fixed(Duration.parse(arguments));
+                case "lognormal": {
+                    String[] parts = arguments.split(",");
+                    return new LogNormal(Duration.parse(parts[0].trim()), Double.parseDouble(parts[1].trim()));
+                }
+                default: {
+                    Resource resource = resourceLoader.getResource(arguments);
+                    try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                        return ReplayedLatency.fromCsv(reader);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read latency histogram: " + arguments, e);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed latency distribution '" + spec + "'", e);
+        }
+    }
+
+    /**
+     * Always the same latency.
+     *
+     * @param latency The latency
+     */
+    record Fixed(Duration latency) implements LatencyDistribution {
+
+        public Fixed {
+            if (latency.isNegative()) {
+                throw new IllegalArgumentException("Latency must not be negative");
+            }
+        }
+
+        @Override
+        public Duration sample(Random random) {
+            return latency;
+        }
+    }
+
+    /**
+     * A log-normal latency, the usual shape of network round trips: most calls close to the
+     * median and a long right tail whose weight grows with {@code sigma}.
+     *
+     * @param median The median latency
+     * @param sigma The standard deviation of the latency's logarithm
+     */
+    record LogNormal(Duration median, double sigma) implements LatencyDistribution {
+
+        public LogNormal {
+            if (median.isNegative() || sigma < 0) {
+                throw new IllegalArgumentException("Median and sigma must not be negative");
+            }
+        }
+
+        @Override
+        public Duration sample(Random random) {
+            return Duration.ofNanos(Math.round(median.toNanos() * Math.exp(sigma * random.nextGaussian())));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.allan.javazure.firestore;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Replays the latency histogram of recorded production calls.
+ * The histogram is a CSV of {@code upperBoundMillis,count} buckets, as exported from
+ * cumulative-bucket or HdrHistogram recordings. Blank lines, {@code #} comments and a
+ * non-numeric header are ignored. A bucket is chosen with probability proportional to
+ * its count, and the latency drawn uniformly between its lower and upper bound.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public final class ReplayedLatency implements LatencyDistribution {
+
+    private final double[] upperBoundsMillis;
+    private final long[] cumulativeCounts;
+
+    /**
+     * Constructs a new ReplayedLatency.
+     *
+     * @param upperBoundsMillis The ascending bucket upper bounds in milliseconds
+     * @param counts The number of recorded calls per bucket
+     */
+    public ReplayedLatency(double[] upperBoundsMillis, long[] counts) {
+        if (upperBoundsMillis.length == 0 || upperBoundsMillis.length != counts.length) {
+            throw new IllegalArgumentException("A histogram needs one count per bucket and at least one bucket");
+        }
+        this.upperBoundsMillis = upperBoundsMillis.clone();
+        this.cumulativeCounts = new long[counts.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] < 0 || upperBoundsMillis[i] < 0 || (i > 0 && upperBoundsMillis[i] <= upperBoundsMillis[i - 1])) {
+                throw new IllegalArgumentException("Histogram buckets must be ascending with non-negative counts");
+            }
+            total += counts[i];
+            cumulativeCounts[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Histogram holds no recorded calls");
+        }
+    }
+
+    /**
+     * Reads a histogram CSV.
+     *
+     * @param reader The CSV source
+     * @return The distribution
+     * @throws IOException if the source cannot be read
+     */
+    public static ReplayedLatency fromCsv(Reader reader) throws IOException {
+        List<double[]> buckets = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("[,;\\s]+");
+            try {
+                buckets.add(new double[] {Double.parseDouble(columns[0]), Long.parseLong(columns[1])});
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                if (!buckets.isEmpty()) {
+                    throw new IllegalArgumentException("Malformed histogram line: " + line, e);
+                }
+                // Header line
+            }
+        }
+        buckets.sort((left, right) -> Double.compare(left[0], right[0]));
+        return new ReplayedLatency(
+                buckets.stream().mapToDouble(bucket -> bucket[0]).toArray(),
+                buckets.stream().mapToLong(bucket -> (long) bucket[1]).toArray());
+    }
+
+    @Override
+    public Duration sample(Random random) {
+        long target = (long) (random.nextDouble() * cumulativeCounts[cumulativeCounts.length - 1]);
+        int bucket = Arrays.binarySearch(cumulativeCounts, target + 1);
+        if (bucket < 0) {
+            bucket = -bucket - 1;
+        }
+        while (bucket > 0 && cumulativeCounts[bucket - 1] == cumulativeCounts[bucket]) {
+            bucket--; // Skip back over empty buckets sharing the cumulative count
+        }
+        double lower = bucket == 0 ? 0 : upperBoundsMillis[bucket - 1];
+        double millis = lower + random.nextDouble() * (upperBoundsMillis[bucket] - lower);
+        return Duration.ofNanos(Math.round(millis * 1_000_000));
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayedLatency{" +
+                "buckets=" + upperBoundsMillis.length +
+                ", calls=" + cumulativeCounts[cumulativeCounts.length - 1] +
+                '}';
+    }
+}
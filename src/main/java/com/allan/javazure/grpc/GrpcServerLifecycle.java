@@ -0,0 +1,141 @@
+package com.allan.javazure.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a Netty gRPC server alongside the embedded web server, started and stopped with the
+ * application context. Calls are handled on a small bounded executor of {@code grpc-N}
+ * threads; the handlers only hand messages to the asynchronous save path, so a few threads
+ * serve many streams. On shutdown the server stops accepting calls and gives running ones
+ * up to the grace period to finish.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+    private final BindableService service;
+    private final GrpcServerSettings settings;
+
+    private Server server;
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Constructs a new GrpcServerLifecycle.
+     *
+     * @param service The service to serve
+     * @param settings The transport settings of the server
+     */
+    public GrpcServerLifecycle(BindableService service, GrpcServerSettings settings) {
+        this.service = service;
+        this.settings = settings;
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = executor(settings.threads(), settings.queueCapacity());
+        try {
+            server = NettyServerBuilder.forPort(settings.port())
+                    .addService(service)
+                    .executor(executor)
+                    .maxInboundMessageSize(settings.maxInboundMessageSize())
+                    .flowControlWindow(settings.flowControlWindow())
+                    .maxConcurrentCallsPerConnection(settings.maxConcurrentCallsPerConnection())
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Failed to start the gRPC server on port " + settings.port(), e);
+        }
+        logger.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(settings.shutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("gRPC calls still running after {}, cancelling them", settings.shutdownGracePeriod());
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.shutdownNow();
+        }
+        executor.shutdown();
+        server = null;
+        logger.info("gRPC server stopped");
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Gets the port the server listens on, which differs from the configured one when that is 0.
+     *
+     * @return The bound port, or -1 if the server is not running
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getPort() : -1;
+    }
+
+    /**
+     * Creates the call executor. Once its queue is full, calls run on the transport thread
+     * that received them, which stops reading from that connection until they return.
+     */
+    private static ThreadPoolExecutor executor(int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "grpc-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Transport settings of the gRPC server.
+     *
+     * @param port The port to listen on, 0 for any free port
+     * @param threads The number of call handling threads
+     * @param queueCapacity The number of call events queued for those threads
+     * @param maxInboundMessageSize The largest request message accepted, in bytes
+     * @param flowControlWindow The HTTP/2 flow-control window per stream, in bytes
+     * @param maxConcurrentCallsPerConnection The number of calls one connection may run at once
+     * @param shutdownGracePeriod How long running calls may take to finish on shutdown
+     */
+    public record GrpcServerSettings(int port, int threads, int queueCapacity, int maxInboundMessageSize,
+                                     int flowControlWindow, int maxConcurrentCallsPerConnection,
+                                     Duration shutdownGracePeriod) {
+
+        public GrpcServerSettings {
+            if (port < 0 || threads < 1 || queueCapacity < 1 || maxInboundMessageSize < 1
+                    || flowControlWindow < 1 || maxConcurrentCallsPerConnection < 1) {
+                throw new IllegalArgumentException("Invalid gRPC server settings");
+            }
+        }
+    }
+}
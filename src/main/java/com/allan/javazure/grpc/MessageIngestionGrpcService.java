@@ -0,0 +1,230 @@
+package com.allan.javazure.grpc;
+
+import com.allan.javazure.cost.FirestoreCostScope;
+import com.allan.javazure.grpc.v1.CreateMessageRequest;
+import com.allan.javazure.grpc.v1.MessageFailure;
+import com.allan.javazure.grpc.v1.MessageIngestionGrpc;
+import com.allan.javazure.grpc.v1.MessageResponse;
+import com.allan.javazure.grpc.v1.SaveMessagesResponse;
+import com.allan.javazure.limit.LimitExceededException;
+import com.allan.javazure.service.MessageRequestValidator;
+import com.allan.javazure.service.MessageService;
+import com.allan.javazure.service.SaveResult;
+import com.google.protobuf.Timestamp;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * gRPC counterpart of {@code POST /messages} for high-volume internal producers.
+ * Messages go through the same sanitization, validation and {@link MessageService} as the
+ * JSON API, so both endpoints accept, reject, deduplicate and shed exactly the same input.
+ * <p>
+ * {@code SaveMessages} applies backpressure through gRPC flow control: automatic inbound
+ * requests are disabled and another message is only requested when one of at most
+ * {@code maxInFlight} saves of the stream completes. Unrequested messages stay in the
+ * transport's HTTP/2 window, which stops the producer once it is full.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class MessageIngestionGrpcService extends MessageIngestionGrpc.MessageIngestionImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageIngestionGrpcService.class);
+
+    /**
+     * Trailer carrying the seconds after which a shed producer may try again.
+     */
+    public static final Metadata.Key<String> RETRY_AFTER =
+            Metadata.Key.of("retry-after", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final String SUCCESS_MESSAGE = "Message sent successfully!";
+    private static final String BUSY_MESSAGE = "The service is busy. Please try again shortly.";
+    private static final String INTERNAL_MESSAGE = "Unable to process your message. Please try again later.";
+
+    private final MessageService messageService;
+    private final int maxInFlight;
+    private final int maxReportedFailures;
+
+    /**
+     * Constructs a new MessageIngestionGrpcService.
+     *
+     * @param messageService The service saving messages, shared with the JSON API
+     * @param maxInFlight The maximum number of messages of one stream being saved at once
+     * @param maxReportedFailures The maximum number of failures listed in a stream's response
+     */
+    public MessageIngestionGrpcService(MessageService messageService, int maxInFlight, int maxReportedFailures) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.messageService = messageService;
+        this.maxInFlight = maxInFlight;
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    @Override
+    public void saveMessage(CreateMessageRequest request, StreamObserver<MessageResponse> responseObserver) {
+        save(request, "grpc:SaveMessage").whenComplete((result, error) -> {
+            if (error != null) {
+                responseObserver.onError(toStatusException(error));
+            } else {
+                responseObserver.onNext(toResponse(result));
+                responseObserver.onCompleted();
+            }
+        });
+    }
+
+    @Override
+    public StreamObserver<CreateMessageRequest> saveMessages(StreamObserver<SaveMessagesResponse> responseObserver) {
+        ServerCallStreamObserver<SaveMessagesResponse> call =
+                (ServerCallStreamObserver<SaveMessagesResponse>) responseObserver;
+        call.disableAutoRequest();
+        call.request(maxInFlight);
+        return new SaveMessagesObserver(call);
+    }
+
+    /**
+     * Validates and saves one message. The message service sanitizes the text it stores.
+     *
+     * @param request The submitted message
+     * @param caller The method the Firestore operations of the save are attributed to
+     * @return A future of the saved message's identity, failed for invalid or unsaved messages
+     */
+    private CompletableFuture<SaveResult> save(CreateMessageRequest request, String caller) {
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open(caller)) {
+            MessageRequestValidator.validate(request.getContent(), request.getAuthor());
+            return messageService.saveMessageAsync(request.getAuthor(), request.getContent());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static MessageResponse toResponse(SaveResult result) {
+        return MessageResponse.newBuilder()
+                .setMessage(SUCCESS_MESSAGE)
+                .setSuccess(true)
+                .setMessageId(result.messageId())
+                .setCreatedAt(Timestamp.newBuilder()
+                        .setSeconds(result.createdAt().getEpochSecond())
+                        .setNanos(result.createdAt().getNano()))
+                .build();
+    }
+
+    /**
+     * Maps a failed save to the status the JSON API's response code corresponds to.
+     *
+     * @param error The failure, possibly wrapped in a CompletionException
+     * @return INVALID_ARGUMENT for invalid data, RESOURCE_EXHAUSTED with a retry-after trailer
+     *         when the write path is saturated, INTERNAL otherwise
+     */
+    static StatusRuntimeException toStatusException(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof LimitExceededException limitExceeded) {
+            logger.debug("Shedding gRPC message: {}", cause.getMessage());
+            Metadata trailers = new Metadata();
+            long retryAfterSeconds = Math.max(1, (limitExceeded.getRetryAfter().toMillis() + 999) / 1000);
+            trailers.put(RETRY_AFTER, Long.toString(retryAfterSeconds));
+            return Status.RESOURCE_EXHAUSTED.withDescription(BUSY_MESSAGE).asRuntimeException(trailers);
+        }
+        if (cause instanceof IllegalArgumentException) {
+            logger.warn("Invalid gRPC message: {}", cause.getMessage());
+            return Status.INVALID_ARGUMENT.withDescription("Invalid message data: " + cause.getMessage())
+                    .asRuntimeException();
+        }
+        logger.error("Error processing gRPC message", cause);
+        return Status.INTERNAL.withDescription(INTERNAL_MESSAGE).asRuntimeException();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Receives the messages of one {@code SaveMessages} call. Save completions arrive on
+     * Firestore callback threads, so the counters are guarded by the observer's monitor.
+     */
+    private final class SaveMessagesObserver implements StreamObserver<CreateMessageRequest> {
+
+        private final ServerCallStreamObserver<SaveMessagesResponse> call;
+        private final List<MessageFailure> failures = new ArrayList<>();
+        private long received;
+        private long saved;
+        private long failed;
+        private int inFlight;
+        private boolean halfClosed;
+        private boolean finished;
+
+        private SaveMessagesObserver(ServerCallStreamObserver<SaveMessagesResponse> call) {
+            this.call = call;
+        }
+
+        @Override
+        public void onNext(CreateMessageRequest request) {
+            long index;
+            synchronized (this) {
+                index = received++;
+                inFlight++;
+            }
+            save(request, "grpc:SaveMessages").whenComplete((result, error) -> completed(index, error));
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            logger.debug("SaveMessages stream aborted by the client after {} messages: {}", received, error.getMessage());
+            finished = true;
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            halfClosed = true;
+            finishIfDone();
+        }
+
+        private synchronized void completed(long index, Throwable error) {
+            inFlight--;
+            if (error == null) {
+                saved++;
+            } else {
+                failed++;
+                if (failures.size() < maxReportedFailures) {
+                    failures.add(MessageFailure.newBuilder()
+                            .setIndex(index)
+                            .setMessage(toStatusException(error).getStatus().getDescription())
+                            .build());
+                }
+            }
+            if (halfClosed) {
+                finishIfDone();
+            } else if (!finished && !call.isCancelled()) {
+                call.request(1);
+            }
+        }
+
+        private void finishIfDone() {
+            if (finished || inFlight > 0) {
+                return;
+            }
+            finished = true;
+            if (call.isCancelled()) {
+                return;
+            }
+            logger.info("SaveMessages stream completed: {} saved, {} failed", saved, failed);
+            call.onNext(SaveMessagesResponse.newBuilder()
+                    .setSaved(saved)
+                    .setFailed(failed)
+                    .addAllFailures(failures)
+                    .build());
+            call.onCompleted();
+        }
+    }
+}
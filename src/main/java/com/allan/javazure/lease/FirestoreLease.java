@@ -0,0 +1,180 @@
+package com.allan.javazure.lease;
+
+import com.allan.javazure.service.MessageDocument;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Transaction;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A named lease held by at most one replica at a time, stored in {@code leases/{name}}.
+ * Acquiring and renewing are one transaction each: the lease is granted if it is free,
+ * expired or already held by this replica, and then expires {@code ttl} later unless renewed.
+ * <p>
+ * Every time the lease changes hands its fencing token increases. A holder that stalls past
+ * its expiry may still believe it holds the lease, so writes that must not interleave with
+ * the next holder's call {@link #fence} inside their transaction, which then fails if the
+ * token moved on.
+ * Expiry compares wall clocks of different replicas, so holders should stop treating the
+ * lease as theirs some margin before it expires.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class FirestoreLease {
+
+    /**
+     * The name of the collection holding the lease documents.
+     */
+    public static final String LEASES_COLLECTION = "leases";
+
+    static final String HOLDER_FIELD = "holder";
+    static final String TOKEN_FIELD = "token";
+    static final String EXPIRES_AT_FIELD = "expiresAt";
+    static final String RENEWED_AT_FIELD = "renewedAt";
+
+    private final Firestore firestore;
+    private final String name;
+    private final String holder;
+    private final Duration ttl;
+    private final Clock clock;
+
+    /**
+     * Constructs a new FirestoreLease.
+     *
+     * @param firestore The Firestore client holding the lease document
+     * @param name The lease name, which is also its document ID
+     * @param holder The ID of this replica
+     * @param ttl How long a grant lasts without renewal
+     * @param clock The clock setting expiry times
+     */
+    public FirestoreLease(Firestore firestore, String name, String holder, Duration ttl, Clock clock) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Lease ttl must be positive");
+        }
+        this.firestore = firestore;
+        this.name = name;
+        this.holder = holder;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Acquires the lease if it is free or expired, or renews it if this replica holds it.
+     * A renewal keeps the token; taking the lease over increases it.
+     *
+     * @return The grant, or empty if another replica holds the lease
+     * @throws ExecutionException if the transaction fails
+     * @throws InterruptedException if interrupted while waiting for it
+     */
+    public Optional<LeaseGrant> tryAcquire() throws ExecutionException, InterruptedException {
+        return firestore.runTransaction(transaction -> {
+            Instant now = clock.instant();
+            Optional<LeaseGrant> current = toGrant(transaction.get(document()).get());
+            boolean live = current.isPresent() && current.get().expiresAt().isAfter(now);
+            if (live && !holder.equals(current.get().holder())) {
+                return Optional.<LeaseGrant>empty();
+            }
+            long token = current.map(LeaseGrant::token).orElse(0L);
+            if (!live) {
+                token++;
+            }
+            LeaseGrant grant = new LeaseGrant(name, holder, token, now.plus(ttl));
+            transaction.set(document(), Map.of(
+                    HOLDER_FIELD, holder,
+                    TOKEN_FIELD, token,
+                    EXPIRES_AT_FIELD, MessageDocument.toTimestamp(grant.expiresAt()),
+                    RENEWED_AT_FIELD, MessageDocument.toTimestamp(now)));
+            return Optional.of(grant);
+        }).get();
+    }
+
+    /**
+     * Releases the lease by expiring it now, if this replica still holds it with the given
+     * token, so another replica can take over without waiting for the ttl.
+     *
+     * @param token The token of the grant being released
+     * @return true if the lease was released
+     * @throws ExecutionException if the transaction fails
+     * @throws InterruptedException if interrupted while waiting for it
+     */
+    public boolean release(long token) throws ExecutionException, InterruptedException {
+        return firestore.runTransaction(transaction -> {
+            Optional<LeaseGrant> current = toGrant(transaction.get(document()).get());
+            if (current.isEmpty() || !holder.equals(current.get().holder()) || current.get().token() != token) {
+                return false;
+            }
+            transaction.update(document(), EXPIRES_AT_FIELD, MessageDocument.toTimestamp(clock.instant()));
+            return true;
+        }).get();
+    }
+
+    /**
+     * Reads the lease within a caller's transaction and fails it unless the lease still
+     * carries the given token. Must be called before the transaction's writes.
+     *
+     * @param transaction The transaction of the fenced write
+     * @param token The token of the writer's grant
+     * @throws LeaseLostException if the lease changed hands since the grant
+     * @throws ExecutionException if the lease cannot be read
+     * @throws InterruptedException if interrupted while reading it
+     */
+    public void fence(Transaction transaction, long token) throws ExecutionException, InterruptedException {
+        long currentToken = toGrant(transaction.get(document()).get()).map(LeaseGrant::token).orElse(0L);
+        if (currentToken != token) {
+            throw new LeaseLostException(name, token, currentToken);
+        }
+    }
+
+    /**
+     * Reads the lease.
+     *
+     * @return The current grant, possibly expired, or empty if the lease was never acquired
+     * @throws ExecutionException if the document cannot be read
+     * @throws InterruptedException if interrupted while reading it
+     */
+    public Optional<LeaseGrant> read() throws ExecutionException, InterruptedException {
+        return toGrant(document().get().get());
+    }
+
+    /**
+     * Gets the name of the lease.
+     *
+     * @return The lease name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the ID of the replica this lease object acquires for.
+     *
+     * @return The holder ID
+     */
+    public String getHolder() {
+        return holder;
+    }
+
+    private DocumentReference document() {
+        return firestore.collection(LEASES_COLLECTION).document(name);
+    }
+
+    private Optional<LeaseGrant> toGrant(DocumentSnapshot snapshot) {
+        if (!snapshot.exists()) {
+            return Optional.empty();
+        }
+        Long token = snapshot.getLong(TOKEN_FIELD);
+        Timestamp expiresAt = snapshot.getTimestamp(EXPIRES_AT_FIELD);
+        return Optional.of(new LeaseGrant(name, snapshot.getString(HOLDER_FIELD), token != null ? token : 0,
+                expiresAt != null ? MessageDocument.toInstant(expiresAt) : Instant.EPOCH));
+    }
+}
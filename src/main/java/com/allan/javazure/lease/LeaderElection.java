@@ -0,0 +1,260 @@
+package com.allan.javazure.lease;
+
+import com.allan.javazure.cost.FirestoreCostScope;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Transaction;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Elects one replica to run the background jobs, through the {@link FirestoreLease}
+ * {@code messages.lease.name}. Every replica tries to acquire or renew the lease every
+ * {@code renew-interval}; the holder's grant lasts {@code ttl}. The holder counts itself
+ * leader until {@code ttl - clock-skew} after it started its last successful renewal, measured
+ * on its own monotonic clock, so it steps down before any other replica can see the lease
+ * expired. If the holder dies, another replica takes over within {@code ttl + renew-interval};
+ * a replica shutting down releases the lease for an immediate takeover.
+ * <p>
+ * Jobs read {@link #getToken()} when they start, call {@link #checkLeader} between steps and
+ * {@link #fence} their progress writes, so a run aborts once the lease is lost.
+ * The lease lives on the interactive Firestore client, so a bulk job saturating the
+ * background client cannot delay the renewals of the replica running it. Without a database
+ * there is nothing to share, and the replica is always the leader.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnProperty(value = "messages.lease.enabled", havingValue = "true")
+public class LeaderElection implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderElection.class);
+
+    private static final String COST_CALLER = "job:lease";
+
+    private final FirestoreLease lease;
+    private final long validityNanos;
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong losses = new AtomicLong();
+
+    private volatile LeaseGrant grant;
+    private volatile long validUntilNanos;
+
+    /**
+     * Constructs a new LeaderElection from the application context.
+     *
+     * @param firestore The interactive Firestore client (can be null for mock mode)
+     * @param name The lease name
+     * @param holderId The ID of this replica, generated from the host name when blank
+     * @param ttl How long a grant lasts without renewal
+     * @param renewInterval How often the lease is acquired or renewed
+     * @param clockSkew The largest wall clock difference expected between replicas
+     */
+    @Autowired
+    public LeaderElection(@Nullable Firestore firestore,
+                          @Value("${messages.lease.name:background-jobs}") String name,
+                          @Value("${messages.lease.holder-id:${CONTAINER_APP_REPLICA_NAME:}}") String holderId,
+                          @Value("${messages.lease.ttl:PT15S}") Duration ttl,
+                          @Value("${messages.lease.renew-interval:PT5S}") Duration renewInterval,
+                          @Value("${messages.lease.clock-skew:PT2S}") Duration clockSkew) {
+        this(firestore != null
+                     ? new FirestoreLease(firestore, name, holderId.isBlank() ? generateHolderId() : holderId,
+                                          ttl, Clock.systemUTC())
+                     : null,
+             ttl, renewInterval, clockSkew);
+    }
+
+    /**
+     * Constructs a new LeaderElection over the specified lease.
+     *
+     * @param lease The lease, or null to always be the leader
+     * @param ttl The ttl the lease grants
+     * @param renewInterval How often the lease is acquired or renewed
+     * @param clockSkew The largest wall clock difference expected between replicas
+     * @throws IllegalArgumentException if a renewal would not fit in the ttl less the clock skew
+     */
+    public LeaderElection(@Nullable FirestoreLease lease, Duration ttl, Duration renewInterval, Duration clockSkew) {
+        if (clockSkew.isNegative() || renewInterval.compareTo(ttl.minus(clockSkew)) >= 0) {
+            throw new IllegalArgumentException("Lease renew-interval must be shorter than ttl minus clock-skew");
+        }
+        this.lease = lease;
+        this.validityNanos = ttl.minus(clockSkew).toNanos();
+        if (lease != null) {
+            logger.info("Competing for lease '{}' as {}", lease.getName(), lease.getHolder());
+        }
+    }
+
+    /**
+     * Acquires or renews the lease. A failed attempt leaves a held grant valid until it runs out.
+     */
+    @Scheduled(initialDelayString = "PT0S", fixedDelayString = "${messages.lease.renew-interval:PT5S}")
+    public void renew() {
+        if (lease == null) {
+            return;
+        }
+        long started = System.nanoTime();
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open(COST_CALLER)) {
+            Optional<LeaseGrant> renewed = lease.tryAcquire();
+            if (renewed.isPresent()) {
+                if (!isLeader()) {
+                    acquisitions.incrementAndGet();
+                    logger.info("Acquired lease '{}' with token {}", lease.getName(), renewed.get().token());
+                }
+                grant = renewed.get();
+                validUntilNanos = started + validityNanos;
+            } else if (grant != null) {
+                stepDown("held by another replica");
+            }
+        } catch (ExecutionException | RuntimeException e) {
+            logger.warn("Failed to renew lease '{}': {}", lease.getName(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Checks whether this replica should run the background jobs now.
+     *
+     * @return true if this replica holds a valid grant of the lease, or there is no database
+     */
+    public boolean isLeader() {
+        if (lease == null) {
+            return true;
+        }
+        if (grant == null) {
+            return false;
+        }
+        if (System.nanoTime() - validUntilNanos >= 0) {
+            stepDown("not renewed in time");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the fencing token of this replica's grant, for writes that {@link FirestoreLease#fence} it.
+     *
+     * @return The token, or empty if this replica is not the leader
+     */
+    public OptionalLong getToken() {
+        LeaseGrant current = grant;
+        return current != null && isLeader() ? OptionalLong.of(current.token()) : OptionalLong.empty();
+    }
+
+    /**
+     * Checks that this replica still leads with the given grant, for long jobs to call
+     * between steps. Only the local grant is checked; see {@link #fence} to check the lease itself.
+     *
+     * @param token The token the job started with
+     * @throws LeaseLostException if the grant ran out or the lease changed hands since
+     * @throws IllegalStateException if there is no database, and so no token
+     */
+    public void checkLeader(long token) {
+        if (lease == null) {
+            throw new IllegalStateException("Leadership has no token without a database");
+        }
+        OptionalLong current = getToken();
+        if (current.isEmpty() || current.getAsLong() != token) {
+            throw new LeaseLostException(lease.getName(), token, current.orElse(0));
+        }
+    }
+
+    /**
+     * Fences a write of a job that started with the given token: checks the local grant,
+     * then {@link FirestoreLease#fence fences} the transaction against the lease document.
+     *
+     * @param transaction The transaction of the fenced write
+     * @param token The token the job started with
+     * @throws LeaseLostException if the grant ran out or the lease changed hands since
+     * @throws ExecutionException if the lease cannot be read
+     * @throws InterruptedException if interrupted while reading it
+     */
+    public void fence(Transaction transaction, long token) throws ExecutionException, InterruptedException {
+        checkLeader(token);
+        lease.fence(transaction, token);
+    }
+
+    /**
+     * Gets the lease this election competes for.
+     *
+     * @return The lease, or null without a database
+     */
+    @Nullable
+    public FirestoreLease getLease() {
+        return lease;
+    }
+
+    /**
+     * Releases the lease if this replica holds it, so another replica takes over at once.
+     */
+    @PreDestroy
+    public void release() {
+        LeaseGrant current = grant;
+        if (lease == null || current == null) {
+            return;
+        }
+        grant = null;
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open(COST_CALLER)) {
+            if (lease.release(current.token())) {
+                logger.info("Released lease '{}' with token {}", lease.getName(), current.token());
+            }
+        } catch (ExecutionException | RuntimeException e) {
+            logger.warn("Failed to release lease '{}', it expires at {}", lease.getName(), current.expiresAt());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void stepDown(String reason) {
+        if (grant != null) {
+            grant = null;
+            losses.incrementAndGet();
+            logger.warn("Lost lease '{}': {}", lease.getName(), reason);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("messages.lease.leader", this, election -> election.isLeader() ? 1 : 0)
+                .description("Whether this replica runs the background jobs")
+                .register(registry);
+        FunctionCounter.builder("messages.lease.acquisitions", acquisitions, AtomicLong::get)
+                .description("Times this replica acquired the lease")
+                .register(registry);
+        FunctionCounter.builder("messages.lease.losses", losses, AtomicLong::get)
+                .description("Times this replica lost the lease without releasing it")
+                .register(registry);
+    }
+
+    private static String generateHolderId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "replica";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
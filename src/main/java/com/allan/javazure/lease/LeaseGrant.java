@@ -0,0 +1,18 @@
+package com.allan.javazure.lease;
+
+import java.time.Instant;
+
+/**
+ * A lease as recorded in its Firestore document.
+ *
+ * @param name The lease name
+ * @param holder The ID of the replica holding the lease
+ * @param token The fencing token, increased every time the lease changes hands
+ * @param expiresAt When the lease expires unless renewed
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record LeaseGrant(String name, String holder, long token, Instant expiresAt) {
+}
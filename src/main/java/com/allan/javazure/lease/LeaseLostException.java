@@ -0,0 +1,22 @@
+package com.allan.javazure.lease;
+
+/**
+ * Thrown when a write fenced by a lease's token is attempted after the lease changed hands.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class LeaseLostException extends IllegalStateException {
+
+    /**
+     * Constructs a new LeaseLostException.
+     *
+     * @param name The lease name
+     * @param token The token of the writer
+     * @param currentToken The token the lease now carries
+     */
+    public LeaseLostException(String name, long token, long currentToken) {
+        super("Lease '" + name + "' token " + token + " was superseded by token " + currentToken);
+    }
+}
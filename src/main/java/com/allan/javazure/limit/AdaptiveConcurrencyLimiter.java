@@ -0,0 +1,277 @@
+package com.allan.javazure.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive concurrency limit for the message write path, following the gradient algorithm.
+ * Each completed call reports its latency; the limit grows while latency stays near the
+ * long-term average and shrinks in proportion when latency rises above it, so queueing
+ * in Firestore is detected and corrected before it reaches every caller. Calls over the
+ * limit are rejected immediately instead of waiting for a slot.
+ * <p>
+ * The limit only grows while at least half of it is in use, so an idle service does not
+ * drift to the maximum, and failed calls cut the limit multiplicatively.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    /**
+     * Lowest gradient applied in one update, so one slow sample at most halves the limit.
+     */
+    private static final double MIN_GRADIENT = 0.5;
+
+    /**
+     * Factor applied to the limit when a call fails.
+     */
+    private static final double FAILURE_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final int longWindow;
+    private final Duration retryAfter;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double estimatedLimit;
+    private double longRttNanos;
+    private long samples;
+
+    /**
+     * Constructs a new AdaptiveConcurrencyLimiter.
+     *
+     * @param initialLimit Concurrent calls allowed before any latency has been measured
+     * @param minLimit Lowest limit the algorithm may reach
+     * @param maxLimit Highest limit the algorithm may reach
+     * @param smoothing Weight, between 0 and 1, of each new estimate in the limit
+     * @param rttTolerance Ratio of short to long latency tolerated before the limit shrinks
+     * @param longWindow Number of samples averaged into the long-term latency
+     * @param retryAfter Delay suggested to rejected callers
+     */
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${messages.limiter.initial-limit:20}") int initialLimit,
+                                      @Value("${messages.limiter.min-limit:4}") int minLimit,
+                                      @Value("${messages.limiter.max-limit:200}") int maxLimit,
+                                      @Value("${messages.limiter.smoothing:0.2}") double smoothing,
+                                      @Value("${messages.limiter.rtt-tolerance:1.5}") double rttTolerance,
+                                      @Value("${messages.limiter.long-window:600}") int longWindow,
+                                      @Value("${messages.limiter.retry-after:PT1S}") Duration retryAfter) {
+        this(initialLimit, minLimit, maxLimit, smoothing, rttTolerance, longWindow, retryAfter, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance,
+                               int longWindow, Duration retryAfter, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        if (smoothing <= 0.0 || smoothing > 1.0) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1]");
+        }
+        if (rttTolerance < 1.0) {
+            throw new IllegalArgumentException("RTT tolerance must be at least 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.longWindow = Math.max(1, longWindow);
+        this.retryAfter = retryAfter;
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        logger.info("Adaptive concurrency limit starting at {} (min {}, max {})", getLimit(), minLimit, maxLimit);
+    }
+
+    /**
+     * Takes a slot for one call, without waiting.
+     *
+     * @return The permit to complete once the call finishes, or empty if the limit is reached
+     */
+    public Optional<Permit> tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.incrementAndGet();
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.incrementAndGet();
+                return Optional.of(new Permit(nanoClock.getAsLong(), current + 1));
+            }
+        }
+    }
+
+    /**
+     * Gets the current concurrency limit.
+     *
+     * @return The number of calls allowed in flight
+     */
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    /**
+     * Gets the number of calls currently in flight.
+     *
+     * @return The in-flight call count
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Gets the number of calls rejected so far.
+     *
+     * @return The rejected call count
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the delay suggested to rejected callers.
+     *
+     * @return The retry-after delay
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("messages.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit of message writes")
+                .register(registry);
+        Gauge.builder("messages.limiter.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Message writes currently in flight")
+                .register(registry);
+        FunctionCounter.builder("messages.limiter.requests", accepted, AtomicLong::get)
+                .description("Message writes admitted or rejected by the concurrency limit")
+                .tag("outcome", "accepted")
+                .register(registry);
+        FunctionCounter.builder("messages.limiter.requests", rejected, AtomicLong::get)
+                .description("Message writes admitted or rejected by the concurrency limit")
+                .tag("outcome", "rejected")
+                .register(registry);
+    }
+
+    /**
+     * Feeds one successful call's latency into the limit.
+     *
+     * @param rttNanos The call's latency
+     * @param inFlightAtStart Calls in flight when the call started, including itself
+     */
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        long shortRtt = Math.max(1, rttNanos);
+        samples++;
+        double window = Math.min(samples, longWindow);
+        longRttNanos = longRttNanos + (shortRtt - longRttNanos) / window;
+
+        // After a sustained rise the long average lags far behind; let it catch up
+        // instead of holding the limit at its minimum until the window has turned over.
+        if (longRttNanos / shortRtt > 2.0) {
+            longRttNanos *= 0.95;
+        }
+
+        double limit = estimatedLimit;
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+        double queueSize = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueSize;
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        setLimit(newLimit);
+    }
+
+    /**
+     * Cuts the limit after a failed call.
+     */
+    private synchronized void onFailure() {
+        setLimit(estimatedLimit * FAILURE_BACKOFF);
+    }
+
+    private void setLimit(double newLimit) {
+        double clamped = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        if ((int) clamped != (int) estimatedLimit) {
+            logger.debug("Concurrency limit changed from {} to {}", (int) estimatedLimit, (int) clamped);
+        }
+        estimatedLimit = clamped;
+    }
+
+    /**
+     * One admitted call. Exactly one of the completion methods must be called when the
+     * call finishes; later calls are ignored.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Releases the slot and feeds the call's latency into the limit.
+         */
+        public void onSuccess() {
+            if (release()) {
+                onSample(nanoClock.getAsLong() - startNanos, inFlightAtStart);
+            }
+        }
+
+        /**
+         * Releases the slot after the dependency failed, cutting the limit.
+         */
+        public void onFailure() {
+            if (release()) {
+                AdaptiveConcurrencyLimiter.this.onFailure();
+            }
+        }
+
+        /**
+         * Releases the slot without affecting the limit, for calls that say nothing about
+         * the dependency's capacity such as rejected input.
+         */
+        public void onIgnore() {
+            release();
+        }
+
+        private boolean release() {
+            if (!released.compareAndSet(false, true)) {
+                return false;
+            }
+            inFlight.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.allan.javazure.limit;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a call is shed because the concurrency limit has been reached, or because
+ * the replica is draining before it stops.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class LimitExceededException extends RuntimeException {
+
+    private final transient Duration retryAfter;
+
+    /**
+     * Constructs a new LimitExceededException.
+     *
+     * @param limit The limit that was reached
+     * @param retryAfter Delay after which the caller may try again
+     */
+    public LimitExceededException(int limit, Duration retryAfter) {
+        this("Concurrency limit of " + limit + " reached", retryAfter);
+    }
+
+    /**
+     * Constructs a new LimitExceededException for a call shed for another reason.
+     *
+     * @param message Why the call was shed
+     * @param retryAfter Delay after which the caller may try again
+     */
+    public LimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Gets the delay after which the caller may try again.
+     *
+     * @return The retry-after delay
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
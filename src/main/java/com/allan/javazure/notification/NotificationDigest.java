@@ -0,0 +1,64 @@
+package com.allan.javazure.notification;
+
+import com.allan.javazure.service.MessageSavedEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One owner notification, covering every message received since the previous one.
+ * Only the first messages of a burst are listed; the rest are counted, so a digest has
+ * a bounded size however many messages arrive.
+ *
+ * @param messages The messages listed in the digest, oldest first
+ * @param omitted The number of further messages received but not listed
+ * @param createdAt When the digest was assembled
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record NotificationDigest(List<MessageSavedEvent> messages, long omitted, Instant createdAt) {
+
+    /**
+     * Length to which message content is cut in the plain-text rendering.
+     */
+    private static final int PREVIEW_LENGTH = 200;
+
+    /**
+     * Gets the total number of messages the digest covers.
+     *
+     * @return Listed plus omitted messages
+     */
+    public long total() {
+        return messages.size() + omitted;
+    }
+
+    /**
+     * Renders a one-line subject for the digest.
+     *
+     * @return The subject
+     */
+    public String subject() {
+        return total() == 1 ? "New message from " + messages.get(0).author() : total() + " new messages";
+    }
+
+    /**
+     * Renders the digest as plain text, one block per listed message.
+     *
+     * @return The text body
+     */
+    public String text() {
+        StringBuilder text = new StringBuilder();
+        for (MessageSavedEvent message : messages) {
+            String content = message.content();
+            text.append(message.author()).append(" (").append(message.createdAt()).append("):\n")
+                .append(content.length() > PREVIEW_LENGTH ? content.substring(0, PREVIEW_LENGTH) + "..." : content)
+                .append("\n\n");
+        }
+        if (omitted > 0) {
+            text.append("... and ").append(omitted).append(" more.\n");
+        }
+        return text.toString();
+    }
+}
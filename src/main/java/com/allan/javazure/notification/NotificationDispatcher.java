@@ -0,0 +1,275 @@
+package com.allan.javazure.notification;
+
+import com.allan.javazure.service.MessageSavedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notifies the site owner of new messages without touching the request path.
+ * Saved messages are offered to a bounded queue, which never blocks: when it is full the
+ * message is only counted. Every digest interval the queue is drained into one
+ * {@link NotificationDigest} per transport, so a burst of spam produces one notification
+ * per interval, listing at most {@code max-messages-per-digest} messages. Failed sends are
+ * retried with exponential backoff and jitter, up to {@code max-attempts}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Service
+public class NotificationDispatcher implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final List<NotificationTransport> transports;
+    private final BlockingQueue<MessageSavedEvent> queue;
+    private final int maxMessagesPerDigest;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong overflow = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Constructs a new NotificationDispatcher from the application context.
+     *
+     * @param transports The configured transports; without any, messages are not queued
+     * @param queueCapacity Maximum number of messages waiting for the next digest
+     * @param digestInterval Interval between digests
+     * @param maxMessagesPerDigest Maximum number of messages listed in one digest
+     * @param maxAttempts Maximum number of attempts to send one digest over one transport
+     * @param initialBackoff Delay before the first retry, doubled for each further retry
+     * @param maxBackoff Longest delay between retries
+     */
+    @Autowired
+    public NotificationDispatcher(ObjectProvider<NotificationTransport> transports,
+                                  @Value("${notifications.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${notifications.digest-interval:PT1M}") Duration digestInterval,
+                                  @Value("${notifications.max-messages-per-digest:20}") int maxMessagesPerDigest,
+                                  @Value("${notifications.max-attempts:5}") int maxAttempts,
+                                  @Value("${notifications.initial-backoff:PT2S}") Duration initialBackoff,
+                                  @Value("${notifications.max-backoff:PT1M}") Duration maxBackoff) {
+        this(transports.orderedStream().toList(), queueCapacity, digestInterval, maxMessagesPerDigest,
+             maxAttempts, initialBackoff, maxBackoff);
+    }
+
+    /**
+     * Constructs a new NotificationDispatcher with the specified transports.
+     *
+     * @param transports The transports; without any, messages are not queued
+     * @param queueCapacity Maximum number of messages waiting for the next digest
+     * @param digestInterval Interval between digests
+     * @param maxMessagesPerDigest Maximum number of messages listed in one digest
+     * @param maxAttempts Maximum number of attempts to send one digest over one transport
+     * @param initialBackoff Delay before the first retry, doubled for each further retry
+     * @param maxBackoff Longest delay between retries
+     */
+    public NotificationDispatcher(List<NotificationTransport> transports, int queueCapacity, Duration digestInterval,
+                                  int maxMessagesPerDigest, int maxAttempts, Duration initialBackoff,
+                                  Duration maxBackoff) {
+        this.transports = List.copyOf(transports);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxMessagesPerDigest = maxMessagesPerDigest;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        if (this.transports.isEmpty()) {
+            this.scheduler = null;
+            logger.info("No notification transport configured - owner notifications disabled");
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = digestInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::flushSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        logger.info("Owner notifications via {} every {}",
+                   this.transports.stream().map(NotificationTransport::name).toList(), digestInterval);
+    }
+
+    /**
+     * Queues a saved message for the next digest. Never blocks: when the queue is full the
+     * message is only counted in the next digest.
+     *
+     * @param event The saved message
+     */
+    @EventListener
+    public void onMessageSaved(MessageSavedEvent event) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            overflow.incrementAndGet();
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Checks whether any transport is configured.
+     *
+     * @return true if saved messages are notified
+     */
+    public boolean isEnabled() {
+        return scheduler != null;
+    }
+
+    /**
+     * Drains the queue into a digest and starts sending it over every transport.
+     * Called on the digest interval; retries continue in the background.
+     *
+     * @return The digest being sent, or null if there was nothing to notify
+     */
+    public synchronized NotificationDigest flush() {
+        List<MessageSavedEvent> messages = new ArrayList<>();
+        queue.drainTo(messages);
+        long omitted = overflow.getAndSet(0) + Math.max(0, messages.size() - maxMessagesPerDigest);
+        if (messages.isEmpty() && omitted == 0) {
+            return null;
+        }
+
+        NotificationDigest digest = new NotificationDigest(
+                List.copyOf(messages.subList(0, Math.min(messages.size(), maxMessagesPerDigest))), omitted, Instant.now());
+        logger.debug("Sending digest of {} messages", digest.total());
+        for (NotificationTransport transport : transports) {
+            deliver(transport, digest, 1);
+        }
+        return digest;
+    }
+
+    /**
+     * Gets the number of messages waiting for the next digest.
+     *
+     * @return The queue size
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of messages that did not fit in the queue.
+     *
+     * @return The dropped message count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the number of digests delivered, counted per transport.
+     *
+     * @return The sent digest count
+     */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * Gets the number of digests given up on after every attempt, counted per transport.
+     *
+     * @return The failed digest count
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notifications.queue.size", this, NotificationDispatcher::getQueueSize)
+                .description("Saved messages waiting for the next owner notification digest")
+                .register(registry);
+        FunctionCounter.builder("notifications.dropped", dropped, AtomicLong::get)
+                .description("Saved messages that did not fit in the notification queue")
+                .register(registry);
+        FunctionCounter.builder("notifications.digests", sent, AtomicLong::get)
+                .description("Owner notification digests by outcome")
+                .tag("outcome", "sent")
+                .register(registry);
+        FunctionCounter.builder("notifications.digests", failed, AtomicLong::get)
+                .description("Owner notification digests by outcome")
+                .tag("outcome", "failed")
+                .register(registry);
+    }
+
+    /**
+     * Stops the dispatcher, sending whatever is still queued once without retries.
+     */
+    @PreDestroy
+    public void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Failed to assemble notification digest", e);
+        }
+    }
+
+    private void deliver(NotificationTransport transport, NotificationDigest digest, int attempt) {
+        try {
+            transport.send(digest);
+            sent.incrementAndGet();
+        } catch (Exception e) {
+            if (attempt >= maxAttempts || scheduler.isShutdown()) {
+                failed.incrementAndGet();
+                logger.error("Giving up on {} notification of {} messages after {} attempts",
+                            transport.name(), digest.total(), attempt, e);
+                return;
+            }
+            long delayMillis = backoffMillis(attempt);
+            logger.warn("{} notification failed (attempt {}), retrying in {} ms: {}",
+                       transport.name(), attempt, delayMillis, e.getMessage());
+            try {
+                scheduler.schedule(() -> deliver(transport, digest, attempt + 1), delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                failed.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Computes the delay before a retry: exponential from the initial backoff, capped,
+     * with up to 20% jitter either way so retries of several transports do not align.
+     */
+    private long backoffMillis(int attempt) {
+        long base = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Math.max(1, (long) (capped * jitter));
+    }
+}
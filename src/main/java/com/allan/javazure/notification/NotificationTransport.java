@@ -0,0 +1,30 @@
+package com.allan.javazure.notification;
+
+import java.io.IOException;
+
+/**
+ * A channel delivering notification digests to the site owner.
+ * Transports are called from the dispatcher's own thread, never from a request thread,
+ * and may block; a failed send is retried by the dispatcher with backoff.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public interface NotificationTransport {
+
+    /**
+     * Gets the name of the transport, used in logs and metrics.
+     *
+     * @return The transport name
+     */
+    String name();
+
+    /**
+     * Delivers one digest.
+     *
+     * @param digest The digest to deliver
+     * @throws IOException if the digest could not be delivered and may be retried
+     */
+    void send(NotificationDigest digest) throws IOException;
+}
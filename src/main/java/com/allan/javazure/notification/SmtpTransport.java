@@ -0,0 +1,54 @@
+package com.allan.javazure.notification;
+
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.io.IOException;
+
+/**
+ * Delivers digests as plain-text e-mail through the configured SMTP server
+ * ({@code spring.mail.*}).
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class SmtpTransport implements NotificationTransport {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final String to;
+
+    /**
+     * Constructs a new SmtpTransport.
+     *
+     * @param mailSender The sender connected to the SMTP server
+     * @param from The sender address
+     * @param to The owner's address
+     */
+    public SmtpTransport(JavaMailSender mailSender, String from, String to) {
+        this.mailSender = mailSender;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public void send(NotificationDigest digest) throws IOException {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(to);
+        mail.setSubject(digest.subject());
+        mail.setText(digest.text());
+        try {
+            mailSender.send(mail);
+        } catch (MailException e) {
+            throw new IOException("SMTP delivery failed", e);
+        }
+    }
+}
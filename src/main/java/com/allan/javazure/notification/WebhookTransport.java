@@ -0,0 +1,72 @@
+package com.allan.javazure.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Delivers digests as a JSON POST to a webhook, such as a chat integration.
+ * The body carries the rendered {@code subject} and {@code text}, the listed
+ * {@code messages} and the {@code omitted} count; any non-2xx response is a failure.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class WebhookTransport implements NotificationTransport {
+
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    /**
+     * Constructs a new WebhookTransport.
+     *
+     * @param url The webhook URL
+     * @param timeout The connect and request timeout
+     * @param objectMapper The mapper used to write the request body
+     */
+    public WebhookTransport(URI url, Duration timeout, ObjectMapper objectMapper) {
+        this.url = url;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void send(NotificationDigest digest) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("subject", digest.subject());
+        body.put("text", digest.text());
+        body.put("messages", digest.messages());
+        body.put("omitted", digest.omitted());
+
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("Webhook responded with status " + response.statusCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Webhook call was interrupted", e);
+        }
+    }
+}
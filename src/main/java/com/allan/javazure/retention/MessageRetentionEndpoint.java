@@ -0,0 +1,60 @@
+package com.allan.javazure.retention;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for following retention runs and triggering one on demand.
+ * Exposed at {@code /actuator/messageretention} once added to
+ * {@code management.endpoints.web.exposure.include}.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@Endpoint(id = "messageretention")
+public class MessageRetentionEndpoint {
+
+    private final MessageRetentionService retentionService;
+
+    /**
+     * Constructs a new MessageRetentionEndpoint.
+     *
+     * @param retentionService The service enforcing the retention policy
+     */
+    public MessageRetentionEndpoint(MessageRetentionService retentionService) {
+        this.retentionService = retentionService;
+    }
+
+    /**
+     * Reports the progress of the running retention run, or the result of the last one,
+     * together with the backlog it left behind.
+     *
+     * @return The retention status
+     */
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", retentionService.isRunning());
+        status.put("progress", retentionService.getProgress());
+        status.put("oldestExpired", retentionService.getOldestExpired());
+        status.put("backlogAgeSeconds", retentionService.getBacklogAge().toSeconds());
+        return status;
+    }
+
+    /**
+     * Runs the retention policy now and waits for it to complete.
+     *
+     * @return Summary of the completed run
+     */
+    @WriteOperation
+    public RetentionSummary enforce() {
+        return retentionService.enforce();
+    }
+}
@@ -0,0 +1,101 @@
+package com.allan.javazure.retention;
+
+import com.allan.javazure.lease.LeaderElection;
+import com.allan.javazure.lease.LeaseLostException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+
+/**
+ * Runs the retention policy periodically in the background.
+ * Only active when {@code messages.retention.enabled=true}. With several replicas, only
+ * the {@link LeaderElection} leader runs it; the others skip their ticks, and a run stops
+ * within one chunk once its replica loses the lease.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@ConditionalOnProperty(value = "messages.retention.enabled", havingValue = "true")
+public class MessageRetentionScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageRetentionScheduler.class);
+
+    private final MessageRetentionService retentionService;
+
+    private final LeaderElection leaderElection;
+
+    /**
+     * Constructs a new MessageRetentionScheduler that runs on every replica.
+     *
+     * @param retentionService The service enforcing the retention policy
+     */
+    public MessageRetentionScheduler(MessageRetentionService retentionService) {
+        this(retentionService, (LeaderElection) null);
+    }
+
+    /**
+     * Constructs a new MessageRetentionScheduler that runs on the leader only.
+     *
+     * @param retentionService The service enforcing the retention policy
+     * @param leaderElection The election of the replica running background jobs, or null to run on every replica
+     */
+    public MessageRetentionScheduler(MessageRetentionService retentionService, LeaderElection leaderElection) {
+        this.retentionService = retentionService;
+        this.leaderElection = leaderElection;
+    }
+
+    /**
+     * Constructs a new MessageRetentionScheduler from the application context.
+     *
+     * @param retentionService The service enforcing the retention policy
+     * @param leaderElection The leader election, unless disabled
+     */
+    @Autowired
+    public MessageRetentionScheduler(MessageRetentionService retentionService,
+                                     ObjectProvider<LeaderElection> leaderElection) {
+        this(retentionService, leaderElection.getIfAvailable());
+    }
+
+    /**
+     * Enforces the retention policy, skipping the tick if another replica is the leader,
+     * a run is still in progress or there is no database to clean up. A leader's run is
+     * fenced by its lease token and aborts once the lease is lost.
+     */
+    @Scheduled(initialDelayString = "${messages.retention.initial-delay:PT5M}",
+               fixedDelayString = "${messages.retention.interval:PT1H}")
+    public void enforceRetention() {
+        OptionalLong token = OptionalLong.empty();
+        if (leaderElection != null && leaderElection.getLease() != null) {
+            token = leaderElection.getToken();
+            if (token.isEmpty()) {
+                logger.debug("Skipping scheduled retention run - another replica holds the lease");
+                return;
+            }
+        }
+        if (retentionService.isRunning()) {
+            logger.debug("Skipping scheduled retention run - previous run still in progress");
+            return;
+        }
+        try {
+            if (token.isPresent()) {
+                retentionService.enforce(leaderElection, token.getAsLong());
+            } else {
+                retentionService.enforce();
+            }
+        } catch (LeaseLostException e) {
+            logger.warn("Scheduled retention run stopped: {}", e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.debug("Skipping scheduled retention run: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Scheduled retention run failed", e);
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package com.allan.javazure.retention;
+
+import com.allan.javazure.archive.MessageArchiveRecord;
+import com.allan.javazure.archive.MessageImportService;
+import com.allan.javazure.archive.NdjsonSegmentWriter;
+import com.allan.javazure.config.FirebaseConfig;
+import com.allan.javazure.cost.FirestoreCostScope;
+import com.allan.javazure.cost.ScopePropagatingExecutor;
+import com.allan.javazure.lease.LeaderElection;
+import com.allan.javazure.lease.LeaseLostException;
+import com.allan.javazure.rollup.MessageRollupService;
+import com.allan.javazure.service.MessageDocument;
+import com.allan.javazure.service.MessageLayout;
+import com.allan.javazure.service.MessageTimelineReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.BulkWriterOptions;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.WriteResult;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Enforces the retention policy of the messages collection.
+ * Messages older than {@code maxAge}, or beyond the newest {@code maxCount}, are read
+ * oldest first in chunks, optionally archived to NDJSON, and deleted through a
+ * {@link BulkWriter} pinned to a fixed, low rate so cleanup never competes with live
+ * writes. A run stops after {@code maxDeletesPerRun} documents; whatever remains is
+ * reported as backlog and picked up by the next run. The rollups' copies of expired
+ * messages are pruned after every run, so deleted messages are not served from them.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Service
+public class MessageRetentionService implements MeterBinder {
+
+    /**
+     * The name of the collection recording the progress of leader-run retention runs.
+     */
+    public static final String RUNS_COLLECTION = "retention_runs";
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageRetentionService.class);
+
+    private static final DateTimeFormatter RUN_ID_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final Firestore firestore;
+    private final MessageTimelineReader timelineReader;
+    private final ObjectMapper objectMapper;
+    @Nullable
+    private final MessageRollupService rollups;
+    private final Duration maxAge;
+    private final int maxCount;
+    private final int deletesPerSecond;
+    private final int maxInFlight;
+    private final int maxRetryAttempts;
+    private final int chunkSize;
+    private final long maxDeletesPerRun;
+    private final boolean archiveEnabled;
+    private final Path archiveDirectory;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile RetentionProgress progress;
+    private volatile Instant oldestExpired;
+
+    /**
+     * Constructs a new MessageRetentionService.
+     *
+     * @param firestore The background Firestore client (can be null for mock mode)
+     * @param layout The layout the messages are stored in
+     * @param objectMapper The mapper used to serialize archive records
+     * @param rollups The rollups pruned after each run (null when rollups are disabled)
+     * @param maxAge The age after which messages expire, zero for no age limit
+     * @param maxCount The number of newest messages kept, zero for no count limit
+     * @param deletesPerSecond The fixed rate deletions are sent at
+     * @param maxInFlight The maximum number of deletions awaiting confirmation
+     * @param maxRetryAttempts The attempts after which a transient deletion failure is given up
+     * @param chunkSize The number of documents archived and deleted together
+     * @param maxDeletesPerRun The number of documents after which a run stops
+     * @param archiveEnabled Whether expired documents are archived before deletion
+     * @param archiveDirectory The directory archives are written to
+     * @param pageSize The number of documents fetched per query page
+     */
+    @Autowired
+    public MessageRetentionService(@Qualifier(FirebaseConfig.BACKGROUND_FIRESTORE) @Nullable Firestore firestore,
+                                   MessageLayout layout,
+                                   ObjectMapper objectMapper,
+                                   @Nullable MessageRollupService rollups,
+                                   @Value("${messages.retention.max-age:P0D}") Duration maxAge,
+                                   @Value("${messages.retention.max-count:0}") int maxCount,
+                                   @Value("${messages.retention.deletes-per-second:100}") int deletesPerSecond,
+                                   @Value("${messages.retention.max-in-flight:1000}") int maxInFlight,
+                                   @Value("${messages.retention.max-retry-attempts:10}") int maxRetryAttempts,
+                                   @Value("${messages.retention.chunk-size:5000}") int chunkSize,
+                                   @Value("${messages.retention.max-deletes-per-run:100000}") long maxDeletesPerRun,
+                                   @Value("${messages.retention.archive.enabled:true}") boolean archiveEnabled,
+                                   @Value("${messages.retention.archive.directory:exports/retention}") String archiveDirectory,
+                                   @Value("${messages.retention.page-size:500}") int pageSize) {
+        if (maxAge.isNegative() || maxCount < 0) {
+            throw new IllegalArgumentException("Retention max age and max count must not be negative");
+        }
+        if (deletesPerSecond <= 0 || maxInFlight <= 0 || chunkSize <= 0 || maxDeletesPerRun <= 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Retention rates, chunk and page sizes must be positive");
+        }
+        this.firestore = firestore;
+        this.timelineReader = firestore != null ? new MessageTimelineReader(firestore, layout, pageSize) : null;
+        this.objectMapper = objectMapper;
+        this.rollups = rollups;
+        this.maxAge = maxAge;
+        this.maxCount = maxCount;
+        this.deletesPerSecond = deletesPerSecond;
+        this.maxInFlight = maxInFlight;
+        this.maxRetryAttempts = maxRetryAttempts;
+        this.chunkSize = chunkSize;
+        this.maxDeletesPerRun = maxDeletesPerRun;
+        this.archiveEnabled = archiveEnabled;
+        this.archiveDirectory = Paths.get(archiveDirectory);
+    }
+
+    /**
+     * Deletes, and optionally archives, every message expired under the retention policy,
+     * up to {@code maxDeletesPerRun} documents.
+     *
+     * @return Summary of the completed run
+     * @throws IllegalStateException if Firestore is not available or a run is already in progress
+     * @throws RuntimeException if the run fails; documents not yet deleted are retried next run
+     */
+    public RetentionSummary enforce() {
+        return enforce(null, 0);
+    }
+
+    /**
+     * Enforces the retention policy as the leader holding the given lease token. Before each
+     * chunk's deletes are queued, the run checks its grant and records its progress in
+     * {@code retention_runs/{runId}} in a transaction fenced by the token, so a run stops
+     * within one chunk of losing the lease.
+     *
+     * @param leadership The leader election the run was started under, or null to run unfenced
+     * @param token The lease token the run was started with
+     * @return Summary of the completed run
+     * @throws LeaseLostException if the lease was lost; deletes already queued are completed
+     * @throws IllegalStateException if Firestore is not available or a run is already in progress
+     * @throws RuntimeException if the run fails; documents not yet deleted are retried next run
+     */
+    public RetentionSummary enforce(@Nullable LeaderElection leadership, long token) {
+        if (firestore == null) {
+            throw new IllegalStateException("Firestore is not available - retention requires a database connection");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A retention run is already in progress");
+        }
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open("job:retention")) {
+            Instant now = Instant.now();
+            Optional<Instant> cutoff = resolveCutoff(now);
+            RetentionProgress current = new RetentionProgress("retention-" + RUN_ID_FORMAT.format(now), cutoff.orElse(null));
+            progress = current;
+
+            if (cutoff.isEmpty()) {
+                logger.debug("No retention policy applies - nothing to delete");
+                oldestExpired = null;
+                return current.toSummary();
+            }
+
+            runRetention(cutoff.get(), current, leadership, token);
+            pruneRollups(cutoff.get());
+            oldestExpired = timelineReader.findEarliestCreatedAt()
+                    .filter(earliest -> earliest.isBefore(cutoff.get()))
+                    .orElse(null);
+
+            RetentionSummary summary = current.toSummary();
+            logger.info("Retention run {} finished: {} deleted, {} failed, {} archived before {} ({} ms){}",
+                       summary.runId(), summary.deleted(), summary.failed(), summary.archived(), summary.cutoff(),
+                       summary.durationMillis(), oldestExpired != null ? " - backlog remains" : "");
+            return summary;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Checks whether a retention run is currently in progress.
+     *
+     * @return true if a run is in progress
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Gets the progress of the running retention run, or the result of the last one.
+     *
+     * @return The progress snapshot, or null if no run has happened since startup
+     */
+    @Nullable
+    public RetentionSummary getProgress() {
+        RetentionProgress current = progress;
+        return current != null ? current.toSummary() : null;
+    }
+
+    /**
+     * Gets the creation time of the oldest expired message left after the last run.
+     *
+     * @return The oldest expired createdAt, or null if the last run cleared the backlog
+     */
+    @Nullable
+    public Instant getOldestExpired() {
+        return oldestExpired;
+    }
+
+    /**
+     * Gets how far behind the retention policy the collection is.
+     *
+     * @return The age of the oldest expired message past the cutoff of the last run, zero if none
+     */
+    public Duration getBacklogAge() {
+        RetentionProgress current = progress;
+        Instant oldest = oldestExpired;
+        if (current == null || current.cutoff == null || oldest == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(oldest, current.cutoff);
+    }
+
+    /**
+     * Registers progress and backlog gauges under {@code messages.retention.*}.
+     *
+     * @param registry The registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("messages.retention.running", this, service -> service.isRunning() ? 1 : 0)
+                .description("Whether a retention run is in progress")
+                .register(registry);
+        Gauge.builder("messages.retention.deleted", this, service -> progressValue(service, RetentionSummary::deleted))
+                .description("Documents deleted by the current or last retention run")
+                .register(registry);
+        Gauge.builder("messages.retention.failed", this, service -> progressValue(service, RetentionSummary::failed))
+                .description("Deletions failed in the current or last retention run")
+                .register(registry);
+        Gauge.builder("messages.retention.archived", this, service -> progressValue(service, RetentionSummary::archived))
+                .description("Documents archived by the current or last retention run")
+                .register(registry);
+        Gauge.builder("messages.retention.backlog.age", this, service -> service.getBacklogAge().toSeconds())
+                .description("Age of the oldest expired message left after the last retention run")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * Resolves the instant before which messages are expired, the later of the age and
+     * count limits. The count limit skips the newest {@code maxCount} messages, which
+     * Firestore bills as reads.
+     *
+     * @param now The start of the run
+     * @return The cutoff, or empty if no limit is configured or reached
+     */
+    Optional<Instant> resolveCutoff(Instant now) {
+        Instant cutoff = maxAge.isZero() ? null : now.minus(maxAge);
+
+        if (maxCount > 0) {
+            Optional<Instant> boundary = timelineReader.findCreatedAtFromNewest(maxCount);
+            if (boundary.isPresent()) {
+                Instant countCutoff = boundary.get().plusNanos(1);
+                if (cutoff == null || countCutoff.isAfter(cutoff)) {
+                    cutoff = countCutoff;
+                }
+            }
+        }
+        return Optional.ofNullable(cutoff);
+    }
+
+    private void runRetention(Instant cutoff, RetentionProgress current,
+                              @Nullable LeaderElection leadership, long token) {
+        Optional<Instant> earliest = timelineReader.findEarliestCreatedAt();
+        if (earliest.isEmpty() || !earliest.get().isBefore(cutoff)) {
+            return;
+        }
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        BulkWriter bulkWriter = firestore.bulkWriter(BulkWriterOptions.builder()
+                .setInitialOpsPerSecond(deletesPerSecond)
+                .setMaxOpsPerSecond(deletesPerSecond)
+                .setExecutor(ScopePropagatingExecutor.newIdleExitingExecutor("message-retention-bulk-writer")) // Flushes in the job scope
+                .build());
+        bulkWriter.addWriteErrorListener(error ->
+                MessageImportService.RETRYABLE_CODES.contains(error.getStatus().getCode())
+                        && error.getFailedAttempts() < maxRetryAttempts);
+
+        boolean closed = false;
+        try {
+            Path runDirectory = archiveEnabled
+                    ? Files.createDirectories(archiveDirectory.resolve(current.runId))
+                    : null;
+            Iterator<QueryDocumentSnapshot> expired = timelineReader.read(earliest.get(), cutoff);
+            List<QueryDocumentSnapshot> chunk = new ArrayList<>(chunkSize);
+            int chunkIndex = 0;
+
+            while (expired.hasNext() && current.scanned.get() < maxDeletesPerRun) {
+                chunk.add(expired.next());
+                current.scanned.incrementAndGet();
+                if (chunk.size() == chunkSize) {
+                    confirmLeadership(leadership, token, current);
+                    processChunk(chunk, chunkIndex++, runDirectory, bulkWriter, inFlight, current);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                confirmLeadership(leadership, token, current);
+                processChunk(chunk, chunkIndex, runDirectory, bulkWriter, inFlight, current);
+            }
+            closed = true;
+            bulkWriter.close(); // Flushes pending batches and waits for every deletion to settle
+
+        } catch (LeaseLostException e) {
+            logger.warn("Retention run {} aborted after {} deletes: {}", current.runId, current.deleted.get(), e.getMessage());
+            throw e;
+
+        } catch (IOException e) {
+            logger.error("Retention run {} failed while writing archive files", current.runId, e);
+            throw new UncheckedIOException("Failed to archive expired messages", e);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+            throw new RuntimeException("Retention run was interrupted", e);
+
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Retention run failed", e.getCause());
+
+        } finally {
+            if (!closed) {
+                closeQuietly(bulkWriter); // Settles the deletes queued before the failure, before it is reported
+            }
+        }
+    }
+
+    /**
+     * Checks that the run still leads and records its progress in a transaction fenced by its
+     * token, which fails if another replica took the lease over in the meantime.
+     */
+    private void confirmLeadership(@Nullable LeaderElection leadership, long token, RetentionProgress current)
+            throws InterruptedException {
+        if (leadership == null) {
+            return;
+        }
+        leadership.checkLeader(token);
+        DocumentReference record = firestore.collection(RUNS_COLLECTION).document(current.runId);
+        try {
+            firestore.runTransaction(transaction -> {
+                leadership.fence(transaction, token);
+                transaction.set(record, Map.of(
+                        "token", token,
+                        "cutoff", MessageDocument.toTimestamp(current.cutoff),
+                        "scanned", current.scanned.get(),
+                        "deleted", current.deleted.get(),
+                        "failed", current.failed.get(),
+                        "updatedAt", FieldValue.serverTimestamp()));
+                return null;
+            }).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LeaseLostException lost) {
+                throw lost;
+            }
+            throw new RuntimeException("Failed to record retention progress", e.getCause());
+        }
+    }
+
+    /**
+     * Removes the rollups' copies of expired messages. A failure leaves them until the next
+     * run, whose cutoff is never earlier, rather than failing a run whose deletes succeeded.
+     */
+    private void pruneRollups(Instant cutoff) {
+        if (rollups == null) {
+            return;
+        }
+        try {
+            rollups.prune(cutoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+            throw new RuntimeException("Retention run was interrupted", e);
+        } catch (ExecutionException | RuntimeException e) {
+            logger.error("Failed to prune message rollups before {}", cutoff, e);
+        }
+    }
+
+    private static void closeQuietly(BulkWriter bulkWriter) {
+        try {
+            bulkWriter.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+        } catch (ExecutionException | RuntimeException e) {
+            logger.warn("Failed to settle queued retention deletes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archives a chunk of expired documents, when enabled, and only then queues their deletion.
+     * Each chunk is its own closed segment file, so no document is deleted before it is on disk.
+     */
+    private void processChunk(List<QueryDocumentSnapshot> chunk, int chunkIndex, @Nullable Path runDirectory,
+                              BulkWriter bulkWriter, Semaphore inFlight, RetentionProgress current)
+            throws IOException, InterruptedException {
+        if (runDirectory != null) {
+            NdjsonSegmentWriter writer = new NdjsonSegmentWriter(
+                    runDirectory, current.runId + "-c" + chunkIndex, chunkSize, objectMapper);
+            try (writer) {
+                for (QueryDocumentSnapshot document : chunk) {
+                    writer.write(MessageArchiveRecord.fromSnapshot(document));
+                }
+            }
+            current.archived.addAndGet(writer.getRecordCount());
+            writer.getSegments().forEach(segment -> current.segments.add(segment.toString()));
+        }
+
+        for (QueryDocumentSnapshot document : chunk) {
+            inFlight.acquire();
+            ApiFuture<WriteResult> delete = bulkWriter.delete(document.getReference());
+            ApiFutures.addCallback(delete, new ApiFutureCallback<>() {
+                @Override
+                public void onSuccess(WriteResult result) {
+                    current.deleted.incrementAndGet();
+                    inFlight.release();
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    current.failed.incrementAndGet();
+                    inFlight.release();
+                    logger.error("Failed to delete expired message '{}': {}", document.getId(), t.getMessage());
+                }
+            }, MoreExecutors.directExecutor());
+        }
+        logger.debug("Retention run {} queued chunk {} ({} documents)", current.runId, chunkIndex, chunk.size());
+    }
+
+    private static long progressValue(MessageRetentionService service,
+                                      ToLongFunction<RetentionSummary> value) {
+        RetentionSummary summary = service.getProgress();
+        return summary != null ? value.applyAsLong(summary) : 0;
+    }
+
+    /**
+     * Mutable counters of a running retention run, updated from BulkWriter callbacks.
+     */
+    private static final class RetentionProgress {
+
+        private final String runId;
+        private final Instant cutoff;
+        private final long startedAt = System.nanoTime();
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong archived = new AtomicLong();
+        private final AtomicLong deleted = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<String> segments = new CopyOnWriteArrayList<>();
+
+        private RetentionProgress(String runId, @Nullable Instant cutoff) {
+            this.runId = runId;
+            this.cutoff = cutoff;
+        }
+
+        private RetentionSummary toSummary() {
+            return new RetentionSummary(runId, cutoff, scanned.get(), archived.get(), deleted.get(), failed.get(),
+                    List.copyOf(segments), (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.allan.javazure.retention;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result or in-flight progress of a retention run.
+ *
+ * @param runId The identifier of the run, also used to name its archive directory
+ * @param cutoff Messages created before this instant are expired, null if no policy applies
+ * @param scanned The number of expired documents read
+ * @param archived The number of expired documents written to the archive before deletion
+ * @param deleted The number of deletions confirmed by Firestore
+ * @param failed The number of deletions that failed after all retries
+ * @param archiveSegments The archive files written by the run
+ * @param durationMillis The elapsed wall-clock time
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record RetentionSummary(String runId, @Nullable Instant cutoff, long scanned, long archived,
+                               long deleted, long failed, List<String> archiveSegments, long durationMillis) {
+}
@@ -0,0 +1,25 @@
+package com.allan.javazure.rollup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Summary of the messages of one UTC day, read from a single rollup document.
+ *
+ * @param day The day
+ * @param count The number of messages saved on the day
+ * @param firstAt The creation time of the day's first message, or null if there was none
+ * @param lastAt The creation time of the day's last message, or null if there was none
+ * @param latest The day's latest messages, newest first
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record DailyRollup(LocalDate day, long count, Instant firstAt, Instant lastAt, List<RollupEntry> latest) {
+
+    static DailyRollup empty(LocalDate day) {
+        return new DailyRollup(day, 0, null, null, List.of());
+    }
+}
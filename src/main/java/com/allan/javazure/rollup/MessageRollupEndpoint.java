@@ -0,0 +1,58 @@
+package com.allan.javazure.rollup;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Actuator endpoint serving the rollup documents: the latest messages at
+ * {@code /actuator/messagerollups} and a day's summary at
+ * {@code /actuator/messagerollups/{yyyy-MM-dd}}, each for one document read per replica.
+ * Exposed once added to {@code management.endpoints.web.exposure.include}.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Component
+@Endpoint(id = "messagerollups")
+@ConditionalOnProperty(value = "messages.rollups.enabled", havingValue = "true", matchIfMissing = true)
+public class MessageRollupEndpoint {
+
+    private final MessageRollupService rollupService;
+
+    /**
+     * Constructs a new MessageRollupEndpoint.
+     *
+     * @param rollupService The service maintaining the rollups
+     */
+    public MessageRollupEndpoint(MessageRollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    /**
+     * Reads the latest messages.
+     *
+     * @return The latest messages, newest first
+     */
+    @ReadOperation
+    public List<RollupEntry> recent() {
+        return rollupService.getRecent();
+    }
+
+    /**
+     * Reads the summary of a UTC day.
+     *
+     * @param day The day, as {@code yyyy-MM-dd}
+     * @return The day's summary
+     */
+    @ReadOperation
+    public DailyRollup daily(@Selector String day) {
+        return rollupService.getDailySummary(LocalDate.parse(day));
+    }
+}
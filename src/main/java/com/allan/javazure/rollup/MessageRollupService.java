@@ -0,0 +1,515 @@
+package com.allan.javazure.rollup;
+
+import com.allan.javazure.config.FirebaseConfig;
+import com.allan.javazure.events.MessageSink;
+import com.allan.javazure.events.SinkSettings;
+import com.allan.javazure.service.MessageDocument;
+import com.allan.javazure.service.MessageSavedEvent;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.WriteBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Maintains pre-aggregated rollup documents, so the latest messages or the summary of a
+ * day are served by reading one document per replica instead of one per message:
+ * {@code rollups/recent} holds the last {@code recent-size} messages, and
+ * {@code rollups/day_{yyyyMMdd}} (UTC) the day's count, first and last message times and
+ * its last {@code daily-size} messages.
+ * <p>
+ * The service is a {@link MessageSink}: saved messages reach it in batches from the message
+ * event bus of the replica that saved them, on a single worker. Each replica writes only its
+ * own shard of a rollup, {@code rollups/{rollup}/replicas/{replicaId}}, and reads merge the
+ * shards. Each batch is applied with one transaction per shard, and attempts are paced to one
+ * per flush interval, so a shard is written at most once per interval however many messages
+ * or replicas there are, within Firestore's sustained rate of about one write per second per
+ * document. Each batch carries an ID that the transaction
+ * records in the document, so a batch retried after an ambiguous failure is never counted
+ * twice. Entries are dropped oldest first once a document would exceed
+ * {@code max-document-bytes}, which stays below Firestore's 1 MiB document limit.
+ * <p>
+ * Rollups copy each message's author and content, so retention calls {@link #prune(Instant)}
+ * after every run to remove the copies of the messages it expired.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Service
+@ConditionalOnProperty(value = "messages.rollups.enabled", havingValue = "true", matchIfMissing = true)
+public class MessageRollupService implements MessageSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageRollupService.class);
+
+    /**
+     * The name of the collection holding the rollup documents.
+     */
+    public static final String ROLLUPS_COLLECTION = "rollups";
+
+    /**
+     * The name of the rollups' sink on the message event bus.
+     */
+    public static final String SINK_NAME = "rollups";
+
+    /**
+     * The ID of the document holding the latest messages.
+     */
+    public static final String RECENT_DOCUMENT = "recent";
+
+    /**
+     * The name of the subcollection holding the per-replica shards of a rollup.
+     */
+    public static final String REPLICAS_COLLECTION = "replicas";
+
+    /**
+     * The field of a rollup document holding its messages, newest first.
+     */
+    public static final String MESSAGES_FIELD = "messages";
+
+    /**
+     * The field of a daily rollup document holding the day's message count.
+     */
+    public static final String COUNT_FIELD = "count";
+
+    static final String FIRST_AT_FIELD = "firstAt";
+    static final String LAST_AT_FIELD = "lastAt";
+    static final String APPLIED_BATCHES_FIELD = "appliedBatches";
+    static final String UPDATED_AT_FIELD = "updatedAt";
+
+    /**
+     * Number of batch IDs a rollup document remembers; far more than batches are ever retried.
+     */
+    static final int APPLIED_BATCHES_KEPT = 32;
+
+    /**
+     * Room kept in each document for the fields besides its messages.
+     */
+    private static final int RESERVED_BYTES = 4096;
+
+    private static final String DAILY_PREFIX = "day_";
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Firestore firestore;
+    private final String replicaId;
+    private final int recentSize;
+    private final int dailySize;
+    private final int maxDocumentBytes;
+    private final SinkSettings settings;
+    private final int maxAttempts;
+    private final long minApplyIntervalNanos;
+    private final Clock clock;
+
+    private long nextApplyAt = System.nanoTime();
+
+    /**
+     * Constructs a new MessageRollupService.
+     *
+     * @param firestore The background Firestore client (can be null for mock mode)
+     * @param recentSize The number of messages kept in the recent rollup
+     * @param dailySize The number of messages kept in each daily rollup
+     * @param maxDocumentBytes The size a rollup document may grow to
+     * @param queueCapacity The number of saved messages waiting to be rolled up
+     * @param maxBatchSize The number of messages applied at once
+     * @param flushInterval The shortest interval between two writes of a rollup document
+     * @param maxAttempts The number of attempts to apply a batch before it is given up
+     * @param replicaId The ID of the shards this replica writes, generated when blank
+     */
+    @Autowired
+    public MessageRollupService(@Qualifier(FirebaseConfig.BACKGROUND_FIRESTORE) @Nullable Firestore firestore,
+                                @Value("${messages.rollups.recent-size:50}") int recentSize,
+                                @Value("${messages.rollups.daily-size:20}") int dailySize,
+                                @Value("${messages.rollups.max-document-bytes:900000}") int maxDocumentBytes,
+                                @Value("${messages.rollups.queue-capacity:10000}") int queueCapacity,
+                                @Value("${messages.rollups.max-batch-size:500}") int maxBatchSize,
+                                @Value("${messages.rollups.flush-interval:PT1S}") Duration flushInterval,
+                                @Value("${messages.rollups.max-attempts:5}") int maxAttempts,
+                                @Value("${messages.rollups.replica-id:${CONTAINER_APP_REPLICA_NAME:}}") String replicaId) {
+        this(firestore, recentSize, dailySize, maxDocumentBytes, queueCapacity, maxBatchSize, flushInterval,
+             maxAttempts, replicaId, Clock.systemUTC());
+    }
+
+    MessageRollupService(@Nullable Firestore firestore, int recentSize, int dailySize, int maxDocumentBytes,
+                         int queueCapacity, int maxBatchSize, Duration flushInterval, int maxAttempts,
+                         String replicaId, Clock clock) {
+        if (recentSize <= 0 || dailySize < 0 || maxDocumentBytes <= RESERVED_BYTES) {
+            throw new IllegalArgumentException("Invalid rollup sizes");
+        }
+        this.firestore = firestore;
+        this.replicaId = replicaId.isBlank() ? "replica-" + UUID.randomUUID().toString().substring(0, 8) : replicaId;
+        this.recentSize = recentSize;
+        this.dailySize = dailySize;
+        this.maxDocumentBytes = maxDocumentBytes;
+        // One worker, so batches are applied one after another at most once per flush interval
+        this.settings = new SinkSettings(queueCapacity, maxBatchSize, flushInterval, 1,
+                SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.minApplyIntervalNanos = flushInterval.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public String getName() {
+        return SINK_NAME;
+    }
+
+    @Override
+    public SinkSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Applies the batch to the rollup documents, attempting it up to {@code max-attempts}
+     * times under the same batch ID. Writes are paced to at most one per flush interval.
+     */
+    @Override
+    public void accept(List<MessageSavedEvent> messages) throws InterruptedException, ExecutionException {
+        if (firestore == null) {
+            return;
+        }
+        String batchId = UUID.randomUUID().toString();
+        List<RollupEntry> entries = messages.stream().map(RollupEntry::of).toList();
+        for (int attempt = 1; ; attempt++) {
+            pace();
+            try {
+                apply(batchId, entries);
+                logger.debug("Rolled up {} messages", entries.size());
+                return;
+            } catch (ExecutionException | RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    logger.error("Giving up rolling up {} messages after {} attempts", entries.size(), attempt);
+                    throw e;
+                }
+                logger.warn("Failed to roll up {} messages, attempt {} of {}", entries.size(), attempt, maxAttempts, e);
+            }
+        }
+    }
+
+    /**
+     * Waits until a flush interval has passed since the previous attempt.
+     */
+    private void pace() throws InterruptedException {
+        long wait = nextApplyAt - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        nextApplyAt = System.nanoTime() + minApplyIntervalNanos;
+    }
+
+    /**
+     * Reads the latest messages with one document read per replica shard. Only the
+     * {@code recent-size} most recently updated shards are read: each holds its replica's
+     * newest message, so together they hold the newest {@code recent-size} messages.
+     *
+     * @return The latest messages, newest first
+     * @throws IllegalStateException if Firestore is not available
+     */
+    public List<RollupEntry> getRecent() {
+        List<RollupEntry> entries = new ArrayList<>();
+        read(RECENT_DOCUMENT, shards -> shards.orderBy(UPDATED_AT_FIELD, Query.Direction.DESCENDING).limit(recentSize))
+                .forEach(shard -> entries.addAll(entries(shard)));
+        return newest(entries, recentSize);
+    }
+
+    /**
+     * Reads the summary of a UTC day with one document read per replica shard.
+     *
+     * @param day The day
+     * @return The day's summary, empty if no message was rolled up for it
+     * @throws IllegalStateException if Firestore is not available
+     */
+    public DailyRollup getDailySummary(LocalDate day) {
+        List<QueryDocumentSnapshot> shards = read(dailyDocument(day), query -> query);
+        if (shards.isEmpty()) {
+            return DailyRollup.empty(day);
+        }
+        long count = 0;
+        Instant firstAt = null;
+        Instant lastAt = null;
+        List<RollupEntry> entries = new ArrayList<>();
+        for (QueryDocumentSnapshot shard : shards) {
+            Long shardCount = shard.getLong(COUNT_FIELD);
+            count += shardCount != null ? shardCount : 0;
+            firstAt = earliest(firstAt, instant(shard.getTimestamp(FIRST_AT_FIELD)));
+            Instant shardLastAt = instant(shard.getTimestamp(LAST_AT_FIELD));
+            lastAt = lastAt == null || (shardLastAt != null && shardLastAt.isAfter(lastAt)) ? shardLastAt : lastAt;
+            entries.addAll(entries(shard));
+        }
+        return new DailyRollup(day, count, firstAt, lastAt, newest(entries, dailySize));
+    }
+
+    /**
+     * Applies a batch to the recent rollup and to the rollup of every day it covers.
+     * Documents that already recorded the batch ID are left unchanged.
+     *
+     * @param batchId The ID of the batch
+     * @param entries The messages of the batch
+     */
+    void apply(String batchId, List<RollupEntry> entries) throws InterruptedException, ExecutionException {
+        Instant now = clock.instant();
+        firestore.runTransaction(transaction -> {
+            DocumentReference document = shard(RECENT_DOCUMENT);
+            DocumentSnapshot snapshot = transaction.get(document).get();
+            List<String> appliedBatches = appliedBatches(snapshot);
+            if (appliedBatches.contains(batchId)) {
+                return null;
+            }
+            Map<String, Object> fields = new HashMap<>();
+            fields.put(MESSAGES_FIELD, toMaps(merge(entries(snapshot), entries, recentSize)));
+            fields.put(APPLIED_BATCHES_FIELD, remember(appliedBatches, batchId));
+            fields.put(UPDATED_AT_FIELD, MessageDocument.toTimestamp(now));
+            transaction.set(document, fields);
+            return null;
+        }).get();
+
+        Map<LocalDate, List<RollupEntry>> byDay = new TreeMap<>();
+        for (RollupEntry entry : entries) {
+            byDay.computeIfAbsent(entry.createdAt().atZone(ZoneOffset.UTC).toLocalDate(), day -> new ArrayList<>())
+                    .add(entry);
+        }
+        for (Map.Entry<LocalDate, List<RollupEntry>> day : byDay.entrySet()) {
+            applyDaily(batchId, day.getKey(), day.getValue(), now);
+        }
+    }
+
+    private void applyDaily(String batchId, LocalDate day, List<RollupEntry> entries, Instant now)
+            throws InterruptedException, ExecutionException {
+        firestore.runTransaction(transaction -> {
+            DocumentReference document = shard(dailyDocument(day));
+            DocumentSnapshot snapshot = transaction.get(document).get();
+            List<String> appliedBatches = appliedBatches(snapshot);
+            if (appliedBatches.contains(batchId)) {
+                return null;
+            }
+            Long count = snapshot.getLong(COUNT_FIELD);
+            Instant firstAt = instant(snapshot.getTimestamp(FIRST_AT_FIELD));
+            Instant lastAt = instant(snapshot.getTimestamp(LAST_AT_FIELD));
+            for (RollupEntry entry : entries) {
+                firstAt = firstAt == null || entry.createdAt().isBefore(firstAt) ? entry.createdAt() : firstAt;
+                lastAt = lastAt == null || entry.createdAt().isAfter(lastAt) ? entry.createdAt() : lastAt;
+            }
+
+            Map<String, Object> fields = new HashMap<>();
+            fields.put(COUNT_FIELD, (count != null ? count : 0) + entries.size());
+            fields.put(FIRST_AT_FIELD, MessageDocument.toTimestamp(firstAt));
+            fields.put(LAST_AT_FIELD, MessageDocument.toTimestamp(lastAt));
+            fields.put(MESSAGES_FIELD, toMaps(merge(entries(snapshot), entries, dailySize)));
+            fields.put(APPLIED_BATCHES_FIELD, remember(appliedBatches, batchId));
+            fields.put(UPDATED_AT_FIELD, MessageDocument.toTimestamp(now));
+            transaction.set(document, fields);
+            return null;
+        }).get();
+    }
+
+    /**
+     * Removes the copies of messages created before the cutoff, from the shards of every
+     * replica: daily rollups of days before the cutoff's day are deleted, and older entries
+     * are stripped from the recent rollup and the rollup of the cutoff's day, whose counts
+     * and first message times are kept. Recent shards left empty, such as those of replicas
+     * that are gone, are deleted.
+     *
+     * @param cutoff The instant before which messages are expired
+     * @return The number of daily rollups deleted
+     * @throws IllegalStateException if Firestore is not available
+     */
+    public int prune(Instant cutoff) throws InterruptedException, ExecutionException {
+        if (firestore == null) {
+            throw new IllegalStateException("Firestore is not available - rollups require a database connection");
+        }
+        LocalDate cutoffDay = cutoff.atZone(ZoneOffset.UTC).toLocalDate();
+        int deleted = 0;
+        // Rollups only exist as parents of their shards, which listing includes
+        for (DocumentReference rollup : firestore.collection(ROLLUPS_COLLECTION).listDocuments()) {
+            Optional<LocalDate> day = parseDailyDocument(rollup.getId());
+            if (day.isPresent() && day.get().isBefore(cutoffDay)) {
+                WriteBatch batch = firestore.batch();
+                rollup.collection(REPLICAS_COLLECTION).listDocuments().forEach(batch::delete);
+                if (batch.getMutationsSize() > 0) {
+                    batch.commit().get();
+                    deleted++;
+                }
+            }
+        }
+
+        for (DocumentReference shard : firestore.collection(ROLLUPS_COLLECTION).document(RECENT_DOCUMENT)
+                .collection(REPLICAS_COLLECTION).listDocuments()) {
+            strip(shard, cutoff, true);
+        }
+        for (DocumentReference shard : firestore.collection(ROLLUPS_COLLECTION).document(dailyDocument(cutoffDay))
+                .collection(REPLICAS_COLLECTION).listDocuments()) {
+            strip(shard, cutoff, false);
+        }
+        if (deleted > 0) {
+            logger.info("Pruned {} daily rollups before {}", deleted, cutoff);
+        }
+        return deleted;
+    }
+
+    /**
+     * Removes the entries created before the cutoff from a shard, if it holds any.
+     */
+    private void strip(DocumentReference shard, Instant cutoff, boolean deleteIfEmpty)
+            throws InterruptedException, ExecutionException {
+        firestore.runTransaction(transaction -> {
+            DocumentSnapshot snapshot = transaction.get(shard).get();
+            List<RollupEntry> entries = entries(snapshot);
+            List<RollupEntry> kept = entries.stream()
+                    .filter(entry -> !entry.createdAt().isBefore(cutoff))
+                    .toList();
+            if (kept.isEmpty() && deleteIfEmpty && snapshot.exists()) {
+                transaction.delete(shard);
+            } else if (kept.size() < entries.size()) {
+                transaction.update(shard, MESSAGES_FIELD, toMaps(kept));
+            }
+            return null;
+        }).get();
+    }
+
+    /**
+     * Merges new entries into a rollup's entries, keeping each message once and at most
+     * {@code limit} of the newest that fit in the document size budget.
+     *
+     * @param current The entries already in the document
+     * @param added The entries to add
+     * @param limit The maximum number of entries kept
+     * @return The merged entries, newest first
+     */
+    List<RollupEntry> merge(Collection<RollupEntry> current, Collection<RollupEntry> added, int limit) {
+        Map<String, RollupEntry> byId = new LinkedHashMap<>();
+        current.forEach(entry -> byId.put(entry.messageId(), entry));
+        added.forEach(entry -> byId.putIfAbsent(entry.messageId(), entry));
+
+        List<RollupEntry> sorted = new ArrayList<>(byId.values());
+        sorted.sort(RollupEntry.NEWEST_FIRST);
+        List<RollupEntry> kept = new ArrayList<>(Math.min(limit, sorted.size()));
+        int size = RESERVED_BYTES;
+        for (RollupEntry entry : sorted) {
+            size += entry.storageSize();
+            if (kept.size() == limit || size > maxDocumentBytes) {
+                break;
+            }
+            kept.add(entry);
+        }
+        return kept;
+    }
+
+    /**
+     * Keeps each message once and the newest {@code limit} of them.
+     */
+    private static List<RollupEntry> newest(List<RollupEntry> entries, int limit) {
+        Map<String, RollupEntry> byId = new LinkedHashMap<>();
+        entries.forEach(entry -> byId.putIfAbsent(entry.messageId(), entry));
+        return byId.values().stream().sorted(RollupEntry.NEWEST_FIRST).limit(limit).toList();
+    }
+
+    private List<QueryDocumentSnapshot> read(String id, UnaryOperator<Query> shards) {
+        if (firestore == null) {
+            throw new IllegalStateException("Firestore is not available - rollups require a database connection");
+        }
+        try {
+            return shards.apply(rollup(id).collection(REPLICAS_COLLECTION)).get().get().getDocuments();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+            throw new RuntimeException("Rollup read was interrupted", e);
+
+        } catch (ExecutionException e) {
+            logger.error("Failed to read rollup '{}'", id, e);
+            throw new RuntimeException("Failed to read message rollup", e.getCause());
+        }
+    }
+
+    private DocumentReference rollup(String id) {
+        return firestore.collection(ROLLUPS_COLLECTION).document(id);
+    }
+
+    /**
+     * Gets this replica's shard of a rollup.
+     */
+    private DocumentReference shard(String id) {
+        return rollup(id).collection(REPLICAS_COLLECTION).document(replicaId);
+    }
+
+    static String dailyDocument(LocalDate day) {
+        return DAILY_PREFIX + DAY_FORMAT.format(day);
+    }
+
+    static Optional<LocalDate> parseDailyDocument(String id) {
+        if (!id.startsWith(DAILY_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDate.parse(id.substring(DAILY_PREFIX.length()), DAY_FORMAT));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<RollupEntry> entries(DocumentSnapshot snapshot) {
+        List<Map<String, Object>> maps = snapshot.exists() ? (List<Map<String, Object>>) snapshot.get(MESSAGES_FIELD) : null;
+        return maps != null ? maps.stream().map(RollupEntry::fromMap).toList() : List.of();
+    }
+
+    private static List<Map<String, Object>> toMaps(List<RollupEntry> entries) {
+        return entries.stream().map(RollupEntry::toMap).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> appliedBatches(DocumentSnapshot snapshot) {
+        List<String> ids = snapshot.exists() ? (List<String>) snapshot.get(APPLIED_BATCHES_FIELD) : null;
+        return ids != null ? ids : List.of();
+    }
+
+    /**
+     * Appends a batch ID to those a document remembers, forgetting the oldest beyond the limit.
+     */
+    private static List<String> remember(List<String> appliedBatches, String batchId) {
+        List<String> ids = new ArrayList<>(appliedBatches);
+        ids.add(batchId);
+        return List.copyOf(ids.subList(Math.max(0, ids.size() - APPLIED_BATCHES_KEPT), ids.size()));
+    }
+
+    @Nullable
+    private static Instant earliest(@Nullable Instant current, @Nullable Instant candidate) {
+        return current == null || (candidate != null && candidate.isBefore(current)) ? candidate : current;
+    }
+
+    @Nullable
+    private static Instant instant(@Nullable Timestamp timestamp) {
+        return timestamp != null ? MessageDocument.toInstant(timestamp) : null;
+    }
+}
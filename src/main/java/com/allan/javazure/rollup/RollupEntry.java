@@ -0,0 +1,72 @@
+package com.allan.javazure.rollup;
+
+import com.allan.javazure.service.MessageDocument;
+import com.allan.javazure.service.MessageSavedEvent;
+import com.google.cloud.Timestamp;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One message as stored inside a rollup document, with the same fields as the message itself.
+ *
+ * @param messageId The message identifier
+ * @param author The resolved author name
+ * @param content The message content
+ * @param createdAt The creation timestamp of the message
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record RollupEntry(String messageId, String author, String content, Instant createdAt) {
+
+    /**
+     * Orders entries newest first, by message ID among messages of the same instant.
+     */
+    static final Comparator<RollupEntry> NEWEST_FIRST =
+            Comparator.comparing(RollupEntry::createdAt).thenComparing(RollupEntry::messageId).reversed();
+
+    /**
+     * Storage size of the four field names inside an entry map, each counted with its terminator.
+     */
+    private static final int FIELD_NAMES_SIZE = MessageDocument.MESSAGE_ID.length() + MessageDocument.AUTHOR.length()
+            + MessageDocument.CONTENT.length() + MessageDocument.CREATED_AT.length() + 4;
+
+    static RollupEntry of(MessageSavedEvent event) {
+        return new RollupEntry(event.messageId(), event.author(), event.content(), event.createdAt());
+    }
+
+    static RollupEntry fromMap(Map<String, Object> fields) {
+        return new RollupEntry((String) fields.get(MessageDocument.MESSAGE_ID),
+                (String) fields.get(MessageDocument.AUTHOR),
+                (String) fields.get(MessageDocument.CONTENT),
+                MessageDocument.toInstant((Timestamp) fields.get(MessageDocument.CREATED_AT)));
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put(MessageDocument.MESSAGE_ID, messageId);
+        fields.put(MessageDocument.AUTHOR, author);
+        fields.put(MessageDocument.CONTENT, content);
+        fields.put(MessageDocument.CREATED_AT, MessageDocument.toTimestamp(createdAt));
+        return fields;
+    }
+
+    /**
+     * Computes the size the entry occupies in a Firestore document, following Firestore's
+     * storage size rules: strings count their UTF-8 bytes plus one, timestamps eight bytes.
+     *
+     * @return The storage size in bytes
+     */
+    int storageSize() {
+        return FIELD_NAMES_SIZE + stringSize(messageId) + stringSize(author) + stringSize(content) + 8;
+    }
+
+    private static int stringSize(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8).length + 1 : 1;
+    }
+}
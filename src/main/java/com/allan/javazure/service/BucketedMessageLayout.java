@@ -0,0 +1,167 @@
+package com.allan.javazure.service;
+
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-bucketed, sharded layout: {@code messages/{bucket}_{shard}/items/{id}}, where the
+ * bucket is the UTC hour (or day) of createdAt and the shard is picked per write.
+ * 
+ * Firestore indexes are scoped by parent collection, so spreading concurrent writes over
+ * {@code shards} subcollections splits the monotonically increasing createdAt index into
+ * that many independent ranges and lifts the sequential-write hotspot ceiling. Readers
+ * query every shard of a bucket and merge the results (see {@link MessageTimelineReader}).
+ * No query spans the buckets: a collection-group createdAt index would be one global
+ * sequential range again, so {@code firestore.indexes.json} exempts it.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class BucketedMessageLayout implements MessageLayout {
+
+    /**
+     * The name of the subcollection holding the messages of one bucket shard.
+     */
+    public static final String ITEMS_COLLECTION = "items";
+
+    private final int shards;
+    private final ChronoUnit granularity;
+    private final String bucketPattern;
+    private final DateTimeFormatter bucketFormat;
+
+    /**
+     * Constructs a new BucketedMessageLayout.
+     *
+     * @param shards The number of shards per bucket
+     * @param granularity The bucket size, either {@link ChronoUnit#HOURS} or {@link ChronoUnit#DAYS}
+     */
+    public BucketedMessageLayout(int shards, ChronoUnit granularity) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Bucket shard count must be positive");
+        }
+        if (granularity != ChronoUnit.HOURS && granularity != ChronoUnit.DAYS) {
+            throw new IllegalArgumentException("Bucket granularity must be HOURS or DAYS");
+        }
+        this.shards = shards;
+        this.granularity = granularity;
+        this.bucketPattern = granularity == ChronoUnit.HOURS ? "yyyyMMddHH" : "yyyyMMdd";
+        this.bucketFormat = DateTimeFormatter.ofPattern(bucketPattern).withZone(ZoneOffset.UTC);
+    }
+
+    @Override
+    public DocumentReference newDocument(Firestore firestore, Instant createdAt) {
+        return items(firestore, createdAt, ThreadLocalRandom.current().nextInt(shards)).document();
+    }
+
+    @Override
+    public DocumentReference document(Firestore firestore, String documentId, Instant createdAt) {
+        return items(firestore, createdAt, Math.floorMod(documentId.hashCode(), shards)).document(documentId);
+    }
+
+    @Override
+    public List<TimeRange> slices(Instant from, Instant to) {
+        List<TimeRange> slices = new ArrayList<>();
+        Instant bucketStart = from.truncatedTo(granularity);
+        while (bucketStart.isBefore(to)) {
+            Instant bucketEnd = bucketStart.plus(1, granularity);
+            slices.add(new TimeRange(max(from, bucketStart), min(to, bucketEnd)));
+            bucketStart = bucketEnd;
+        }
+        return slices;
+    }
+
+    @Override
+    public List<Query> queries(Firestore firestore, TimeRange slice, Query.Direction direction) {
+        List<Query> queries = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            queries.add(items(firestore, slice.from(), shard)
+                    .whereGreaterThanOrEqualTo(MessageDocument.CREATED_AT, MessageDocument.toTimestamp(slice.from()))
+                    .whereLessThan(MessageDocument.CREATED_AT, MessageDocument.toTimestamp(slice.to()))
+                    .orderBy(MessageDocument.CREATED_AT, direction));
+        }
+        return queries;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Lists the bucket documents of the messages collection. They only exist as parents of
+     * their items subcollections, so listing costs one read per bucket shard and touches no
+     * createdAt index. Buckets emptied by deletes may still be listed until their shards are gone.
+     */
+    @Override
+    public List<TimeRange> storedSlices(Firestore firestore) {
+        TreeSet<Instant> bucketStarts = new TreeSet<>();
+        for (DocumentReference bucket : firestore.collection(MessageDocument.COLLECTION).listDocuments()) {
+            parseBucketStart(bucket.getId()).ifPresent(bucketStarts::add);
+        }
+        List<TimeRange> slices = new ArrayList<>(bucketStarts.size());
+        for (Instant bucketStart : bucketStarts) {
+            slices.add(new TimeRange(bucketStart, bucketStart.plus(1, granularity)));
+        }
+        return slices;
+    }
+
+    /**
+     * Gets the bucket document ID of a shard, e.g. {@code 2025010112_3}.
+     * 
+     * @param createdAt A time inside the bucket
+     * @param shard The shard number
+     * @return The bucket document ID
+     */
+    String bucketId(Instant createdAt, int shard) {
+        return bucketFormat.format(createdAt) + "_" + shard;
+    }
+
+    /**
+     * Parses the start of the bucket a bucket document ID belongs to.
+     * 
+     * @param bucketId A bucket document ID, e.g. {@code 2025010112_3}
+     * @return The bucket start, or empty if the ID is not one of this layout's buckets
+     */
+    Optional<Instant> parseBucketStart(String bucketId) {
+        int separator = bucketId.indexOf('_');
+        if (separator != bucketPattern.length()) {
+            return Optional.empty();
+        }
+        try {
+            TemporalAccessor parsed = bucketFormat.parse(bucketId.substring(0, separator));
+            LocalDate date = LocalDate.from(parsed);
+            int hour = granularity == ChronoUnit.HOURS ? parsed.get(ChronoField.HOUR_OF_DAY) : 0;
+            return Optional.of(date.atTime(hour, 0).toInstant(ZoneOffset.UTC));
+        } catch (DateTimeException e) {
+            return Optional.empty(); // Not a bucket, e.g. a message left over from the flat layout
+        }
+    }
+
+    private CollectionReference items(Firestore firestore, Instant createdAt, int shard) {
+        return firestore.collection(MessageDocument.COLLECTION)
+                .document(bucketId(createdAt, shard))
+                .collection(ITEMS_COLLECTION);
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,100 @@
+package com.allan.javazure.service;
+
+import com.allan.javazure.limit.AdaptiveConcurrencyLimiter;
+import com.allan.javazure.limit.LimitExceededException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * MessageService that admits saves through an {@link AdaptiveConcurrencyLimiter} before
+ * delegating to the wrapped service.
+ * Saves over the limit fail immediately with a {@link LimitExceededException} instead of
+ * queueing behind a slow Firestore; the latency of every admitted save drives the limit.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class ConcurrencyLimitedMessageService implements MessageService {
+
+    private final MessageService delegate;
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    /**
+     * Constructs a new ConcurrencyLimitedMessageService.
+     *
+     * @param delegate The service performing the saves
+     * @param limiter The limiter admitting saves
+     */
+    public ConcurrencyLimitedMessageService(MessageService delegate, AdaptiveConcurrencyLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws LimitExceededException if the concurrency limit has been reached
+     */
+    @Override
+    public void saveMessage(String author, String content) {
+        AdaptiveConcurrencyLimiter.Permit permit = acquire();
+        try {
+            delegate.saveMessage(author, content);
+            permit.onSuccess();
+        } catch (RuntimeException e) {
+            release(permit, e);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The returned future fails with a {@link LimitExceededException} if the concurrency
+     * limit has been reached.
+     */
+    @Override
+    public CompletableFuture<SaveResult> saveMessageAsync(String author, String content) {
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = acquire();
+        } catch (LimitExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<SaveResult> result;
+        try {
+            result = delegate.saveMessageAsync(author, content);
+        } catch (RuntimeException e) {
+            release(permit, e);
+            throw e;
+        }
+        return result.whenComplete((saved, error) -> {
+            if (error == null) {
+                permit.onSuccess();
+            } else {
+                release(permit, error);
+            }
+        });
+    }
+
+    private AdaptiveConcurrencyLimiter.Permit acquire() {
+        return limiter.tryAcquire()
+                .orElseThrow(() -> new LimitExceededException(limiter.getLimit(), limiter.getRetryAfter()));
+    }
+
+    /**
+     * Releases a failed save's permit; invalid input says nothing about Firestore's capacity.
+     */
+    private static void release(AdaptiveConcurrencyLimiter.Permit permit, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IllegalArgumentException) {
+            permit.onIgnore();
+        } else {
+            permit.onFailure();
+        }
+    }
+}
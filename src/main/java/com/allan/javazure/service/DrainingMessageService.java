@@ -0,0 +1,93 @@
+package com.allan.javazure.service;
+
+import com.allan.javazure.drain.WriteGate;
+import com.allan.javazure.limit.LimitExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * MessageService that passes saves through a {@link WriteGate}, so a replica that is shutting
+ * down refuses new saves and knows when the admitted ones have finished.
+ * Refused saves fail with a {@link LimitExceededException}, answered like any shed request
+ * with a Retry-After that sends the client to another replica.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class DrainingMessageService implements MessageService {
+
+    private static final String DRAINING_MESSAGE = "Replica is draining";
+
+    private final MessageService delegate;
+
+    private final WriteGate gate;
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new DrainingMessageService.
+     *
+     * @param delegate The service performing the saves
+     * @param gate The gate admitting saves
+     * @param retryAfter Delay after which a refused client may try again
+     */
+    public DrainingMessageService(MessageService delegate, WriteGate gate, Duration retryAfter) {
+        this.delegate = delegate;
+        this.gate = gate;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws LimitExceededException if the replica is draining
+     */
+    @Override
+    public void saveMessage(String author, String content) {
+        if (!gate.tryEnter()) {
+            throw new LimitExceededException(DRAINING_MESSAGE, retryAfter);
+        }
+        try {
+            delegate.saveMessage(author, content);
+        } finally {
+            gate.exit();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The returned future fails with a {@link LimitExceededException} if the replica is draining.
+     */
+    @Override
+    public CompletableFuture<SaveResult> saveMessageAsync(String author, String content) {
+        return admit(() -> delegate.saveMessageAsync(author, content));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The returned future fails with a {@link LimitExceededException} if the replica is draining.
+     */
+    @Override
+    public CompletableFuture<SaveResult> saveMessageAsync(String author, String content, String idempotencyKey) {
+        return admit(() -> delegate.saveMessageAsync(author, content, idempotencyKey));
+    }
+
+    private CompletableFuture<SaveResult> admit(Supplier<CompletableFuture<SaveResult>> save) {
+        if (!gate.tryEnter()) {
+            return CompletableFuture.failedFuture(new LimitExceededException(DRAINING_MESSAGE, retryAfter));
+        }
+        CompletableFuture<SaveResult> result;
+        try {
+            result = save.get();
+        } catch (RuntimeException e) {
+            gate.exit();
+            throw e;
+        }
+        return result.whenComplete((saved, error) -> gate.exit());
+    }
+}
@@ -0,0 +1,69 @@
+package com.allan.javazure.service;
+
+import com.allan.javazure.dedup.DuplicateMessageDetector;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * MessageService that answers resends of recently saved content with the original
+ * message's identity instead of saving them again, using a {@link DuplicateMessageDetector}.
+ * Duplicates are detected before any I/O and before the concurrency limit, so they
+ * neither cost a Firestore write nor take a write slot. Saves carrying an idempotency key
+ * are recognised by the key instead of the content.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class DuplicateSuppressingMessageService implements MessageService {
+
+    private final MessageService delegate;
+
+    private final DuplicateMessageDetector detector;
+
+    /**
+     * Constructs a new DuplicateSuppressingMessageService.
+     *
+     * @param delegate The service performing the saves
+     * @param detector The detector recognising resends
+     */
+    public DuplicateSuppressingMessageService(MessageService delegate, DuplicateMessageDetector detector) {
+        this.delegate = delegate;
+        this.detector = detector;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Runs through the asynchronous path, so that a synchronous save is also recorded as
+     * the original of later resends.
+     */
+    @Override
+    public void saveMessage(String author, String content) {
+        try {
+            saveMessageAsync(author, content).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<SaveResult> saveMessageAsync(String author, String content) {
+        return detector.saveOnce(author, content, () -> delegate.saveMessageAsync(author, content));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * A repeated key within the window is answered with the original message, whatever the
+     * content of the repeat.
+     */
+    @Override
+    public CompletableFuture<SaveResult> saveMessageAsync(String author, String content, String idempotencyKey) {
+        return detector.saveOnce(author, content, idempotencyKey, () -> delegate.saveMessageAsync(author, content));
+    }
+}
@@ -1,22 +1,42 @@
 package com.allan.javazure.service;
 
-import com.google.cloud.Timestamp;
+import com.allan.javazure.diagnostics.MessageDocumentEvent;
+import com.allan.javazure.diagnostics.MessagePersistEvent;
+import com.allan.javazure.diagnostics.MessageSaveEvent;
+import com.allan.javazure.diagnostics.MessageStageEvent;
+import com.allan.javazure.diagnostics.MessageValidationEvent;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 /**
  * Firebase implementation of the MessageService interface.
- * Handles message persistence using Google Cloud Firestore.
+ * Handles message persistence using Google Cloud Firestore, in the configured {@link MessageLayout}.
  * Falls back to mock mode when Firestore is not available.
+ * Saves and Firestore commits are observed, so they appear as spans of the request trace.
+ * Every successful save publishes a {@link MessageSavedEvent}.
  * 
  * @author Allan
  * @version 1.0.0
@@ -27,26 +47,88 @@ public class FirebaseMessageService implements MessageService {
 
     private static final Logger logger = LoggerFactory.getLogger(FirebaseMessageService.class);
     
-    /**
-     * The name of the Firestore collection where messages are stored.
-     */
-    private static final String MESSAGES_COLLECTION = "messages";
-    
     /**
      * Default author name for anonymous messages.
      */
     private static final String ANONYMOUS_AUTHOR = "Anonymous";
 
+    /**
+     * Observation name of a message save.
+     */
+    public static final String SAVE_OBSERVATION = "messages.save";
+
+    /**
+     * Observation name of the Firestore write of a message.
+     */
+    public static final String COMMIT_OBSERVATION = "messages.firestore.commit";
+
     private final Firestore firestore;
 
+    private final MessageLayout layout;
+
+    private final List<MessageWriteContributor> writeContributors;
+
+    private final ObservationRegistry observationRegistry;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
-     * Constructs a new FirebaseMessageService with the specified Firestore instance.
+     * Constructs a new FirebaseMessageService with the specified Firestore instance,
+     * storing messages in the flat layout without additional writes.
      *
      * @param firestore The Firestore database instance (can be null for mock mode)
      */
-    @Autowired(required = false)
     public FirebaseMessageService(@Nullable Firestore firestore) {
+        this(firestore, new FlatMessageLayout(), List.of());
+    }
+
+    /**
+     * Constructs a new FirebaseMessageService with the specified Firestore instance, layout
+     * and write contributors.
+     *
+     * @param firestore The Firestore database instance (can be null for mock mode)
+     * @param layout The storage layout deciding where new messages are written
+     * @param writeContributors The contributors whose writes are committed with each message
+     */
+    public FirebaseMessageService(@Nullable Firestore firestore, MessageLayout layout,
+                                  List<MessageWriteContributor> writeContributors) {
+        this(firestore, layout, writeContributors, ObservationRegistry.NOOP);
+    }
+
+    /**
+     * Constructs a new FirebaseMessageService with the specified Firestore instance, layout,
+     * write contributors and observation registry.
+     *
+     * @param firestore The Firestore database instance (can be null for mock mode)
+     * @param layout The storage layout deciding where new messages are written
+     * @param writeContributors The contributors whose writes are committed with each message
+     * @param observationRegistry The registry recording save and commit observations
+     */
+    public FirebaseMessageService(@Nullable Firestore firestore, MessageLayout layout,
+                                  List<MessageWriteContributor> writeContributors,
+                                  ObservationRegistry observationRegistry) {
+        this(firestore, layout, writeContributors, observationRegistry, event -> { });
+    }
+
+    /**
+     * Constructs a new FirebaseMessageService with the specified Firestore instance, layout,
+     * write contributors, observation registry and event publisher.
+     *
+     * @param firestore The Firestore database instance (can be null for mock mode)
+     * @param layout The storage layout deciding where new messages are written
+     * @param writeContributors The contributors whose writes are committed with each message
+     * @param observationRegistry The registry recording save and commit observations
+     * @param eventPublisher The publisher of {@link MessageSavedEvent}s
+     */
+    public FirebaseMessageService(@Nullable Firestore firestore, MessageLayout layout,
+                                  List<MessageWriteContributor> writeContributors,
+                                  ObservationRegistry observationRegistry,
+                                  ApplicationEventPublisher eventPublisher) {
         this.firestore = firestore;
+        this.layout = layout;
+        this.writeContributors = List.copyOf(writeContributors);
+        this.observationRegistry = observationRegistry;
+        this.eventPublisher = eventPublisher;
         
         if (firestore == null) {
             logger.warn("Firestore instance is null - running in mock mode");
@@ -55,23 +137,147 @@ public class FirebaseMessageService implements MessageService {
         }
     }
 
+    /**
+     * Constructs a new FirebaseMessageService from the application context.
+     *
+     * @param firestore The Firestore database instance (can be null for mock mode)
+     * @param layout The storage layout deciding where new messages are written
+     * @param writeContributors The registered write contributors, in order
+     * @param observationRegistry The observation registry, if observability is configured
+     * @param eventPublisher The application context's event publisher
+     */
+    @Autowired
+    public FirebaseMessageService(@Nullable Firestore firestore, MessageLayout layout,
+                                  ObjectProvider<MessageWriteContributor> writeContributors,
+                                  ObjectProvider<ObservationRegistry> observationRegistry,
+                                  ApplicationEventPublisher eventPublisher) {
+        this(firestore, layout, writeContributors.orderedStream().toList(),
+             observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP), eventPublisher);
+    }
+
     /**
      * {@inheritDoc}
      * 
      * If Firestore is available, saves the message to the 'messages' collection.
      * If Firestore is not available, logs the message in mock mode.
+     * Author and content are sanitized with {@link MessageSanitizer} before validation.
+     * Each stage is timed with a JFR event so slow saves can be attributed in recordings.
      */
     @Override
     public void saveMessage(String author, String content) {
-        validateMessageContent(content);
+        MessageSaveEvent saveEvent = new MessageSaveEvent();
+        saveEvent.begin();
         
-        final String effectiveAuthor = resolveAuthorName(author);
+        final String sanitizedAuthor = MessageSanitizer.sanitize(author);
+        final String sanitizedContent = MessageSanitizer.sanitize(content);
+        final String mode = persistenceMode();
+        final String effectiveAuthor = saveObservation(mode).observe(() -> {
+            String resolvedAuthor = validateAndResolveAuthor(sanitizedAuthor, sanitizedContent);
+            SaveResult saved = isFirestoreAvailable()
+                    ? saveToFirestore(resolvedAuthor, sanitizedContent)
+                    : saveMockMessage(resolvedAuthor, sanitizedContent);
+            publishSaved(saved, resolvedAuthor, sanitizedContent);
+            return resolvedAuthor;
+        });
         
-        if (isFirestoreAvailable()) {
-            saveToFirestore(effectiveAuthor, content);
-        } else {
-            saveMockMessage(effectiveAuthor, content);
+        saveEvent.commit(effectiveAuthor, sanitizedContent, mode);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * The Firestore write future is adapted without blocking, so the calling thread is
+     * released as soon as the write has been sent. In mock mode the returned future is
+     * already complete. Failures before the write is sent, such as invalid input or a
+     * failing write contributor, are reported through the returned future as well.
+     */
+    @Override
+    public CompletableFuture<SaveResult> saveMessageAsync(String author, String content) {
+        MessageSaveEvent saveEvent = new MessageSaveEvent();
+        saveEvent.begin();
+        
+        final String sanitizedAuthor = MessageSanitizer.sanitize(author);
+        final String sanitizedContent = MessageSanitizer.sanitize(content);
+        final String mode = persistenceMode();
+        Observation observation = saveObservation(mode).start();
+        
+        final String effectiveAuthor;
+        CompletableFuture<SaveResult> result;
+        try (Observation.Scope scope = observation.openScope()) {
+            effectiveAuthor = validateAndResolveAuthor(sanitizedAuthor, sanitizedContent);
+            result = isFirestoreAvailable()
+                    ? saveToFirestoreAsync(effectiveAuthor, sanitizedContent)
+                    : CompletableFuture.completedFuture(saveMockMessage(effectiveAuthor, sanitizedContent));
+        } catch (RuntimeException e) {
+            stopObservation(observation, e);
+            return CompletableFuture.failedFuture(e);
         }
+        
+        return result.whenComplete((saved, error) -> {
+            stopObservation(observation, error);
+            saveEvent.commit(effectiveAuthor, sanitizedContent, mode);
+            if (error == null) {
+                publishSaved(saved, effectiveAuthor, sanitizedContent);
+            }
+        });
+    }
+
+    /**
+     * Creates the not yet started observation of one message save.
+     * 
+     * @param mode The persistence mode of the save
+     * @return The save observation
+     */
+    private Observation saveObservation(String mode) {
+        return Observation.createNotStarted(SAVE_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("mode", mode);
+    }
+
+    /**
+     * Publishes the event of a successful save. Listener failures are logged, never
+     * reported as a failed save, since the message is already stored.
+     * 
+     * @param saved The identity of the saved message
+     * @param author The resolved author name
+     * @param content The message content
+     */
+    private void publishSaved(SaveResult saved, String author, String content) {
+        try {
+            eventPublisher.publishEvent(new MessageSavedEvent(saved.messageId(), author, content, saved.createdAt()));
+        } catch (RuntimeException e) {
+            logger.warn("Message saved event listener failed for message '{}'", saved.messageId(), e);
+        }
+    }
+
+    /**
+     * Stops an observation, recording the failure first if there was one.
+     * 
+     * @param observation The observation to stop
+     * @param error The failure, or null on success
+     */
+    private static void stopObservation(Observation observation, @Nullable Throwable error) {
+        if (error != null) {
+            observation.error(error);
+        }
+        observation.stop();
+    }
+
+    /**
+     * Validates the content and resolves the author, timing both as one validation stage.
+     * 
+     * @param author The provided author name
+     * @param content The message content to validate
+     * @return The resolved author name
+     * @throws IllegalArgumentException if content is null or empty
+     */
+    private String validateAndResolveAuthor(String author, String content) {
+        MessageValidationEvent validationEvent = new MessageValidationEvent();
+        validationEvent.begin();
+        validateMessageContent(content);
+        
+        String effectiveAuthor = resolveAuthorName(author);
+        validationEvent.commit(effectiveAuthor, content, persistenceMode());
+        return effectiveAuthor;
     }
 
     /**
@@ -105,21 +311,46 @@ public class FirebaseMessageService implements MessageService {
         return firestore != null;
     }
 
+    /**
+     * Gets the persistence mode reported in diagnostics events.
+     * 
+     * @return "firestore" or "mock"
+     */
+    private String persistenceMode() {
+        return isFirestoreAvailable() ? MessageStageEvent.MODE_FIRESTORE : MessageStageEvent.MODE_MOCK;
+    }
+
+    /**
+     * Generates the identity of a new message.
+     * The timestamp is truncated to microseconds, the precision Firestore stores,
+     * so the value reported to clients matches the stored one exactly.
+     * 
+     * @return The new message ID and creation time
+     */
+    private SaveResult newMessageIdentity() {
+        return new SaveResult(UUID.randomUUID().toString(), Instant.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
     /**
      * Saves the message to Firestore database.
      * 
      * @param author The message author
      * @param content The message content
+     * @return The identity of the saved message
      * @throws RuntimeException if the save operation fails
      */
-    private void saveToFirestore(String author, String content) {
+    private SaveResult saveToFirestore(String author, String content) {
         try {
-            Map<String, Object> messageData = createMessageDocument(author, content);
+            SaveResult identity = newMessageIdentity();
+            Map<String, Object> messageData = buildMessageDocument(author, content, identity);
             
-            DocumentReference docRef = firestore.collection(MESSAGES_COLLECTION).document();
-            docRef.set(messageData).get(); // Wait for completion to ensure consistency
+            MessagePersistEvent persistEvent = new MessagePersistEvent();
+            persistEvent.begin();
+            writeMessage(messageData, identity.createdAt()).get(); // Wait for completion to ensure consistency
+            persistEvent.commit(author, content, MessageStageEvent.MODE_FIRESTORE);
             
             logger.info("Message saved successfully to Firestore for author: '{}'", author);
+            return identity;
             
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Restore interrupt status
@@ -132,19 +363,116 @@ public class FirebaseMessageService implements MessageService {
         }
     }
 
+    /**
+     * Sends the message to Firestore and adapts the write future without blocking.
+     * 
+     * @param author The message author
+     * @param content The message content
+     * @return A future completed with the identity of the saved message
+     */
+    private CompletableFuture<SaveResult> saveToFirestoreAsync(String author, String content) {
+        SaveResult identity = newMessageIdentity();
+        Map<String, Object> messageData = buildMessageDocument(author, content, identity);
+        
+        MessagePersistEvent persistEvent = new MessagePersistEvent();
+        persistEvent.begin();
+        CompletableFuture<SaveResult> result = new CompletableFuture<>();
+        
+        ApiFuture<?> write = writeMessage(messageData, identity.createdAt());
+        ApiFutures.addCallback(write, new ApiFutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object writeResult) {
+                persistEvent.commit(author, content, MessageStageEvent.MODE_FIRESTORE);
+                logger.info("Message saved successfully to Firestore for author: '{}'", author);
+                result.complete(identity);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                logger.error("Failed to save message to Firestore for author: '{}'", author, t);
+                result.completeExceptionally(new RuntimeException("Failed to save message to database", t));
+            }
+        }, MoreExecutors.directExecutor());
+        
+        return result;
+    }
+
+    /**
+     * Sends the message write, together with the writes of every contributor when any
+     * are registered, in which case all of them are committed atomically in one batch.
+     * The write is observed until Firestore acknowledges it.
+     * 
+     * @param messageData The message document
+     * @param createdAt The creation time of the message
+     * @return The future of the write or of the batch commit
+     */
+    private ApiFuture<?> writeMessage(Map<String, Object> messageData, Instant createdAt) {
+        Observation observation = Observation.createNotStarted(COMMIT_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("operation", writeContributors.isEmpty() ? "set" : "batch")
+                .start();
+        
+        ApiFuture<?> write;
+        try {
+            DocumentReference docRef = layout.newDocument(firestore, createdAt);
+            if (writeContributors.isEmpty()) {
+                write = docRef.set(messageData);
+            } else {
+                WriteBatch batch = firestore.batch();
+                batch.set(docRef, messageData);
+                for (MessageWriteContributor contributor : writeContributors) {
+                    contributor.contribute(batch, messageData, createdAt);
+                }
+                write = batch.commit();
+            }
+        } catch (RuntimeException e) {
+            stopObservation(observation, e);
+            throw e;
+        }
+        
+        ApiFutures.addCallback(write, new ApiFutureCallback<Object>() {
+            @Override
+            public void onSuccess(Object writeResult) {
+                observation.stop();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                stopObservation(observation, t);
+            }
+        }, MoreExecutors.directExecutor());
+        return write;
+    }
+
+    /**
+     * Builds the Firestore document for a message, timed as the document stage.
+     * 
+     * @param author The message author
+     * @param content The message content
+     * @param identity The message ID and creation time
+     * @return Map representing the message document
+     */
+    private Map<String, Object> buildMessageDocument(String author, String content, SaveResult identity) {
+        MessageDocumentEvent documentEvent = new MessageDocumentEvent();
+        documentEvent.begin();
+        Map<String, Object> messageData = createMessageDocument(author, content, identity);
+        documentEvent.commit(author, content, MessageStageEvent.MODE_FIRESTORE);
+        return messageData;
+    }
+
     /**
      * Creates a message document for Firestore storage.
      * 
      * @param author The message author
      * @param content The message content
+     * @param identity The message ID and creation time
      * @return Map representing the message document
      */
-    private Map<String, Object> createMessageDocument(String author, String content) {
+    private Map<String, Object> createMessageDocument(String author, String content, SaveResult identity) {
         Map<String, Object> messageData = new HashMap<>();
-        messageData.put("author", author);
-        messageData.put("content", content);
-        messageData.put("createdAt", Timestamp.now());
-        messageData.put("messageId", java.util.UUID.randomUUID().toString());
+        messageData.put(MessageDocument.AUTHOR, author);
+        messageData.put(MessageDocument.CONTENT, content);
+        messageData.put(MessageDocument.CREATED_AT, MessageDocument.toTimestamp(identity.createdAt()));
+        messageData.put(MessageDocument.MESSAGE_ID, identity.messageId());
         return messageData;
     }
 
@@ -154,11 +482,17 @@ public class FirebaseMessageService implements MessageService {
      * 
      * @param author The message author
      * @param content The message content
+     * @return The identity the message would have been stored with
      */
-    private void saveMockMessage(String author, String content) {
+    private SaveResult saveMockMessage(String author, String content) {
+        MessagePersistEvent persistEvent = new MessagePersistEvent();
+        persistEvent.begin();
+        SaveResult identity = newMessageIdentity();
         logger.info("MOCK MODE - Message received: Author='{}', Content='{}', Timestamp='{}'", 
                    author, 
                    content.length() > 100 ? content.substring(0, 100) + "..." : content,
                    java.time.LocalDateTime.now());
+        persistEvent.commit(author, content, MessageStageEvent.MODE_MOCK);
+        return identity;
     }
 }
\ No newline at end of file
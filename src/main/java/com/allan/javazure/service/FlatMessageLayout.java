@@ -0,0 +1,53 @@
+package com.allan.javazure.service;
+
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The original layout: every message is a document of the top-level messages collection.
+ * Simple to query, but all writes land on one sequential createdAt index range.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class FlatMessageLayout implements MessageLayout {
+
+    /**
+     * Every createdAt Firestore can store, from 0001-01-01 to 9999-12-31.
+     */
+    private static final TimeRange EVERYTHING = new TimeRange(
+            Instant.parse("0001-01-01T00:00:00Z"), Instant.parse("9999-12-31T23:59:59.999999999Z"));
+
+    @Override
+    public DocumentReference newDocument(Firestore firestore, Instant createdAt) {
+        return firestore.collection(MessageDocument.COLLECTION).document();
+    }
+
+    @Override
+    public DocumentReference document(Firestore firestore, String documentId, Instant createdAt) {
+        return firestore.collection(MessageDocument.COLLECTION).document(documentId);
+    }
+
+    @Override
+    public List<TimeRange> slices(Instant from, Instant to) {
+        return List.of(new TimeRange(from, to));
+    }
+
+    @Override
+    public List<Query> queries(Firestore firestore, TimeRange slice, Query.Direction direction) {
+        return List.of(firestore.collection(MessageDocument.COLLECTION)
+                .whereGreaterThanOrEqualTo(MessageDocument.CREATED_AT, MessageDocument.toTimestamp(slice.from()))
+                .whereLessThan(MessageDocument.CREATED_AT, MessageDocument.toTimestamp(slice.to()))
+                .orderBy(MessageDocument.CREATED_AT, direction));
+    }
+
+    @Override
+    public List<TimeRange> storedSlices(Firestore firestore) {
+        return List.of(EVERYTHING);
+    }
+}
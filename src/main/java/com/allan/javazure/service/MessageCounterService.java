@@ -0,0 +1,239 @@
+package com.allan.javazure.service;
+
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.WriteBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sharded distributed counters of received messages, in total and per UTC day.
+ * 
+ * A single Firestore document sustains roughly one write per second, so each counter is
+ * spread over {@code shards} documents ({@code counters/{counter}/shards/{n}}) and every
+ * message increments one random shard in the same batch as the message itself. Reads sum
+ * the shards and are cached for {@code refreshInterval}, keeping counts cheap to serve.
+ * Daily counts are served for today and the {@code maxDays} days before it only, so the
+ * cache holds a bounded number of counters.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+@Service
+@Order(0)
+@ConditionalOnProperty(value = "messages.counters.enabled", havingValue = "true", matchIfMissing = true)
+public class MessageCounterService implements MessageWriteContributor {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageCounterService.class);
+
+    /**
+     * The name of the collection holding one document per counter.
+     */
+    public static final String COUNTERS_COLLECTION = "counters";
+
+    /**
+     * The name of the subcollection holding the shards of a counter.
+     */
+    public static final String SHARDS_COLLECTION = "shards";
+
+    /**
+     * The field of a shard document holding its partial count.
+     */
+    public static final String COUNT_FIELD = "count";
+
+    static final String TOTAL_COUNTER = "messages_total";
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Firestore firestore;
+    private final int shards;
+    private final Duration refreshInterval;
+    private final int maxDays;
+    private final Clock clock;
+    private final Map<String, CachedCount> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new MessageCounterService.
+     *
+     * @param firestore The Firestore database instance (can be null for mock mode)
+     * @param shards The number of shards per counter
+     * @param refreshInterval How long an aggregated count is served from cache
+     * @param maxDays How many days before today daily counts are served for
+     */
+    @Autowired
+    public MessageCounterService(@Nullable Firestore firestore,
+                                 @Value("${messages.counters.shards:10}") int shards,
+                                 @Value("${messages.counters.refresh-interval:PT30S}") Duration refreshInterval,
+                                 @Value("${messages.counters.max-days:90}") int maxDays) {
+        this(firestore, shards, refreshInterval, maxDays, Clock.systemUTC());
+    }
+
+    MessageCounterService(@Nullable Firestore firestore, int shards, Duration refreshInterval, int maxDays,
+                          Clock clock) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Counter shard count must be positive");
+        }
+        if (maxDays < 0) {
+            throw new IllegalArgumentException("Counter max days must not be negative");
+        }
+        this.firestore = firestore;
+        this.shards = shards;
+        this.refreshInterval = refreshInterval;
+        this.maxDays = maxDays;
+        this.clock = clock;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Increments one random shard of the total counter and of the counter of the message's day.
+     */
+    @Override
+    public void contribute(WriteBatch batch, Map<String, Object> message, Instant createdAt) {
+        int shard = ThreadLocalRandom.current().nextInt(shards);
+        Map<String, Object> increment = Map.of(COUNT_FIELD, FieldValue.increment(1));
+        batch.set(shards(TOTAL_COUNTER).document(String.valueOf(shard)), increment, SetOptions.merge());
+        batch.set(shards(dailyCounter(createdAt.atZone(ZoneOffset.UTC).toLocalDate())).document(String.valueOf(shard)),
+                increment, SetOptions.merge());
+    }
+
+    /**
+     * Checks if counts can be read.
+     * 
+     * @return true if Firestore is available
+     */
+    public boolean isAvailable() {
+        return firestore != null;
+    }
+
+    /**
+     * Gets the total number of messages received.
+     * 
+     * @return The total count, at most {@code refreshInterval} old
+     * @throws IllegalStateException if Firestore is not available
+     */
+    public long getTotalCount() {
+        return getCount(TOTAL_COUNTER);
+    }
+
+    /**
+     * Gets the number of messages received on a UTC day.
+     * 
+     * @param day The day, between {@link #getEarliestDay()} and today
+     * @return The day's count, at most {@code refreshInterval} old
+     * @throws IllegalArgumentException if the day is out of range
+     * @throws IllegalStateException if Firestore is not available
+     */
+    public long getDailyCount(LocalDate day) {
+        if (!isServedDay(day)) {
+            throw new IllegalArgumentException("Daily counts are only served from " + getEarliestDay() + " to today");
+        }
+        return getCount(dailyCounter(day));
+    }
+
+    /**
+     * Checks whether the daily count of a day is served: today or one of the {@code maxDays}
+     * days before it (UTC).
+     * 
+     * @param day The day
+     * @return true if {@link #getDailyCount} accepts the day
+     */
+    public boolean isServedDay(LocalDate day) {
+        LocalDate today = LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC);
+        return !day.isAfter(today) && !day.isBefore(today.minusDays(maxDays));
+    }
+
+    /**
+     * Gets the earliest day whose daily count is served.
+     * 
+     * @return Today (UTC) less {@code maxDays} days
+     */
+    public LocalDate getEarliestDay() {
+        return LocalDate.ofInstant(clock.instant(), ZoneOffset.UTC).minusDays(maxDays);
+    }
+
+    private long getCount(String counter) {
+        if (firestore == null) {
+            throw new IllegalStateException("Firestore is not available - counters require a database connection");
+        }
+        Instant now = clock.instant();
+        CachedCount cached = cache.get(counter);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.value();
+        }
+        // Aggregate without holding a map lock; concurrent misses may each read, the first to publish is cached
+        CachedCount refreshed = new CachedCount(aggregate(counter), now.plus(refreshInterval));
+        if (cached == null ? cache.putIfAbsent(counter, refreshed) == null : cache.replace(counter, cached, refreshed)) {
+            evictExpired(now);
+        }
+        return refreshed.value();
+    }
+
+    /**
+     * Drops expired counts once the cache holds more than the served counters, e.g. days that
+     * fell out of range.
+     */
+    private void evictExpired(Instant now) {
+        if (cache.size() > maxDays + 2) {
+            cache.values().removeIf(count -> !count.expiresAt().isAfter(now));
+        }
+    }
+
+    /**
+     * Sums every shard of a counter.
+     * 
+     * @param counter The counter document ID
+     * @return The aggregated count
+     */
+    private long aggregate(String counter) {
+        try {
+            long total = 0;
+            for (QueryDocumentSnapshot shard : shards(counter).get().get().getDocuments()) {
+                Long count = shard.getLong(COUNT_FIELD);
+                total += count != null ? count : 0;
+            }
+            logger.debug("Aggregated counter '{}': {}", counter, total);
+            return total;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+            throw new RuntimeException("Counter read was interrupted", e);
+
+        } catch (ExecutionException e) {
+            logger.error("Failed to aggregate counter '{}'", counter, e);
+            throw new RuntimeException("Failed to read message counter", e.getCause());
+        }
+    }
+
+    private CollectionReference shards(String counter) {
+        return firestore.collection(COUNTERS_COLLECTION).document(counter).collection(SHARDS_COLLECTION);
+    }
+
+    static String dailyCounter(LocalDate day) {
+        return "messages_" + DAY_FORMAT.format(day);
+    }
+
+    private record CachedCount(long value, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.allan.javazure.service;
+
+import com.google.cloud.Timestamp;
+
+import java.time.Instant;
+
+/**
+ * Field and collection names of the message documents stored in Firestore.
+ * Shared by the write path and by every job that reads the collection back.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public final class MessageDocument {
+
+    /**
+     * The name of the Firestore collection where messages are stored.
+     */
+    public static final String COLLECTION = "messages";
+
+    public static final String AUTHOR = "author";
+
+    public static final String CONTENT = "content";
+
+    public static final String CREATED_AT = "createdAt";
+
+    public static final String MESSAGE_ID = "messageId";
+
+    private MessageDocument() {
+    }
+
+    /**
+     * Converts an instant to a Firestore timestamp without losing precision.
+     *
+     * @param instant The instant
+     * @return The equivalent Firestore timestamp
+     */
+    public static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.ofTimeSecondsAndNanos(instant.getEpochSecond(), instant.getNano());
+    }
+
+    /**
+     * Converts a Firestore timestamp to an instant without losing precision.
+     *
+     * @param timestamp The Firestore timestamp
+     * @return The equivalent instant
+     */
+    public static Instant toInstant(Timestamp timestamp) {
+        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+}
@@ -0,0 +1,78 @@
+package com.allan.javazure.service;
+
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Storage layout of message documents in Firestore.
+ * Decides where a message is written and which queries cover a createdAt range,
+ * so writers and readers stay agnostic of how the collection is organized.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public interface MessageLayout {
+
+    /**
+     * Creates a reference with an auto-generated ID for a new message.
+     * 
+     * @param firestore The Firestore database instance
+     * @param createdAt The creation time of the message
+     * @return The document reference to write the message to
+     */
+    DocumentReference newDocument(Firestore firestore, Instant createdAt);
+
+    /**
+     * Gets the reference of a message with a known ID, e.g. when restoring an archive.
+     * The same ID and timestamp always map to the same document.
+     * 
+     * @param firestore The Firestore database instance
+     * @param documentId The document ID
+     * @param createdAt The creation time of the message
+     * @return The document reference
+     */
+    DocumentReference document(Firestore firestore, String documentId, Instant createdAt);
+
+    /**
+     * Splits a createdAt range into contiguous slices that can each be read with {@link #queries}.
+     * 
+     * @param from The inclusive lower bound
+     * @param to The exclusive upper bound
+     * @return The slices in ascending time order
+     */
+    List<TimeRange> slices(Instant from, Instant to);
+
+    /**
+     * Gets the queries that together cover one slice, each ordered by createdAt.
+     * Results of several queries must be merged to obtain a single ordered view.
+     * 
+     * @param firestore The Firestore database instance
+     * @param slice A slice returned by {@link #slices} or {@link #storedSlices}
+     * @param direction The createdAt order of each query
+     * @return The queries covering the slice
+     */
+    List<Query> queries(Firestore firestore, TimeRange slice, Query.Direction direction);
+
+    /**
+     * Gets the slices that currently hold messages, so the oldest or newest messages can be
+     * found slice by slice without an index spanning the whole collection.
+     * 
+     * @param firestore The Firestore database instance
+     * @return The slices in ascending time order
+     */
+    List<TimeRange> storedSlices(Firestore firestore);
+
+    /**
+     * A half-open createdAt range {@code [from, to)}.
+     *
+     * @param from The inclusive lower bound
+     * @param to The exclusive upper bound
+     */
+    record TimeRange(Instant from, Instant to) {
+    }
+}
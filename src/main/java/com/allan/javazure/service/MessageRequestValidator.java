@@ -0,0 +1,62 @@
+package com.allan.javazure.service;
+
+/**
+ * Validates submitted messages against the business rules shared by every ingestion
+ * endpoint, so the JSON and gRPC APIs accept and reject exactly the same input.
+ * The message service validates text after sanitizing it with {@link MessageSanitizer};
+ * endpoints validate it as received, to reject it before it reaches the service.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public final class MessageRequestValidator {
+
+    /**
+     * Maximum length of message content, in characters.
+     */
+    public static final int MAX_CONTENT_LENGTH = 1000;
+
+    /**
+     * Maximum length of an author name, in characters.
+     */
+    public static final int MAX_AUTHOR_LENGTH = 100;
+
+    private MessageRequestValidator() {
+    }
+
+    /**
+     * Checks a request as bound, before sanitizing, against the bean-validation constraints
+     * declared on {@link com.allan.javazure.dto.CreateMessageRequest}, without reflection.
+     * Endpoints that bind the request themselves call this where {@code @Valid} would apply.
+     *
+     * @param content The message content, as received
+     * @param author The author name, as received, may be null
+     * @return true if {@code @Valid} would accept the request
+     */
+    public static boolean meetsRequestConstraints(String content, String author) {
+        return content != null && !content.trim().isEmpty() && content.length() <= MAX_CONTENT_LENGTH
+                && (author == null || author.length() <= MAX_AUTHOR_LENGTH);
+    }
+
+    /**
+     * Validates a submitted message.
+     *
+     * @param content The message content
+     * @param author The author name, may be null
+     * @throws IllegalArgumentException if validation fails
+     */
+    public static void validate(String content, String author) {
+        if (content == null || content.trim().isEmpty()) {
+            throw new IllegalArgumentException("Message content cannot be empty");
+        }
+        
+        if (content.trim().length() > MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("Message content cannot exceed " + MAX_CONTENT_LENGTH + " characters");
+        }
+        
+        if (author != null && author.length() > MAX_AUTHOR_LENGTH) {
+            throw new IllegalArgumentException("Author name cannot exceed " + MAX_AUTHOR_LENGTH + " characters");
+        }
+    }
+}
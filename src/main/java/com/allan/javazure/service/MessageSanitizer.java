@@ -0,0 +1,154 @@
+package com.allan.javazure.service;
+
+import java.text.Normalizer;
+
+/**
+ * Sanitizes message text before it is validated and stored.
+ * In one pass over the characters it strips control characters, invisible format
+ * characters (zero-width spaces, word joiners, byte order marks, soft hyphens and
+ * bidirectional overrides), collapses every run of whitespace to a single space, keeps
+ * line breaks (at most one blank line in a row) and trims both ends. Text is then put
+ * in Unicode NFC form, so visually identical messages are stored identically.
+ * <p>
+ * Already clean text is returned as the same instance without copying: the pass only
+ * starts building a new string at the first character that needs changing, and NFC is
+ * only checked when the text contains a character from U+0300 upwards, below which
+ * every character is already normalized and none combines with its neighbours.
+ * Zero-width joiners and non-joiners are kept, since emoji sequences and several
+ * scripts depend on them.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public final class MessageSanitizer {
+
+    /**
+     * Lowest character that NFC normalization can change or combine with a neighbour.
+     */
+    private static final char FIRST_COMPOSABLE = '\u0300';
+
+    private MessageSanitizer() {
+    }
+
+    /**
+     * Sanitizes a piece of message text.
+     *
+     * @param text The text as received, may be null
+     * @return The sanitized text, the same instance if it was already clean, or null for null
+     */
+    public static String sanitize(String text) {
+        if (text == null) {
+            return null;
+        }
+        boolean composable = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isCleanAt(text, i, c)) {
+                return rebuild(text, i, composable);
+            }
+            composable |= c >= FIRST_COMPOSABLE;
+        }
+        return composable ? normalize(text) : text;
+    }
+
+    /**
+     * Checks whether a character can stay where it is in already sanitized text.
+     */
+    private static boolean isCleanAt(String text, int i, char c) {
+        if (c == ' ') {
+            return i > 0 && i < text.length() - 1 && !isWhitespace(text.charAt(i - 1));
+        }
+        if (c == '\n') {
+            if (i == 0 || i == text.length() - 1) {
+                return false;
+            }
+            char previous = text.charAt(i - 1);
+            return previous != ' ' && (previous != '\n' || (i > 1 && !isWhitespace(text.charAt(i - 2))));
+        }
+        if (c < ' ' || c == '\u007F') {
+            return false;
+        }
+        if (c < '\u0080') {
+            return true;
+        }
+        return !isWhitespace(c) && !isStripped(c);
+    }
+
+    /**
+     * Sanitizes the text from the first character that needs changing, reusing the clean prefix.
+     */
+    private static String rebuild(String text, int firstDirty, boolean composable) {
+        StringBuilder out = new StringBuilder(text.length());
+        out.append(text, 0, firstDirty);
+
+        // The clean prefix may end in whitespace that is only kept if visible text follows.
+        int pendingBreaks = 0;
+        boolean pendingSpace = false;
+        for (int last = out.length() - 1; last >= 0 && (out.charAt(last) == ' ' || out.charAt(last) == '\n'); last--) {
+            if (out.charAt(last) == '\n') {
+                pendingBreaks++;
+            } else {
+                pendingSpace = true;
+            }
+            out.setLength(last);
+        }
+
+        for (int i = firstDirty; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isLineBreak(c)) {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    continue; // CRLF counts once
+                }
+                pendingBreaks++;
+            } else if (c == '\t' || (!isControl(c) && isWhitespace(c))) {
+                pendingSpace = true;
+            } else if (!isStripped(c)) {
+                if (out.length() > 0) {
+                    if (pendingBreaks > 0) {
+                        out.append(pendingBreaks == 1 ? "\n" : "\n\n");
+                    } else if (pendingSpace) {
+                        out.append(' ');
+                    }
+                }
+                pendingBreaks = 0;
+                pendingSpace = false;
+                composable |= c >= FIRST_COMPOSABLE;
+                out.append(c);
+            }
+        }
+        String sanitized = out.toString();
+        return composable ? normalize(sanitized) : sanitized;
+    }
+
+    private static String normalize(String text) {
+        return Normalizer.isNormalized(text, Normalizer.Form.NFC) ? text : Normalizer.normalize(text, Normalizer.Form.NFC);
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || isLineBreak(c) || Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    private static boolean isControl(char c) {
+        return c < ' ' || (c >= '\u007F' && c <= '\u009F');
+    }
+
+    /**
+     * Checks for invisible characters that are removed outright.
+     */
+    private static boolean isStripped(char c) {
+        return isControl(c)
+                || c == '\u00AD'                       // soft hyphen
+                || c == '\u180E'                       // Mongolian vowel separator
+                || c == '\u200B'                       // zero-width space
+                || (c >= '\u200E' && c <= '\u200F')    // left-to-right and right-to-left marks
+                || (c >= '\u202A' && c <= '\u202E')    // bidirectional embeddings and overrides
+                || (c >= '\u2060' && c <= '\u2064')    // word joiner and invisible operators
+                || (c >= '\u2066' && c <= '\u2069')    // bidirectional isolates
+                || c == '\uFEFF';                      // byte order mark / zero-width no-break space
+    }
+}
@@ -0,0 +1,20 @@
+package com.allan.javazure.service;
+
+import java.time.Instant;
+
+/**
+ * Application event published once a message has been saved.
+ * Listeners run on the thread that completed the save, so they must hand any slow work
+ * off instead of doing it inline.
+ *
+ * @param messageId The generated message identifier
+ * @param author The resolved author name
+ * @param content The message content
+ * @param createdAt The creation timestamp stored with the message
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record MessageSavedEvent(String messageId, String author, String content, Instant createdAt) {
+}
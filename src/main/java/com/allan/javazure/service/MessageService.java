@@ -1,5 +1,7 @@
 package com.allan.javazure.service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service interface for message-related operations.
  * Defines the contract for message persistence and retrieval.
@@ -20,4 +22,31 @@ public interface MessageService {
      * @throws RuntimeException if the message cannot be saved due to technical issues
      */
     void saveMessage(String author, String content);
+
+    /**
+     * Saves a new message without blocking the calling thread on database I/O.
+     * Validation failures are reported through the returned future as well, so callers
+     * handle every outcome in one place.
+     * 
+     * @param author The message author, can be null for anonymous messages
+     * @param content The message content, must not be null or empty
+     * @return A future completed with the generated message ID and timestamp, or completed
+     *         exceptionally with an IllegalArgumentException for invalid input or a
+     *         RuntimeException if the message cannot be saved
+     */
+    CompletableFuture<SaveResult> saveMessageAsync(String author, String content);
+
+    /**
+     * Saves a new message that the client identifies with an idempotency key, sent unchanged
+     * with every attempt of the message. Services that suppress resends answer a repeated key
+     * with the original message; by default, the key is ignored.
+     * 
+     * @param author The message author, can be null for anonymous messages
+     * @param content The message content, must not be null or empty
+     * @param idempotencyKey The client's key for the message
+     * @return A future completed as by {@link #saveMessageAsync(String, String)}
+     */
+    default CompletableFuture<SaveResult> saveMessageAsync(String author, String content, String idempotencyKey) {
+        return saveMessageAsync(author, content);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,232 @@
+package com.allan.javazure.service;
+
+import com.allan.javazure.service.MessageLayout.TimeRange;
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Presents the messages of a createdAt range as a single ordered stream, whatever the layout.
+ * Slices are read one after another; the queries of a slice (one per shard) are paged
+ * independently and merged by createdAt, so at most one page per shard is held in memory.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class MessageTimelineReader {
+
+    private static final Comparator<QueryDocumentSnapshot> BY_CREATED_AT =
+            Comparator.comparing((QueryDocumentSnapshot document) -> document.getTimestamp(MessageDocument.CREATED_AT))
+                    .thenComparing(document -> document.getReference().getPath());
+
+    private final Firestore firestore;
+    private final MessageLayout layout;
+    private final int pageSize;
+
+    /**
+     * Constructs a new MessageTimelineReader.
+     *
+     * @param firestore The Firestore database instance
+     * @param layout The layout the messages are stored in
+     * @param pageSize The number of documents fetched per query page
+     */
+    public MessageTimelineReader(Firestore firestore, MessageLayout layout, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.firestore = firestore;
+        this.layout = layout;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Iterates over the messages created in {@code [from, to)} in ascending createdAt order.
+     * Pages are fetched lazily while iterating.
+     *
+     * @param from The inclusive lower bound
+     * @param to The exclusive upper bound
+     * @return The ordered messages; iteration throws RuntimeException if a read fails
+     */
+    public Iterator<QueryDocumentSnapshot> read(Instant from, Instant to) {
+        return new TimelineIterator(layout.slices(from, to).iterator(), Query.Direction.ASCENDING, false);
+    }
+
+    /**
+     * Finds the creation time of the oldest stored message, reading the first document of
+     * each shard of the oldest stored slices until one holds a message.
+     *
+     * @return The oldest createdAt, or empty if there are no messages
+     */
+    public Optional<Instant> findEarliestCreatedAt() {
+        for (TimeRange slice : layout.storedSlices(firestore)) {
+            // Issue every shard's query before waiting, so shards are fetched concurrently
+            List<ApiFuture<QuerySnapshot>> firsts = new ArrayList<>();
+            for (Query query : layout.queries(firestore, slice, Query.Direction.ASCENDING)) {
+                firsts.add(query.limit(1).get());
+            }
+            Instant earliest = null;
+            for (ApiFuture<QuerySnapshot> first : firsts) {
+                for (QueryDocumentSnapshot document : await(first).getDocuments()) {
+                    Instant createdAt = createdAt(document);
+                    if (earliest == null || createdAt.isBefore(earliest)) {
+                        earliest = createdAt;
+                    }
+                }
+            }
+            if (earliest != null) {
+                return Optional.of(earliest);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the creation time of the message with exactly {@code skip} newer messages,
+     * walking the stored slices from the newest. Skipped messages are read with only their
+     * createdAt field, and billed as reads just like a query offset.
+     *
+     * @param skip The number of newer messages to skip
+     * @return The createdAt, or empty if there are not more than {@code skip} messages
+     */
+    public Optional<Instant> findCreatedAtFromNewest(long skip) {
+        List<TimeRange> slices = new ArrayList<>(layout.storedSlices(firestore));
+        Collections.reverse(slices);
+        Iterator<QueryDocumentSnapshot> newestFirst =
+                new TimelineIterator(slices.iterator(), Query.Direction.DESCENDING, true);
+        for (long skipped = 0; skipped < skip && newestFirst.hasNext(); skipped++) {
+            newestFirst.next();
+        }
+        return newestFirst.hasNext() ? Optional.of(createdAt(newestFirst.next())) : Optional.empty();
+    }
+
+    private static Instant createdAt(QueryDocumentSnapshot document) {
+        return MessageDocument.toInstant(document.getTimestamp(MessageDocument.CREATED_AT));
+    }
+
+    private static QuerySnapshot await(ApiFuture<QuerySnapshot> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Restore interrupt status
+            throw new RuntimeException("Message read was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to read messages from database", e.getCause());
+        }
+    }
+
+    /**
+     * Walks the slices in order and merges the shard cursors of the current slice.
+     */
+    private final class TimelineIterator implements Iterator<QueryDocumentSnapshot> {
+
+        private final Iterator<TimeRange> slices;
+        private final Query.Direction direction;
+        private final boolean createdAtOnly;
+        private final PriorityQueue<ShardCursor> cursors;
+
+        private TimelineIterator(Iterator<TimeRange> slices, Query.Direction direction, boolean createdAtOnly) {
+            this.slices = slices;
+            this.direction = direction;
+            this.createdAtOnly = createdAtOnly;
+            this.cursors = new PriorityQueue<>(Comparator.comparing(ShardCursor::peek,
+                    direction == Query.Direction.ASCENDING ? BY_CREATED_AT : BY_CREATED_AT.reversed()));
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (cursors.isEmpty() && slices.hasNext()) {
+                openSlice(slices.next());
+            }
+            return !cursors.isEmpty();
+        }
+
+        @Override
+        public QueryDocumentSnapshot next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ShardCursor cursor = cursors.poll();
+            QueryDocumentSnapshot document = cursor.take();
+            if (cursor.hasMore()) {
+                cursors.add(cursor);
+            }
+            return document;
+        }
+
+        private void openSlice(TimeRange slice) {
+            List<ShardCursor> opened = new ArrayList<>();
+            for (Query query : layout.queries(firestore, slice, direction)) {
+                Query page = query.limit(pageSize);
+                opened.add(new ShardCursor(createdAtOnly ? page.select(MessageDocument.CREATED_AT) : page));
+            }
+            // Issue every shard's first page before waiting, so shards are fetched concurrently
+            List<ApiFuture<QuerySnapshot>> firstPages = new ArrayList<>(opened.size());
+            for (ShardCursor cursor : opened) {
+                firstPages.add(cursor.query.get());
+            }
+            for (int i = 0; i < opened.size(); i++) {
+                ShardCursor cursor = opened.get(i);
+                cursor.accept(await(firstPages.get(i)));
+                if (cursor.hasMore()) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pages through a single ordered query.
+     */
+    private final class ShardCursor {
+
+        private final Query query;
+        private final Deque<QueryDocumentSnapshot> page = new ArrayDeque<>();
+        private QueryDocumentSnapshot last;
+        private boolean exhausted;
+
+        private ShardCursor(Query query) {
+            this.query = query;
+        }
+
+        private QueryDocumentSnapshot peek() {
+            return page.peekFirst();
+        }
+
+        private QueryDocumentSnapshot take() {
+            QueryDocumentSnapshot document = page.removeFirst();
+            if (page.isEmpty() && !exhausted) {
+                accept(await(query.startAfter(last).get()));
+            }
+            return document;
+        }
+
+        private boolean hasMore() {
+            return !page.isEmpty();
+        }
+
+        private void accept(QuerySnapshot snapshot) {
+            List<QueryDocumentSnapshot> documents = snapshot.getDocuments();
+            page.addAll(documents);
+            exhausted = documents.size() < pageSize;
+            if (!documents.isEmpty()) {
+                last = documents.get(documents.size() - 1);
+            }
+        }
+    }
+}
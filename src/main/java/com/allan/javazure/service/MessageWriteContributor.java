@@ -0,0 +1,28 @@
+package com.allan.javazure.service;
+
+import com.google.cloud.firestore.WriteBatch;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Adds writes that must be committed atomically with a new message.
+ * When at least one contributor is registered, {@link FirebaseMessageService} writes the
+ * message through a {@link WriteBatch} and lets every contributor append to it.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public interface MessageWriteContributor {
+
+    /**
+     * Appends writes to the batch that stores a new message.
+     * Implementations must not perform I/O; the batch is committed by the caller.
+     * 
+     * @param batch The batch that already contains the message write
+     * @param message The message document being written
+     * @param createdAt The creation time of the message
+     */
+    void contribute(WriteBatch batch, Map<String, Object> message, Instant createdAt);
+}
@@ -0,0 +1,17 @@
+package com.allan.javazure.service;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a successful message save.
+ * Carries the identifiers assigned by the service so clients do not need a follow-up read.
+ *
+ * @param messageId The generated message identifier
+ * @param createdAt The creation timestamp stored with the message
+ * 
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public record SaveResult(String messageId, Instant createdAt) {
+}
@@ -0,0 +1,249 @@
+package com.allan.javazure.tracing;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Span exporter that decides whether to keep a trace only once the trace has finished.
+ * Spans are buffered per trace until the local root span ends; the whole trace is then
+ * exported if any span failed or the root took at least the slow threshold, and otherwise
+ * only if its trace ID falls in the configured fraction of fast traces. The fraction is
+ * derived from the trace ID, like the head sampler's, so every instance agrees on it.
+ * <p>
+ * The buffer is bounded: traces whose root never arrives (because it ended in another
+ * process, or the buffer overflowed) are decided on the spans seen so far once they are
+ * older than the maximum trace age. Spans arriving after their trace has been decided
+ * follow that decision.
+ *
+ * @author Allan
+ * @version 1.0.0
+ * @since 2026-10-18
+ */
+public class TailSamplingSpanExporter implements SpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TailSamplingSpanExporter.class);
+
+    private final SpanExporter delegate;
+    private final long slowThresholdNanos;
+    private final long fastTraceIdUpperBound;
+    private final int maxBufferedTraces;
+    private final long maxTraceAgeNanos;
+    private final LongSupplier nanoClock;
+
+    private final LinkedHashMap<String, PendingTrace> pending = new LinkedHashMap<>();
+    private final LinkedHashMap<String, Boolean> decided;
+
+    private final AtomicLong keptTraces = new AtomicLong();
+    private final AtomicLong droppedTraces = new AtomicLong();
+
+    /**
+     * Constructs a new TailSamplingSpanExporter.
+     *
+     * @param delegate The exporter receiving the spans of kept traces
+     * @param slowThreshold Root span duration from which a trace is always kept
+     * @param fastSampleRatio Fraction, between 0 and 1, of fast successful traces to keep
+     * @param maxBufferedTraces Maximum number of undecided traces held in memory
+     * @param maxTraceAge How long an undecided trace is held before it is decided anyway
+     */
+    public TailSamplingSpanExporter(SpanExporter delegate, Duration slowThreshold, double fastSampleRatio,
+                                    int maxBufferedTraces, Duration maxTraceAge) {
+        this(delegate, slowThreshold, fastSampleRatio, maxBufferedTraces, maxTraceAge, System::nanoTime);
+    }
+
+    TailSamplingSpanExporter(SpanExporter delegate, Duration slowThreshold, double fastSampleRatio,
+                             int maxBufferedTraces, Duration maxTraceAge, LongSupplier nanoClock) {
+        if (fastSampleRatio < 0.0 || fastSampleRatio > 1.0) {
+            throw new IllegalArgumentException("Fast sample ratio must be between 0 and 1");
+        }
+        if (maxBufferedTraces < 1) {
+            throw new IllegalArgumentException("Max buffered traces must be positive");
+        }
+        this.delegate = delegate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.fastTraceIdUpperBound = fastSampleRatio >= 1.0 ? Long.MAX_VALUE : (long) (fastSampleRatio * Long.MAX_VALUE);
+        this.maxBufferedTraces = maxBufferedTraces;
+        this.maxTraceAgeNanos = maxTraceAge.toNanos();
+        this.nanoClock = nanoClock;
+        this.decided = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > TailSamplingSpanExporter.this.maxBufferedTraces;
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Buffers the spans and forwards those of every trace decided as kept.
+     */
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<SpanData> kept = new ArrayList<>();
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            for (SpanData span : spans) {
+                accept(span, now, kept);
+            }
+            decideExpired(now, kept);
+        }
+        return kept.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(kept);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Decides every still-buffered trace on the spans seen so far before shutting down.
+     */
+    @Override
+    public CompletableResultCode shutdown() {
+        List<SpanData> kept = new ArrayList<>();
+        synchronized (this) {
+            decideExpired(Long.MAX_VALUE, kept);
+        }
+        if (kept.isEmpty()) {
+            return delegate.shutdown();
+        }
+        CompletableResultCode exported = delegate.export(kept);
+        CompletableResultCode result = new CompletableResultCode();
+        exported.whenComplete(() -> delegate.shutdown().whenComplete(result::succeed));
+        return result;
+    }
+
+    /**
+     * Gets the number of traces exported so far.
+     *
+     * @return The kept trace count
+     */
+    public long getKeptTraces() {
+        return keptTraces.get();
+    }
+
+    /**
+     * Gets the number of traces discarded so far.
+     *
+     * @return The dropped trace count
+     */
+    public long getDroppedTraces() {
+        return droppedTraces.get();
+    }
+
+    /**
+     * Gets the number of traces currently waiting for a decision.
+     *
+     * @return The buffered trace count
+     */
+    public synchronized int getBufferedTraces() {
+        return pending.size();
+    }
+
+    private void accept(SpanData span, long now, List<SpanData> kept) {
+        String traceId = span.getTraceId();
+        Boolean decision = decided.get(traceId);
+        if (decision != null) {
+            if (decision) {
+                kept.add(span);
+            }
+            return;
+        }
+
+        PendingTrace trace = pending.computeIfAbsent(traceId, id -> new PendingTrace(now));
+        trace.add(span);
+        if (isLocalRoot(span)) {
+            pending.remove(traceId);
+            decide(traceId, trace, span, kept);
+        } else if (pending.size() > maxBufferedTraces) {
+            Iterator<Map.Entry<String, PendingTrace>> eldest = pending.entrySet().iterator();
+            Map.Entry<String, PendingTrace> entry = eldest.next();
+            eldest.remove();
+            logger.debug("Tail sampling buffer full, deciding trace {} early", entry.getKey());
+            decide(entry.getKey(), entry.getValue(), null, kept);
+        }
+    }
+
+    private void decideExpired(long now, List<SpanData> kept) {
+        Iterator<Map.Entry<String, PendingTrace>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, PendingTrace> entry = iterator.next();
+            if (now != Long.MAX_VALUE && now - entry.getValue().firstSeenNanos < maxTraceAgeNanos) {
+                return; // insertion order: every later trace is younger
+            }
+            iterator.remove();
+            decide(entry.getKey(), entry.getValue(), null, kept);
+        }
+    }
+
+    /**
+     * Decides a trace, using the root span's duration when the root is known and the
+     * longest buffered span otherwise.
+     */
+    private void decide(String traceId, PendingTrace trace, SpanData root, List<SpanData> kept) {
+        long durationNanos = root != null ? duration(root) : trace.longestNanos;
+        boolean keep = trace.failed || durationNanos >= slowThresholdNanos || isSampledFastTrace(traceId);
+        decided.put(traceId, keep);
+        if (keep) {
+            keptTraces.incrementAndGet();
+            kept.addAll(trace.spans);
+        } else {
+            droppedTraces.incrementAndGet();
+        }
+    }
+
+    private boolean isSampledFastTrace(String traceId) {
+        if (fastTraceIdUpperBound == Long.MAX_VALUE) {
+            return true;
+        }
+        long randomPart = Long.parseUnsignedLong(traceId.substring(16), 16);
+        return Math.abs(randomPart) < fastTraceIdUpperBound;
+    }
+
+    private static boolean isLocalRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    private static long duration(SpanData span) {
+        return span.getEndEpochNanos() - span.getStartEpochNanos();
+    }
+
+    /**
+     * The spans of one undecided trace, with the facts the decision needs.
+     */
+    private static final class PendingTrace {
+
+        private final long firstSeenNanos;
+        private final List<SpanData> spans = new ArrayList<>();
+        private boolean failed;
+        private long longestNanos;
+
+        private PendingTrace(long firstSeenNanos) {
+            this.firstSeenNanos = firstSeenNanos;
+        }
+
+        private void add(SpanData span) {
+            spans.add(span);
+            failed |= span.getStatus().getStatusCode() == StatusCode.ERROR;
+            longestNanos = Math.max(longestNanos, duration(span));
+        }
+    }
+}
@@ -11,11 +11,21 @@
  */
 const AppConfig = {
     ENDPOINTS: {
-        MESSAGES: '/messages'
+        MESSAGES: '/messages',
+        // Set once the server accepts { messages: [...] } batches; until then the outbox sends one by one
+        MESSAGES_BATCH: null
     },
     TIMEOUTS: {
         FOCUS_DELAY: 100
     },
+    OUTBOX: {
+        DATABASE: 'javazure-outbox',
+        STORE: 'messages',
+        BASE_DELAY_MS: 1000,
+        MAX_DELAY_MS: 60000,
+        MAX_AGE_MS: 24 * 60 * 60 * 1000,
+        BATCH_SIZE: 20
+    },
     ICONS: {
         SUCCESS: '✅',
         ERROR: '❌'
@@ -143,13 +153,390 @@ class AlertManager {
     }
 }
 
+/**
+ * Outbox Store - Persists queued messages in IndexedDB so they survive reloads
+ */
+class OutboxStore {
+    constructor(factory = OutboxStore.defaultFactory()) {
+        this.factory = factory;
+        this.database = null;
+    }
+
+    /**
+     * Gets the browser's IndexedDB factory
+     * @returns {IDBFactory|null} The factory, or null where IndexedDB is unavailable
+     */
+    static defaultFactory() {
+        return typeof indexedDB !== 'undefined' ? indexedDB : null;
+    }
+
+    /**
+     * Checks whether the browser can persist an outbox
+     * @returns {boolean} True if IndexedDB is available
+     */
+    static isSupported() {
+        return OutboxStore.defaultFactory() !== null;
+    }
+
+    /**
+     * Opens the outbox database, creating its store on first use
+     * @returns {Promise<IDBDatabase>} The open database
+     * @private
+     */
+    open() {
+        if (!this.database) {
+            this.database = new Promise((resolve, reject) => {
+                const request = this.factory.open(AppConfig.OUTBOX.DATABASE, 1);
+                request.onupgradeneeded = () => {
+                    request.result.createObjectStore(AppConfig.OUTBOX.STORE, { keyPath: 'key' });
+                };
+                request.onsuccess = () => resolve(request.result);
+                request.onerror = () => reject(request.error);
+            });
+            this.database.catch(() => {
+                this.database = null;
+            });
+        }
+        return this.database;
+    }
+
+    /**
+     * Runs one request against the store in its own transaction
+     * @param {string} mode - Transaction mode
+     * @param {Function} operation - Creates the request from the object store
+     * @returns {Promise<*>} The request result once the transaction completes
+     * @private
+     */
+    async run(mode, operation) {
+        const database = await this.open();
+        return new Promise((resolve, reject) => {
+            const transaction = database.transaction(AppConfig.OUTBOX.STORE, mode);
+            const request = operation(transaction.objectStore(AppConfig.OUTBOX.STORE));
+            transaction.oncomplete = () => resolve(request.result);
+            transaction.onerror = () => reject(transaction.error);
+            transaction.onabort = () => reject(transaction.error);
+        });
+    }
+
+    /**
+     * Inserts or replaces an entry by its idempotency key
+     * @param {Object} entry - Outbox entry
+     * @returns {Promise<void>}
+     */
+    async put(entry) {
+        await this.run('readwrite', store => store.put(entry));
+    }
+
+    /**
+     * Removes an entry
+     * @param {string} key - Idempotency key of the entry
+     * @returns {Promise<void>}
+     */
+    async delete(key) {
+        await this.run('readwrite', store => store.delete(key));
+    }
+
+    /**
+     * Lists all queued entries
+     * @returns {Promise<Object[]>} The entries
+     */
+    async getAll() {
+        return this.run('readonly', store => store.getAll());
+    }
+}
+
+/**
+ * Message Outbox - Queues messages and delivers them with backoff
+ *
+ * Each message carries a client-generated idempotency key, so submitting the same draft
+ * twice replaces its queued entry instead of sending it twice. Failed sends that may succeed
+ * later (network errors, 408, 429 and 5xx) are retried with capped exponential backoff and
+ * jitter, never sooner than a Retry-After from the server; other failures are given up at
+ * once. While one send fails, the rest of the queue waits for the next attempt instead of
+ * hitting the server too. Entries older than a day are dropped.
+ */
+class MessageOutbox {
+    constructor(store, options = {}) {
+        this.store = store;
+        this.fetch = options.fetch || ((url, init) => fetch(url, init));
+        this.now = options.now || (() => Date.now());
+        this.random = options.random || Math.random;
+        this.setTimer = options.setTimer || ((callback, delay) => setTimeout(callback, delay));
+        this.clearTimer = options.clearTimer || (timer => clearTimeout(timer));
+        this.batchEndpoint = options.batchEndpoint !== undefined ? options.batchEndpoint : AppConfig.ENDPOINTS.MESSAGES_BATCH;
+        this.flushing = null;
+        this.timer = null;
+    }
+
+    /**
+     * Generates an idempotency key for a new draft
+     * @returns {string} A random UUID
+     */
+    static createKey() {
+        if (typeof crypto !== 'undefined' && typeof crypto.randomUUID === 'function') {
+            return crypto.randomUUID();
+        }
+        return 'xxxxxxxx-xxxx-4xxx-yxxx-xxxxxxxxxxxx'.replace(/[xy]/g, c => {
+            const r = Math.random() * 16 | 0;
+            return (c === 'x' ? r : (r & 0x3 | 0x8)).toString(16);
+        });
+    }
+
+    /**
+     * Parses a Retry-After header given in seconds or as an HTTP date
+     * @param {string|null} value - Header value
+     * @param {number} now - Current time in milliseconds
+     * @returns {number|null} Delay in milliseconds, or null if absent or invalid
+     */
+    static parseRetryAfter(value, now) {
+        if (!value) {
+            return null;
+        }
+        if (/^\d+$/.test(value.trim())) {
+            return parseInt(value, 10) * 1000;
+        }
+        const date = Date.parse(value);
+        return isNaN(date) ? null : Math.max(0, date - now);
+    }
+
+    /**
+     * Checks whether a failed response may succeed when retried
+     * @param {number} status - HTTP status code
+     * @returns {boolean} True for 408, 429 and 5xx
+     */
+    static isRetryable(status) {
+        return status === 408 || status === 429 || status >= 500;
+    }
+
+    /**
+     * Computes the delay before the next attempt of an entry
+     * @param {number} attempts - Attempts made so far, at least 1
+     * @param {number|null} retryAfter - Delay requested by the server in milliseconds
+     * @returns {number} Delay in milliseconds
+     */
+    backoffDelay(attempts, retryAfter = null) {
+        const ceiling = Math.min(AppConfig.OUTBOX.MAX_DELAY_MS,
+            AppConfig.OUTBOX.BASE_DELAY_MS * Math.pow(2, attempts - 1));
+        const delay = Math.floor(ceiling / 2 + this.random() * ceiling / 2);
+        return retryAfter !== null ? Math.max(retryAfter, delay) : delay;
+    }
+
+    /**
+     * Queues a message and tries to send it right away
+     * @param {Object} message - Message with content and author
+     * @param {string} key - Idempotency key of the draft
+     * @returns {Promise<Object>} Outcome with status 'sent' and the server data, 'rejected'
+     *          and the server message, or 'queued' if it will be retried later
+     */
+    async submit(message, key) {
+        const now = this.now();
+        await this.store.put({
+            key,
+            content: message.content,
+            author: message.author,
+            attempts: 0,
+            createdAt: now,
+            nextAttemptAt: now
+        });
+        const outcomes = await this.flush();
+        return outcomes.get(key) || { status: 'queued' };
+    }
+
+    /**
+     * Sends every entry that is due, one flush at a time, then schedules the next one
+     * @returns {Promise<Map<string, Object>>} Outcomes of the entries that were settled, by key
+     */
+    async flush() {
+        while (this.flushing) {
+            await this.flushing.catch(() => {});
+        }
+        this.flushing = this.deliverDue();
+        try {
+            return await this.flushing;
+        } finally {
+            this.flushing = null;
+            await this.scheduleNext();
+        }
+    }
+
+    /**
+     * Starts delivering entries left over from earlier visits, and retries when back online
+     */
+    start() {
+        if (typeof window !== 'undefined') {
+            window.addEventListener('online', () => this.flushQuietly());
+        }
+        this.flushQuietly();
+    }
+
+    /**
+     * Flushes in the background, logging instead of throwing
+     * @private
+     */
+    flushQuietly() {
+        this.flush().catch(error => console.warn('Outbox flush failed:', error));
+    }
+
+    /**
+     * Delivers the due entries, oldest first
+     * @returns {Promise<Map<string, Object>>} Outcomes by key
+     * @private
+     */
+    async deliverDue() {
+        const outcomes = new Map();
+        const now = this.now();
+        const due = [];
+        for (const entry of await this.store.getAll()) {
+            if (now - entry.createdAt > AppConfig.OUTBOX.MAX_AGE_MS) {
+                await this.store.delete(entry.key);
+                console.warn('Dropped message queued since', new Date(entry.createdAt));
+            } else if (entry.nextAttemptAt <= now) {
+                due.push(entry);
+            }
+        }
+        due.sort((a, b) => a.createdAt - b.createdAt);
+
+        if (this.batchEndpoint && due.length > 1) {
+            for (let i = 0; i < due.length; i += AppConfig.OUTBOX.BATCH_SIZE) {
+                if (!await this.sendBatch(due.slice(i, i + AppConfig.OUTBOX.BATCH_SIZE), outcomes)) {
+                    break;
+                }
+            }
+        } else {
+            for (const entry of due) {
+                if (!await this.sendOne(entry, outcomes)) {
+                    break;
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Sends one entry
+     * @param {Object} entry - Outbox entry
+     * @param {Map<string, Object>} outcomes - Collects the outcome if the entry settles
+     * @returns {Promise<boolean>} False if the send should be retried later
+     * @private
+     */
+    async sendOne(entry, outcomes) {
+        let response;
+        try {
+            response = await this.fetch(AppConfig.ENDPOINTS.MESSAGES, {
+                method: 'POST',
+                headers: {
+                    'Content-Type': 'application/json',
+                    'Idempotency-Key': entry.key
+                },
+                body: JSON.stringify({ content: entry.content, author: entry.author })
+            });
+        } catch (error) {
+            await this.postpone([entry], null);
+            return false;
+        }
+
+        if (!response.ok && MessageOutbox.isRetryable(response.status)) {
+            await this.postpone([entry], MessageOutbox.parseRetryAfter(response.headers.get('Retry-After'), this.now()));
+            return false;
+        }
+        const data = await response.json().catch(() => ({}));
+        await this.store.delete(entry.key);
+        outcomes.set(entry.key, response.ok
+            ? { status: 'sent', data }
+            : { status: 'rejected', message: data.message });
+        return true;
+    }
+
+    /**
+     * Sends entries as one batch; the server answers with the failures by index
+     * @param {Object[]} entries - Outbox entries
+     * @param {Map<string, Object>} outcomes - Collects the outcomes of settled entries
+     * @returns {Promise<boolean>} False if the batch should be retried later
+     * @private
+     */
+    async sendBatch(entries, outcomes) {
+        let response;
+        try {
+            response = await this.fetch(this.batchEndpoint, {
+                method: 'POST',
+                headers: {
+                    'Content-Type': 'application/json'
+                },
+                body: JSON.stringify({
+                    messages: entries.map(entry => ({
+                        idempotencyKey: entry.key,
+                        content: entry.content,
+                        author: entry.author
+                    }))
+                })
+            });
+        } catch (error) {
+            await this.postpone(entries, null);
+            return false;
+        }
+
+        if (!response.ok && MessageOutbox.isRetryable(response.status)) {
+            await this.postpone(entries, MessageOutbox.parseRetryAfter(response.headers.get('Retry-After'), this.now()));
+            return false;
+        }
+        const data = await response.json().catch(() => ({}));
+        const failures = new Map((data.failures || []).map(failure => [failure.index, failure.message]));
+        for (let i = 0; i < entries.length; i++) {
+            await this.store.delete(entries[i].key);
+            outcomes.set(entries[i].key, response.ok && !failures.has(i)
+                ? { status: 'sent', data: {} }
+                : { status: 'rejected', message: failures.get(i) || data.message });
+        }
+        return true;
+    }
+
+    /**
+     * Records a failed attempt and sets when the entries are due again
+     * @param {Object[]} entries - Outbox entries
+     * @param {number|null} retryAfter - Delay requested by the server in milliseconds
+     * @private
+     */
+    async postpone(entries, retryAfter) {
+        for (const entry of entries) {
+            const attempts = entry.attempts + 1;
+            await this.store.put({
+                ...entry,
+                attempts,
+                nextAttemptAt: this.now() + this.backoffDelay(attempts, retryAfter)
+            });
+        }
+    }
+
+    /**
+     * Arms a timer for the earliest entry still queued
+     * @private
+     */
+    async scheduleNext() {
+        if (this.timer !== null) {
+            this.clearTimer(this.timer);
+            this.timer = null;
+        }
+        const entries = await this.store.getAll();
+        if (entries.length === 0) {
+            return;
+        }
+        const next = Math.min(...entries.map(entry => entry.nextAttemptAt));
+        this.timer = this.setTimer(() => {
+            this.timer = null;
+            this.flushQuietly();
+        }, Math.max(0, next - this.now()));
+    }
+}
+
 /**
  * Form Manager - Handles form validation and submission
  */
 class FormManager {
-    constructor(elements, alertManager) {
+    constructor(elements, alertManager, outbox = null) {
         this.elements = elements;
         this.alertManager = alertManager;
+        this.outbox = outbox;
+        this.draftKey = null;
         this.isSubmitting = false;
     }
 
@@ -183,6 +570,7 @@ class FormManager {
     clearForm() {
         this.elements.contentInput.value = '';
         this.elements.authorInput.value = '';
+        this.draftKey = null;
     }
 
     /**
@@ -220,6 +608,11 @@ class FormManager {
 
         try {
             this.setButtonState(submitButton, true, originalText);
+
+            if (this.outbox) {
+                await this.submitThroughOutbox(formData);
+                return;
+            }
             
             const response = await this.submitMessage(formData);
             const data = await response.json();
@@ -235,6 +628,26 @@ class FormManager {
         }
     }
 
+    /**
+     * Queues the draft in the outbox under its idempotency key and reports the outcome.
+     * Submitting the same draft again reuses the key until the form is cleared.
+     * @param {Object} formData - Form data to submit
+     */
+    async submitThroughOutbox(formData) {
+        this.draftKey = this.draftKey || MessageOutbox.createKey();
+        const outcome = await this.outbox.submit(formData, this.draftKey);
+
+        if (outcome.status === 'sent') {
+            this.clearForm();
+            this.alertManager.show('Success!', outcome.data.message || 'Message sent successfully!', true);
+        } else if (outcome.status === 'queued') {
+            this.clearForm();
+            this.alertManager.show('Saved!', 'The connection is unstable, your message will be sent automatically.', true);
+        } else {
+            this.alertManager.show('Error', outcome.message || 'Something went wrong. Please try again.', false);
+        }
+    }
+
     /**
      * Submits message data to server
      * @param {Object} formData - Form data to submit
@@ -267,6 +680,7 @@ class PortfolioApp {
     constructor() {
         this.elements = new DOMElements();
         this.alertManager = null;
+        this.outbox = null;
         this.formManager = null;
     }
 
@@ -293,7 +707,8 @@ class PortfolioApp {
      */
     setupManagers() {
         this.alertManager = new AlertManager(this.elements);
-        this.formManager = new FormManager(this.elements, this.alertManager);
+        this.outbox = OutboxStore.isSupported() ? new MessageOutbox(new OutboxStore()) : null;
+        this.formManager = new FormManager(this.elements, this.alertManager, this.outbox);
     }
 
     /**
@@ -303,6 +718,9 @@ class PortfolioApp {
     setupEventListeners() {
         this.alertManager.setupEventListeners();
         this.formManager.setupEventListeners();
+        if (this.outbox) {
+            this.outbox.start();
+        }
     }
 }
 
@@ -311,6 +729,8 @@ if (typeof module !== 'undefined' && module.exports) {
     module.exports = {
         DOMElements,
         AlertManager,
+        OutboxStore,
+        MessageOutbox,
         FormManager,
         PortfolioApp,
         AppConfig
@@ -321,6 +741,8 @@ if (typeof module !== 'undefined' && module.exports) {
 if (typeof global !== 'undefined') {
     global.DOMElements = DOMElements;
     global.AlertManager = AlertManager;
+    global.OutboxStore = OutboxStore;
+    global.MessageOutbox = MessageOutbox;
     global.FormManager = FormManager;
     global.PortfolioApp = PortfolioApp;
     global.AppConfig = AppConfig;
@@ -0,0 +1,193 @@
+package com.allan.javazure;
+
+import ch.qos.logback.classic.Level;
+import com.allan.javazure.controller.MessageController;
+import com.allan.javazure.dto.CreateMessageRequest;
+import com.allan.javazure.dto.MessageResponse;
+import com.allan.javazure.service.FirebaseMessageService;
+import com.allan.javazure.service.MessageRequestValidator;
+import com.allan.javazure.service.MessageSanitizer;
+import com.allan.javazure.service.MessageService;
+import com.allan.javazure.service.SaveResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation budget tests for the message hot path.
+ * Measures the bytes each operation allocates on the calling thread with the JVM's thread
+ * allocation counters, after a warm-up long enough for the JIT to settle, and fails when an
+ * operation exceeds its budget in {@code allocation-budgets.properties}. Application logging
+ * is raised to WARN while measuring, so the numbers include arguments built for disabled
+ * log statements but not the output of enabled ones.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class AllocationBudgetTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    private static final String AUTHOR = "Allan";
+    private static final String CONTENT =
+            "Hi Allan, I enjoyed the talk on Azure Container Apps. Could you share the slides?";
+    private static final SaveResult SAVED = new SaveResult("4f6d7c1e-2b8a-4e0f-9a57-0c3d5b6e7f81",
+            Instant.parse("2026-10-18T12:00:00.123456Z"));
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final Properties BUDGETS = loadBudgets();
+    private static final Map<String, Long> MEASURED = new TreeMap<>();
+
+    private static ch.qos.logback.classic.Logger applicationLogger;
+    private static Level originalLevel;
+    private static volatile int sink;
+
+    @BeforeAll
+    static void setUp() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation counters are not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        applicationLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.allan.javazure");
+        originalLevel = applicationLogger.getLevel();
+        applicationLogger.setLevel(Level.WARN);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (applicationLogger != null) {
+            applicationLogger.setLevel(originalLevel);
+        }
+        System.out.printf("%nAllocation per operation (budget in allocation-budgets.properties)%n");
+        MEASURED.forEach((operation, bytes) ->
+                System.out.printf("  %-32s %8d bytes  (budget %d)%n", operation, bytes, budget(operation)));
+    }
+
+    @Test
+    void sanitize_WithCleanText_ShouldStayWithinAllocationBudget() {
+        assertWithinBudget("sanitize.clean", () ->
+                sink += MessageSanitizer.sanitize(AUTHOR).length() + MessageSanitizer.sanitize(CONTENT).length());
+    }
+
+    @Test
+    void validate_ShouldStayWithinAllocationBudget() {
+        assertWithinBudget("validate", () -> {
+            MessageRequestValidator.validate(CONTENT, AUTHOR);
+            sink++;
+        });
+    }
+
+    @Test
+    void createMessage_ShouldStayWithinAllocationBudget() {
+        // Arrange
+        CompletableFuture<SaveResult> saved = CompletableFuture.completedFuture(SAVED);
+        MessageService service = new MessageService() {
+            @Override
+            public void saveMessage(String author, String content) {
+            }
+
+            @Override
+            public CompletableFuture<SaveResult> saveMessageAsync(String author, String content) {
+                return saved;
+            }
+        };
+        MessageController controller = new MessageController(service);
+        CreateMessageRequest request = new CreateMessageRequest(CONTENT, AUTHOR);
+
+        // Act & Assert
+        assertWithinBudget("controller.create-message", () ->
+                sink += controller.createMessage(request).join().getStatusCode().value());
+    }
+
+    @Test
+    void saveMessage_InMockMode_ShouldStayWithinAllocationBudget() {
+        // Arrange
+        FirebaseMessageService service = new FirebaseMessageService(null);
+
+        // Act & Assert
+        assertWithinBudget("service.save-message.mock", () -> {
+            service.saveMessage(AUTHOR, CONTENT);
+            sink++;
+        });
+    }
+
+    @Test
+    void saveMessageAsync_InMockMode_ShouldStayWithinAllocationBudget() {
+        // Arrange
+        FirebaseMessageService service = new FirebaseMessageService(null);
+
+        // Act & Assert
+        assertWithinBudget("service.save-message-async.mock", () ->
+                sink += service.saveMessageAsync(AUTHOR, CONTENT).join().messageId().length());
+    }
+
+    @Test
+    void responseSerialization_ShouldStayWithinAllocationBudget() {
+        // Arrange
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        MessageResponse response = MessageResponse.success("Message sent successfully!", SAVED.messageId(),
+                SAVED.createdAt());
+
+        // Act & Assert
+        assertWithinBudget("response.serialize", () -> {
+            try {
+                sink += objectMapper.writeValueAsBytes(response).length;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Runs an operation until warmed up, measures its allocation per call and checks it against the budget.
+     */
+    private static void assertWithinBudget(String operation, Runnable body) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            body.run();
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            body.run();
+        }
+        long bytesPerOperation = (THREADS.getCurrentThreadAllocatedBytes() - before) / MEASURED_ITERATIONS;
+        MEASURED.put(operation, bytesPerOperation);
+
+        long budget = budget(operation);
+        assertTrue(bytesPerOperation <= budget, () -> String.format(
+                "%s allocated %d bytes per operation, over its budget of %d", operation, bytesPerOperation, budget));
+    }
+
+    private static long budget(String operation) {
+        String value = System.getProperty("allocation.budget." + operation, BUDGETS.getProperty(operation));
+        assertNotNull(value, "No allocation budget configured for " + operation);
+        return Long.parseLong(value.trim());
+    }
+
+    private static Properties loadBudgets() {
+        Properties budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            if (in != null) {
+                budgets.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,41 @@
+package com.allan.javazure.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExportWatermarkStore.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+class ExportWatermarkStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_WhenNothingStored_ShouldReturnEmpty() throws Exception {
+        ExportWatermarkStore store = new ExportWatermarkStore(tempDir.resolve("export.watermark"));
+
+        assertEquals(Optional.empty(), store.read());
+    }
+
+    @Test
+    void write_ShouldReplacePreviousWatermark() throws Exception {
+        ExportWatermarkStore store = new ExportWatermarkStore(tempDir.resolve("nested/export.watermark"));
+        Instant first = Instant.parse("2025-01-01T00:00:00Z");
+        Instant second = Instant.parse("2025-01-02T00:00:00.000000001Z");
+
+        store.write(first);
+        store.write(second);
+
+        assertEquals(Optional.of(second), store.read());
+    }
+}
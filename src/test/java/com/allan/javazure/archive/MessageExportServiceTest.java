@@ -0,0 +1,150 @@
+package com.allan.javazure.archive;
+
+import com.allan.javazure.archive.MessageExportService.ExportPartition;
+import com.allan.javazure.service.FlatMessageLayout;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageExportService.
+ * Tests partition planning, paging, and watermark handling.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageExportServiceTest {
+
+    private static final Duration SAFETY_LAG = Duration.ofSeconds(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private Firestore mockFirestore;
+
+    @Mock
+    private CollectionReference mockCollection;
+
+    @Mock
+    private Query mockQuery;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void planPartitions_ShouldCoverRangeWithoutGaps() {
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-01-01T00:00:10Z");
+
+        List<ExportPartition> plan = MessageExportService.planPartitions(from, to, 3);
+
+        assertEquals(3, plan.size());
+        assertEquals(from, plan.get(0).from());
+        assertEquals(plan.get(0).to(), plan.get(1).from());
+        assertEquals(plan.get(1).to(), plan.get(2).from());
+        assertEquals(to, plan.get(2).to());
+    }
+
+    @Test
+    void planPartitions_WithTinyRange_ShouldNotProduceEmptyPartitions() {
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+
+        List<ExportPartition> plan = MessageExportService.planPartitions(from, from.plusNanos(2), 8);
+
+        assertEquals(2, plan.size());
+    }
+
+    @Test
+    void export_WithoutFirestore_ShouldThrowIllegalStateException() {
+        MessageExportService service = newService(null);
+
+        assertThrows(IllegalStateException.class, service::export);
+    }
+
+    @Test
+    void export_ShouldPageThroughPartitionAndAdvanceWatermark() throws Exception {
+        Instant watermark = Instant.parse("2025-01-01T00:00:00Z");
+        new ExportWatermarkStore(tempDir.resolve("export.watermark")).write(watermark);
+
+        QueryDocumentSnapshot first = document("a", watermark.plusSeconds(1));
+        QueryDocumentSnapshot second = document("b", watermark.plusSeconds(2));
+        QueryDocumentSnapshot third = document("c", watermark.plusSeconds(3));
+
+        QuerySnapshot firstPage = snapshot(first, second);
+        QuerySnapshot lastPage = snapshot(third);
+        when(mockFirestore.collection("messages")).thenReturn(mockCollection);
+        when(mockCollection.whereGreaterThanOrEqualTo(anyString(), any())).thenReturn(mockQuery);
+        when(mockQuery.whereLessThan(anyString(), any())).thenReturn(mockQuery);
+        when(mockQuery.orderBy(anyString(), any(Query.Direction.class))).thenReturn(mockQuery);
+        when(mockQuery.limit(anyInt())).thenReturn(mockQuery);
+        when(mockQuery.get()).thenReturn(ApiFutures.immediateFuture(firstPage));
+        Query secondPage = mock(Query.class);
+        when(mockQuery.startAfter(second)).thenReturn(secondPage);
+        when(secondPage.get()).thenReturn(ApiFutures.immediateFuture(lastPage));
+
+        Instant startedAt = Instant.now();
+        ExportSummary summary = newService(mockFirestore).export();
+
+        assertEquals(3, summary.documents());
+        assertEquals(watermark, summary.from());
+        assertFalse(summary.to().isAfter(Instant.now().minus(SAFETY_LAG)));
+        assertFalse(summary.to().isBefore(startedAt.minus(SAFETY_LAG)));
+        assertEquals(1, summary.segments().size());
+        assertEquals(summary.to(), new ExportWatermarkStore(tempDir.resolve("export.watermark")).read().orElseThrow());
+    }
+
+    @Test
+    void export_WhenWatermarkIsWithinSafetyLag_ShouldNotReadOrMoveWatermarkBack() throws Exception {
+        Instant watermark = Instant.now();
+        new ExportWatermarkStore(tempDir.resolve("export.watermark")).write(watermark);
+
+        ExportSummary summary = newService(mockFirestore).export();
+
+        assertEquals(0, summary.documents());
+        assertEquals(watermark, new ExportWatermarkStore(tempDir.resolve("export.watermark")).read().orElseThrow());
+        verifyNoInteractions(mockFirestore);
+    }
+
+    private MessageExportService newService(Firestore firestore) {
+        return new MessageExportService(firestore, new FlatMessageLayout(), objectMapper, tempDir.toString(), 1, 2, 100, 1,
+                SAFETY_LAG);
+    }
+
+    private QuerySnapshot snapshot(QueryDocumentSnapshot... documents) {
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(List.of(documents));
+        return snapshot;
+    }
+
+    private QueryDocumentSnapshot document(String id, Instant createdAt) {
+        QueryDocumentSnapshot document = mock(QueryDocumentSnapshot.class);
+        when(document.getString("messageId")).thenReturn(id);
+        when(document.getString("author")).thenReturn("Allan");
+        when(document.getString("content")).thenReturn("content " + id);
+        when(document.getTimestamp("createdAt"))
+                .thenReturn(Timestamp.ofTimeSecondsAndNanos(createdAt.getEpochSecond(), createdAt.getNano()));
+        return document;
+    }
+}
@@ -0,0 +1,144 @@
+package com.allan.javazure.archive;
+
+import com.allan.javazure.service.FlatMessageLayout;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.BulkWriterOptions;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageImportService.
+ * Tests archive parsing, identifier preservation, failure accounting and settling of
+ * queued writes when an import fails.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private Firestore mockFirestore;
+
+    @Mock
+    private CollectionReference mockCollection;
+
+    @Mock
+    private DocumentReference mockDocument;
+
+    @Mock
+    private BulkWriter mockBulkWriter;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void importArchives_WithoutFirestore_ShouldThrowIllegalStateException() {
+        MessageImportService service = newService(null);
+
+        assertThrows(IllegalStateException.class, () -> service.importArchives(tempDir));
+    }
+
+    @Test
+    void importArchives_WithMissingSource_ShouldThrowIllegalArgumentException() {
+        MessageImportService service = newService(mockFirestore);
+
+        assertThrows(IllegalArgumentException.class, () -> service.importArchives(tempDir.resolve("missing")));
+    }
+
+    @Test
+    void importArchives_ShouldPreserveMessageIdAndCreatedAt() throws Exception {
+        Instant createdAt = Instant.parse("2025-03-04T05:06:07.123456789Z");
+        try (NdjsonSegmentWriter writer = new NdjsonSegmentWriter(tempDir, "archive", 100, objectMapper)) {
+            writer.write(new MessageArchiveRecord("original-id", "Allan", "Hello", createdAt));
+        }
+        stubBulkWriter();
+        when(mockBulkWriter.set(eq(mockDocument), anyMap()))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)));
+
+        ImportSummary summary = newService(mockFirestore).importArchives(tempDir);
+
+        assertEquals(1, summary.read());
+        assertEquals(1, summary.written());
+        verify(mockCollection).document("original-id");
+        verify(mockBulkWriter).set(eq(mockDocument), argThat((Map<String, Object> document) ->
+                "original-id".equals(document.get("messageId")) &&
+                Timestamp.ofTimeSecondsAndNanos(createdAt.getEpochSecond(), createdAt.getNano())
+                        .equals(document.get("createdAt"))));
+        verify(mockBulkWriter).close();
+    }
+
+    @Test
+    void importArchives_ShouldSkipMalformedLinesAndCountFailures() throws Exception {
+        Path archive = tempDir.resolve("plain.ndjson");
+        Files.writeString(archive, String.join("\n",
+                "{\"messageId\":\"a\",\"author\":\"Allan\",\"content\":\"one\",\"createdAt\":\"2025-01-01T00:00:00Z\"}",
+                "not json",
+                "{\"messageId\":null,\"content\":\"no id\",\"createdAt\":\"2025-01-01T00:00:00Z\"}",
+                "",
+                "{\"messageId\":\"b\",\"author\":\"Allan\",\"content\":\"two\",\"createdAt\":\"2025-01-01T00:00:01Z\"}"));
+        stubBulkWriter();
+        when(mockBulkWriter.set(eq(mockDocument), anyMap()))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)))
+                .thenReturn(ApiFutures.immediateFailedFuture(new RuntimeException("permission denied")));
+
+        ImportSummary summary = newService(mockFirestore).importArchives(archive);
+
+        assertEquals(2, summary.read());
+        assertEquals(1, summary.written());
+        assertEquals(1, summary.failed());
+        assertEquals(2, summary.skipped());
+    }
+
+    @Test
+    void importArchives_WhenArchiveCannotBeRead_ShouldSettleQueuedWritesBeforeFailing() throws Exception {
+        Files.writeString(tempDir.resolve("a.ndjson"),
+                "{\"messageId\":\"a\",\"author\":\"Allan\",\"content\":\"one\",\"createdAt\":\"2025-01-01T00:00:00Z\"}");
+        Files.writeString(tempDir.resolve("b" + NdjsonSegmentWriter.SEGMENT_EXTENSION), "not gzip");
+        stubBulkWriter();
+        when(mockBulkWriter.set(eq(mockDocument), anyMap()))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)));
+        MessageImportService service = newService(mockFirestore);
+
+        assertThrows(UncheckedIOException.class, () -> service.importArchives(tempDir));
+
+        verify(mockBulkWriter, times(1)).set(eq(mockDocument), anyMap());
+        verify(mockBulkWriter).close();
+        assertEquals(1, service.getProgress().written());
+        assertFalse(service.isRunning());
+    }
+
+    private void stubBulkWriter() {
+        when(mockFirestore.collection("messages")).thenReturn(mockCollection);
+        when(mockCollection.document(any(String.class))).thenReturn(mockDocument);
+        when(mockFirestore.bulkWriter(any(BulkWriterOptions.class))).thenReturn(mockBulkWriter);
+    }
+
+    private MessageImportService newService(Firestore firestore) {
+        return new MessageImportService(firestore, new FlatMessageLayout(), objectMapper, 500, 1000, 10, 10, 1);
+    }
+}
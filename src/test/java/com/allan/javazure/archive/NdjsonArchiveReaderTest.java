@@ -0,0 +1,65 @@
+package com.allan.javazure.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NdjsonArchiveReader.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+class NdjsonArchiveReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void next_ShouldReadBackRecordsWrittenBySegmentWriter() throws Exception {
+        MessageArchiveRecord record = new MessageArchiveRecord("id", "Allan", "Hello", Instant.parse("2025-01-01T00:00:00Z"));
+        Path segment;
+        try (NdjsonSegmentWriter writer = new NdjsonSegmentWriter(tempDir, "archive", 10, objectMapper)) {
+            writer.write(record);
+            segment = writer.getSegments().get(0);
+        }
+
+        try (NdjsonArchiveReader reader = new NdjsonArchiveReader(segment, objectMapper)) {
+            assertEquals(record, reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void next_WithMalformedLine_ShouldReportLineNumberAndContinue() throws Exception {
+        Path file = tempDir.resolve("bad.ndjson");
+        Files.writeString(file, "{broken\n{\"messageId\":\"ok\"}\n");
+
+        try (NdjsonArchiveReader reader = new NdjsonArchiveReader(file, objectMapper)) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, reader::next);
+            assertTrue(error.getMessage().contains("line 1"));
+            assertEquals("ok", reader.next().messageId());
+        }
+    }
+
+    @Test
+    void listArchives_ShouldFindArchiveFilesRecursivelyInOrder() throws Exception {
+        Files.createDirectories(tempDir.resolve("run"));
+        Files.writeString(tempDir.resolve("run/b.ndjson.gz"), "");
+        Files.writeString(tempDir.resolve("a.ndjson"), "");
+        Files.writeString(tempDir.resolve("export.watermark"), "");
+
+        List<Path> archives = NdjsonArchiveReader.listArchives(tempDir);
+
+        assertEquals(List.of(tempDir.resolve("a.ndjson"), tempDir.resolve("run/b.ndjson.gz")), archives);
+    }
+}
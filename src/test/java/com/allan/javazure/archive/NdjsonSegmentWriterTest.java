@@ -0,0 +1,74 @@
+package com.allan.javazure.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NdjsonSegmentWriter.
+ * Tests segment rollover and the compressed NDJSON output format.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+class NdjsonSegmentWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void write_ShouldRollOverToNewSegmentWhenFull() throws Exception {
+        try (NdjsonSegmentWriter writer = new NdjsonSegmentWriter(tempDir, "test", 2, objectMapper)) {
+            for (int i = 0; i < 5; i++) {
+                writer.write(record(i));
+            }
+
+            assertEquals(5, writer.getRecordCount());
+            assertEquals(3, writer.getSegments().size());
+        }
+    }
+
+    @Test
+    void write_ShouldProduceGzipCompressedJsonLines() throws Exception {
+        Path segment;
+        try (NdjsonSegmentWriter writer = new NdjsonSegmentWriter(tempDir, "test", 10, objectMapper)) {
+            writer.write(record(1));
+            writer.write(record(2));
+            segment = writer.getSegments().get(0);
+        }
+
+        assertTrue(segment.getFileName().toString().endsWith(NdjsonSegmentWriter.SEGMENT_EXTENSION));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment)), StandardCharsets.UTF_8))) {
+            List<String> lines = reader.lines().toList();
+            assertEquals(2, lines.size());
+            MessageArchiveRecord first = objectMapper.readValue(lines.get(0), MessageArchiveRecord.class);
+            assertEquals(record(1), first);
+            assertTrue(lines.get(0).contains("\"createdAt\":\"2025-01-01T00:00:01.000000123Z\""));
+        }
+    }
+
+    @Test
+    void constructor_WithNonPositiveSegmentSize_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new NdjsonSegmentWriter(tempDir, "test", 0, objectMapper));
+    }
+
+    private MessageArchiveRecord record(int i) {
+        return new MessageArchiveRecord("id-" + i, "Allan", "content " + i,
+                Instant.parse("2025-01-01T00:00:00Z").plusSeconds(i).plusNanos(123));
+    }
+}
@@ -0,0 +1,47 @@
+package com.allan.javazure.config;
+
+import com.allan.javazure.service.MessageCounterService;
+import com.allan.javazure.service.MessageService;
+import com.google.cloud.firestore.Firestore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for FakeFirestoreConfig.
+ * Tests that the fake-firestore profile wires the in-memory backend into the application.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+@SpringBootTest
+@ActiveProfiles("fake-firestore")
+@TestPropertySource(properties = {
+    "fake-firestore.read-latency=none",
+    "fake-firestore.write-latency=fixed:PT0.001S",
+    "messages.counters.refresh-interval=PT0S"
+})
+class FakeFirestoreConfigTest {
+
+    @Autowired
+    private Firestore firestore;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MessageCounterService counterService;
+
+    @Test
+    void fakeFirestoreProfile_ShouldPersistMessagesInMemory() throws Exception {
+        messageService.saveMessage("Allan", "Hello, fake world!");
+
+        assertEquals("fake-project", firestore.getOptions().getProjectId());
+        assertEquals(1, firestore.collection("messages").get().get().size());
+        assertEquals(1, counterService.getTotalCount());
+    }
+}
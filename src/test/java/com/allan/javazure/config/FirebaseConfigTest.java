@@ -1,12 +1,16 @@
 package com.allan.javazure.config;
 
+import com.allan.javazure.firestore.FirestoreClientFactory;
 import com.google.cloud.firestore.Firestore;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 /**
  * Unit tests for FirebaseConfig.
@@ -28,7 +32,31 @@ class FirebaseConfigTest {
     void getDatabase_WhenFirebaseNotInitialized_ShouldReturnNull() {
         FirebaseConfig config = new FirebaseConfig();
         
-        Firestore result = config.getDatabase();
+        Firestore result = config.getDatabase(new FirestoreClientFactory("test-project", null),
+                2, Duration.ofMinutes(1), Duration.ofSeconds(20), 4194304, 4);
+        
+        assertNull(result);
+    }
+
+    @Test
+    void backgroundFirestore_WithBulkheadsDisabled_ShouldShareInteractiveClient() {
+        FirebaseConfig config = new FirebaseConfig();
+        ReflectionTestUtils.setField(config, "bulkheadsEnabled", false);
+        Firestore interactive = mock(Firestore.class);
+        
+        Firestore result = config.backgroundFirestore(new FirestoreClientFactory("test-project", null), interactive,
+                1, Duration.ZERO, Duration.ofSeconds(20), 16777216, 2);
+        
+        assertSame(interactive, result);
+    }
+
+    @Test
+    void backgroundFirestore_WhenInteractiveClientIsUnavailable_ShouldReturnNull() {
+        FirebaseConfig config = new FirebaseConfig();
+        ReflectionTestUtils.setField(config, "bulkheadsEnabled", true);
+        
+        Firestore result = config.backgroundFirestore(new FirestoreClientFactory("test-project", null), null,
+                1, Duration.ZERO, Duration.ofSeconds(20), 16777216, 2);
         
         assertNull(result);
     }
@@ -0,0 +1,61 @@
+package com.allan.javazure.config;
+
+import com.allan.javazure.dto.CreateMessageRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for LeanProfileConfig.
+ * Tests that the lean profile serves messages without Spring Security and creates beans lazily.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"lean", "fake-firestore"})
+@TestPropertySource(properties = {
+    "fake-firestore.read-latency=none",
+    "fake-firestore.write-latency=none"
+})
+class LeanProfileConfigTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void leanProfile_ShouldSaveMessagesWithDefaultSecurityHeaders() {
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/messages",
+                new CreateMessageRequest("Hello, lean world!", "Allan"), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("\"success\":true"));
+        assertEquals("nosniff", response.getHeaders().getFirst("X-Content-Type-Options"));
+        assertEquals("DENY", response.getHeaders().getFirst("X-Frame-Options"));
+    }
+
+    @Test
+    void leanProfile_ShouldNotConfigureSpringSecurity() {
+        assertTrue(context.getBeansOfType(SecurityFilterChain.class).isEmpty());
+    }
+
+    @Test
+    void leanProfile_ShouldCreateScheduledBeansEagerlyAndOthersLazily() {
+        assertTrue(context.getBeanFactory().containsSingleton("duplicateMessageDetector"));
+        assertFalse(context.getBeanFactory().containsSingleton("messageStatsController"));
+    }
+}
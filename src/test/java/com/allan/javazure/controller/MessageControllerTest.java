@@ -2,7 +2,9 @@ package com.allan.javazure.controller;
 
 import com.allan.javazure.dto.CreateMessageRequest;
 import com.allan.javazure.dto.MessageResponse;
+import com.allan.javazure.limit.LimitExceededException;
 import com.allan.javazure.service.MessageService;
+import com.allan.javazure.service.SaveResult;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +13,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -37,6 +45,9 @@ class MessageControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final SaveResult SAVED =
+            new SaveResult("2f1c6a9e-0000-4000-8000-000000000001", Instant.parse("2025-01-01T12:00:00.123456Z"));
+
     private CreateMessageRequest validRequest;
     private CreateMessageRequest invalidRequest;
 
@@ -46,6 +57,18 @@ class MessageControllerTest {
         invalidRequest = new CreateMessageRequest("", "Allan");
     }
 
+    /**
+     * Posts a request that reaches the service and dispatches the asynchronous result.
+     */
+    private ResultActions performAsync(String body) throws Exception {
+        MvcResult result = mockMvc.perform(post("/messages")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     @Test
     void displayHomePage_ShouldReturnIndexView() throws Exception {
         mockMvc.perform(get("/"))
@@ -55,16 +78,35 @@ class MessageControllerTest {
 
     @Test
     void createMessage_WithValidRequest_ShouldReturnSuccess() throws Exception {
-        doNothing().when(messageService).saveMessage(eq("Allan"), eq("Hello, this is a test message!"));
+        when(messageService.saveMessageAsync("Allan", "Hello, this is a test message!"))
+                .thenReturn(CompletableFuture.completedFuture(SAVED));
 
-        mockMvc.perform(post("/messages")
+        performAsync(objectMapper.writeValueAsString(validRequest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Message sent successfully!"))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.messageId").value(SAVED.messageId()))
+                .andExpect(jsonPath("$.createdAt").value("2025-01-01T12:00:00.123456Z"));
+
+        verify(messageService, times(1)).saveMessageAsync("Allan", "Hello, this is a test message!");
+    }
+
+    @Test
+    void createMessage_WithIdempotencyKey_ShouldPassKeyToService() throws Exception {
+        when(messageService.saveMessageAsync("Allan", "Hello, this is a test message!", "key-1"))
+                .thenReturn(CompletableFuture.completedFuture(SAVED));
+
+        MvcResult result = mockMvc.perform(post("/messages")
                 .contentType(MediaType.APPLICATION_JSON)
+                .header(MessageController.IDEMPOTENCY_KEY_HEADER, "key-1")
                 .content(objectMapper.writeValueAsString(validRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.message").value("Message sent successfully!"))
-                .andExpect(jsonPath("$.success").value(true));
+                .andExpect(jsonPath("$.messageId").value(SAVED.messageId()));
 
-        verify(messageService, times(1)).saveMessage("Allan", "Hello, this is a test message!");
+        verify(messageService, never()).saveMessageAsync(any(), any());
     }
 
     @Test
@@ -74,7 +116,7 @@ class MessageControllerTest {
                 .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(messageService, never()).saveMessage(any(), any());
+        verify(messageService, never()).saveMessageAsync(any(), any());
     }
 
     @Test
@@ -86,7 +128,7 @@ class MessageControllerTest {
                 .content(objectMapper.writeValueAsString(nullContentRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(messageService, never()).saveMessage(any(), any());
+        verify(messageService, never()).saveMessageAsync(any(), any());
     }
 
     @Test
@@ -99,7 +141,7 @@ class MessageControllerTest {
                 .content(objectMapper.writeValueAsString(longContentRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(messageService, never()).saveMessage(any(), any());
+        verify(messageService, never()).saveMessageAsync(any(), any());
     }
 
     @Test
@@ -112,52 +154,60 @@ class MessageControllerTest {
                 .content(objectMapper.writeValueAsString(longAuthorRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(messageService, never()).saveMessage(any(), any());
+        verify(messageService, never()).saveMessageAsync(any(), any());
     }
 
     @Test
     void createMessage_WithNullAuthor_ShouldReturnSuccess() throws Exception {
         CreateMessageRequest nullAuthorRequest = new CreateMessageRequest("Hello, world!", null);
-        doNothing().when(messageService).saveMessage(eq(null), eq("Hello, world!"));
+        when(messageService.saveMessageAsync(null, "Hello, world!"))
+                .thenReturn(CompletableFuture.completedFuture(SAVED));
 
-        mockMvc.perform(post("/messages")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(nullAuthorRequest)))
+        performAsync(objectMapper.writeValueAsString(nullAuthorRequest))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Message sent successfully!"))
                 .andExpect(jsonPath("$.success").value(true));
 
-        verify(messageService, times(1)).saveMessage(null, "Hello, world!");
+        verify(messageService, times(1)).saveMessageAsync(null, "Hello, world!");
     }
 
     @Test
     void createMessage_WhenServiceThrowsRuntimeException_ShouldReturnInternalServerError() throws Exception {
-        doThrow(new RuntimeException("Database error")).when(messageService)
-                .saveMessage(eq("Allan"), eq("Hello, this is a test message!"));
+        when(messageService.saveMessageAsync("Allan", "Hello, this is a test message!"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Database error")));
 
-        mockMvc.perform(post("/messages")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(validRequest)))
+        performAsync(objectMapper.writeValueAsString(validRequest))
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.success").value(false))
-                .andExpect(jsonPath("$.message").value("Unable to process your message. Please try again later."));
+                .andExpect(jsonPath("$.message").value("Unable to process your message. Please try again later."))
+                .andExpect(jsonPath("$.messageId").doesNotExist());
 
-        verify(messageService, times(1)).saveMessage("Allan", "Hello, this is a test message!");
+        verify(messageService, times(1)).saveMessageAsync("Allan", "Hello, this is a test message!");
+    }
+
+    @Test
+    void createMessage_WhenConcurrencyLimitReached_ShouldReturnServiceUnavailableWithRetryAfter() throws Exception {
+        when(messageService.saveMessageAsync("Allan", "Hello, this is a test message!"))
+                .thenReturn(CompletableFuture.failedFuture(new LimitExceededException(20, Duration.ofMillis(1500))));
+
+        performAsync(objectMapper.writeValueAsString(validRequest))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("The service is busy. Please try again shortly."));
     }
 
     @Test
     void createMessage_WhenServiceThrowsIllegalArgumentException_ShouldReturnBadRequest() throws Exception {
-        doThrow(new IllegalArgumentException("Invalid content")).when(messageService)
-                .saveMessage(eq("Allan"), eq("Hello, this is a test message!"));
+        when(messageService.saveMessageAsync("Allan", "Hello, this is a test message!"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Invalid content")));
 
-        mockMvc.perform(post("/messages")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(validRequest)))
+        performAsync(objectMapper.writeValueAsString(validRequest))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("Invalid message data: Invalid content"));
 
-        verify(messageService, times(1)).saveMessage("Allan", "Hello, this is a test message!");
+        verify(messageService, times(1)).saveMessageAsync("Allan", "Hello, this is a test message!");
     }
 
     @Test
@@ -169,21 +219,45 @@ class MessageControllerTest {
                 .content(objectMapper.writeValueAsString(whitespaceRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(messageService, never()).saveMessage(any(), any());
+        verify(messageService, never()).saveMessageAsync(any(), any());
+    }
+
+    @Test
+    void createMessage_WhenServiceRejectsSanitizedContent_ShouldReturnBadRequest() throws Exception {
+        CreateMessageRequest invisibleRequest = new CreateMessageRequest("\u200B\uFEFF\u0007", "Allan");
+        when(messageService.saveMessageAsync("Allan", "\u200B\uFEFF\u0007"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Message content cannot be empty")));
+
+        performAsync(objectMapper.writeValueAsString(invisibleRequest))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Invalid message data: Message content cannot be empty"));
+    }
+
+    @Test
+    void createMessage_WithUnsanitizedText_ShouldLeaveSanitizingToService() throws Exception {
+        CreateMessageRequest messyRequest = new CreateMessageRequest("  Caf\u0065\u0301\u200B  is\t\topen\r\n", " Allan\u202E ");
+        when(messageService.saveMessageAsync(" Allan\u202E ", "  Caf\u0065\u0301\u200B  is\t\topen\r\n"))
+                .thenReturn(CompletableFuture.completedFuture(SAVED));
+
+        performAsync(objectMapper.writeValueAsString(messyRequest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(messageService, times(1)).saveMessageAsync(" Allan\u202E ", "  Caf\u0065\u0301\u200B  is\t\topen\r\n");
     }
 
     @Test
     void createMessage_WithValidContentAndEmptyAuthor_ShouldReturnSuccess() throws Exception {
         CreateMessageRequest emptyAuthorRequest = new CreateMessageRequest("Hello, world!", "");
-        doNothing().when(messageService).saveMessage(eq(""), eq("Hello, world!"));
+        when(messageService.saveMessageAsync("", "Hello, world!"))
+                .thenReturn(CompletableFuture.completedFuture(SAVED));
 
-        mockMvc.perform(post("/messages")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(emptyAuthorRequest)))
+        performAsync(objectMapper.writeValueAsString(emptyAuthorRequest))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Message sent successfully!"))
                 .andExpect(jsonPath("$.success").value(true));
 
-        verify(messageService, times(1)).saveMessage("", "Hello, world!");
+        verify(messageService, times(1)).saveMessageAsync("", "Hello, world!");
     }
 }
\ No newline at end of file
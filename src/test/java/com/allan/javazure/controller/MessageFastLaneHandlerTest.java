@@ -0,0 +1,133 @@
+package com.allan.javazure.controller;
+
+import com.allan.javazure.dto.CreateMessageRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.header.HeaderWriterFilter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for MessageFastLaneHandler.
+ * Tests that the fast lane accepts, rejects and answers requests exactly as POST /messages does.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("fake-firestore")
+@TestPropertySource(properties = {
+    "fake-firestore.read-latency=none",
+    "fake-firestore.write-latency=none",
+    "messages.fast-lane.enabled=true",
+    "messages.fast-lane.path=/messages/fast"
+})
+class MessageFastLaneHandlerTest {
+
+    private static final String FAST_LANE = "/messages/fast";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    @Qualifier("fastLaneFilterChain")
+    private SecurityFilterChain fastLaneFilterChain;
+
+    @Autowired
+    @Qualifier("filterChain")
+    private SecurityFilterChain filterChain;
+
+    @Test
+    void createMessage_WithValidRequest_ShouldAnswerLikeTheController() {
+        // Act
+        ResponseEntity<String> fast = post(FAST_LANE, new CreateMessageRequest("Hello from the fast lane", "Allan"));
+        ResponseEntity<String> regular = post("/messages", new CreateMessageRequest("Hello from the regular lane", "Allan"));
+
+        // Assert
+        assertEquals(HttpStatus.OK, fast.getStatusCode());
+        assertTrue(fast.getBody().contains("\"success\":true"));
+        assertTrue(fast.getBody().contains("\"messageId\""));
+        assertEquals(regular.getHeaders().getContentType(), fast.getHeaders().getContentType());
+        assertEquals("nosniff", fast.getHeaders().getFirst("X-Content-Type-Options"));
+        assertEquals(regular.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL),
+                fast.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void createMessage_WithInvalidRequests_ShouldRejectThemLikeTheController() {
+        // Arrange
+        List<String> bodies = List.of(
+                "{\"author\":\"Allan\",\"content\":\"\"}",
+                "{\"author\":\"Allan\"}",
+                "{\"author\":\"Allan\",\"content\":\"   \"}",
+                "{\"author\":\"Allan\",\"content\":\"\u200B\"}",
+                "{\"author\":\"Allan\",\"content\":\"" + "a".repeat(1001) + "\"}",
+                "{\"author\":\"" + "a".repeat(101) + "\",\"content\":\"Hello\"}",
+                "{\"content\":",
+                "null",
+                "");
+
+        for (String body : bodies) {
+            // Act
+            ResponseEntity<String> fast = postJson(FAST_LANE, body);
+            ResponseEntity<String> regular = postJson("/messages", body);
+
+            // Assert
+            assertEquals(regular.getStatusCode(), fast.getStatusCode(), body);
+            assertEquals(HttpStatus.BAD_REQUEST, fast.getStatusCode(), body);
+        }
+    }
+
+    @Test
+    void createMessage_WithUnsupportedContentType_ShouldRejectItLikeTheController() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        HttpEntity<String> request = new HttpEntity<>("Hello", headers);
+
+        // Act
+        ResponseEntity<String> fast = restTemplate.postForEntity(FAST_LANE, request, String.class);
+        ResponseEntity<String> regular = restTemplate.postForEntity("/messages", request, String.class);
+
+        // Assert
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, fast.getStatusCode());
+        assertEquals(regular.getStatusCode(), fast.getStatusCode());
+    }
+
+    @Test
+    void fastLaneFilterChain_ShouldKeepHeadersAndDropTheOtherSecurityFilters() {
+        // Act
+        List<Class<?>> filters = fastLaneFilterChain.getFilters().stream().<Class<?>>map(Object::getClass).toList();
+
+        // Assert
+        assertTrue(filters.contains(HeaderWriterFilter.class));
+        assertFalse(filters.contains(AuthorizationFilter.class));
+        assertFalse(filters.contains(SecurityContextHolderFilter.class));
+        assertTrue(filters.size() < filterChain.getFilters().size());
+    }
+
+    private ResponseEntity<String> post(String path, CreateMessageRequest request) {
+        return restTemplate.postForEntity(path, request, String.class);
+    }
+
+    private ResponseEntity<String> postJson(String path, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity(path, new HttpEntity<>(body, headers), String.class);
+    }
+}
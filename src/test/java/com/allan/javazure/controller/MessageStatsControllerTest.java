@@ -0,0 +1,88 @@
+package com.allan.javazure.controller;
+
+import com.allan.javazure.service.MessageCounterService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for MessageStatsController.
+ * Tests the statistics endpoint and its unavailable and error responses.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+@WebMvcTest(value = MessageStatsController.class, excludeAutoConfiguration = {org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class})
+class MessageStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private MessageCounterService counterService;
+
+    @Test
+    void getStats_WithDay_ShouldReturnCounts() throws Exception {
+        // Arrange
+        LocalDate day = LocalDate.of(2026, 10, 18);
+        when(counterService.isAvailable()).thenReturn(true);
+        when(counterService.isServedDay(day)).thenReturn(true);
+        when(counterService.getTotalCount()).thenReturn(42L);
+        when(counterService.getDailyCount(day)).thenReturn(7L);
+
+        // Act & Assert
+        mockMvc.perform(get("/messages/stats").param("day", "2026-10-18"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(42))
+                .andExpect(jsonPath("$.day").value("2026-10-18"))
+                .andExpect(jsonPath("$.dailyCount").value(7));
+    }
+
+    @Test
+    void getStats_WithDayOutOfRange_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(counterService.isAvailable()).thenReturn(true);
+        when(counterService.isServedDay(LocalDate.of(1999, 1, 1))).thenReturn(false);
+        when(counterService.getEarliestDay()).thenReturn(LocalDate.of(2026, 7, 21));
+
+        // Act & Assert
+        mockMvc.perform(get("/messages/stats").param("day", "1999-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+        verify(counterService, never()).getDailyCount(any());
+    }
+
+    @Test
+    void getStats_WhenCountersUnavailable_ShouldReturnServiceUnavailable() throws Exception {
+        // Arrange
+        when(counterService.isAvailable()).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(get("/messages/stats"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.success").value(false));
+        verify(counterService, never()).getTotalCount();
+    }
+
+    @Test
+    void getStats_WhenReadFails_ShouldReturnInternalServerError() throws Exception {
+        // Arrange
+        when(counterService.isAvailable()).thenReturn(true);
+        when(counterService.isServedDay(any(LocalDate.class))).thenReturn(true);
+        when(counterService.getTotalCount()).thenThrow(new RuntimeException("Database error"));
+
+        // Act & Assert
+        mockMvc.perform(get("/messages/stats"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
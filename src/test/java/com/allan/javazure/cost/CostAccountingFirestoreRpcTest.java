@@ -0,0 +1,158 @@
+package com.allan.javazure.cost;
+
+import com.allan.javazure.firestore.FakeFirestoreRpc;
+import com.allan.javazure.firestore.FaultProfile;
+import com.allan.javazure.firestore.InMemoryDocumentStore;
+import com.allan.javazure.firestore.LatencyDistribution;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.BulkWriterOptions;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CostAccountingFirestoreRpc.
+ * Tests the reads, writes, deletes, bytes and RPCs counted for each kind of call, and their
+ * attribution to the caller's scope across callbacks, transactions and bulk writers.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class CostAccountingFirestoreRpcTest {
+
+    private final FirestoreCostMeter meter = new FirestoreCostMeter();
+
+    private Firestore firestore;
+
+    @BeforeEach
+    void setUp() {
+        LatencyDistribution latency = new LatencyDistribution.Fixed(Duration.ZERO);
+        firestore = new FakeFirestoreRpc(new InMemoryDocumentStore(), latency, latency, FaultProfile.NONE, 42, 2)
+                .createClient("fake-project", rpc -> new CostAccountingFirestoreRpc(rpc, "interactive", meter));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        firestore.close();
+    }
+
+    @Test
+    void commit_ShouldCountWritesAndDeletesOfTheCaller() throws Exception {
+        // Arrange
+        WriteBatch batch = firestore.batch();
+        batch.set(document("a"), Map.of("content", "Hello"));
+        batch.set(document("b"), Map.of("content", "World"));
+        batch.delete(document("c"));
+
+        // Act
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open("http:POST /messages")) {
+            batch.commit().get();
+        }
+
+        // Assert
+        FirestoreCost cost = meter.getTotals("interactive", "http:POST /messages");
+        assertEquals(2, cost.getWrites());
+        assertEquals(1, cost.getDeletes());
+        assertEquals(0, cost.getReads());
+        assertEquals(1, cost.getRpcs());
+        assertTrue(cost.getBytes() > 0);
+    }
+
+    @Test
+    void get_ShouldCountOneReadPerDocumentFoundOrMissing() throws Exception {
+        // Arrange
+        document("a").set(Map.of("content", "Hello")).get();
+
+        // Act
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open("job:export")) {
+            firestore.getAll(document("a"), document("missing")).get();
+        }
+
+        // Assert
+        FirestoreCost cost = meter.getTotals("interactive", "job:export");
+        assertEquals(2, cost.getReads());
+        assertEquals(1, cost.getRpcs());
+    }
+
+    @Test
+    void query_ShouldCountDocumentsReturnedAndAtLeastOne() throws Exception {
+        // Arrange
+        document("a").set(Map.of("content", "Hello")).get();
+        document("b").set(Map.of("content", "World")).get();
+
+        // Act
+        try (FirestoreCostScope.Activation ignored = FirestoreCostScope.open("job:retention")) {
+            firestore.collection("messages").get().get();
+            firestore.collection("empty").get().get();
+        }
+
+        // Assert
+        FirestoreCost cost = meter.getTotals("interactive", "job:retention");
+        assertEquals(3, cost.getReads());
+        assertEquals(2, cost.getRpcs());
+    }
+
+    @Test
+    void call_OutsideAnyScope_ShouldBeUnattributed() throws Exception {
+        // Act
+        document("a").set(Map.of("content", "Hello")).get();
+
+        // Assert
+        assertEquals(1, meter.getTotals("interactive", FirestoreCostMeter.UNATTRIBUTED).getWrites());
+    }
+
+    @Test
+    void runTransaction_ShouldAttributeEveryCallToTheScopeThatStartedIt() throws Exception {
+        // Arrange
+        document("a").set(Map.of("count", 1)).get();
+        FirestoreCostScope scope = FirestoreCostScope.of("job:lease");
+
+        // Act
+        try (FirestoreCostScope.Activation ignored = scope.enter()) {
+            firestore.runTransaction(transaction -> {
+                long count = transaction.get(document("a")).get().getLong("count");
+                transaction.update(document("a"), "count", count + 1);
+                return null;
+            }).get();
+        }
+
+        // Assert
+        FirestoreCost cost = scope.getCost();
+        assertEquals(1, cost.getReads());
+        assertEquals(1, cost.getWrites());
+        assertEquals(3, cost.getRpcs()); // begin, get, commit
+        assertEquals(1, meter.getTotals("interactive", FirestoreCostMeter.UNATTRIBUTED).getRpcs()); // the arrange
+    }
+
+    @Test
+    void bulkWriter_ShouldAttributeItsBatchesToTheScopeThatWroteThem() throws Exception {
+        // Arrange
+        FirestoreCostScope scope = FirestoreCostScope.of("job:import");
+
+        // Act
+        try (FirestoreCostScope.Activation ignored = scope.enter()) {
+            BulkWriter writer = firestore.bulkWriter(BulkWriterOptions.builder()
+                    .setExecutor(ScopePropagatingExecutor.newIdleExitingExecutor("test-bulk-writer")).build());
+            for (int i = 0; i < 5; i++) {
+                writer.set(document("m" + i), Map.of("content", "Message " + i));
+            }
+            writer.close();
+        }
+
+        // Assert
+        assertEquals(5, scope.getCost().getWrites());
+        assertNull(meter.getTotals("interactive", FirestoreCostMeter.UNATTRIBUTED));
+    }
+
+    private DocumentReference document(String id) {
+        return firestore.collection("messages").document(id);
+    }
+}
@@ -0,0 +1,97 @@
+package com.allan.javazure.cost;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FirestoreCostInterceptor and FirestoreCostHeaderAdvice.
+ * Tests the scope entered per request, its reuse on async dispatch and the debug header.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class FirestoreCostInterceptorTest {
+
+    private final FirestoreCostInterceptor interceptor = new FirestoreCostInterceptor();
+
+    @Test
+    void preHandle_ShouldEnterScopeNamedAfterMethodAndPattern() {
+        // Arrange
+        MockHttpServletRequest request = request("POST", "/messages");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        interceptor.preHandle(request, response, new Object());
+        FirestoreCostScope current = FirestoreCostScope.current();
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertNotNull(current);
+        assertEquals("http:POST /messages", current.getCaller());
+        assertSame(current, FirestoreCostInterceptor.getScope(request));
+        assertNull(FirestoreCostScope.current());
+    }
+
+    @Test
+    void preHandle_OnAsyncDispatch_ShouldReenterTheSameScope() {
+        // Arrange
+        MockHttpServletRequest request = request("GET", "/messages/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        FirestoreCostScope first = FirestoreCostScope.current();
+        interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+
+        // Act
+        interceptor.preHandle(request, response, new Object());
+        FirestoreCostScope second = FirestoreCostScope.current();
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertSame(first, second);
+        assertNull(FirestoreCostScope.current());
+    }
+
+    @Test
+    void preHandle_WithoutMatchedPattern_ShouldUseUnmatchedCaller() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/nowhere");
+
+        // Act
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+
+        // Assert
+        assertEquals("http:GET unmatched", FirestoreCostInterceptor.getScope(request).getCaller());
+    }
+
+    @Test
+    void beforeBodyWrite_ShouldReportTheRequestOperations() {
+        // Arrange
+        MockHttpServletRequest request = request("POST", "/messages");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        FirestoreCostScope.current().getCost().add(0, 1, 0, 250, 1);
+        interceptor.afterCompletion(request, response, new Object(), null);
+        ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(response);
+
+        // Act
+        new FirestoreCostHeaderAdvice().beforeBodyWrite("body", null, null, null,
+                new ServletServerHttpRequest(request), serverResponse);
+
+        // Assert
+        assertEquals("reads=0, writes=1, deletes=0, bytes=250, rpcs=1",
+                serverResponse.getHeaders().getFirst(FirestoreCostHeaderAdvice.HEADER));
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,64 @@
+package com.allan.javazure.cost;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FirestoreCostMeter.
+ * Tests the per-caller totals, the scope's own totals and the published counters.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class FirestoreCostMeterTest {
+
+    private final FirestoreCostMeter meter = new FirestoreCostMeter();
+
+    @Test
+    void record_InScope_ShouldAddToCallerAndScopeTotals() {
+        // Arrange
+        FirestoreCostScope scope = FirestoreCostScope.of("http:POST /messages");
+
+        // Act
+        meter.record("interactive", scope, 0, 2, 1, 300, 1);
+        meter.record("interactive", scope, 3, 0, 0, 200, 1);
+
+        // Assert
+        FirestoreCost totals = meter.getTotals("interactive", "http:POST /messages");
+        assertEquals(3, totals.getReads());
+        assertEquals(2, totals.getWrites());
+        assertEquals(1, totals.getDeletes());
+        assertEquals(500, totals.getBytes());
+        assertEquals(2, totals.getRpcs());
+        assertEquals("reads=3, writes=2, deletes=1, bytes=500, rpcs=2", scope.getCost().format());
+    }
+
+    @Test
+    void record_OutsideScope_ShouldCountAsUnattributed() {
+        // Act
+        meter.record("background", null, 1, 0, 0, 100, 1);
+
+        // Assert
+        assertEquals(1, meter.getTotals("background", FirestoreCostMeter.UNATTRIBUTED).getReads());
+        assertNull(meter.getTotals("interactive", FirestoreCostMeter.UNATTRIBUTED));
+    }
+
+    @Test
+    void bindTo_ShouldPublishCountersForCallersSeenBeforeAndAfter() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        meter.record("interactive", FirestoreCostScope.of("job:export"), 5, 0, 0, 100, 1);
+
+        // Act
+        meter.bindTo(registry);
+        meter.record("background", FirestoreCostScope.of("job:retention"), 0, 0, 4, 80, 1);
+
+        // Assert
+        assertEquals(5.0, registry.get("firestore.cost.reads")
+                .tags("client", "interactive", "caller", "job:export").functionCounter().count());
+        assertEquals(4.0, registry.get("firestore.cost.deletes")
+                .tags("client", "background", "caller", "job:retention").functionCounter().count());
+    }
+}
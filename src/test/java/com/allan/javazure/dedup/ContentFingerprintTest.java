@@ -0,0 +1,52 @@
+package com.allan.javazure.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContentFingerprint.
+ * Tests normalization, the optional author component and idempotency key fingerprints.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class ContentFingerprintTest {
+
+    @Test
+    void of_WithReformattedContent_ShouldMatch() {
+        assertEquals(ContentFingerprint.of("Bot", "Buy   cheap\nWATCHES now", false),
+                     ContentFingerprint.of("Bot", "  buy cheap watches NOW ", false));
+    }
+
+    @Test
+    void of_WithInvisibleCharacters_ShouldMatch() {
+        assertEquals(ContentFingerprint.of("Bot", "Buy cheap watches", false),
+                     ContentFingerprint.of("Bot", "\uFEFFBuy\u200B cheap\u0000 watches", false));
+    }
+
+    @Test
+    void of_WithDifferentContent_ShouldDiffer() {
+        assertNotEquals(ContentFingerprint.of("Bot", "Hello", false), ContentFingerprint.of("Bot", "Hello!", false));
+    }
+
+    @Test
+    void of_WithAuthorIncluded_ShouldDistinguishAuthors() {
+        assertEquals(ContentFingerprint.of("Alice", "Hello", false), ContentFingerprint.of("Bob", "Hello", false));
+        assertNotEquals(ContentFingerprint.of("Alice", "Hello", true), ContentFingerprint.of("Bob", "Hello", true));
+    }
+
+    @Test
+    void ofIdempotencyKey_ShouldDistinguishAuthorsAndNeverMatchContent() {
+        ContentFingerprint key = ContentFingerprint.ofIdempotencyKey("Alice", "key-1");
+
+        assertEquals(key, ContentFingerprint.ofIdempotencyKey("Alice", "key-1"));
+        assertNotEquals(key, ContentFingerprint.ofIdempotencyKey("Bob", "key-1"));
+        assertNotEquals(key, ContentFingerprint.of("Alice", "key-1", true));
+    }
+
+    @Test
+    void normalize_WithNull_ShouldReturnEmpty() {
+        assertEquals("", ContentFingerprint.normalize(null));
+    }
+}
@@ -0,0 +1,297 @@
+package com.allan.javazure.dedup;
+
+import com.allan.javazure.service.SaveResult;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.WriteBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DuplicateMessageDetector.
+ * Tests suppression within the window, expiry, failure handling, the bounded exact set
+ * and merging of duplicate counts.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class DuplicateMessageDetectorTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(10);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+    private final AtomicInteger saves = new AtomicInteger();
+
+    @Test
+    void saveOnce_WithResend_ShouldReturnOriginalWithoutSaving() {
+        // Arrange
+        DuplicateMessageDetector detector = detector(DuplicateMessageDetector.Action.DROP, 1000);
+        SaveResult original = detector.saveOnce("Bot", "Buy now", this::save).join();
+
+        // Act
+        SaveResult resend = detector.saveOnce("Bot", "  BUY   now ", this::save).join();
+
+        // Assert
+        assertEquals(original, resend);
+        assertEquals(1, saves.get());
+        assertEquals(1, detector.getDuplicates());
+    }
+
+    @Test
+    void saveOnce_WithDifferentContent_ShouldSaveBoth() {
+        // Arrange
+        DuplicateMessageDetector detector = detector(DuplicateMessageDetector.Action.DROP, 1000);
+
+        // Act
+        SaveResult first = detector.saveOnce("Allan", "Hello", this::save).join();
+        SaveResult second = detector.saveOnce("Allan", "Hello again", this::save).join();
+
+        // Assert
+        assertNotEquals(first, second);
+        assertEquals(2, saves.get());
+        assertEquals(0, detector.getDuplicates());
+    }
+
+    @Test
+    void saveOnce_WithSameContentFromAnotherAuthor_ShouldSaveBothUnderOwnIdentity() {
+        // Arrange
+        DuplicateMessageDetector detector = new DuplicateMessageDetector(null, DuplicateMessageDetector.Action.DROP,
+                true, WINDOW, 4, 1000, 0.01, 1000, 1000, clock);
+        SaveResult first = detector.saveOnce("Allan", "Hello", this::save).join();
+
+        // Act
+        SaveResult second = detector.saveOnce("Maria", "Hello", this::save).join();
+
+        // Assert
+        assertNotEquals(first.messageId(), second.messageId());
+        assertEquals(2, saves.get());
+        assertEquals(0, detector.getDuplicates());
+    }
+
+    @Test
+    void saveOnce_WithRepeatedIdempotencyKey_ShouldReplayOriginalEvenForEditedContent() {
+        // Arrange
+        DuplicateMessageDetector detector = detector(DuplicateMessageDetector.Action.DROP, 1000);
+        SaveResult original = detector.saveOnce("Allan", "Hello", "key-1", this::save).join();
+
+        // Act
+        SaveResult retry = detector.saveOnce("Allan", "Hello, edited", "key-1", this::save).join();
+
+        // Assert
+        assertEquals(original, retry);
+        assertEquals(1, saves.get());
+        assertEquals(1, detector.getTrackedKeys());
+    }
+
+    @Test
+    void saveOnce_WithSameContentUnderFreshKeys_ShouldStillSuppress() {
+        // Arrange
+        DuplicateMessageDetector detector = detector(DuplicateMessageDetector.Action.DROP, 1000);
+        SaveResult original = detector.saveOnce("Bot", "Buy now", "key-1", this::save).join();
+
+        // Act
+        SaveResult resend = detector.saveOnce("Bot", "Buy now", "key-2", this::save).join();
+
+        // Assert
+        assertEquals(original, resend);
+        assertEquals(1, saves.get());
+        assertEquals(1, detector.getDuplicates());
+    }
+
+    @Test
+    void saveOnce_WhenKeyMapIsFull_ShouldKeepTrackingContent() {
+        // Arrange
+        DuplicateMessageDetector detector = new DuplicateMessageDetector(null, DuplicateMessageDetector.Action.DROP,
+                true, WINDOW, 4, 1000, 0.01, 1000, 1, clock);
+        detector.saveOnce("Bot", "One", "key-1", this::save).join();
+
+        // Act
+        detector.saveOnce("Bot", "Two", "key-2", this::save).join();
+        detector.saveOnce("Bot", "Two", "key-3", this::save).join();
+
+        // Assert
+        assertEquals(2, saves.get());
+        assertEquals(1, detector.getTrackedKeys());
+        assertEquals(2, detector.getTracked());
+    }
+
+    @Test
+    void saveOnce_AfterWindow_ShouldSaveAgain() {
+        // Arrange
+        DuplicateMessageDetector detector = detector(DuplicateMessageDetector.Action.DROP, 1000);
+        detector.saveOnce("Bot", "Buy now", this::save).join();
+
+        // Act
+        clock.advance(WINDOW.plusSeconds(1));
+        detector.saveOnce("Bot", "Buy now", this::save).join();
+
+        // Assert
+        assertEquals(2, saves.get());
+        assertEquals(1, detector.getTracked());
+    }
+
+    @Test
+    void saveOnce_WhileOriginalInFlight_ShouldShareOriginalResult() {
+        // Arrange
+        DuplicateMessageDetector detector = detector(DuplicateMessageDetector.Action.DROP, 1000);
+        CompletableFuture<SaveResult> pending = new CompletableFuture<>();
+        CompletableFuture<SaveResult> first = detector.saveOnce("Bot", "Buy now", () -> pending);
+
+        // Act
+        CompletableFuture<SaveResult> resend = detector.saveOnce("Bot", "Buy now", this::save);
+
+        // Assert
+        assertFalse(resend.isDone());
+        SaveResult saved = new SaveResult("id-1", clock.instant());
+        pending.complete(saved);
+        assertEquals(saved, first.join());
+        assertEquals(saved, resend.join());
+        assertEquals(0, saves.get());
+    }
+
+    @Test
+    void saveOnce_WhenOriginalFails_ShouldNotSuppressRetry() {
+        // Arrange
+        DuplicateMessageDetector detector = detector(DuplicateMessageDetector.Action.DROP, 1000);
+        CompletableFuture<SaveResult> failed = detector.saveOnce("Allan", "Hello",
+                () -> CompletableFuture.failedFuture(new RuntimeException("unavailable")));
+        assertThrows(CompletionException.class, failed::join);
+
+        // Act
+        detector.saveOnce("Allan", "Hello", this::save).join();
+
+        // Assert
+        assertEquals(1, saves.get());
+        assertEquals(0, detector.getDuplicates());
+    }
+
+    @Test
+    void saveOnce_WhenExactSetIsFull_ShouldSaveUntracked() {
+        // Arrange
+        DuplicateMessageDetector detector = detector(DuplicateMessageDetector.Action.DROP, 2);
+        detector.saveOnce("Allan", "One", this::save).join();
+        detector.saveOnce("Allan", "Two", this::save).join();
+
+        // Act
+        detector.saveOnce("Allan", "Three", this::save).join();
+        detector.saveOnce("Allan", "Three", this::save).join();
+
+        // Assert
+        assertEquals(4, saves.get());
+        assertEquals(2, detector.getTracked());
+    }
+
+    @Test
+    void saveOnce_WithBlankContent_ShouldDelegateWithoutTracking() {
+        // Arrange
+        DuplicateMessageDetector detector = detector(DuplicateMessageDetector.Action.DROP, 1000);
+
+        // Act
+        detector.saveOnce("Allan", " ", this::save).join();
+        detector.saveOnce("Allan", " ", this::save).join();
+
+        // Assert
+        assertEquals(2, saves.get());
+        assertEquals(0, detector.getTracked());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushDuplicateCounts_WithMergeAction_ShouldWriteOneIncrementPerOriginal() {
+        // Arrange
+        Firestore firestore = mock(Firestore.class);
+        WriteBatch batch = mock(WriteBatch.class);
+        CollectionReference collection = mock(CollectionReference.class);
+        DocumentReference document = mock(DocumentReference.class);
+        when(firestore.batch()).thenReturn(batch);
+        when(firestore.collection(DuplicateMessageDetector.DUPLICATES_COLLECTION)).thenReturn(collection);
+        when(collection.document("id-1")).thenReturn(document);
+        when(batch.commit()).thenReturn(ApiFutures.immediateFuture(List.of()));
+        DuplicateMessageDetector detector = new DuplicateMessageDetector(firestore, DuplicateMessageDetector.Action.MERGE,
+                false, WINDOW, 4, 1000, 0.01, 1000, 1000, clock);
+        detector.saveOnce("Bot", "Buy now", () -> CompletableFuture.completedFuture(new SaveResult("id-1", clock.instant())));
+        for (int i = 0; i < 3; i++) {
+            detector.saveOnce("Bot", "Buy now", this::save).join();
+        }
+
+        // Act
+        detector.flushDuplicateCounts();
+        detector.flushDuplicateCounts();
+
+        // Assert
+        verify(batch, times(1)).set(eq(document), any(Map.class), any(SetOptions.class));
+        verify(batch, times(1)).commit();
+    }
+
+    @Test
+    void bindTo_ShouldPublishDuplicateMetrics() {
+        // Arrange
+        DuplicateMessageDetector detector = detector(DuplicateMessageDetector.Action.DROP, 1000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        detector.bindTo(registry);
+        detector.saveOnce("Bot", "Buy now", this::save).join();
+        detector.saveOnce("Bot", "Buy now", this::save).join();
+
+        // Assert
+        assertEquals(1.0, registry.get("messages.dedup.duplicates").functionCounter().count());
+        assertEquals(1.0, registry.get("messages.dedup.tracked").gauge().value());
+    }
+
+    private DuplicateMessageDetector detector(DuplicateMessageDetector.Action action, int maxTracked) {
+        return new DuplicateMessageDetector(null, action, false, WINDOW, 4, 1000, 0.01, maxTracked, 1000, clock);
+    }
+
+    private CompletableFuture<SaveResult> save() {
+        return CompletableFuture.completedFuture(new SaveResult("id-" + saves.incrementAndGet(), clock.instant()));
+    }
+
+    /**
+     * Clock that only moves when a test advances it.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.allan.javazure.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RotatingBloomFilter.
+ * Tests membership, the false positive rate at the sized load and expiry by rotation.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class RotatingBloomFilterTest {
+
+    @Test
+    void mightContain_AfterPut_ShouldReturnTrueInEverySliceUntilExpired() {
+        // Arrange
+        RotatingBloomFilter filter = new RotatingBloomFilter(3, 1000, 0.01);
+        filter.put(42L, 4242L);
+
+        // Act & Assert
+        assertTrue(filter.mightContain(42L, 4242L));
+        filter.rotate();
+        assertTrue(filter.mightContain(42L, 4242L));
+        filter.rotate();
+        assertTrue(filter.mightContain(42L, 4242L));
+        filter.rotate();
+        assertFalse(filter.mightContain(42L, 4242L));
+    }
+
+    @Test
+    void mightContain_AtExpectedLoad_ShouldStayNearTargetFalsePositiveRate() {
+        // Arrange
+        RotatingBloomFilter filter = new RotatingBloomFilter(2, 10_000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(random.nextLong(), random.nextLong());
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(random.nextLong(), random.nextLong())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 2_000, "false positives " + falsePositives);
+    }
+
+    @Test
+    void sizeInBytes_ShouldBeFixedByConstruction() {
+        // Arrange
+        RotatingBloomFilter filter = new RotatingBloomFilter(4, 25_000, 0.01);
+        long before = filter.sizeInBytes();
+
+        // Act
+        for (long i = 0; i < 200_000; i++) {
+            filter.put(i, i * 31);
+        }
+
+        // Assert
+        assertEquals(before, filter.sizeInBytes());
+        assertTrue(before > 4 * 25_000 * 9 / 8, "bytes " + before);
+        assertEquals(7, filter.getHashFunctions());
+    }
+
+    @Test
+    void constructor_WithSingleSlice_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new RotatingBloomFilter(1, 100, 0.01));
+    }
+}
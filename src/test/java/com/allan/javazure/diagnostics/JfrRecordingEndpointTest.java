@@ -0,0 +1,59 @@
+package com.allan.javazure.diagnostics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JfrRecordingEndpoint.
+ * Tests the recording lifecycle, duration bounds, and download states.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+class JfrRecordingEndpointTest {
+
+    private final JfrRecordingEndpoint endpoint =
+            new JfrRecordingEndpoint(Duration.ofSeconds(30), Duration.ofSeconds(1), 10 * 1024 * 1024);
+
+    @AfterEach
+    void waitForRecordingToStop() throws Exception {
+        for (int i = 0; i < 100 && "RUNNING".equals(endpoint.status().get("state")); i++) {
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void status_WithoutRecording_ShouldReportNone() {
+        assertEquals("NONE", endpoint.status().get("state"));
+        assertEquals(404, endpoint.download("recording.jfr").getStatus());
+    }
+
+    @Test
+    void start_ShouldCapDurationAndRejectConcurrentRecording() {
+        Map<String, Object> status = endpoint.start(600L);
+
+        assertEquals("RUNNING", status.get("state"));
+        assertEquals(Duration.ofSeconds(1), status.get("duration"));
+        assertThrows(IllegalStateException.class, () -> endpoint.start(null));
+        assertEquals(409, endpoint.download("recording.jfr").getStatus());
+    }
+
+    @Test
+    void download_AfterRecordingStops_ShouldServeFile() throws Exception {
+        endpoint.start(1L);
+        waitForRecordingToStop();
+
+        WebEndpointResponse<Resource> response = endpoint.download("recording.jfr");
+
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getBody().contentLength() > 0);
+        assertEquals(404, endpoint.download("other.jfr").getStatus());
+    }
+}
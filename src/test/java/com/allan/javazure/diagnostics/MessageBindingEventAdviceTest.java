@@ -0,0 +1,81 @@
+package com.allan.javazure.diagnostics;
+
+import com.allan.javazure.dto.CreateMessageRequest;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MessageBindingEventAdvice.
+ * Tests that binding events are committed for bodies that were read and that a body failing
+ * to deserialize leaves no event behind for the next request on the thread.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class MessageBindingEventAdviceTest {
+
+    private final MessageBindingEventAdvice advice = new MessageBindingEventAdvice();
+    private final MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void afterBodyRead_WithMessageStartedBeforeRead_ShouldCommitBindingEvent() throws Exception {
+        List<RecordedEvent> events = record(() -> read("{\"content\":\"Hello, world!\",\"author\":\"Allan\"}"));
+
+        assertEquals(1, events.size());
+        assertEquals(5, events.get(0).getInt("authorLength"));
+        assertEquals(13, events.get(0).getInt("contentLength"));
+    }
+
+    @Test
+    void afterBodyRead_AfterAnotherBodyFailedToDeserialize_ShouldOnlyCommitItsOwnEvent() throws Exception {
+        List<RecordedEvent> events = record(() -> {
+            assertThrows(Exception.class, () -> read("{\"content\":"));
+            advice.afterBodyRead(new CreateMessageRequest("Hi", "Bob"), new MockHttpInputMessage(new byte[0]),
+                    null, CreateMessageRequest.class, MappingJackson2HttpMessageConverter.class);
+        });
+
+        assertEquals(List.of(), events);
+    }
+
+    private CreateMessageRequest read(String json) throws Exception {
+        HttpInputMessage message = advice.beforeBodyRead(new MockHttpInputMessage(json.getBytes(StandardCharsets.UTF_8)),
+                null, CreateMessageRequest.class, MappingJackson2HttpMessageConverter.class);
+        Object body = converter.read(CreateMessageRequest.class, message);
+        return (CreateMessageRequest) advice.afterBodyRead(body, message, null, CreateMessageRequest.class,
+                MappingJackson2HttpMessageConverter.class);
+    }
+
+    private List<RecordedEvent> record(ThrowingRunnable action) throws Exception {
+        Path file = tempDir.resolve("binding.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MessageBindingEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.allan.javazure.MessageBinding"))
+                .toList();
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,64 @@
+package com.allan.javazure.diagnostics;
+
+import com.allan.javazure.service.FirebaseMessageService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the message ingestion JFR events.
+ * Records a mock-mode save and checks which stage events were emitted.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+class MessageStageEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void saveMessage_InMockMode_ShouldEmitStageEventsWithDimensions() throws Exception {
+        Path file = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MessageValidationEvent.class);
+            recording.enable(MessagePersistEvent.class);
+            recording.enable(MessageSaveEvent.class);
+            recording.start();
+
+            new FirebaseMessageService(null).saveMessage("Allan", "Hello, world!");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.allan.javazure."))
+                .collect(Collectors.toMap(event -> event.getEventType().getName(), event -> event, (a, b) -> a));
+
+        assertEquals(List.of("com.allan.javazure.MessagePersist", "com.allan.javazure.MessageSave",
+                        "com.allan.javazure.MessageValidation"),
+                events.keySet().stream().sorted().toList());
+        RecordedEvent save = events.get("com.allan.javazure.MessageSave");
+        assertEquals(5, save.getInt("authorLength"));
+        assertEquals(13, save.getInt("contentLength"));
+        assertEquals("mock", save.getString("mode"));
+    }
+
+    @Test
+    void commit_WithNullValues_ShouldNotThrow() {
+        MessageBindingEvent event = new MessageBindingEvent();
+        event.begin();
+
+        assertDoesNotThrow(() -> event.commit(null, null, null));
+    }
+}
@@ -0,0 +1,231 @@
+package com.allan.javazure.drain;
+
+import com.allan.javazure.events.MessageEventBus;
+import com.allan.javazure.events.MessageSink;
+import com.allan.javazure.events.SinkSettings;
+import com.allan.javazure.service.MessageSavedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GracefulDrainCoordinator.
+ * Tests refusal of new saves, waiting for saves in flight, spilling of undelivered messages,
+ * their replay on the next start, the drain report and the drain's share of the shutdown budget.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class GracefulDrainCoordinatorTest {
+
+    private static final SinkSettings SETTINGS =
+            new SinkSettings(10, 1, Duration.ZERO, 1, SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<Object> publishedEvents = new CopyOnWriteArrayList<>();
+    private final List<MessageEventBus> buses = new ArrayList<>();
+
+    @TempDir
+    Path spillDirectory;
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(MessageEventBus::close);
+    }
+
+    @Test
+    void drain_ShouldRefuseNewSavesAndWaitForSavesInFlight() {
+        // Arrange
+        WriteGate gate = new WriteGate();
+        GracefulDrainCoordinator coordinator = coordinator(gate, bus(new RecordingSink("audit")), Duration.ofSeconds(5));
+        coordinator.start();
+        gate.tryEnter();
+        CompletableFuture.runAsync(gate::exit, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+
+        // Act
+        DrainReport report = coordinator.drain();
+
+        // Assert
+        assertFalse(gate.tryEnter());
+        assertEquals(0, gate.getInFlight());
+        assertEquals(1, report.savesInFlight());
+        assertEquals(0, report.savesAbandoned());
+        assertTrue(report.isLossless());
+        assertTrue(report.duration().toMillis() >= 40);
+        assertEquals(ReadinessState.REFUSING_TRAFFIC,
+                     ((AvailabilityChangeEvent<?>) publishedEvents.get(0)).getState());
+    }
+
+    @Test
+    void drain_WhenSavesOutlastTimeout_ShouldReportThemAbandoned() {
+        // Arrange
+        WriteGate gate = new WriteGate();
+        GracefulDrainCoordinator coordinator = coordinator(gate, bus(new RecordingSink("audit")), Duration.ofMillis(50));
+        gate.tryEnter();
+
+        // Act
+        DrainReport report = coordinator.drain();
+
+        // Assert
+        assertEquals(1, report.savesAbandoned());
+        assertFalse(report.isLossless());
+    }
+
+    @Test
+    void drain_WhenSinkDoesNotFinish_ShouldSpillMessagesReplayedOnNextStart() throws Exception {
+        // Arrange
+        BlockingSink slow = new BlockingSink("rollups");
+        MessageEventBus bus = bus(slow);
+        GracefulDrainCoordinator coordinator = coordinator(new WriteGate(), bus, Duration.ofMillis(50));
+        coordinator.start();
+        bus.publish(event("taken"));
+        slow.awaitStarted();
+        bus.publish(event("m0"));
+        bus.publish(event("m1"));
+
+        // Act
+        DrainReport report = coordinator.drain();
+        RecordingSink restarted = new RecordingSink("rollups");
+        MessageEventBus nextBus = bus(restarted);
+        GracefulDrainCoordinator next = coordinator(new WriteGate(), nextBus, Duration.ofSeconds(5));
+        next.start();
+
+        // Assert
+        assertEquals(2, report.messagesSpilled());
+        assertTrue(report.isLossless());
+        assertEquals(List.of(), new SpillStore(spillDirectory, objectMapper).pending());
+        assertEquals(report, next.getLastReport());
+        next.drain();
+        assertEquals(List.of("m0", "m1"), restarted.delivered.stream().map(MessageSavedEvent::messageId).toList());
+        assertEquals("Content of m0", restarted.delivered.get(0).content());
+    }
+
+    @Test
+    void start_WithSpillOfUnknownSink_ShouldDiscardItsMessages() throws Exception {
+        // Arrange
+        SpillStore store = new SpillStore(spillDirectory, objectMapper);
+        store.spill(Map.of("retired", List.of(event("a"))));
+        RecordingSink sink = new RecordingSink("audit");
+        GracefulDrainCoordinator coordinator = coordinator(new WriteGate(), bus(sink), Duration.ofSeconds(5));
+
+        // Act
+        coordinator.start();
+
+        // Assert
+        assertEquals(0, coordinator.replaySpilled());
+        assertEquals(List.of(), store.pending());
+        assertNull(coordinator.getLastReport());
+    }
+
+    @Test
+    void bindTo_AfterDrain_ShouldPublishLastDrainMetrics() {
+        // Arrange
+        WriteGate gate = new WriteGate();
+        GracefulDrainCoordinator coordinator = coordinator(gate, bus(new RecordingSink("audit")), Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        coordinator.bindTo(registry);
+        assertTrue(Double.isNaN(registry.get("messages.drain.last.duration").gauge().value()));
+
+        // Act
+        coordinator.drain();
+
+        // Assert
+        assertTrue(registry.get("messages.drain.last.duration").gauge().value() >= 0);
+        assertEquals(0.0, registry.get("messages.drain.last.spilled").gauge().value());
+        assertEquals(0.0, registry.get("messages.drain.in-flight").gauge().value());
+    }
+
+    @Test
+    void drainTimeout_ShouldLeaveLaterShutdownPhasesTheirShareOfTheBudget() {
+        assertEquals(Duration.ofSeconds(20),
+                GracefulDrainCoordinator.drainTimeout(Duration.ofSeconds(25), Duration.ofSeconds(5), Duration.ZERO));
+        assertEquals(Duration.ofSeconds(10),
+                GracefulDrainCoordinator.drainTimeout(Duration.ofSeconds(25), Duration.ofSeconds(5), Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void drainTimeout_WhenBudgetLeavesNothing_ShouldFail() {
+        assertThrows(IllegalStateException.class,
+                () -> GracefulDrainCoordinator.drainTimeout(Duration.ofSeconds(25), Duration.ofSeconds(25), Duration.ZERO));
+    }
+
+    private GracefulDrainCoordinator coordinator(WriteGate gate, MessageEventBus bus, Duration timeout) {
+        return new GracefulDrainCoordinator(gate, bus, publishedEvents::add,
+                new SpillStore(spillDirectory, objectMapper), timeout);
+    }
+
+    private MessageEventBus bus(MessageSink sink) {
+        MessageEventBus bus = new MessageEventBus(List.of(Map.entry(sink, SETTINGS)), Duration.ofSeconds(5));
+        buses.add(bus);
+        return bus;
+    }
+
+    private static MessageSavedEvent event(String id) {
+        return new MessageSavedEvent(id, "Allan", "Content of " + id, Instant.parse("2026-10-18T12:00:00Z"));
+    }
+
+    private static class RecordingSink implements MessageSink {
+
+        private final String name;
+        final List<MessageSavedEvent> delivered = new CopyOnWriteArrayList<>();
+
+        RecordingSink(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void accept(List<MessageSavedEvent> messages) {
+            delivered.addAll(messages);
+        }
+    }
+
+    /**
+     * A sink whose first batch blocks, holding its only worker until the drain interrupts it.
+     */
+    private static class BlockingSink implements MessageSink {
+
+        private final String name;
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        BlockingSink(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void accept(List<MessageSavedEvent> messages) throws Exception {
+            started.countDown();
+            new CountDownLatch(1).await();
+        }
+
+        void awaitStarted() throws InterruptedException {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.allan.javazure.drain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WriteGate.
+ * Tests admission, refusal once closed and waiting for admitted writes.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class WriteGateTest {
+
+    private final WriteGate gate = new WriteGate();
+
+    @Test
+    void tryEnter_WhileOpen_ShouldCountWriteUntilExit() {
+        // Act
+        boolean admitted = gate.tryEnter();
+
+        // Assert
+        assertTrue(admitted);
+        assertEquals(1, gate.getInFlight());
+        gate.exit();
+        assertEquals(0, gate.getInFlight());
+    }
+
+    @Test
+    void tryEnter_WhenClosed_ShouldRefuseWithoutCounting() {
+        // Arrange
+        gate.close();
+
+        // Act
+        boolean admitted = gate.tryEnter();
+
+        // Assert
+        assertFalse(admitted);
+        assertFalse(gate.isOpen());
+        assertEquals(0, gate.getInFlight());
+    }
+
+    @Test
+    void awaitIdle_ShouldReturnOnceAdmittedWritesExit() throws Exception {
+        // Arrange
+        gate.tryEnter();
+        gate.close();
+        CompletableFuture.runAsync(gate::exit, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+
+        // Act
+        boolean idle = gate.awaitIdle(Duration.ofSeconds(5));
+
+        // Assert
+        assertTrue(idle);
+        assertEquals(0, gate.getInFlight());
+    }
+
+    @Test
+    void awaitIdle_WhenWritesOutlastTimeout_ShouldReturnFalse() throws Exception {
+        // Arrange
+        gate.tryEnter();
+
+        // Act
+        boolean idle = gate.awaitIdle(Duration.ofMillis(20));
+
+        // Assert
+        assertFalse(idle);
+        assertEquals(1, gate.getInFlight());
+    }
+}
@@ -2,6 +2,8 @@ package com.allan.javazure.dto;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -156,4 +158,15 @@ class MessageResponseTest {
         assertNull(response.getMessage());
         assertFalse(response.isSuccess());
     }
-}
\ No newline at end of file
+
+    @Test
+    void success_WithSavedMessageIdentity_ShouldIncludeIdAndTimestamp() {
+        Instant createdAt = Instant.parse("2025-01-01T00:00:00Z");
+        MessageResponse response = MessageResponse.success("Saved", "message-1", createdAt);
+        
+        assertTrue(response.isSuccess());
+        assertEquals("message-1", response.getMessageId());
+        assertEquals(createdAt, response.getCreatedAt());
+        assertTrue(response.toString().contains("messageId='message-1'"));
+    }
+}
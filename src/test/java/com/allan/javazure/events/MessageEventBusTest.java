@@ -0,0 +1,436 @@
+package com.allan.javazure.events;
+
+import com.allan.javazure.service.MessageSavedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MessageEventBus.
+ * Tests batching, isolation of slow sinks, overflow policies, lag and failure accounting,
+ * draining on close and per-sink setting overrides.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class MessageEventBusTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<MessageEventBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(MessageEventBus::close);
+    }
+
+    @Test
+    void publish_WhenBatchFills_ShouldDeliverFullBatches() throws Exception {
+        // Arrange
+        RecordingSink sink = new RecordingSink("audit");
+        MessageEventBus bus = bus(sink, new SinkSettings(100, 3, Duration.ofSeconds(30), 1,
+                SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO));
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            bus.publish(event("m" + i));
+        }
+
+        // Assert
+        awaitCondition(() -> bus.getDelivered("audit") == 6);
+        assertEquals(List.of(3, 3), sink.batches.stream().map(List::size).toList());
+        assertEquals("m0", sink.batches.get(0).get(0).messageId());
+    }
+
+    @Test
+    void publish_WhenBatchDoesNotFill_ShouldDeliverAfterMaxBatchDelay() throws Exception {
+        // Arrange
+        RecordingSink sink = new RecordingSink("audit");
+        MessageEventBus bus = bus(sink, new SinkSettings(100, 100, Duration.ofMillis(50), 1,
+                SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO));
+
+        // Act
+        bus.publish(event("a"));
+        bus.publish(event("b"));
+
+        // Assert
+        awaitCondition(() -> bus.getDelivered("audit") == 2);
+        assertEquals(List.of("a", "b"), sink.batches.stream().flatMap(List::stream).map(MessageSavedEvent::messageId).toList());
+    }
+
+    @Test
+    void publish_WhenOneSinkIsSlow_ShouldNotDelayOtherSinks() throws Exception {
+        // Arrange
+        BlockingSink slow = new BlockingSink("slow");
+        RecordingSink fast = new RecordingSink("fast");
+        SinkSettings settings = new SinkSettings(10, 1, Duration.ZERO, 1, SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO);
+        MessageEventBus bus = newBus(List.of(Map.entry(slow, settings), Map.entry(fast, settings)));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            bus.publish(event("m" + i));
+        }
+
+        // Assert
+        awaitCondition(() -> bus.getDelivered("fast") == 5);
+        assertEquals(0, bus.getDelivered("slow"));
+        assertTrue(bus.getQueued("slow") >= 4);
+        slow.release.countDown();
+        awaitCondition(() -> bus.getDelivered("slow") == 5);
+    }
+
+    @Test
+    void publish_WhenQueueIsFullWithDropNewest_ShouldDropPublishedMessages() throws Exception {
+        // Arrange
+        BlockingSink sink = new BlockingSink("audit");
+        MessageEventBus bus = bus(sink, new SinkSettings(2, 1, Duration.ZERO, 1, SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO));
+        bus.publish(event("taken"));
+        sink.awaitStarted();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            bus.publish(event("m" + i));
+        }
+        sink.release.countDown();
+
+        // Assert
+        awaitCondition(() -> bus.getDelivered("audit") == 3);
+        assertEquals(3, bus.getDropped("audit"));
+        assertEquals(List.of("taken", "m0", "m1"), sink.delivered.stream().map(MessageSavedEvent::messageId).toList());
+    }
+
+    @Test
+    void publish_WhenQueueIsFullWithDropOldest_ShouldKeepLatestMessages() throws Exception {
+        // Arrange
+        BlockingSink sink = new BlockingSink("audit");
+        MessageEventBus bus = bus(sink, new SinkSettings(2, 1, Duration.ZERO, 1, SinkSettings.Overflow.DROP_OLDEST, Duration.ZERO));
+        bus.publish(event("taken"));
+        sink.awaitStarted();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            bus.publish(event("m" + i));
+        }
+        sink.release.countDown();
+
+        // Assert
+        awaitCondition(() -> bus.getDelivered("audit") == 3);
+        assertEquals(3, bus.getDropped("audit"));
+        assertEquals(List.of("taken", "m3", "m4"), sink.delivered.stream().map(MessageSavedEvent::messageId).toList());
+    }
+
+    @Test
+    void publish_WhenQueueIsFullWithBlock_ShouldWaitUpToBlockTimeoutThenDrop() throws Exception {
+        // Arrange
+        BlockingSink sink = new BlockingSink("audit", true);
+        MessageEventBus bus = bus(sink, new SinkSettings(1, 1, Duration.ZERO, 1, SinkSettings.Overflow.BLOCK, Duration.ofMillis(50)));
+        bus.publish(event("taken"));
+        sink.awaitStarted();
+        bus.publish(event("queued"));
+
+        // Act
+        long started = System.nanoTime();
+        bus.publish(event("blocked"));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Assert
+        assertTrue(waitedMillis >= 40, "publisher waited " + waitedMillis + " ms");
+        assertEquals(1, bus.getDropped("audit"));
+        sink.release.countDown();
+        awaitCondition(() -> bus.getDelivered("audit") == 2);
+    }
+
+    @Test
+    void publish_WithBlockForSinkOnRequestPath_ShouldDropOldestWithoutWaiting() throws Exception {
+        // Arrange
+        BlockingSink sink = new BlockingSink("audit");
+        MessageEventBus bus = bus(sink, new SinkSettings(1, 1, Duration.ZERO, 1, SinkSettings.Overflow.BLOCK, TIMEOUT));
+        bus.publish(event("taken"));
+        sink.awaitStarted();
+        bus.publish(event("queued"));
+
+        // Act
+        long started = System.nanoTime();
+        bus.publish(event("newer"));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Assert
+        assertTrue(waitedMillis < TIMEOUT.toMillis() / 2, "publisher waited " + waitedMillis + " ms");
+        assertEquals(1, bus.getDropped("audit"));
+        sink.release.countDown();
+        awaitCondition(() -> bus.getDelivered("audit") == 2);
+        assertEquals(List.of("taken", "newer"), sink.delivered.stream().map(MessageSavedEvent::messageId).toList());
+    }
+
+    @Test
+    void getLag_WhenMessagesWait_ShouldReportAgeOfOldestQueuedMessage() throws Exception {
+        // Arrange
+        BlockingSink sink = new BlockingSink("audit");
+        MessageEventBus bus = bus(sink, new SinkSettings(10, 1, Duration.ZERO, 1, SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        bus.bindTo(registry);
+        bus.publish(event("taken"));
+        sink.awaitStarted();
+        bus.publish(event("waiting"));
+
+        // Act
+        Thread.sleep(50);
+
+        // Assert
+        assertTrue(bus.getLag("audit").toMillis() >= 40);
+        assertTrue(registry.get("messages.bus.lag").tag("sink", "audit").gauge().value() >= 0.04);
+        assertEquals(1.0, registry.get("messages.bus.queued").tag("sink", "audit").gauge().value());
+        sink.release.countDown();
+        awaitCondition(() -> bus.getQueued("audit") == 0);
+        assertEquals(Duration.ZERO, bus.getLag("audit"));
+    }
+
+    @Test
+    void publish_WhenSinkThrows_ShouldCountFailedMessagesAndKeepDelivering() throws Exception {
+        // Arrange
+        RecordingSink sink = new RecordingSink("audit") {
+            @Override
+            public void accept(List<MessageSavedEvent> messages) throws Exception {
+                if (messages.get(0).messageId().equals("bad")) {
+                    throw new IllegalStateException("rejected");
+                }
+                super.accept(messages);
+            }
+        };
+        MessageEventBus bus = bus(sink, new SinkSettings(10, 1, Duration.ZERO, 1, SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        bus.bindTo(registry);
+
+        // Act
+        bus.publish(event("bad"));
+        bus.publish(event("good"));
+
+        // Assert
+        awaitCondition(() -> bus.getDelivered("audit") == 1);
+        assertEquals(1, bus.getFailed("audit"));
+        assertEquals(1.0, registry.get("messages.bus.failed").tag("sink", "audit").functionCounter().count());
+        assertEquals(2.0, registry.get("messages.bus.published").tag("sink", "audit").functionCounter().count());
+    }
+
+    @Test
+    void close_ShouldDeliverQueuedMessagesBeforeReturning() {
+        // Arrange
+        RecordingSink sink = new RecordingSink("audit");
+        MessageEventBus bus = bus(sink, new SinkSettings(100, 10, Duration.ofSeconds(30), 1,
+                SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO));
+        for (int i = 0; i < 25; i++) {
+            bus.publish(event("m" + i));
+        }
+
+        // Act
+        int abandoned = bus.close();
+
+        // Assert
+        assertEquals(0, abandoned);
+        assertEquals(25, bus.getDelivered("audit"));
+        bus.publish(event("late"));
+        assertEquals(1, bus.getDropped("audit"));
+    }
+
+    @Test
+    void close_WhenSinkDoesNotFinish_ShouldReturnUndeliveredCount() throws Exception {
+        // Arrange
+        BlockingSink sink = new BlockingSink("audit");
+        MessageEventBus bus = newBus(List.of(Map.entry(sink,
+                new SinkSettings(10, 1, Duration.ZERO, 1, SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO))),
+                Duration.ofMillis(50));
+        bus.publish(event("taken"));
+        sink.awaitStarted();
+        for (int i = 0; i < 3; i++) {
+            bus.publish(event("m" + i));
+        }
+
+        // Act
+        int abandoned = bus.close();
+
+        // Assert
+        assertEquals(3, abandoned);
+    }
+
+    @Test
+    void drain_WhenSinkDoesNotFinish_ShouldReturnUndeliveredMessagesBySink() throws Exception {
+        // Arrange
+        BlockingSink slow = new BlockingSink("slow");
+        RecordingSink fast = new RecordingSink("fast");
+        SinkSettings settings = new SinkSettings(10, 1, Duration.ZERO, 1, SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO);
+        MessageEventBus bus = newBus(List.of(Map.entry(slow, settings), Map.entry(fast, settings)));
+        bus.publish(event("taken"));
+        slow.awaitStarted();
+        bus.publish(event("m0"));
+        bus.publish(event("m1"));
+        awaitCondition(() -> bus.getDelivered("fast") == 3);
+
+        // Act
+        Map<String, List<MessageSavedEvent>> undelivered = bus.drain(Duration.ofMillis(50));
+
+        // Assert
+        assertEquals(List.of("slow"), List.copyOf(undelivered.keySet()));
+        assertEquals(List.of("m0", "m1"), undelivered.get("slow").stream().map(MessageSavedEvent::messageId).toList());
+        assertTrue(bus.drain(TIMEOUT).isEmpty());
+    }
+
+    @Test
+    void replay_ShouldQueueMessagesForNamedSinkOnly() throws Exception {
+        // Arrange
+        RecordingSink first = new RecordingSink("first");
+        RecordingSink second = new RecordingSink("second");
+        SinkSettings settings = new SinkSettings(10, 10, Duration.ZERO, 1, SinkSettings.Overflow.DROP_NEWEST, Duration.ZERO);
+        MessageEventBus bus = newBus(List.of(Map.entry(first, settings), Map.entry(second, settings)));
+
+        // Act
+        int queued = bus.replay("second", List.of(event("a"), event("b")));
+
+        // Assert
+        assertEquals(2, queued);
+        awaitCondition(() -> bus.getDelivered("second") == 2);
+        assertEquals(0, bus.getDelivered("first"));
+        assertThrows(IllegalArgumentException.class, () -> bus.replay("missing", List.of(event("c"))));
+    }
+
+    @Test
+    void constructor_WithDuplicateSinkNames_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        List<Map.Entry<MessageSink, SinkSettings>> sinks = List.of(
+                Map.entry(new RecordingSink("audit"), SinkSettings.DEFAULTS),
+                Map.entry(new RecordingSink("audit"), SinkSettings.DEFAULTS));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new MessageEventBus(sinks, TIMEOUT));
+    }
+
+    @Test
+    void getLag_WithUnknownSink_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        MessageEventBus bus = bus(new RecordingSink("audit"), SinkSettings.DEFAULTS);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bus.getLag("missing"));
+    }
+
+    @Test
+    void settings_WithProperties_ShouldOverrideSinkDefaults() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("messages.bus.sinks.audit.queue-capacity", "5")
+                .withProperty("messages.bus.sinks.audit.workers", "3")
+                .withProperty("messages.bus.sinks.audit.overflow", "BLOCK");
+
+        // Act
+        SinkSettings settings = MessageEventBus.settings(new RecordingSink("audit"), environment);
+
+        // Assert
+        assertEquals(5, settings.queueCapacity());
+        assertEquals(3, settings.workers());
+        assertEquals(SinkSettings.Overflow.BLOCK, settings.overflow());
+        assertEquals(SinkSettings.DEFAULTS.maxBatchSize(), settings.maxBatchSize());
+        assertEquals(SinkSettings.DEFAULTS.maxBatchDelay(), settings.maxBatchDelay());
+    }
+
+    private MessageEventBus bus(MessageSink sink, SinkSettings settings) {
+        return newBus(List.of(Map.entry(sink, settings)));
+    }
+
+    private MessageEventBus newBus(List<Map.Entry<MessageSink, SinkSettings>> sinks) {
+        return newBus(sinks, TIMEOUT);
+    }
+
+    private MessageEventBus newBus(List<Map.Entry<MessageSink, SinkSettings>> sinks, Duration shutdownTimeout) {
+        MessageEventBus bus = new MessageEventBus(sinks, shutdownTimeout);
+        buses.add(bus);
+        return bus;
+    }
+
+    private static MessageSavedEvent event(String id) {
+        return new MessageSavedEvent(id, "Allan", "Content of " + id, Instant.now());
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within " + TIMEOUT);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static class RecordingSink implements MessageSink {
+
+        private final String name;
+        final List<List<MessageSavedEvent>> batches = new CopyOnWriteArrayList<>();
+
+        RecordingSink(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void accept(List<MessageSavedEvent> messages) throws Exception {
+            batches.add(messages);
+        }
+    }
+
+    /**
+     * A sink whose first batch blocks until released, holding its only worker.
+     */
+    private static class BlockingSink implements MessageSink {
+
+        private final String name;
+        private final boolean offRequestPath;
+        private final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<MessageSavedEvent> delivered = new CopyOnWriteArrayList<>();
+
+        BlockingSink(String name) {
+            this(name, false);
+        }
+
+        BlockingSink(String name, boolean offRequestPath) {
+            this.name = name;
+            this.offRequestPath = offRequestPath;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isOffRequestPath() {
+            return offRequestPath;
+        }
+
+        @Override
+        public void accept(List<MessageSavedEvent> messages) throws Exception {
+            started.countDown();
+            release.await();
+            delivered.addAll(messages);
+        }
+
+        void awaitStarted() throws InterruptedException {
+            assertTrue(started.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        }
+    }
+}
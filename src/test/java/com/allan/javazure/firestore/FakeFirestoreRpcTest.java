@@ -0,0 +1,238 @@
+package com.allan.javazure.firestore;
+
+import com.allan.javazure.service.BucketedMessageLayout;
+import com.allan.javazure.service.FirebaseMessageService;
+import com.allan.javazure.service.FlatMessageLayout;
+import com.allan.javazure.service.MessageCounterService;
+import com.allan.javazure.service.MessageDocument;
+import com.allan.javazure.service.MessageTimelineReader;
+import com.google.api.gax.rpc.ApiException;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.SetOptions;
+import io.grpc.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FakeFirestoreRpc.
+ * Drives the official Firestore client against the in-memory backend to check document,
+ * query and transaction semantics, then the injected latency, errors, throttling and stalls.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+class FakeFirestoreRpcTest {
+
+    private static final LatencyDistribution NO_LATENCY = new LatencyDistribution.Fixed(Duration.ZERO);
+
+    private Firestore firestore;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (firestore != null) {
+            firestore.close();
+        }
+    }
+
+    @Test
+    void set_ThenGet_ShouldRoundTripFieldsAndApplyTransforms() throws Exception {
+        firestore = newFirestore(FaultProfile.NONE, NO_LATENCY);
+        DocumentReference document = firestore.collection("counters").document("a");
+
+        document.set(Map.of("name", "a", "count", 1L)).get();
+        document.set(Map.of("count", FieldValue.increment(2), "touchedAt", FieldValue.serverTimestamp()),
+                SetOptions.merge()).get();
+        DocumentSnapshot snapshot = document.get().get();
+
+        assertTrue(snapshot.exists());
+        assertEquals("a", snapshot.getString("name"));
+        assertEquals(3L, snapshot.getLong("count"));
+        assertNotNull(snapshot.getTimestamp("touchedAt"));
+        assertFalse(firestore.collection("counters").document("missing").get().get().exists());
+    }
+
+    @Test
+    void create_OnExistingDocument_ShouldFailWithAlreadyExists() throws Exception {
+        firestore = newFirestore(FaultProfile.NONE, NO_LATENCY);
+        DocumentReference document = firestore.collection("leases").document("a");
+        document.create(Map.of("owner", "x")).get();
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> document.create(Map.of("owner", "y")).get());
+
+        assertEquals(Status.Code.ALREADY_EXISTS, statusOf(exception));
+    }
+
+    @Test
+    void timelineReader_ShouldPageThroughMessagesSavedByTheService() throws Exception {
+        firestore = newFirestore(FaultProfile.NONE, NO_LATENCY);
+        MessageCounterService counters = new MessageCounterService(firestore, 4, Duration.ZERO, 90);
+        FirebaseMessageService service = new FirebaseMessageService(firestore, new FlatMessageLayout(), List.of(counters));
+        Instant start = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 5; i++) {
+            service.saveMessage("Allan", "Message " + i);
+        }
+
+        Iterator<QueryDocumentSnapshot> timeline = new MessageTimelineReader(firestore, new FlatMessageLayout(), 2)
+                .read(start, Instant.now().plusSeconds(1));
+        List<String> contents = new ArrayList<>();
+        timeline.forEachRemaining(document -> contents.add(document.getString("content")));
+
+        assertEquals(List.of("Message 0", "Message 1", "Message 2", "Message 3", "Message 4"), contents);
+        assertEquals(5, counters.getTotalCount());
+    }
+
+    @Test
+    void timelineReader_ShouldFindOldestAndNewestAcrossBucketedShardsWithoutCollectionGroupQueries() throws Exception {
+        firestore = newFirestore(FaultProfile.NONE, NO_LATENCY);
+        BucketedMessageLayout layout = new BucketedMessageLayout(4, ChronoUnit.HOURS);
+        MessageTimelineReader reader = new MessageTimelineReader(firestore, layout, 2);
+        Instant oldest = Instant.parse("2025-01-01T10:15:00Z");
+        for (int i = 0; i < 6; i++) {
+            Instant createdAt = oldest.plus(Duration.ofHours(i));
+            layout.newDocument(firestore, createdAt)
+                    .set(Map.of("content", "Message " + i, "createdAt", MessageDocument.toTimestamp(createdAt))).get();
+        }
+
+        assertEquals(6, layout.storedSlices(firestore).size());
+        assertEquals(Optional.of(oldest), reader.findEarliestCreatedAt());
+        assertEquals(Optional.of(oldest.plus(Duration.ofHours(5))), reader.findCreatedAtFromNewest(0));
+        assertEquals(Optional.of(oldest.plus(Duration.ofHours(3))), reader.findCreatedAtFromNewest(2));
+        assertEquals(Optional.empty(), reader.findCreatedAtFromNewest(6));
+    }
+
+    @Test
+    void whereInequality_WithCursor_ShouldFilterOrderAndResume() throws Exception {
+        firestore = newFirestore(FaultProfile.NONE, NO_LATENCY);
+        for (int i = 0; i < 10; i++) {
+            firestore.collection("scores").document("d" + i).set(Map.of("score", (long) i % 5, "tag", "t" + i)).get();
+        }
+
+        Query query = firestore.collection("scores").whereGreaterThanOrEqualTo("score", 3L).orderBy("score").limit(2);
+        List<QueryDocumentSnapshot> firstPage = query.get().get().getDocuments();
+        List<QueryDocumentSnapshot> secondPage = query.startAfter(firstPage.get(1)).get().get().getDocuments();
+
+        assertEquals(List.of("d3", "d8"), firstPage.stream().map(DocumentSnapshot::getId).toList());
+        assertEquals(List.of("d4", "d9"), secondPage.stream().map(DocumentSnapshot::getId).toList());
+        assertEquals(2, firestore.collection("scores").whereIn("tag", List.of("t1", "t2", "x")).get().get().size());
+    }
+
+    @Test
+    void runTransaction_WithConcurrentIncrements_ShouldNotLoseUpdates() throws Exception {
+        firestore = newFirestore(FaultProfile.NONE, new LatencyDistribution.Fixed(Duration.ofMillis(2)));
+        DocumentReference counter = firestore.collection("counters").document("tx");
+        counter.set(Map.of("count", 0L)).get();
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(workers.submit(() -> firestore.runTransaction(transaction -> {
+                    long count = transaction.get(counter).get().getLong("count");
+                    transaction.update(counter, "count", count + 1);
+                    return null;
+                }).get()));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        assertEquals(8L, counter.get().get().getLong("count"));
+    }
+
+    @Test
+    void bulkWriter_ShouldWriteAndDeleteThroughBatchWrite() throws Exception {
+        firestore = newFirestore(FaultProfile.NONE, NO_LATENCY);
+        BulkWriter bulkWriter = firestore.bulkWriter();
+        for (int i = 0; i < 50; i++) {
+            bulkWriter.set(firestore.collection("bulk").document("d" + i), Map.of("i", (long) i));
+        }
+        bulkWriter.delete(firestore.collection("bulk").document("d0"));
+        bulkWriter.close();
+
+        assertEquals(49, firestore.collection("bulk").get().get().size());
+    }
+
+    @Test
+    void fixedLatency_ShouldDelayEveryCall() throws Exception {
+        firestore = newFirestore(FaultProfile.NONE, new LatencyDistribution.Fixed(Duration.ofMillis(50)));
+
+        long startedAt = System.nanoTime();
+        firestore.collection("messages").document("a").set(Map.of("content", "x")).get();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).toMillis() >= 50);
+    }
+
+    @Test
+    void errorRate_ShouldFailCallsWithUnavailable() {
+        firestore = newFirestore(new FaultProfile(1.0, 0, 0, Duration.ZERO, Duration.ofSeconds(10)), NO_LATENCY);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> firestore.collection("messages").document("a").set(Map.of("content", "x")).get());
+
+        assertEquals(Status.Code.UNAVAILABLE, statusOf(exception));
+    }
+
+    @Test
+    void throttling_ShouldRejectCallsAboveTheRateWithResourceExhausted() throws Exception {
+        firestore = newFirestore(new FaultProfile(0, 1, 0, Duration.ZERO, Duration.ofSeconds(10)), NO_LATENCY);
+        DocumentReference document = firestore.collection("messages").document("a");
+        document.set(Map.of("content", "x")).get();
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> document.set(Map.of("content", "y")).get());
+
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, statusOf(exception));
+    }
+
+    @Test
+    void stall_LongerThanDeadline_ShouldFailWithDeadlineExceededAtTheDeadline() {
+        firestore = newFirestore(new FaultProfile(0, 0, 1.0, Duration.ofMinutes(5), Duration.ofMillis(100)), NO_LATENCY);
+
+        long startedAt = System.nanoTime();
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> firestore.collection("messages").document("a").set(Map.of("content", "x")).get());
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, statusOf(exception));
+        assertTrue(elapsedMillis >= 100 && elapsedMillis < 5_000, "Failed after " + elapsedMillis + " ms");
+    }
+
+    private Firestore newFirestore(FaultProfile faults, LatencyDistribution latency) {
+        return new FakeFirestoreRpc(new InMemoryDocumentStore(), latency, latency, faults, 42, 2)
+                .createClient("fake-project");
+    }
+
+    private static Status.Code statusOf(ExecutionException exception) {
+        Throwable cause = exception.getCause();
+        while (cause != null && !(cause instanceof ApiException)) {
+            cause = cause.getCause();
+        }
+        assertNotNull(cause, "Expected an ApiException in the cause chain of " + exception);
+        return Status.Code.valueOf(((ApiException) cause).getStatusCode().getCode().name());
+    }
+}
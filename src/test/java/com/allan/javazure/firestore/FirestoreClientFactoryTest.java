@@ -0,0 +1,124 @@
+package com.allan.javazure.firestore;
+
+import com.google.api.gax.grpc.InstantiatingGrpcChannelProvider;
+import com.google.cloud.NoCredentials;
+import com.google.cloud.firestore.Firestore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FirestoreClientFactory.
+ * Tests channel settings and the isolation of clients created for different purposes.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class FirestoreClientFactoryTest {
+
+    private static final FirestoreClientSettings INTERACTIVE =
+            new FirestoreClientSettings(4, Duration.ofSeconds(30), Duration.ofSeconds(10), 4 * 1024 * 1024, 3);
+    private static final FirestoreClientSettings BACKGROUND =
+            new FirestoreClientSettings(1, Duration.ZERO, Duration.ofSeconds(10), 16 * 1024 * 1024, 1);
+
+    private final FirestoreClientFactory factory = new FirestoreClientFactory("test-project", NoCredentials.getInstance());
+
+    @AfterEach
+    void tearDown() {
+        factory.close();
+    }
+
+    @Test
+    void channelProvider_ShouldApplyPoolKeepAliveAndMessageSize() {
+        // Arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        InstantiatingGrpcChannelProvider provider = FirestoreClientFactory.channelProvider(INTERACTIVE, executor);
+
+        // Assert
+        assertEquals(4, provider.toBuilder().getPoolSize());
+        assertEquals(4 * 1024 * 1024, provider.toBuilder().getMaxInboundMessageSize());
+        assertEquals(org.threeten.bp.Duration.ofSeconds(30), provider.getKeepAliveTime());
+        assertEquals(org.threeten.bp.Duration.ofSeconds(10), provider.getKeepAliveTimeout());
+        assertFalse(provider.needsExecutor());
+        executor.shutdown();
+    }
+
+    @Test
+    void channelProvider_WithZeroKeepAliveTime_ShouldLeaveKeepAliveDisabled() {
+        // Arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        InstantiatingGrpcChannelProvider provider = FirestoreClientFactory.channelProvider(BACKGROUND, executor);
+
+        // Assert
+        assertNull(provider.getKeepAliveTime());
+        executor.shutdown();
+    }
+
+    @Test
+    void create_ShouldGiveEachClientItsOwnCallbackExecutor() {
+        // Act
+        Firestore interactive = factory.create("interactive", INTERACTIVE);
+        Firestore background = factory.create("background", BACKGROUND);
+
+        // Assert
+        assertNotSame(interactive, background);
+        assertEquals("test-project", interactive.getOptions().getProjectId());
+        ExecutorService interactiveExecutor = factory.getCallbackExecutor("interactive");
+        ExecutorService backgroundExecutor = factory.getCallbackExecutor("background");
+        assertNotNull(interactiveExecutor);
+        assertNotSame(interactiveExecutor, backgroundExecutor);
+    }
+
+    @Test
+    void create_WithDuplicateName_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        factory.create("interactive", INTERACTIVE);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> factory.create("interactive", INTERACTIVE));
+    }
+
+    @Test
+    void bindTo_ShouldPublishCallbackExecutorMetricsPerClient() {
+        // Arrange
+        factory.create("interactive", INTERACTIVE);
+        factory.create("background", BACKGROUND);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // Act
+        factory.bindTo(registry);
+
+        // Assert
+        assertEquals(3, registry.get("executor.pool.core").tag("client", "interactive").gauge().value());
+        assertEquals(1, registry.get("executor.pool.core").tag("client", "background").gauge().value());
+    }
+
+    @Test
+    void close_ShouldShutDownCallbackExecutors() {
+        // Arrange
+        factory.create("interactive", INTERACTIVE);
+        ExecutorService executor = factory.getCallbackExecutor("interactive");
+
+        // Act
+        factory.close();
+
+        // Assert
+        assertTrue(executor.isShutdown());
+    }
+
+    @Test
+    void settings_WithNonPositivePoolSize_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FirestoreClientSettings(0, Duration.ZERO, Duration.ZERO, 1024, 1));
+    }
+}
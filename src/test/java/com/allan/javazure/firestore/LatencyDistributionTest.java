@@ -0,0 +1,88 @@
+package com.allan.javazure.firestore;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyDistribution and ReplayedLatency.
+ * Tests specification parsing and the shape of sampled latencies.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+class LatencyDistributionTest {
+
+    private final DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    @Test
+    void parse_WithFixedSpec_ShouldAlwaysReturnTheLatency() {
+        LatencyDistribution distribution = LatencyDistribution.parse("fixed:PT0.015S", resourceLoader);
+
+        assertEquals(Duration.ofMillis(15), distribution.sample(new Random(1)));
+        assertEquals(Duration.ZERO, LatencyDistribution.parse("none", resourceLoader).sample(new Random(1)));
+    }
+
+    @Test
+    void parse_WithLogNormalSpec_ShouldCenterOnTheMedian() {
+        LatencyDistribution distribution = LatencyDistribution.parse("lognormal:PT0.020S,0.5", resourceLoader);
+        Random random = new Random(7);
+
+        long[] samples = new long[10_001];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = distribution.sample(random).toNanos();
+        }
+        Arrays.sort(samples);
+
+        assertEquals(20.0, samples[samples.length / 2] / 1e6, 1.0);
+        assertTrue(samples[samples.length * 99 / 100] > samples[samples.length / 2] * 2, "Expected a long right tail");
+    }
+
+    @Test
+    void parse_WithReplaySpec_ShouldLoadTheHistogramResource() {
+        LatencyDistribution distribution =
+                LatencyDistribution.parse("replay:classpath:latency/firestore-commit-sample.csv", resourceLoader);
+
+        Duration sample = distribution.sample(new Random(3));
+
+        assertInstanceOf(ReplayedLatency.class, distribution);
+        assertTrue(sample.toMillis() <= 1280);
+    }
+
+    @Test
+    void parse_WithMalformedSpec_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("gaussian:PT1S", resourceLoader));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("fixed:10ms", resourceLoader));
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.parse("lognormal:PT1S", resourceLoader));
+    }
+
+    @Test
+    void replayedLatency_ShouldSampleBucketsInProportionAndWithinBounds() throws Exception {
+        ReplayedLatency distribution = ReplayedLatency.fromCsv(new StringReader(
+                "# comment\nupperBoundMillis,count\n10,0\n20,3\n40,1\n80,0\n"));
+        Random random = new Random(11);
+
+        int lowBucket = 0;
+        for (int i = 0; i < 4_000; i++) {
+            long millis = distribution.sample(random).toMillis();
+            assertTrue(millis >= 10 && millis <= 40, "Sampled " + millis + " ms from an empty bucket");
+            if (millis < 20) {
+                lowBucket++;
+            }
+        }
+
+        assertEquals(3_000, lowBucket, 150);
+    }
+
+    @Test
+    void replayedLatency_WithoutRecordedCalls_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ReplayedLatency.fromCsv(new StringReader("10,0\n20,0\n")));
+    }
+}
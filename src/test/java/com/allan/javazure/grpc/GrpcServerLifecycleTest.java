@@ -0,0 +1,88 @@
+package com.allan.javazure.grpc;
+
+import com.allan.javazure.grpc.GrpcServerLifecycle.GrpcServerSettings;
+import com.allan.javazure.grpc.v1.CreateMessageRequest;
+import com.allan.javazure.grpc.v1.MessageIngestionGrpc;
+import com.allan.javazure.grpc.v1.MessageResponse;
+import com.allan.javazure.service.MessageService;
+import com.allan.javazure.service.SaveResult;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for GrpcServerLifecycle.
+ * Tests that the server serves calls over the network while running.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class GrpcServerLifecycleTest {
+
+    private static final GrpcServerSettings SETTINGS =
+            new GrpcServerSettings(0, 2, 100, 65536, 1048576, 100, Duration.ofSeconds(1));
+
+    private final MessageService messageService = mock(MessageService.class);
+    private final GrpcServerLifecycle server =
+            new GrpcServerLifecycle(new MessageIngestionGrpcService(messageService, 4, 10), SETTINGS);
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void start_ShouldServeMessagesOnTheBoundPort() throws Exception {
+        // Arrange
+        when(messageService.saveMessageAsync(any(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(new SaveResult("message-1", Instant.now())));
+
+        // Act
+        server.start();
+        ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+        MessageResponse response;
+        try {
+            response = MessageIngestionGrpc.newBlockingStub(channel)
+                    .withDeadlineAfter(10, TimeUnit.SECONDS)
+                    .saveMessage(CreateMessageRequest.newBuilder().setContent("Hello").build());
+        } finally {
+            channel.shutdownNow();
+        }
+
+        // Assert
+        assertTrue(server.isRunning());
+        assertTrue(server.getPort() > 0);
+        assertEquals("message-1", response.getMessageId());
+    }
+
+    @Test
+    void stop_ShouldReleaseThePort() {
+        // Arrange
+        server.start();
+
+        // Act
+        server.stop();
+
+        // Assert
+        assertFalse(server.isRunning());
+        assertEquals(-1, server.getPort());
+    }
+
+    @Test
+    void settings_WithNonPositiveThreads_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GrpcServerSettings(0, 0, 100, 65536, 1048576, 100, Duration.ofSeconds(1)));
+    }
+}
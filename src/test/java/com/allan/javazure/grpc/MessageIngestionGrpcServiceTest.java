@@ -0,0 +1,233 @@
+package com.allan.javazure.grpc;
+
+import com.allan.javazure.grpc.v1.CreateMessageRequest;
+import com.allan.javazure.grpc.v1.MessageIngestionGrpc;
+import com.allan.javazure.grpc.v1.MessageResponse;
+import com.allan.javazure.grpc.v1.SaveMessagesResponse;
+import com.allan.javazure.limit.LimitExceededException;
+import com.allan.javazure.service.MessageService;
+import com.allan.javazure.service.SaveResult;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageIngestionGrpcService.
+ * Tests unary and streaming saves over an in-process transport, including status mapping
+ * and the in-flight limit of streams.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageIngestionGrpcServiceTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-10-18T12:00:00.123456789Z");
+
+    @Mock
+    private MessageService messageService;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new MessageIngestionGrpcService(messageService, 2, 10))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void saveMessage_WithValidMessage_ShouldReturnIdAndTimestamp() {
+        // Arrange
+        when(messageService.saveMessageAsync("Allan", "Hello over gRPC"))
+                .thenReturn(CompletableFuture.completedFuture(new SaveResult("message-1", CREATED_AT)));
+
+        // Act
+        MessageResponse response = MessageIngestionGrpc.newBlockingStub(channel)
+                .saveMessage(request("Hello over gRPC", "Allan"));
+
+        // Assert
+        assertTrue(response.getSuccess());
+        assertEquals("Message sent successfully!", response.getMessage());
+        assertEquals("message-1", response.getMessageId());
+        assertEquals(CREATED_AT.getEpochSecond(), response.getCreatedAt().getSeconds());
+        assertEquals(CREATED_AT.getNano(), response.getCreatedAt().getNanos());
+    }
+
+    @Test
+    void saveMessage_ShouldLeaveSanitizingToService() {
+        // Arrange
+        when(messageService.saveMessageAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(new SaveResult("message-1", CREATED_AT)));
+
+        // Act
+        MessageIngestionGrpc.newBlockingStub(channel).saveMessage(request("  Hello\u200B   world  ", " Allan\u0000 "));
+
+        // Assert
+        verify(messageService).saveMessageAsync(" Allan\u0000 ", "  Hello\u200B   world  ");
+    }
+
+    @Test
+    void saveMessage_WithEmptyContent_ShouldFailWithInvalidArgument() {
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> MessageIngestionGrpc.newBlockingStub(channel).saveMessage(request(" \t ", "Allan")));
+
+        // Assert
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        assertEquals("Invalid message data: Message content cannot be empty", exception.getStatus().getDescription());
+        verifyNoInteractions(messageService);
+    }
+
+    @Test
+    void saveMessage_WhenShed_ShouldFailWithResourceExhaustedAndRetryAfter() {
+        // Arrange
+        when(messageService.saveMessageAsync(any(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new LimitExceededException(20, Duration.ofMillis(1500))));
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> MessageIngestionGrpc.newBlockingStub(channel).saveMessage(request("Hello", "")));
+
+        // Assert
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, exception.getStatus().getCode());
+        assertEquals("2", exception.getTrailers().get(MessageIngestionGrpcService.RETRY_AFTER));
+    }
+
+    @Test
+    void saveMessage_WhenSaveFails_ShouldFailWithInternalWithoutDetails() {
+        // Arrange
+        when(messageService.saveMessageAsync(any(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Firestore unavailable")));
+
+        // Act
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> MessageIngestionGrpc.newBlockingStub(channel).saveMessage(request("Hello", "Allan")));
+
+        // Assert
+        assertEquals(Status.Code.INTERNAL, exception.getStatus().getCode());
+        assertEquals("Unable to process your message. Please try again later.", exception.getStatus().getDescription());
+    }
+
+    @Test
+    void saveMessages_ShouldCountSavedAndReportFailuresByIndex() throws Exception {
+        // Arrange
+        when(messageService.saveMessageAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(new SaveResult("message-1", CREATED_AT)));
+        ResponseRecorder recorder = new ResponseRecorder();
+
+        // Act
+        StreamObserver<CreateMessageRequest> requests = MessageIngestionGrpc.newStub(channel).saveMessages(recorder);
+        requests.onNext(request("First", "Allan"));
+        requests.onNext(request("   ", "Allan"));
+        requests.onNext(request("Third", "Allan"));
+        requests.onNext(request("x".repeat(1001), "Allan"));
+        requests.onNext(request("Fifth", "Allan"));
+        requests.onCompleted();
+
+        // Assert
+        SaveMessagesResponse response = recorder.await();
+        assertEquals(3, response.getSaved());
+        assertEquals(2, response.getFailed());
+        assertEquals(1, response.getFailures(0).getIndex());
+        assertEquals("Invalid message data: Message content cannot be empty", response.getFailures(0).getMessage());
+        assertEquals(3, response.getFailures(1).getIndex());
+        verify(messageService, times(3)).saveMessageAsync(anyString(), anyString());
+    }
+
+    @Test
+    void saveMessages_ShouldNotStartMoreSavesThanTheInFlightLimit() throws Exception {
+        // Arrange
+        List<CompletableFuture<SaveResult>> pending = new CopyOnWriteArrayList<>();
+        when(messageService.saveMessageAsync(anyString(), anyString())).thenAnswer(invocation -> {
+            CompletableFuture<SaveResult> save = new CompletableFuture<>();
+            pending.add(save);
+            return save;
+        });
+        ResponseRecorder recorder = new ResponseRecorder();
+        StreamObserver<CreateMessageRequest> requests = MessageIngestionGrpc.newStub(channel).saveMessages(recorder);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            requests.onNext(request("Message " + i, "Allan"));
+        }
+        requests.onCompleted();
+
+        // Assert
+        verify(messageService, timeout(2000).times(2)).saveMessageAsync(anyString(), anyString());
+        Thread.sleep(200);
+        assertEquals(2, pending.size());
+
+        while (!recorder.isDone()) {
+            for (CompletableFuture<SaveResult> save : pending) {
+                save.complete(new SaveResult("message", CREATED_AT));
+            }
+            Thread.sleep(10);
+        }
+        assertEquals(5, recorder.await().getSaved());
+        assertEquals(5, pending.size());
+    }
+
+    private static CreateMessageRequest request(String content, String author) {
+        return CreateMessageRequest.newBuilder().setContent(content).setAuthor(author).build();
+    }
+
+    private static final class ResponseRecorder implements StreamObserver<SaveMessagesResponse> {
+
+        private final CompletableFuture<SaveMessagesResponse> response = new CompletableFuture<>();
+
+        @Override
+        public void onNext(SaveMessagesResponse value) {
+            response.complete(value);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            response.completeExceptionally(error);
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+
+        boolean isDone() {
+            return response.isDone();
+        }
+
+        SaveMessagesResponse await() throws Exception {
+            return response.get(5, TimeUnit.SECONDS);
+        }
+    }
+}
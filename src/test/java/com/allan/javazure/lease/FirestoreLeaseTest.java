@@ -0,0 +1,217 @@
+package com.allan.javazure.lease;
+
+import com.allan.javazure.firestore.FakeFirestoreRpc;
+import com.allan.javazure.firestore.FaultProfile;
+import com.allan.javazure.firestore.InMemoryDocumentStore;
+import com.allan.javazure.firestore.LatencyDistribution;
+import com.google.cloud.firestore.Firestore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FirestoreLease.
+ * Tests acquisition, renewal, expiry, release and fencing against the in-memory Firestore.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class FirestoreLeaseTest {
+
+    private static final Duration TTL = Duration.ofSeconds(15);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-18T12:00:00Z"));
+
+    private Firestore firestore;
+    private FirestoreLease replicaA;
+    private FirestoreLease replicaB;
+
+    @BeforeEach
+    void setUp() {
+        LatencyDistribution latency = new LatencyDistribution.Fixed(Duration.ZERO);
+        firestore = new FakeFirestoreRpc(new InMemoryDocumentStore(), latency, latency, FaultProfile.NONE, 42, 2)
+                .createClient("fake-project");
+        replicaA = new FirestoreLease(firestore, "jobs", "replica-a", TTL, clock);
+        replicaB = new FirestoreLease(firestore, "jobs", "replica-b", TTL, clock);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        firestore.close();
+    }
+
+    @Test
+    void tryAcquire_WhenFree_ShouldGrantFirstToken() throws Exception {
+        // Act
+        LeaseGrant grant = replicaA.tryAcquire().orElseThrow();
+
+        // Assert
+        assertEquals(new LeaseGrant("jobs", "replica-a", 1, clock.instant().plus(TTL)), grant);
+        assertEquals(grant, replicaA.read().orElseThrow());
+    }
+
+    @Test
+    void tryAcquire_WhenHeldByOtherReplica_ShouldBeRefused() throws Exception {
+        // Arrange
+        replicaA.tryAcquire();
+        clock.advance(TTL.minusSeconds(1));
+
+        // Act & Assert
+        assertTrue(replicaB.tryAcquire().isEmpty());
+        assertEquals("replica-a", replicaA.read().orElseThrow().holder());
+    }
+
+    @Test
+    void tryAcquire_WhenHolderRenews_ShouldKeepTokenAndExtendExpiry() throws Exception {
+        // Arrange
+        replicaA.tryAcquire();
+        clock.advance(Duration.ofSeconds(5));
+
+        // Act
+        LeaseGrant renewed = replicaA.tryAcquire().orElseThrow();
+
+        // Assert
+        assertEquals(1, renewed.token());
+        assertEquals(clock.instant().plus(TTL), renewed.expiresAt());
+    }
+
+    @Test
+    void tryAcquire_WhenExpired_ShouldHandOverWithNextToken() throws Exception {
+        // Arrange
+        replicaA.tryAcquire();
+        clock.advance(TTL);
+
+        // Act
+        LeaseGrant grant = replicaB.tryAcquire().orElseThrow();
+
+        // Assert
+        assertEquals("replica-b", grant.holder());
+        assertEquals(2, grant.token());
+        assertTrue(replicaA.tryAcquire().isEmpty());
+    }
+
+    @Test
+    void tryAcquire_WhenFormerHolderReturnsAfterExpiry_ShouldIncreaseToken() throws Exception {
+        // Arrange
+        replicaA.tryAcquire();
+        clock.advance(TTL.plusSeconds(1));
+
+        // Act
+        LeaseGrant grant = replicaA.tryAcquire().orElseThrow();
+
+        // Assert
+        assertEquals(2, grant.token());
+    }
+
+    @Test
+    void release_ShouldLetAnotherReplicaAcquireAtOnce() throws Exception {
+        // Arrange
+        LeaseGrant grant = replicaA.tryAcquire().orElseThrow();
+
+        // Act
+        boolean released = replicaA.release(grant.token());
+
+        // Assert
+        assertTrue(released);
+        assertEquals(2, replicaB.tryAcquire().orElseThrow().token());
+    }
+
+    @Test
+    void release_WithSupersededToken_ShouldLeaveLeaseUnchanged() throws Exception {
+        // Arrange
+        replicaA.tryAcquire();
+        clock.advance(TTL);
+        replicaB.tryAcquire();
+
+        // Act
+        boolean released = replicaA.release(1);
+
+        // Assert
+        assertFalse(released);
+        assertTrue(replicaA.tryAcquire().isEmpty());
+    }
+
+    @Test
+    void fence_WithCurrentToken_ShouldLetTransactionWrite() throws Exception {
+        // Arrange
+        long token = replicaA.tryAcquire().orElseThrow().token();
+
+        // Act
+        firestore.runTransaction(transaction -> {
+            replicaA.fence(transaction, token);
+            transaction.set(firestore.collection("jobs").document("state"), Map.of("token", token));
+            return null;
+        }).get();
+
+        // Assert
+        assertTrue(firestore.collection("jobs").document("state").get().get().exists());
+    }
+
+    @Test
+    void fence_AfterLeaseChangedHands_ShouldFailTransactionWithoutWriting() throws Exception {
+        // Arrange
+        long staleToken = replicaA.tryAcquire().orElseThrow().token();
+        clock.advance(TTL);
+        replicaB.tryAcquire();
+
+        // Act
+        ExecutionException error = assertThrows(ExecutionException.class, () -> firestore.runTransaction(transaction -> {
+            replicaA.fence(transaction, staleToken);
+            transaction.set(firestore.collection("jobs").document("state"), Map.of("token", staleToken));
+            return null;
+        }).get());
+
+        // Assert
+        assertInstanceOf(LeaseLostException.class, rootCause(error));
+        assertFalse(firestore.collection("jobs").document("state").get().get().exists());
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Clock that only moves when a test advances it.
+     */
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
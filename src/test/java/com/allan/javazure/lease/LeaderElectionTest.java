@@ -0,0 +1,170 @@
+package com.allan.javazure.lease;
+
+import com.allan.javazure.firestore.FakeFirestoreRpc;
+import com.allan.javazure.firestore.FaultProfile;
+import com.allan.javazure.firestore.InMemoryDocumentStore;
+import com.allan.javazure.firestore.LatencyDistribution;
+import com.google.cloud.firestore.Firestore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LeaderElection.
+ * Tests that one of several replicas leads, that leadership lapses without renewal and
+ * that a released or expired lease fails over to another replica.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class LeaderElectionTest {
+
+    private static final Duration TTL = Duration.ofMillis(300);
+    private static final Duration RENEW_INTERVAL = Duration.ofMillis(100);
+
+    private Firestore firestore;
+
+    @BeforeEach
+    void setUp() {
+        LatencyDistribution latency = new LatencyDistribution.Fixed(Duration.ZERO);
+        firestore = new FakeFirestoreRpc(new InMemoryDocumentStore(), latency, latency, FaultProfile.NONE, 42, 2)
+                .createClient("fake-project");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        firestore.close();
+    }
+
+    @Test
+    void constructor_WhenRenewalDoesNotFitTtl_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LeaderElection(null, Duration.ofSeconds(10), Duration.ofSeconds(9), Duration.ofSeconds(2)));
+    }
+
+    @Test
+    void isLeader_WithoutDatabase_ShouldAlwaysBeTrue() {
+        // Arrange
+        LeaderElection election = new LeaderElection(null, TTL, RENEW_INTERVAL, Duration.ZERO);
+
+        // Act
+        election.renew();
+
+        // Assert
+        assertTrue(election.isLeader());
+        assertEquals(OptionalLong.empty(), election.getToken());
+    }
+
+    @Test
+    void renew_WithTwoReplicas_ShouldElectOnlyTheFirst() {
+        // Arrange
+        LeaderElection replicaA = election("replica-a");
+        LeaderElection replicaB = election("replica-b");
+
+        // Act
+        replicaA.renew();
+        replicaB.renew();
+
+        // Assert
+        assertTrue(replicaA.isLeader());
+        assertFalse(replicaB.isLeader());
+        assertEquals(OptionalLong.of(1), replicaA.getToken());
+        assertEquals(OptionalLong.empty(), replicaB.getToken());
+    }
+
+    @Test
+    void isLeader_WhenNotRenewedInTime_ShouldStepDownBeforeLeaseExpires() throws Exception {
+        // Arrange
+        LeaderElection replicaA = new LeaderElection(lease("replica-a"), TTL, RENEW_INTERVAL, Duration.ofMillis(100));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        replicaA.bindTo(registry);
+        replicaA.renew();
+
+        // Act
+        Thread.sleep(TTL.minusMillis(100).toMillis() + 20);
+
+        // Assert
+        assertFalse(replicaA.isLeader());
+        assertTrue(lease("replica-a").read().orElseThrow().expiresAt().isAfter(Instant.now()));
+        assertEquals(0.0, registry.get("messages.lease.leader").gauge().value());
+        assertEquals(1.0, registry.get("messages.lease.losses").functionCounter().count());
+    }
+
+    @Test
+    void renew_WhenLeaderStopsRenewing_ShouldFailOverAfterTtl() throws Exception {
+        // Arrange
+        LeaderElection replicaA = election("replica-a");
+        LeaderElection replicaB = election("replica-b");
+        replicaA.renew();
+        replicaB.renew();
+
+        // Act
+        Thread.sleep(TTL.toMillis() + 20);
+        replicaB.renew();
+
+        // Assert
+        assertTrue(replicaB.isLeader());
+        assertEquals(OptionalLong.of(2), replicaB.getToken());
+        assertFalse(replicaA.isLeader());
+    }
+
+    @Test
+    void release_ShouldHandLeaseToNextReplicaAtOnce() {
+        // Arrange
+        LeaderElection replicaA = election("replica-a");
+        LeaderElection replicaB = election("replica-b");
+        replicaA.renew();
+
+        // Act
+        replicaA.release();
+        replicaB.renew();
+
+        // Assert
+        assertFalse(replicaA.isLeader());
+        assertTrue(replicaB.isLeader());
+        assertEquals(OptionalLong.of(2), replicaB.getToken());
+    }
+
+    @Test
+    void fence_AfterLeaseChangedHands_ShouldThrowLeaseLostException() throws Exception {
+        // Arrange
+        Duration ttl = Duration.ofSeconds(10);
+        FirestoreLease leaseA = new FirestoreLease(firestore, "jobs", "replica-a", ttl, Clock.systemUTC());
+        LeaderElection replicaA = new LeaderElection(leaseA, ttl, Duration.ofSeconds(1), Duration.ZERO);
+        replicaA.renew();
+        long token = replicaA.getToken().orElseThrow();
+        firestore.runTransaction(transaction -> {
+            replicaA.fence(transaction, token);
+            return null;
+        }).get();
+
+        // Act
+        replicaA.release();
+        election("replica-b").renew();
+
+        // Assert
+        assertThrows(LeaseLostException.class, () -> replicaA.checkLeader(token));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> firestore.runTransaction(transaction -> {
+            leaseA.fence(transaction, token);
+            return null;
+        }).get());
+        assertInstanceOf(LeaseLostException.class, failure.getCause());
+    }
+
+    private LeaderElection election(String holder) {
+        return new LeaderElection(lease(holder), TTL, RENEW_INTERVAL, Duration.ZERO);
+    }
+
+    private FirestoreLease lease(String holder) {
+        return new FirestoreLease(firestore, "jobs", holder, TTL, Clock.systemUTC());
+    }
+}
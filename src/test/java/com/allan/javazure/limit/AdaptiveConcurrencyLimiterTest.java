@@ -0,0 +1,158 @@
+package com.allan.javazure.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter.
+ * Tests admission, growth under stable latency, shrinking under rising latency and failures,
+ * and the published metrics.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_WhenLimitReached_ShouldRejectImmediately() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            permits.add(limiter.tryAcquire().orElseThrow());
+        }
+
+        // Act
+        Optional<AdaptiveConcurrencyLimiter.Permit> rejected = limiter.tryAcquire();
+
+        // Assert
+        assertTrue(rejected.isEmpty());
+        assertEquals(1, limiter.getRejected());
+        permits.get(0).onIgnore();
+        assertTrue(limiter.tryAcquire().isPresent());
+    }
+
+    @Test
+    void permit_WhenCompletedTwice_ShouldReleaseSlotOnce() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire().orElseThrow();
+        limiter.tryAcquire().orElseThrow();
+
+        // Act
+        permit.onIgnore();
+        permit.onSuccess();
+
+        // Assert
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void onSuccess_WithStableLatencyAtFullUtilisation_ShouldGrowLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        // Act
+        for (int round = 0; round < 50; round++) {
+            runRound(limiter, limiter.getLimit(), 10);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void onSuccess_WhenIdle_ShouldNotGrowLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        // Act
+        for (int round = 0; round < 50; round++) {
+            runRound(limiter, 1, 10);
+        }
+
+        // Assert
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void onSuccess_WhenLatencyRises_ShouldShrinkLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(50);
+        for (int round = 0; round < 20; round++) {
+            runRound(limiter, limiter.getLimit(), 10);
+        }
+        int before = limiter.getLimit();
+
+        // Act
+        for (int round = 0; round < 10; round++) {
+            runRound(limiter, limiter.getLimit(), 100);
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < before / 2, "limit " + before + " -> " + limiter.getLimit());
+    }
+
+    @Test
+    void onFailure_ShouldCutLimitButNotBelowMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire().orElseThrow().onFailure();
+        }
+
+        // Assert
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void bindTo_ShouldPublishLimitAndRequestOutcomes() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+        for (int i = 0; i < 6; i++) {
+            limiter.tryAcquire();
+        }
+
+        // Assert
+        assertEquals(4.0, registry.get("messages.limiter.limit").gauge().value());
+        assertEquals(4.0, registry.get("messages.limiter.inflight").gauge().value());
+        assertEquals(4.0, registry.get("messages.limiter.requests").tag("outcome", "accepted").functionCounter().count());
+        assertEquals(2.0, registry.get("messages.limiter.requests").tag("outcome", "rejected").functionCounter().count());
+    }
+
+    @Test
+    void constructor_WithMinAboveMax_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter(10, 20, 10, 0.2, 1.5, 600, Duration.ofSeconds(1), clock::get));
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 4, 200, 0.2, 1.5, 600, Duration.ofSeconds(1), clock::get);
+    }
+
+    /**
+     * Admits {@code concurrency} calls at once and completes them all after {@code latencyMillis}.
+     */
+    private void runRound(AdaptiveConcurrencyLimiter limiter, int concurrency, long latencyMillis) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            limiter.tryAcquire().ifPresent(permits::add);
+        }
+        clock.addAndGet(Duration.ofMillis(latencyMillis).toNanos());
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::onSuccess);
+    }
+}
@@ -0,0 +1,204 @@
+package com.allan.javazure.notification;
+
+import com.allan.javazure.service.MessageSavedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NotificationDispatcher.
+ * Tests digest coalescing, the bounded queue, retries with backoff and giving up.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class NotificationDispatcherTest {
+
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    void flush_AfterBurst_ShouldSendOneBoundedDigest() {
+        // Arrange
+        RecordingTransport transport = new RecordingTransport(0);
+        dispatcher = new NotificationDispatcher(List.of(transport), 100, NEVER, 5, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+        for (int i = 0; i < 12; i++) {
+            dispatcher.onMessageSaved(message(i));
+        }
+
+        // Act
+        NotificationDigest digest = dispatcher.flush();
+
+        // Assert
+        assertEquals(1, transport.digests.size());
+        assertSame(digest, transport.digests.get(0));
+        assertEquals(5, digest.messages().size());
+        assertEquals(7, digest.omitted());
+        assertEquals("12 new messages", digest.subject());
+        assertTrue(digest.text().endsWith("... and 7 more.\n"));
+        assertEquals(0, dispatcher.getQueueSize());
+    }
+
+    @Test
+    void flush_WithEmptyQueue_ShouldSendNothing() {
+        // Arrange
+        RecordingTransport transport = new RecordingTransport(0);
+        dispatcher = new NotificationDispatcher(List.of(transport), 100, NEVER, 5, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+
+        // Act & Assert
+        assertNull(dispatcher.flush());
+        assertTrue(transport.digests.isEmpty());
+    }
+
+    @Test
+    void onMessageSaved_WhenQueueIsFull_ShouldCountOverflowInNextDigest() {
+        // Arrange
+        RecordingTransport transport = new RecordingTransport(0);
+        dispatcher = new NotificationDispatcher(List.of(transport), 3, NEVER, 10, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            dispatcher.onMessageSaved(message(i));
+        }
+        NotificationDigest digest = dispatcher.flush();
+
+        // Assert
+        assertEquals(3, digest.messages().size());
+        assertEquals(7, digest.omitted());
+        assertEquals(7, dispatcher.getDropped());
+    }
+
+    @Test
+    void flush_WhenTransportFailsTransiently_ShouldRetryUntilSent() throws Exception {
+        // Arrange
+        RecordingTransport transport = new RecordingTransport(2);
+        dispatcher = new NotificationDispatcher(List.of(transport), 100, NEVER, 5, 5, Duration.ofMillis(10), Duration.ofMillis(50));
+        dispatcher.onMessageSaved(message(1));
+
+        // Act
+        dispatcher.flush();
+
+        // Assert
+        awaitUntil(() -> dispatcher.getSent() == 1);
+        assertEquals(3, transport.attempts.get());
+        assertEquals(1, transport.digests.size());
+        assertEquals(0, dispatcher.getFailed());
+    }
+
+    @Test
+    void flush_WhenTransportKeepsFailing_ShouldGiveUpAfterMaxAttempts() throws Exception {
+        // Arrange
+        RecordingTransport transport = new RecordingTransport(Integer.MAX_VALUE);
+        dispatcher = new NotificationDispatcher(List.of(transport), 100, NEVER, 5, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+        dispatcher.onMessageSaved(message(1));
+
+        // Act
+        dispatcher.flush();
+
+        // Assert
+        awaitUntil(() -> dispatcher.getFailed() == 1);
+        assertEquals(3, transport.attempts.get());
+        assertEquals(0, dispatcher.getSent());
+    }
+
+    @Test
+    void digestInterval_ShouldFlushQueuedMessagesPeriodically() throws Exception {
+        // Arrange
+        RecordingTransport transport = new RecordingTransport(0);
+        dispatcher = new NotificationDispatcher(List.of(transport), 100, Duration.ofMillis(50), 5, 3,
+                Duration.ofMillis(10), Duration.ofMillis(50));
+
+        // Act
+        dispatcher.onMessageSaved(message(1));
+
+        // Assert
+        awaitUntil(() -> transport.digests.size() == 1);
+        assertEquals("New message from Author 1", transport.digests.get(0).subject());
+    }
+
+    @Test
+    void onMessageSaved_WithoutTransports_ShouldNotQueue() {
+        // Arrange
+        dispatcher = new NotificationDispatcher(List.of(), 100, NEVER, 5, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+
+        // Act
+        dispatcher.onMessageSaved(message(1));
+
+        // Assert
+        assertFalse(dispatcher.isEnabled());
+        assertEquals(0, dispatcher.getQueueSize());
+    }
+
+    @Test
+    void bindTo_ShouldPublishQueueAndOutcomeMetrics() {
+        // Arrange
+        RecordingTransport transport = new RecordingTransport(0);
+        dispatcher = new NotificationDispatcher(List.of(transport), 1, NEVER, 5, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dispatcher.bindTo(registry);
+        dispatcher.onMessageSaved(message(1));
+        dispatcher.onMessageSaved(message(2));
+
+        // Assert
+        assertEquals(1.0, registry.get("notifications.queue.size").gauge().value());
+        assertEquals(1.0, registry.get("notifications.dropped").functionCounter().count());
+        dispatcher.flush();
+        assertEquals(1.0, registry.get("notifications.digests").tag("outcome", "sent").functionCounter().count());
+    }
+
+    private static MessageSavedEvent message(int i) {
+        return new MessageSavedEvent("id-" + i, "Author " + i, "Content " + i, Instant.parse("2025-01-01T12:00:00Z"));
+    }
+
+    private static void awaitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Transport failing its first {@code failures} attempts and recording delivered digests.
+     */
+    private static final class RecordingTransport implements NotificationTransport {
+
+        private final int failures;
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final List<NotificationDigest> digests = new CopyOnWriteArrayList<>();
+
+        private RecordingTransport(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void send(NotificationDigest digest) throws IOException {
+            if (attempts.incrementAndGet() <= failures) {
+                throw new IOException("unavailable");
+            }
+            digests.add(digest);
+        }
+    }
+}
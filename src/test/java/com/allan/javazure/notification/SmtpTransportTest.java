@@ -0,0 +1,120 @@
+package com.allan.javazure.notification;
+
+import com.allan.javazure.service.MessageSavedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SmtpTransport.
+ * Tests delivery against a minimal local SMTP server standing in for the mail relay.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class SmtpTransportTest {
+
+    private ServerSocket serverSocket;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(serverSocket.getLocalPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        serverSocket.close();
+    }
+
+    @Test
+    void send_ShouldDeliverDigestAsPlainTextMail() throws Exception {
+        // Arrange
+        CompletableFuture<String> session = CompletableFuture.supplyAsync(this::serveOneSession);
+        SmtpTransport transport = new SmtpTransport(mailSender, "noreply@javazure.local", "owner@example.com");
+        NotificationDigest digest = new NotificationDigest(List.of(new MessageSavedEvent("id-1", "Allan", "Hello there",
+                Instant.parse("2025-01-01T12:00:00Z"))), 0, Instant.now());
+
+        // Act
+        transport.send(digest);
+
+        // Assert
+        String transcript = session.get(5, TimeUnit.SECONDS);
+        assertTrue(transcript.contains("MAIL FROM:<noreply@javazure.local>"));
+        assertTrue(transcript.contains("RCPT TO:<owner@example.com>"));
+        assertTrue(transcript.contains("Subject: New message from Allan"));
+        assertTrue(transcript.contains("Hello there"));
+    }
+
+    @Test
+    void send_WhenServerIsUnreachable_ShouldThrowIOException() throws Exception {
+        // Arrange
+        serverSocket.close();
+        SmtpTransport transport = new SmtpTransport(mailSender, "noreply@javazure.local", "owner@example.com");
+        NotificationDigest digest = new NotificationDigest(List.of(new MessageSavedEvent("id-1", "Allan", "Hello",
+                Instant.parse("2025-01-01T12:00:00Z"))), 0, Instant.now());
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> transport.send(digest));
+    }
+
+    /**
+     * Accepts one connection and answers the SMTP commands of a single mail delivery.
+     *
+     * @return Every line received from the client
+     */
+    private String serveOneSession() {
+        StringBuilder transcript = new StringBuilder();
+        try (Socket socket = serverSocket.accept();
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+            reply(out, "220 localhost SMTP stand-in");
+            boolean data = false;
+            String line;
+            while ((line = in.readLine()) != null) {
+                transcript.append(line).append('\n');
+                if (data) {
+                    if (line.equals(".")) {
+                        data = false;
+                        reply(out, "250 OK");
+                    }
+                } else if (line.startsWith("DATA")) {
+                    data = true;
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                } else if (line.startsWith("QUIT")) {
+                    reply(out, "221 Bye");
+                    break;
+                } else {
+                    reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return transcript.toString();
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,84 @@
+package com.allan.javazure.notification;
+
+import com.allan.javazure.service.MessageSavedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WebhookTransport.
+ * Tests the request against a local HTTP server standing in for the webhook.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class WebhookTransportTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicReference<byte[]> received = new AtomicReference<>();
+    private final AtomicInteger status = new AtomicInteger(204);
+
+    private HttpServer server;
+    private WebhookTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            received.set(exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        URI url = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/hook");
+        transport = new WebhookTransport(url, Duration.ofSeconds(5), objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void send_ShouldPostDigestAsJson() throws Exception {
+        // Arrange
+        NotificationDigest digest = new NotificationDigest(List.of(new MessageSavedEvent("id-1", "Allan", "Hello",
+                Instant.parse("2025-01-01T12:00:00Z"))), 2, Instant.now());
+
+        // Act
+        transport.send(digest);
+
+        // Assert
+        JsonNode body = objectMapper.readTree(received.get());
+        assertEquals("3 new messages", body.get("subject").asText());
+        assertEquals(2, body.get("omitted").asLong());
+        assertEquals("Allan", body.get("messages").get(0).get("author").asText());
+        assertEquals("id-1", body.get("messages").get(0).get("messageId").asText());
+    }
+
+    @Test
+    void send_WhenWebhookRespondsWithError_ShouldThrowIOException() {
+        // Arrange
+        status.set(503);
+        NotificationDigest digest = new NotificationDigest(List.of(new MessageSavedEvent("id-1", "Allan", "Hello",
+                Instant.parse("2025-01-01T12:00:00Z"))), 0, Instant.now());
+
+        // Act & Assert
+        IOException error = assertThrows(IOException.class, () -> transport.send(digest));
+        assertTrue(error.getMessage().contains("503"));
+    }
+}
@@ -0,0 +1,286 @@
+package com.allan.javazure.retention;
+
+import com.allan.javazure.archive.NdjsonArchiveReader;
+import com.allan.javazure.lease.LeaderElection;
+import com.allan.javazure.lease.LeaseLostException;
+import com.allan.javazure.rollup.MessageRollupService;
+import com.allan.javazure.service.FlatMessageLayout;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.BulkWriter;
+import com.google.cloud.firestore.BulkWriterOptions;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.Transaction;
+import com.google.cloud.firestore.WriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageRetentionService.
+ * Tests cutoff resolution, archive-before-delete, run limits and metrics.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+class MessageRetentionServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T00:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void enforce_WithoutFirestore_ShouldThrowIllegalStateException() {
+        MessageRetentionService service = newService(null, Duration.ofDays(30), 0, true, 100);
+
+        assertThrows(IllegalStateException.class, service::enforce);
+    }
+
+    @Test
+    void constructor_WithNegativeMaxAge_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> newService(null, Duration.ofDays(-1), 0, true, 100));
+    }
+
+    @Test
+    void resolveCutoff_WithoutPolicy_ShouldBeEmpty() {
+        MessageRetentionService service = newService(mock(Firestore.class), Duration.ZERO, 0, true, 100);
+
+        assertEquals(Optional.empty(), service.resolveCutoff(NOW));
+    }
+
+    @Test
+    void resolveCutoff_WithMaxAge_ShouldSubtractAgeFromNow() {
+        MessageRetentionService service = newService(mock(Firestore.class), Duration.ofDays(30), 0, true, 100);
+
+        assertEquals(Optional.of(NOW.minus(Duration.ofDays(30))), service.resolveCutoff(NOW));
+    }
+
+    @Test
+    void resolveCutoff_WithMaxCount_ShouldExpireEverythingUpToTheFirstSurplusMessage() {
+        Firestore firestore = mock(Firestore.class);
+        CollectionReference collection = mock(CollectionReference.class);
+        Query newestFirst = mock(Query.class);
+        Instant boundary = NOW.minusSeconds(60);
+        QuerySnapshot page = snapshot(document("new", NOW.minusSeconds(10)), document("newer", NOW.minusSeconds(30)),
+                document("old", boundary));
+        when(firestore.collection("messages")).thenReturn(collection);
+        when(collection.whereGreaterThanOrEqualTo(anyString(), any())).thenReturn(newestFirst);
+        when(newestFirst.whereLessThan(anyString(), any())).thenReturn(newestFirst);
+        when(newestFirst.orderBy("createdAt", Query.Direction.DESCENDING)).thenReturn(newestFirst);
+        when(newestFirst.limit(anyInt())).thenReturn(newestFirst);
+        when(newestFirst.select("createdAt")).thenReturn(newestFirst);
+        when(newestFirst.get()).thenReturn(ApiFutures.immediateFuture(page));
+        MessageRetentionService service = newService(firestore, Duration.ofDays(30), 2, true, 100);
+
+        assertEquals(Optional.of(boundary.plusNanos(1)), service.resolveCutoff(NOW));
+    }
+
+    @Test
+    void enforce_ShouldArchiveThenDeleteExpiredMessages() throws Exception {
+        // Arrange
+        Instant oldest = Instant.parse("2020-01-01T00:00:00Z");
+        QueryDocumentSnapshot first = document("a", oldest);
+        QueryDocumentSnapshot second = document("b", oldest.plusSeconds(1));
+        Firestore firestore = firestoreWithExpired(first, second);
+        BulkWriter bulkWriter = mock(BulkWriter.class);
+        when(firestore.bulkWriter(any(BulkWriterOptions.class))).thenReturn(bulkWriter);
+        when(bulkWriter.delete(any(DocumentReference.class)))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)));
+        MessageRetentionService service = newService(firestore, Duration.ofDays(30), 0, true, 100);
+
+        // Act
+        RetentionSummary summary = service.enforce();
+
+        // Assert
+        assertEquals(2, summary.scanned());
+        assertEquals(2, summary.archived());
+        assertEquals(2, summary.deleted());
+        assertEquals(0, summary.failed());
+        assertEquals(1, summary.archiveSegments().size());
+        try (NdjsonArchiveReader reader = new NdjsonArchiveReader(Path.of(summary.archiveSegments().get(0)), objectMapper)) {
+            assertEquals("a", reader.next().messageId());
+            assertEquals("b", reader.next().messageId());
+        }
+        verify(bulkWriter).delete(first.getReference());
+        verify(bulkWriter).delete(second.getReference());
+        verify(bulkWriter).close();
+    }
+
+    @Test
+    void enforce_ShouldPruneRollupsBeforeCutoff() throws Exception {
+        // Arrange
+        Instant oldest = Instant.parse("2020-01-01T00:00:00Z");
+        Firestore firestore = firestoreWithExpired(document("a", oldest));
+        BulkWriter bulkWriter = mock(BulkWriter.class);
+        when(firestore.bulkWriter(any(BulkWriterOptions.class))).thenReturn(bulkWriter);
+        when(bulkWriter.delete(any(DocumentReference.class)))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)));
+        MessageRollupService rollups = mock(MessageRollupService.class);
+        MessageRetentionService service = new MessageRetentionService(firestore, new FlatMessageLayout(),
+                objectMapper, rollups, Duration.ofDays(30), 0, 100, 10, 3, 100, 100, false, tempDir.toString(), 500);
+
+        // Act
+        RetentionSummary summary = service.enforce();
+
+        // Assert
+        verify(rollups).prune(summary.cutoff());
+    }
+
+    @Test
+    void enforce_ShouldStopAtRunLimitAndCountFailures() throws Exception {
+        // Arrange
+        Instant oldest = Instant.parse("2020-01-01T00:00:00Z");
+        Firestore firestore = firestoreWithExpired(document("a", oldest), document("b", oldest.plusSeconds(1)));
+        BulkWriter bulkWriter = mock(BulkWriter.class);
+        when(firestore.bulkWriter(any(BulkWriterOptions.class))).thenReturn(bulkWriter);
+        when(bulkWriter.delete(any(DocumentReference.class)))
+                .thenReturn(ApiFutures.immediateFailedFuture(new RuntimeException("Database error")));
+        MessageRetentionService service = newService(firestore, Duration.ofDays(30), 0, false, 1);
+
+        // Act
+        RetentionSummary summary = service.enforce();
+
+        // Assert
+        assertEquals(1, summary.scanned());
+        assertEquals(0, summary.archived());
+        assertEquals(1, summary.failed());
+        assertTrue(summary.archiveSegments().isEmpty());
+        verify(bulkWriter, times(1)).delete(any(DocumentReference.class));
+    }
+
+    @Test
+    void enforce_AsLeader_WhenLeaseLostBetweenChunks_ShouldStopAndSettleQueuedDeletes() throws Exception {
+        // Arrange
+        Instant oldest = Instant.parse("2020-01-01T00:00:00Z");
+        QueryDocumentSnapshot first = document("a", oldest);
+        Firestore firestore = firestoreWithExpired(first, document("b", oldest.plusSeconds(1)));
+        BulkWriter bulkWriter = mock(BulkWriter.class);
+        when(firestore.bulkWriter(any(BulkWriterOptions.class))).thenReturn(bulkWriter);
+        when(bulkWriter.delete(any(DocumentReference.class)))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)));
+        CollectionReference runs = mock(CollectionReference.class);
+        when(firestore.collection(MessageRetentionService.RUNS_COLLECTION)).thenReturn(runs);
+        when(runs.document(anyString())).thenReturn(mock(DocumentReference.class));
+        when(firestore.runTransaction(any())).thenAnswer(invocation -> {
+            Transaction.Function<?> function = invocation.getArgument(0);
+            return ApiFutures.immediateFuture(function.updateCallback(mock(Transaction.class)));
+        });
+        LeaderElection leadership = mock(LeaderElection.class);
+        doNothing().doThrow(new LeaseLostException("jobs", 7, 8)).when(leadership).checkLeader(7);
+        MessageRetentionService service = new MessageRetentionService(firestore, new FlatMessageLayout(),
+                objectMapper, null, Duration.ofDays(30), 0, 100, 10, 3, 1, 100, false, tempDir.toString(), 500);
+
+        // Act & Assert
+        assertThrows(LeaseLostException.class, () -> service.enforce(leadership, 7));
+        verify(leadership).fence(any(Transaction.class), eq(7L));
+        verify(bulkWriter, times(1)).delete(first.getReference());
+        verify(bulkWriter).close();
+        assertEquals(1, service.getProgress().deleted());
+        assertFalse(service.isRunning());
+    }
+
+    @Test
+    void enforce_WhenArchivingFails_ShouldSettleQueuedDeletesBeforeFailing() throws Exception {
+        // Arrange
+        Instant oldest = Instant.parse("2020-01-01T00:00:00Z");
+        QueryDocumentSnapshot first = document("a", oldest);
+        QueryDocumentSnapshot corrupt = document("b", oldest.plusSeconds(1));
+        when(corrupt.getString("messageId")).thenThrow(new IllegalStateException("corrupt document"));
+        Firestore firestore = firestoreWithExpired(first, corrupt);
+        BulkWriter bulkWriter = mock(BulkWriter.class);
+        when(firestore.bulkWriter(any(BulkWriterOptions.class))).thenReturn(bulkWriter);
+        when(bulkWriter.delete(any(DocumentReference.class)))
+                .thenReturn(ApiFutures.immediateFuture(mock(WriteResult.class)));
+        MessageRetentionService service = new MessageRetentionService(firestore, new FlatMessageLayout(),
+                objectMapper, null, Duration.ofDays(30), 0, 100, 10, 3, 1, 100, true, tempDir.toString(), 500);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, service::enforce);
+        verify(bulkWriter, times(1)).delete(first.getReference());
+        verify(bulkWriter).close();
+        assertEquals(1, service.getProgress().deleted());
+    }
+
+    @Test
+    void bindTo_ShouldRegisterProgressAndBacklogGauges() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        newService(null, Duration.ofDays(30), 0, true, 100).bindTo(registry);
+
+        assertEquals(0.0, registry.get("messages.retention.deleted").gauge().value());
+        assertEquals(0.0, registry.get("messages.retention.backlog.age").gauge().value());
+        assertEquals(0.0, registry.get("messages.retention.running").gauge().value());
+    }
+
+    /**
+     * Stubs a flat messages collection holding only expired documents, in createdAt order.
+     */
+    private Firestore firestoreWithExpired(QueryDocumentSnapshot... documents) {
+        Firestore firestore = mock(Firestore.class);
+        CollectionReference collection = mock(CollectionReference.class);
+        Query range = mock(Query.class);
+        Query earliest = mock(Query.class);
+        Query page = mock(Query.class);
+        QuerySnapshot earliestPage = snapshot(documents[0]);
+        QuerySnapshot emptyPage = snapshot();
+        QuerySnapshot rangePage = snapshot(documents);
+        when(firestore.collection("messages")).thenReturn(collection);
+        when(collection.whereGreaterThanOrEqualTo(anyString(), any())).thenReturn(range);
+        when(range.whereLessThan(anyString(), any())).thenReturn(range);
+        when(range.orderBy(anyString(), eq(Query.Direction.ASCENDING))).thenReturn(range);
+        when(range.limit(anyInt())).thenReturn(page);
+        when(range.limit(1)).thenReturn(earliest);
+        when(earliest.get())
+                .thenReturn(ApiFutures.immediateFuture(earliestPage))
+                .thenReturn(ApiFutures.immediateFuture(emptyPage));
+        when(page.get()).thenReturn(ApiFutures.immediateFuture(rangePage));
+        return firestore;
+    }
+
+    private MessageRetentionService newService(Firestore firestore, Duration maxAge, int maxCount,
+                                               boolean archive, long maxDeletesPerRun) {
+        return new MessageRetentionService(firestore, new FlatMessageLayout(), objectMapper, null, maxAge,
+                maxCount, 100, 10, 3, 100, maxDeletesPerRun, archive, tempDir.toString(), 500);
+    }
+
+    private QuerySnapshot snapshot(QueryDocumentSnapshot... documents) {
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(List.of(documents));
+        return snapshot;
+    }
+
+    private QueryDocumentSnapshot document(String id, Instant createdAt) {
+        QueryDocumentSnapshot document = mock(QueryDocumentSnapshot.class);
+        DocumentReference reference = mock(DocumentReference.class);
+        when(document.getId()).thenReturn(id);
+        when(document.getReference()).thenReturn(reference);
+        when(document.getString("messageId")).thenReturn(id);
+        when(document.getString("author")).thenReturn("Allan");
+        when(document.getString("content")).thenReturn("content " + id);
+        when(document.getTimestamp("createdAt"))
+                .thenReturn(Timestamp.ofTimeSecondsAndNanos(createdAt.getEpochSecond(), createdAt.getNano()));
+        return document;
+    }
+}
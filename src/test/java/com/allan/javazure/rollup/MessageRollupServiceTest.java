@@ -0,0 +1,263 @@
+package com.allan.javazure.rollup;
+
+import com.allan.javazure.firestore.FakeFirestoreRpc;
+import com.allan.javazure.firestore.FaultProfile;
+import com.allan.javazure.firestore.InMemoryDocumentStore;
+import com.allan.javazure.firestore.LatencyDistribution;
+import com.allan.javazure.service.MessageSavedEvent;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageRollupService.
+ * Tests the recent and daily rollups against the in-memory Firestore, per-replica shards,
+ * pruning, batch idempotency,
+ * the document size budget and retries of failed batches.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class MessageRollupServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    private Firestore firestore;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (firestore != null) {
+            firestore.close();
+        }
+    }
+
+    @Test
+    void constructor_WithNonPositiveRecentSize_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MessageRollupService(null, 0, 20, 900_000, 100, 500, Duration.ZERO, 5, "replica-a", CLOCK));
+    }
+
+    @Test
+    void accept_ShouldKeepLatestMessagesNewestFirst() throws Exception {
+        // Arrange
+        MessageRollupService service = newService(3, 20, 900_000);
+        List<MessageSavedEvent> messages = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            messages.add(event("m" + i, NOW.minusSeconds(60 - i)));
+        }
+
+        // Act
+        service.accept(messages);
+
+        // Assert
+        List<RollupEntry> recent = service.getRecent();
+        assertEquals(List.of("m4", "m3", "m2"), recent.stream().map(RollupEntry::messageId).toList());
+        assertEquals("Content of m4", recent.get(0).content());
+        assertEquals(NOW.minusSeconds(56), recent.get(0).createdAt());
+    }
+
+    @Test
+    void accept_AcrossBatches_ShouldSummarizeEachDay() throws Exception {
+        // Arrange
+        MessageRollupService service = newService(50, 2, 900_000);
+        Instant yesterday = Instant.parse("2026-10-17T23:59:59Z");
+        service.accept(List.of(event("a", yesterday), event("b", NOW.minusSeconds(30))));
+
+        // Act
+        service.accept(List.of(event("c", NOW.minusSeconds(20)), event("d", NOW.minusSeconds(10))));
+
+        // Assert
+        DailyRollup today = service.getDailySummary(LocalDate.of(2026, 10, 18));
+        assertEquals(3, today.count());
+        assertEquals(NOW.minusSeconds(30), today.firstAt());
+        assertEquals(NOW.minusSeconds(10), today.lastAt());
+        assertEquals(List.of("d", "c"), today.latest().stream().map(RollupEntry::messageId).toList());
+        assertEquals(1, service.getDailySummary(LocalDate.of(2026, 10, 17)).count());
+        assertEquals(4, service.getRecent().size());
+    }
+
+    @Test
+    void getDailySummary_ForDayWithoutMessages_ShouldReturnEmptySummary() {
+        // Arrange
+        MessageRollupService service = newService(50, 20, 900_000);
+
+        // Act
+        DailyRollup summary = service.getDailySummary(LocalDate.of(2026, 1, 1));
+
+        // Assert
+        assertEquals(0, summary.count());
+        assertNull(summary.firstAt());
+        assertTrue(summary.latest().isEmpty());
+    }
+
+    @Test
+    void apply_WithAlreadyAppliedBatch_ShouldNotCountMessagesTwice() throws Exception {
+        // Arrange
+        MessageRollupService service = newService(50, 20, 900_000);
+        List<RollupEntry> entries = List.of(RollupEntry.of(event("a", NOW)), RollupEntry.of(event("b", NOW)));
+        service.apply("batch-1", entries);
+
+        // Act
+        service.apply("batch-1", entries);
+
+        // Assert
+        assertEquals(2, service.getDailySummary(LocalDate.of(2026, 10, 18)).count());
+        assertEquals(2, service.getRecent().size());
+    }
+
+    @Test
+    void accept_FromTwoReplicasConcurrently_ShouldWriteOwnShardsAndMergeOnRead() throws Exception {
+        // Arrange
+        MessageRollupService first = newService(50, 20, 900_000);
+        MessageRollupService second = replica("replica-b", 50, 20, 900_000);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        try {
+            Future<?> a = executor.submit(() -> {
+                first.accept(List.of(event("a1", NOW.minusSeconds(40)), event("a2", NOW.minusSeconds(20))));
+                return null;
+            });
+            Future<?> b = executor.submit(() -> {
+                second.accept(List.of(event("b1", NOW.minusSeconds(30)), event("b2", NOW.minusSeconds(10))));
+                return null;
+            });
+            a.get();
+            b.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(List.of("replica-a", "replica-b"), firestore.collection(MessageRollupService.ROLLUPS_COLLECTION)
+                .document(MessageRollupService.RECENT_DOCUMENT).collection(MessageRollupService.REPLICAS_COLLECTION)
+                .get().get().getDocuments().stream().map(DocumentSnapshot::getId).toList());
+        assertEquals(List.of("b2", "a2", "b1", "a1"),
+                second.getRecent().stream().map(RollupEntry::messageId).toList());
+        DailyRollup today = first.getDailySummary(LocalDate.of(2026, 10, 18));
+        assertEquals(4, today.count());
+        assertEquals(NOW.minusSeconds(40), today.firstAt());
+        assertEquals(NOW.minusSeconds(10), today.lastAt());
+    }
+
+    @Test
+    void prune_ShouldRemoveCopiesOfMessagesBeforeCutoff() throws Exception {
+        // Arrange
+        MessageRollupService service = newService(50, 20, 900_000);
+        Instant twoDaysAgo = Instant.parse("2026-10-16T08:00:00Z");
+        service.accept(List.of(event("a", twoDaysAgo), event("b", NOW.minusSeconds(120)),
+                event("c", NOW.minusSeconds(30))));
+
+        // Act
+        int deleted = service.prune(NOW.minusSeconds(60));
+
+        // Assert
+        assertEquals(1, deleted);
+        assertEquals(0, service.getDailySummary(LocalDate.of(2026, 10, 16)).count());
+        DailyRollup today = service.getDailySummary(LocalDate.of(2026, 10, 18));
+        assertEquals(2, today.count());
+        assertEquals(List.of("c"), today.latest().stream().map(RollupEntry::messageId).toList());
+        assertEquals(List.of("c"), service.getRecent().stream().map(RollupEntry::messageId).toList());
+    }
+
+    @Test
+    void merge_ShouldKeepEachMessageOnce() {
+        // Arrange
+        MessageRollupService service = new MessageRollupService(null, 50, 20, 900_000, 100, 500, Duration.ZERO, 5,
+                "replica-a", CLOCK);
+        RollupEntry first = RollupEntry.of(event("a", NOW));
+        RollupEntry second = RollupEntry.of(event("b", NOW.plusSeconds(1)));
+
+        // Act
+        List<RollupEntry> merged = service.merge(List.of(first), List.of(first, second), 50);
+
+        // Assert
+        assertEquals(List.of(second, first), merged);
+    }
+
+    @Test
+    void merge_ShouldDropOldestEntriesBeyondDocumentBudget() {
+        // Arrange
+        RollupEntry oldest = new RollupEntry("a", "Allan", "x".repeat(1000), NOW);
+        RollupEntry middle = new RollupEntry("b", "Allan", "x".repeat(1000), NOW.plusSeconds(1));
+        RollupEntry newest = new RollupEntry("c", "Allan", "x".repeat(1000), NOW.plusSeconds(2));
+        MessageRollupService service = new MessageRollupService(null, 50, 20,
+                4096 + 2 * oldest.storageSize(), 100, 500, Duration.ZERO, 5, "replica-a", CLOCK);
+
+        // Act
+        List<RollupEntry> merged = service.merge(List.of(), List.of(oldest, middle, newest), 50);
+
+        // Assert
+        assertEquals(List.of(newest, middle), merged);
+    }
+
+    @Test
+    void accept_WhenTransactionFails_ShouldRetryThenThrow() {
+        // Arrange
+        Firestore failing = mock(Firestore.class);
+        when(failing.runTransaction(any())).thenReturn(ApiFutures.immediateFailedFuture(new RuntimeException("unavailable")));
+        MessageRollupService service = new MessageRollupService(failing, 50, 20, 900_000, 100, 500, Duration.ZERO, 2,
+                "replica-a", CLOCK);
+
+        // Act & Assert
+        assertThrows(ExecutionException.class, () -> service.accept(List.of(event("a", NOW))));
+        verify(failing, times(2)).runTransaction(any());
+    }
+
+    @Test
+    void accept_WithoutFirestore_ShouldIgnoreMessages() throws Exception {
+        // Arrange
+        MessageRollupService service = new MessageRollupService(null, 50, 20, 900_000, 100, 500, Duration.ZERO, 5,
+                "replica-a", CLOCK);
+
+        // Act & Assert
+        service.accept(List.of(event("a", NOW)));
+        assertEquals(MessageRollupService.SINK_NAME, service.getName());
+        assertEquals(1, service.getSettings().workers());
+    }
+
+    @Test
+    void getRecent_WithoutFirestore_ShouldThrowIllegalStateException() {
+        // Arrange
+        MessageRollupService service = new MessageRollupService(null, 50, 20, 900_000, 100, 500, Duration.ZERO, 5,
+                "replica-a", CLOCK);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, service::getRecent);
+    }
+
+    private MessageRollupService newService(int recentSize, int dailySize, int maxDocumentBytes) {
+        LatencyDistribution noLatency = new LatencyDistribution.Fixed(Duration.ZERO);
+        firestore = new FakeFirestoreRpc(new InMemoryDocumentStore(), noLatency, noLatency, FaultProfile.NONE, 42, 2)
+                .createClient("fake-project");
+        return replica("replica-a", recentSize, dailySize, maxDocumentBytes);
+    }
+
+    private MessageRollupService replica(String replicaId, int recentSize, int dailySize, int maxDocumentBytes) {
+        return new MessageRollupService(firestore, recentSize, dailySize, maxDocumentBytes, 100, 500, Duration.ZERO, 5,
+                replicaId, CLOCK);
+    }
+
+    private static MessageSavedEvent event(String messageId, Instant createdAt) {
+        return new MessageSavedEvent(messageId, "Allan", "Content of " + messageId, createdAt);
+    }
+}
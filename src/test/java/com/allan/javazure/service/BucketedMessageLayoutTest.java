@@ -0,0 +1,152 @@
+package com.allan.javazure.service;
+
+import com.allan.javazure.service.MessageLayout.TimeRange;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BucketedMessageLayout.
+ * Tests bucket naming, shard assignment, and slicing of time ranges.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class BucketedMessageLayoutTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2025-01-01T12:34:56Z");
+
+    @Mock
+    private Firestore mockFirestore;
+
+    @Mock
+    private CollectionReference mockMessages;
+
+    @Mock
+    private DocumentReference mockBucket;
+
+    @Mock
+    private CollectionReference mockItems;
+
+    @Mock
+    private DocumentReference mockDocument;
+
+    @Test
+    void bucketId_ShouldUseUtcHourAndShard() {
+        BucketedMessageLayout layout = new BucketedMessageLayout(4, ChronoUnit.HOURS);
+
+        assertEquals("2025010112_3", layout.bucketId(CREATED_AT, 3));
+        assertEquals("20250101_0", new BucketedMessageLayout(4, ChronoUnit.DAYS).bucketId(CREATED_AT, 0));
+    }
+
+    @Test
+    void document_WithKnownId_ShouldAlwaysMapToSameShard() {
+        BucketedMessageLayout layout = new BucketedMessageLayout(4, ChronoUnit.HOURS);
+        stubItems();
+        when(mockItems.document("message-1")).thenReturn(mockDocument);
+
+        assertSame(mockDocument, layout.document(mockFirestore, "message-1", CREATED_AT));
+        assertSame(mockDocument, layout.document(mockFirestore, "message-1", CREATED_AT));
+
+        verify(mockMessages, times(2)).document("2025010112_" + Math.floorMod("message-1".hashCode(), 4));
+    }
+
+    @Test
+    void newDocument_ShouldWriteIntoItemsSubcollectionOfBucket() {
+        BucketedMessageLayout layout = new BucketedMessageLayout(4, ChronoUnit.HOURS);
+        stubItems();
+        when(mockItems.document()).thenReturn(mockDocument);
+
+        assertSame(mockDocument, layout.newDocument(mockFirestore, CREATED_AT));
+
+        verify(mockMessages).document(argThat((String id) -> id.startsWith("2025010112_")));
+        verify(mockBucket).collection("items");
+    }
+
+    @Test
+    void slices_ShouldAlignToBucketsAndClipEdges() {
+        BucketedMessageLayout layout = new BucketedMessageLayout(4, ChronoUnit.HOURS);
+
+        List<TimeRange> slices = layout.slices(
+                Instant.parse("2025-01-01T10:30:00Z"), Instant.parse("2025-01-01T12:15:00Z"));
+
+        assertEquals(List.of(
+                new TimeRange(Instant.parse("2025-01-01T10:30:00Z"), Instant.parse("2025-01-01T11:00:00Z")),
+                new TimeRange(Instant.parse("2025-01-01T11:00:00Z"), Instant.parse("2025-01-01T12:00:00Z")),
+                new TimeRange(Instant.parse("2025-01-01T12:00:00Z"), Instant.parse("2025-01-01T12:15:00Z"))),
+                slices);
+    }
+
+    @Test
+    void queries_ShouldReturnOneQueryPerShard() {
+        BucketedMessageLayout layout = new BucketedMessageLayout(3, ChronoUnit.HOURS);
+        Query mockQuery = mock(Query.class);
+        stubItems();
+        when(mockItems.whereGreaterThanOrEqualTo(anyString(), any())).thenReturn(mockQuery);
+        when(mockQuery.whereLessThan(anyString(), any())).thenReturn(mockQuery);
+        when(mockQuery.orderBy(anyString(), any(Query.Direction.class))).thenReturn(mockQuery);
+
+        List<Query> queries = layout.queries(mockFirestore, new TimeRange(CREATED_AT, CREATED_AT.plusSeconds(60)),
+                Query.Direction.ASCENDING);
+
+        assertEquals(3, queries.size());
+        verify(mockMessages).document("2025010112_0");
+        verify(mockMessages).document("2025010112_2");
+    }
+
+    @Test
+    void storedSlices_ShouldListBucketsOnceInTimeOrder() {
+        BucketedMessageLayout layout = new BucketedMessageLayout(2, ChronoUnit.HOURS);
+        List<DocumentReference> buckets = List.of(
+                bucket("2025010113_1"), bucket("2025010112_0"), bucket("2025010113_0"), bucket("legacyMessageId"));
+        when(mockFirestore.collection("messages")).thenReturn(mockMessages);
+        when(mockMessages.listDocuments()).thenReturn(buckets);
+
+        List<TimeRange> slices = layout.storedSlices(mockFirestore);
+
+        assertEquals(List.of(new TimeRange(CREATED_AT.truncatedTo(ChronoUnit.HOURS), Instant.parse("2025-01-01T13:00:00Z")),
+                new TimeRange(Instant.parse("2025-01-01T13:00:00Z"), Instant.parse("2025-01-01T14:00:00Z"))), slices);
+    }
+
+    @Test
+    void parseBucketStart_WithDailyBuckets_ShouldReturnMidnight() {
+        BucketedMessageLayout layout = new BucketedMessageLayout(2, ChronoUnit.DAYS);
+
+        assertEquals(Optional.of(Instant.parse("2025-01-01T00:00:00Z")), layout.parseBucketStart("20250101_1"));
+        assertEquals(Optional.empty(), layout.parseBucketStart("2025010112_1"));
+    }
+
+    @Test
+    void constructor_WithUnsupportedGranularity_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new BucketedMessageLayout(4, ChronoUnit.MINUTES));
+        assertThrows(IllegalArgumentException.class, () -> new BucketedMessageLayout(0, ChronoUnit.HOURS));
+    }
+
+    private DocumentReference bucket(String id) {
+        DocumentReference bucket = mock(DocumentReference.class);
+        when(bucket.getId()).thenReturn(id);
+        return bucket;
+    }
+
+    private void stubItems() {
+        when(mockFirestore.collection("messages")).thenReturn(mockMessages);
+        when(mockMessages.document(anyString())).thenReturn(mockBucket);
+        when(mockBucket.collection("items")).thenReturn(mockItems);
+    }
+}
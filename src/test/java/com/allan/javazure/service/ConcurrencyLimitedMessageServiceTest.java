@@ -0,0 +1,113 @@
+package com.allan.javazure.service;
+
+import com.allan.javazure.limit.AdaptiveConcurrencyLimiter;
+import com.allan.javazure.limit.LimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConcurrencyLimitedMessageService.
+ * Tests admission, immediate shedding over the limit and permit release on every outcome.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedMessageServiceTest {
+
+    private static final SaveResult SAVED = new SaveResult("id", Instant.parse("2025-01-01T12:00:00Z"));
+
+    @Mock
+    private MessageService delegate;
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitedMessageService service;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(4, 4, 4, 0.2, 1.5, 600, Duration.ofSeconds(2));
+        service = new ConcurrencyLimitedMessageService(delegate, limiter);
+    }
+
+    @Test
+    void saveMessageAsync_WhenAdmitted_ShouldReleaseSlotOnCompletion() {
+        // Arrange
+        CompletableFuture<SaveResult> pending = new CompletableFuture<>();
+        when(delegate.saveMessageAsync("Allan", "Hello")).thenReturn(pending);
+
+        // Act
+        CompletableFuture<SaveResult> future = service.saveMessageAsync("Allan", "Hello");
+
+        // Assert
+        assertEquals(1, limiter.getInFlight());
+        pending.complete(SAVED);
+        assertEquals(SAVED, future.join());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void saveMessageAsync_WhenLimitReached_ShouldFailImmediatelyWithoutCallingDelegate() {
+        // Arrange
+        when(delegate.saveMessageAsync("Allan", "Hello")).thenReturn(new CompletableFuture<>());
+        for (int i = 0; i < 4; i++) {
+            service.saveMessageAsync("Allan", "Hello");
+        }
+
+        // Act
+        CompletableFuture<SaveResult> future = service.saveMessageAsync("Allan", "Hello");
+
+        // Assert
+        CompletionException error = assertThrows(CompletionException.class, future::join);
+        LimitExceededException cause = assertInstanceOf(LimitExceededException.class, error.getCause());
+        assertEquals(Duration.ofSeconds(2), cause.getRetryAfter());
+        verify(delegate, times(4)).saveMessageAsync("Allan", "Hello");
+    }
+
+    @Test
+    void saveMessageAsync_WhenDelegateFails_ShouldReleaseSlot() {
+        // Arrange
+        when(delegate.saveMessageAsync(null, ""))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("empty")));
+
+        // Act
+        CompletableFuture<SaveResult> future = service.saveMessageAsync(null, "");
+
+        // Assert
+        assertThrows(CompletionException.class, future::join);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void saveMessage_WhenLimitReached_ShouldThrowLimitExceeded() {
+        // Arrange
+        when(delegate.saveMessageAsync("Allan", "Hello")).thenReturn(new CompletableFuture<>());
+        for (int i = 0; i < 4; i++) {
+            service.saveMessageAsync("Allan", "Hello");
+        }
+
+        // Act & Assert
+        assertThrows(LimitExceededException.class, () -> service.saveMessage("Allan", "Hello"));
+        verify(delegate, never()).saveMessage(any(), any());
+    }
+
+    @Test
+    void saveMessage_WhenDelegateThrows_ShouldReleaseSlotAndRethrow() {
+        // Arrange
+        doThrow(new RuntimeException("unavailable")).when(delegate).saveMessage("Allan", "Hello");
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> service.saveMessage("Allan", "Hello"));
+        assertEquals(0, limiter.getInFlight());
+    }
+}
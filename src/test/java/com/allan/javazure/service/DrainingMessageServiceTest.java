@@ -0,0 +1,131 @@
+package com.allan.javazure.service;
+
+import com.allan.javazure.drain.WriteGate;
+import com.allan.javazure.limit.LimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DrainingMessageService.
+ * Tests in-flight tracking on every outcome and refusal of saves once the gate is closed.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class DrainingMessageServiceTest {
+
+    private static final SaveResult SAVED = new SaveResult("id", Instant.parse("2026-10-18T12:00:00Z"));
+
+    @Mock
+    private MessageService delegate;
+
+    private WriteGate gate;
+    private DrainingMessageService service;
+
+    @BeforeEach
+    void setUp() {
+        gate = new WriteGate();
+        service = new DrainingMessageService(delegate, gate, Duration.ofSeconds(2));
+    }
+
+    @Test
+    void saveMessageAsync_WhileOpen_ShouldCountSaveUntilItCompletes() {
+        // Arrange
+        CompletableFuture<SaveResult> pending = new CompletableFuture<>();
+        when(delegate.saveMessageAsync("Allan", "Hello")).thenReturn(pending);
+
+        // Act
+        CompletableFuture<SaveResult> future = service.saveMessageAsync("Allan", "Hello");
+
+        // Assert
+        assertEquals(1, gate.getInFlight());
+        pending.complete(SAVED);
+        assertEquals(SAVED, future.join());
+        assertEquals(0, gate.getInFlight());
+    }
+
+    @Test
+    void saveMessageAsync_WithIdempotencyKey_ShouldPassKeyToDelegate() {
+        // Arrange
+        when(delegate.saveMessageAsync("Allan", "Hello", "key-1")).thenReturn(CompletableFuture.completedFuture(SAVED));
+
+        // Act
+        SaveResult saved = service.saveMessageAsync("Allan", "Hello", "key-1").join();
+
+        // Assert
+        assertEquals(SAVED, saved);
+        assertEquals(0, gate.getInFlight());
+    }
+
+    @Test
+    void saveMessageAsync_WhenSaveFails_ShouldEndSave() {
+        // Arrange
+        when(delegate.saveMessageAsync("Allan", "Hello"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("unavailable")));
+
+        // Act
+        CompletableFuture<SaveResult> future = service.saveMessageAsync("Allan", "Hello");
+
+        // Assert
+        assertThrows(CompletionException.class, future::join);
+        assertEquals(0, gate.getInFlight());
+    }
+
+    @Test
+    void saveMessageAsync_WhenDelegateThrows_ShouldEndSaveAndRethrow() {
+        // Arrange
+        when(delegate.saveMessageAsync("Allan", "Hello")).thenThrow(new IllegalStateException("broken"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> service.saveMessageAsync("Allan", "Hello"));
+        assertEquals(0, gate.getInFlight());
+    }
+
+    @Test
+    void saveMessageAsync_WhenGateClosed_ShouldFailWithRetryAfterWithoutCallingDelegate() {
+        // Arrange
+        gate.close();
+
+        // Act
+        CompletableFuture<SaveResult> future = service.saveMessageAsync("Allan", "Hello");
+
+        // Assert
+        CompletionException error = assertThrows(CompletionException.class, future::join);
+        LimitExceededException refused = assertInstanceOf(LimitExceededException.class, error.getCause());
+        assertEquals(Duration.ofSeconds(2), refused.getRetryAfter());
+        assertEquals(0, gate.getInFlight());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void saveMessage_WhenGateClosed_ShouldThrowLimitExceededException() {
+        // Arrange
+        gate.close();
+
+        // Act & Assert
+        assertThrows(LimitExceededException.class, () -> service.saveMessage("Allan", "Hello"));
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void saveMessage_WhenDelegateThrows_ShouldEndSave() {
+        // Arrange
+        doThrow(new IllegalArgumentException("empty")).when(delegate).saveMessage("Allan", "");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.saveMessage("Allan", ""));
+        assertEquals(0, gate.getInFlight());
+    }
+}
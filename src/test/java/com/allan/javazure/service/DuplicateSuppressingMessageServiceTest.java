@@ -0,0 +1,92 @@
+package com.allan.javazure.service;
+
+import com.allan.javazure.dedup.DuplicateMessageDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DuplicateSuppressingMessageService.
+ * Tests that resends never reach the wrapped service on either save path.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class DuplicateSuppressingMessageServiceTest {
+
+    private static final SaveResult SAVED = new SaveResult("id", Instant.parse("2025-01-01T12:00:00Z"));
+
+    @Mock
+    private MessageService delegate;
+
+    private DuplicateSuppressingMessageService service;
+
+    @BeforeEach
+    void setUp() {
+        DuplicateMessageDetector detector = new DuplicateMessageDetector(null, DuplicateMessageDetector.Action.DROP,
+                false, Duration.ofMinutes(10), 4, 1000, 0.01, 1000, 1000);
+        service = new DuplicateSuppressingMessageService(delegate, detector);
+    }
+
+    @Test
+    void saveMessageAsync_WithResend_ShouldReturnOriginalIdentity() {
+        // Arrange
+        when(delegate.saveMessageAsync("Bot", "Buy now")).thenReturn(CompletableFuture.completedFuture(SAVED));
+
+        // Act
+        service.saveMessageAsync("Bot", "Buy now").join();
+        SaveResult resend = service.saveMessageAsync("Bot", "Buy now").join();
+
+        // Assert
+        assertEquals(SAVED, resend);
+        verify(delegate, times(1)).saveMessageAsync("Bot", "Buy now");
+    }
+
+    @Test
+    void saveMessageAsync_WithRepeatedIdempotencyKey_ShouldReturnOriginalIdentity() {
+        // Arrange
+        when(delegate.saveMessageAsync("Allan", "Hello")).thenReturn(CompletableFuture.completedFuture(SAVED));
+
+        // Act
+        service.saveMessageAsync("Allan", "Hello", "key-1").join();
+        SaveResult retry = service.saveMessageAsync("Allan", "Hello", "key-1").join();
+
+        // Assert
+        assertEquals(SAVED, retry);
+        verify(delegate, times(1)).saveMessageAsync("Allan", "Hello");
+    }
+
+    @Test
+    void saveMessage_WithResend_ShouldSaveOnce() {
+        // Arrange
+        when(delegate.saveMessageAsync("Bot", "Buy now")).thenReturn(CompletableFuture.completedFuture(SAVED));
+
+        // Act
+        service.saveMessage("Bot", "Buy now");
+        service.saveMessage("Bot", "Buy now");
+
+        // Assert
+        verify(delegate, times(1)).saveMessageAsync("Bot", "Buy now");
+        verify(delegate, never()).saveMessage(any(), any());
+    }
+
+    @Test
+    void saveMessage_WhenSaveFails_ShouldRethrowCause() {
+        // Arrange
+        when(delegate.saveMessageAsync(null, ""))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("empty")));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.saveMessage(null, ""));
+    }
+}
@@ -4,14 +4,24 @@ import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.Firestore;
 import com.google.cloud.firestore.CollectionReference;
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.WriteBatch;
 import com.google.cloud.firestore.WriteResult;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -271,4 +281,243 @@ class FirebaseMessageServiceTest {
             return "Allan".equals(messageMap.get("author"));
         }));
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveMessage_WithUnsanitizedContent_ShouldStoreSanitizedContent() throws Exception {
+        // Arrange
+        when(mockFirestore.collection("messages")).thenReturn(mockCollection);
+        when(mockCollection.document()).thenReturn(mockDocument);
+        when(mockDocument.set(any(Map.class))).thenReturn(mockWriteFuture);
+        when(mockWriteFuture.get()).thenReturn(mockWriteResult);
+
+        // Act
+        serviceWithFirestore.saveMessage("Allan\u200B", "\uFEFFHello   world\u0000\r\n\r\n\r\nBye ");
+
+        // Assert
+        verify(mockDocument).set(argThat(map -> {
+            Map<String, Object> messageMap = (Map<String, Object>) map;
+            return "Allan".equals(messageMap.get("author")) &&
+                   "Hello world\n\nBye".equals(messageMap.get("content"));
+        }));
+    }
+
+    @Test
+    void saveMessageAsync_WithFirestore_ShouldCompleteWithStoredIdentity() {
+        // Arrange
+        when(mockFirestore.collection("messages")).thenReturn(mockCollection);
+        when(mockCollection.document()).thenReturn(mockDocument);
+        when(mockDocument.set(any(Map.class))).thenReturn(ApiFutures.immediateFuture(mockWriteResult));
+
+        // Act
+        SaveResult result = serviceWithFirestore.saveMessageAsync("Allan", "Hello, world!").join();
+
+        // Assert
+        verify(mockDocument).set(argThat(map -> {
+            Map<String, Object> messageMap = (Map<String, Object>) map;
+            Instant storedAt = Instant.ofEpochSecond(
+                    ((com.google.cloud.Timestamp) messageMap.get("createdAt")).getSeconds(),
+                    ((com.google.cloud.Timestamp) messageMap.get("createdAt")).getNanos());
+            return result.messageId().equals(messageMap.get("messageId")) &&
+                   result.createdAt().equals(storedAt);
+        }));
+    }
+
+    @Test
+    void saveMessageAsync_WhenFirestoreFails_ShouldCompleteExceptionally() {
+        // Arrange
+        when(mockFirestore.collection("messages")).thenReturn(mockCollection);
+        when(mockCollection.document()).thenReturn(mockDocument);
+        when(mockDocument.set(any(Map.class)))
+                .thenReturn(ApiFutures.immediateFailedFuture(new RuntimeException("Database error")));
+
+        // Act
+        CompletableFuture<SaveResult> future = serviceWithFirestore.saveMessageAsync("Allan", "Hello, world!");
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertEquals("Failed to save message to database", exception.getCause().getMessage());
+    }
+
+    @Test
+    void saveMessageAsync_WithInvalidContent_ShouldReturnFailedFutureWithoutIo() {
+        // Act
+        CompletableFuture<SaveResult> future = serviceWithFirestore.saveMessageAsync("Allan", "   ");
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        verify(mockFirestore, never()).collection(any());
+    }
+
+    @Test
+    void saveMessageAsync_WithInvisibleOnlyContent_ShouldReturnFailedFutureWithoutIo() {
+        // Act
+        CompletableFuture<SaveResult> future = serviceWithFirestore.saveMessageAsync("Allan", "\u200B\uFEFF\u0007");
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        verify(mockFirestore, never()).collection(any());
+    }
+
+    @Test
+    void saveMessageAsync_WhenWriteCannotBeStarted_ShouldReturnFailedFutureAndStopObservation() {
+        // Arrange
+        List<Observation.Context> stopped = new ArrayList<>();
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        MessageWriteContributor contributor = mock(MessageWriteContributor.class);
+        doThrow(new IllegalStateException("counter shards unavailable"))
+                .when(contributor).contribute(any(), any(), any());
+        FirebaseMessageService service =
+                new FirebaseMessageService(mockFirestore, new FlatMessageLayout(), List.of(contributor), registry);
+        when(mockFirestore.collection("messages")).thenReturn(mockCollection);
+        when(mockCollection.document()).thenReturn(mockDocument);
+        when(mockFirestore.batch()).thenReturn(mock(WriteBatch.class));
+
+        // Act
+        CompletableFuture<SaveResult> future = service.saveMessageAsync("Allan", "Hello, world!");
+
+        // Assert
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        Observation.Context save = stopped.get(stopped.size() - 1);
+        assertEquals(FirebaseMessageService.SAVE_OBSERVATION, save.getName());
+        assertInstanceOf(IllegalStateException.class, save.getError());
+    }
+
+    @Test
+    void saveMessageAsync_WithMockMode_ShouldCompleteImmediately() {
+        // Act
+        CompletableFuture<SaveResult> future = serviceWithoutFirestore.saveMessageAsync(null, "Hello, world!");
+
+        // Assert
+        assertTrue(future.isDone());
+        assertNotNull(future.join().messageId());
+        assertNotNull(future.join().createdAt());
+    }
+
+    @Test
+    void saveMessage_WithWriteContributor_ShouldCommitMessageAndContributionInOneBatch() throws Exception {
+        // Arrange
+        WriteBatch mockBatch = mock(WriteBatch.class);
+        MessageWriteContributor contributor = mock(MessageWriteContributor.class);
+        FirebaseMessageService service =
+                new FirebaseMessageService(mockFirestore, new FlatMessageLayout(), List.of(contributor));
+        when(mockFirestore.collection("messages")).thenReturn(mockCollection);
+        when(mockCollection.document()).thenReturn(mockDocument);
+        when(mockFirestore.batch()).thenReturn(mockBatch);
+        when(mockBatch.commit()).thenReturn(ApiFutures.immediateFuture(List.of(mockWriteResult)));
+
+        // Act
+        service.saveMessage("Allan", "Hello, world!");
+
+        // Assert
+        verify(mockBatch).set(eq(mockDocument), any(Map.class));
+        verify(contributor).contribute(eq(mockBatch), any(Map.class), any(Instant.class));
+        verify(mockBatch).commit();
+        verify(mockDocument, never()).set(any(Map.class));
+    }
+
+    @Test
+    void saveMessageAsync_WithObservationRegistry_ShouldObserveCommitWithinSave() {
+        // Arrange
+        List<Observation.Context> stopped = new ArrayList<>();
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        FirebaseMessageService service =
+                new FirebaseMessageService(mockFirestore, new FlatMessageLayout(), List.of(), registry);
+        when(mockFirestore.collection("messages")).thenReturn(mockCollection);
+        when(mockCollection.document()).thenReturn(mockDocument);
+        doReturn(ApiFutures.immediateFuture(mockWriteResult)).when(mockDocument).set(any(Map.class));
+
+        // Act
+        service.saveMessageAsync("Allan", "Hello, world!").join();
+
+        // Assert
+        assertEquals(List.of(FirebaseMessageService.COMMIT_OBSERVATION, FirebaseMessageService.SAVE_OBSERVATION),
+                stopped.stream().map(Observation.Context::getName).toList());
+        assertEquals(FirebaseMessageService.SAVE_OBSERVATION,
+                stopped.get(0).getParentObservation().getContextView().getName());
+        assertNull(stopped.get(1).getError());
+    }
+
+    @Test
+    void saveMessageAsync_WhenWriteFails_ShouldRecordErrorOnObservations() {
+        // Arrange
+        List<Observation.Context> stopped = new ArrayList<>();
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        FirebaseMessageService service =
+                new FirebaseMessageService(mockFirestore, new FlatMessageLayout(), List.of(), registry);
+        when(mockFirestore.collection("messages")).thenReturn(mockCollection);
+        when(mockCollection.document()).thenReturn(mockDocument);
+        doReturn(ApiFutures.immediateFailedFuture(new IllegalStateException("unavailable")))
+                .when(mockDocument).set(any(Map.class));
+
+        // Act
+        CompletableFuture<SaveResult> future = service.saveMessageAsync("Allan", "Hello, world!");
+
+        // Assert
+        assertThrows(CompletionException.class, future::join);
+        assertEquals(2, stopped.size());
+        assertTrue(stopped.stream().allMatch(context -> context.getError() != null));
+    }
+
+    @Test
+    void saveMessageAsync_WhenSaved_ShouldPublishMessageSavedEvent() {
+        // Arrange
+        List<Object> events = new ArrayList<>();
+        FirebaseMessageService service = new FirebaseMessageService(null, new FlatMessageLayout(), List.of(),
+                ObservationRegistry.NOOP, events::add);
+
+        // Act
+        SaveResult result = service.saveMessageAsync("  Allan  ", "Hello, world!").join();
+
+        // Assert
+        assertEquals(List.of(new MessageSavedEvent(result.messageId(), "Allan", "Hello, world!", result.createdAt())),
+                events);
+    }
+
+    @Test
+    void saveMessage_WhenValidationFails_ShouldNotPublishEvent() {
+        // Arrange
+        List<Object> events = new ArrayList<>();
+        FirebaseMessageService service = new FirebaseMessageService(null, new FlatMessageLayout(), List.of(),
+                ObservationRegistry.NOOP, events::add);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.saveMessage("Allan", " "));
+        assertTrue(events.isEmpty());
+    }
+}
@@ -0,0 +1,151 @@
+package com.allan.javazure.service;
+
+import com.google.api.core.ApiFutures;
+import com.google.cloud.firestore.CollectionReference;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.FieldValue;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.SetOptions;
+import com.google.cloud.firestore.WriteBatch;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageCounterService.
+ * Tests shard increments, shard aggregation and read caching.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+class MessageCounterServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    @Test
+    void constructor_WithNonPositiveShards_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MessageCounterService(null, 0, Duration.ofSeconds(30), 90));
+    }
+
+    @Test
+    void contribute_ShouldIncrementTotalAndDailyShardsInBatch() {
+        // Arrange
+        Firestore firestore = mock(Firestore.class, RETURNS_DEEP_STUBS);
+        CollectionReference totalShards = mock(CollectionReference.class);
+        CollectionReference dailyShards = mock(CollectionReference.class);
+        DocumentReference totalShard = mock(DocumentReference.class);
+        DocumentReference dailyShard = mock(DocumentReference.class);
+        when(firestore.collection("counters").document("messages_total").collection("shards")).thenReturn(totalShards);
+        when(firestore.collection("counters").document("messages_20261018").collection("shards")).thenReturn(dailyShards);
+        when(totalShards.document(anyString())).thenReturn(totalShard);
+        when(dailyShards.document(anyString())).thenReturn(dailyShard);
+        WriteBatch batch = mock(WriteBatch.class);
+        MessageCounterService service = new MessageCounterService(firestore, 4, Duration.ofSeconds(30), 90);
+
+        // Act
+        service.contribute(batch, Map.of(), NOW);
+
+        // Assert
+        Map<String, Object> increment = Map.of("count", FieldValue.increment(1));
+        verify(batch).set(eq(totalShard), eq(increment), any(SetOptions.class));
+        verify(batch).set(eq(dailyShard), eq(increment), any(SetOptions.class));
+    }
+
+    @Test
+    void getTotalCount_ShouldSumShards() throws Exception {
+        // Arrange
+        Firestore firestore = firestoreWithShards("messages_total", 3L, 4L, null);
+        MessageCounterService service = new MessageCounterService(firestore, 10, Duration.ofSeconds(30), 90);
+
+        // Act & Assert
+        assertEquals(7L, service.getTotalCount());
+    }
+
+    @Test
+    void getDailyCount_ShouldReadCounterOfThatDay() throws Exception {
+        // Arrange
+        Firestore firestore = firestoreWithShards("messages_20261018", 5L);
+        MessageCounterService service =
+                new MessageCounterService(firestore, 10, Duration.ofSeconds(30), 90, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act & Assert
+        assertEquals(5L, service.getDailyCount(LocalDate.of(2026, 10, 18)));
+    }
+
+    @Test
+    void getDailyCount_OutsideServedDays_ShouldThrowWithoutReading() {
+        // Arrange
+        Firestore firestore = mock(Firestore.class);
+        MessageCounterService service =
+                new MessageCounterService(firestore, 10, Duration.ofSeconds(30), 90, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act & Assert
+        assertTrue(service.isServedDay(LocalDate.of(2026, 7, 20)));
+        assertThrows(IllegalArgumentException.class, () -> service.getDailyCount(LocalDate.of(2026, 7, 19)));
+        assertThrows(IllegalArgumentException.class, () -> service.getDailyCount(LocalDate.of(2026, 10, 19)));
+        verifyNoInteractions(firestore);
+    }
+
+    @Test
+    void getTotalCount_WithinRefreshInterval_ShouldServeCachedValue() throws Exception {
+        // Arrange
+        Firestore firestore = firestoreWithShards("messages_total", 2L);
+        AtomicReference<Instant> now = new AtomicReference<>(NOW);
+        Clock clock = new Clock() {
+            @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+            @Override public Instant instant() { return now.get(); }
+        };
+        MessageCounterService service = new MessageCounterService(firestore, 10, Duration.ofSeconds(30), 90, clock);
+
+        // Act
+        service.getTotalCount();
+        now.set(NOW.plusSeconds(10));
+        service.getTotalCount();
+        now.set(NOW.plusSeconds(31));
+        service.getTotalCount();
+
+        // Assert
+        verify(firestore.collection("counters").document("messages_total").collection("shards"), times(2)).get();
+    }
+
+    @Test
+    void getTotalCount_WithoutFirestore_ShouldThrowException() {
+        MessageCounterService service = new MessageCounterService(null, 10, Duration.ofSeconds(30), 90);
+
+        assertFalse(service.isAvailable());
+        assertThrows(IllegalStateException.class, service::getTotalCount);
+    }
+
+    private static Firestore firestoreWithShards(String counter, Long... counts) {
+        Firestore firestore = mock(Firestore.class, RETURNS_DEEP_STUBS);
+        CollectionReference shards = mock(CollectionReference.class);
+        List<QueryDocumentSnapshot> snapshots = new java.util.ArrayList<>();
+        for (Long count : counts) {
+            QueryDocumentSnapshot snapshot = mock(QueryDocumentSnapshot.class);
+            when(snapshot.getLong("count")).thenReturn(count);
+            snapshots.add(snapshot);
+        }
+        QuerySnapshot querySnapshot = mock(QuerySnapshot.class);
+        when(querySnapshot.getDocuments()).thenReturn(snapshots);
+        when(shards.get()).thenReturn(ApiFutures.immediateFuture(querySnapshot));
+        when(firestore.collection("counters").document(counter).collection("shards")).thenReturn(shards);
+        return firestore;
+    }
+}
@@ -0,0 +1,70 @@
+package com.allan.javazure.service;
+
+import com.allan.javazure.dto.CreateMessageRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MessageRequestValidator.
+ * Tests the business rules and that the request constraints match bean validation.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class MessageRequestValidatorTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void validate_WithValidMessage_ShouldPass() {
+        assertDoesNotThrow(() -> MessageRequestValidator.validate("Hello", null));
+    }
+
+    @Test
+    void validate_WithTooLongAuthor_ShouldThrow() {
+        // Act & Assert
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> MessageRequestValidator.validate("Hello", "a".repeat(101)));
+        assertEquals("Author name cannot exceed 100 characters", error.getMessage());
+    }
+
+    @Test
+    void meetsRequestConstraints_ShouldAgreeWithBeanValidation() {
+        // Arrange
+        List<String> contents = Arrays.asList(null, "", " ", "\t\n", "\u200B", "Hello", " Hello ",
+                "a".repeat(1000), "a".repeat(1001), " " + "a".repeat(999) + " ");
+        List<String> authors = Arrays.asList(null, "", "Allan", "a".repeat(100), "a".repeat(101));
+
+        for (String content : contents) {
+            for (String author : authors) {
+                // Act
+                boolean expected = validator.validate(new CreateMessageRequest(content, author)).isEmpty();
+                boolean actual = MessageRequestValidator.meetsRequestConstraints(content, author);
+
+                // Assert
+                assertEquals(expected, actual, "content=" + content + ", author=" + author);
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.allan.javazure.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MessageSanitizer.
+ * Tests stripping, whitespace collapsing, NFC normalization and the no-copy fast path.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class MessageSanitizerTest {
+
+    @Test
+    void sanitize_WithNull_ShouldReturnNull() {
+        assertNull(MessageSanitizer.sanitize(null));
+    }
+
+    @Test
+    void sanitize_WithCleanAsciiText_ShouldReturnSameInstance() {
+        // Arrange
+        String text = "Hello there,\nhow are you?\n\nRegards";
+
+        // Act
+        String sanitized = MessageSanitizer.sanitize(text);
+
+        // Assert
+        assertSame(text, sanitized);
+    }
+
+    @Test
+    void sanitize_WithCleanNormalizedUnicodeText_ShouldReturnSameInstance() {
+        // Arrange
+        String text = "Caf\u00E9 \u00FCber \u65E5\u672C \uD83D\uDC4B\u200D";
+
+        // Act
+        String sanitized = MessageSanitizer.sanitize(text);
+
+        // Assert
+        assertSame(text, sanitized);
+    }
+
+    @Test
+    void sanitize_WithDecomposedCharacters_ShouldComposeToNfc() {
+        // Act
+        String sanitized = MessageSanitizer.sanitize("Cafe\u0301 nai\u0308ve");
+
+        // Assert
+        assertEquals("Caf\u00E9 na\u00EFve", sanitized);
+    }
+
+    @Test
+    void sanitize_WithCombiningMarkAfterStrippedCharacter_ShouldComposeAcrossTheGap() {
+        // Act
+        String sanitized = MessageSanitizer.sanitize("e\u200B\u0301");
+
+        // Assert
+        assertEquals("\u00E9", sanitized);
+    }
+
+    @Test
+    void sanitize_WithLeadingAndTrailingWhitespace_ShouldTrim() {
+        assertEquals("Hello", MessageSanitizer.sanitize(" \t\n Hello \r\n "));
+    }
+
+    @Test
+    void sanitize_WithWhitespaceRuns_ShouldCollapseToSingleSpace() {
+        assertEquals("a b c d", MessageSanitizer.sanitize("a   b\t\tc\u00A0\u2003d"));
+    }
+
+    @Test
+    void sanitize_WithManyLineBreaks_ShouldKeepAtMostOneBlankLine() {
+        assertEquals("a\n\nb\nc", MessageSanitizer.sanitize("a\n\n\n\nb \n c"));
+    }
+
+    @Test
+    void sanitize_WithCarriageReturns_ShouldConvertToLineFeeds() {
+        assertEquals("a\nb\nc\nd", MessageSanitizer.sanitize("a\r\nb\rc\u2028d"));
+    }
+
+    @Test
+    void sanitize_WithControlCharacters_ShouldStripThem() {
+        assertEquals("abc", MessageSanitizer.sanitize("a\u0000b\u0007\u001Bc\u007F\u0090"));
+    }
+
+    @Test
+    void sanitize_WithZeroWidthAndFormatCharacters_ShouldStripThem() {
+        assertEquals("invisible", MessageSanitizer.sanitize("\uFEFFin\u200Bvi\u00ADsi\u2060ble\u180E"));
+    }
+
+    @Test
+    void sanitize_WithBidirectionalOverrides_ShouldStripThem() {
+        assertEquals("file.txt", MessageSanitizer.sanitize("file\u202E.\u2066txt\u2069\u200F"));
+    }
+
+    @Test
+    void sanitize_WithZeroWidthJoiners_ShouldKeepThem() {
+        // Arrange
+        String family = "\uD83D\uDC68\u200D\uD83D\uDC69\u200D\uD83D\uDC67 \u0645\u200C\u06CC";
+
+        // Act & Assert
+        assertEquals(family, MessageSanitizer.sanitize(family));
+    }
+
+    @Test
+    void sanitize_WithOnlyInvisibleCharacters_ShouldReturnEmptyString() {
+        assertEquals("", MessageSanitizer.sanitize("\u200B \u0000\t\uFEFF\n"));
+    }
+
+    @Test
+    void sanitize_WithCleanPrefixEndingInSpace_ShouldNotKeepDoubleSpace() {
+        assertEquals("a b", MessageSanitizer.sanitize("a \u00A0b"));
+    }
+
+    @Test
+    void sanitize_WhenAppliedTwice_ShouldReturnSameInstanceTheSecondTime() {
+        // Arrange
+        String sanitized = MessageSanitizer.sanitize("  Cafe\u0301\u200B \t  ouvert\r\n");
+
+        // Act & Assert
+        assertSame(sanitized, MessageSanitizer.sanitize(sanitized));
+    }
+}
@@ -0,0 +1,157 @@
+package com.allan.javazure.service;
+
+import com.allan.javazure.service.MessageLayout.TimeRange;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.Query;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MessageTimelineReader.
+ * Tests merging of shard queries into a single ordered view and lazy paging.
+ * 
+ * @author Allan
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageTimelineReaderTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private Firestore mockFirestore;
+
+    @Mock
+    private MessageLayout mockLayout;
+
+    @Test
+    void read_ShouldMergeShardsAndSlicesInCreatedAtOrder() {
+        TimeRange first = new TimeRange(START, START.plusSeconds(60));
+        TimeRange second = new TimeRange(START.plusSeconds(60), START.plusSeconds(120));
+        Query shardA = shard(page(document(1), document(4)), page(document(5)));
+        Query shardB = shard(page(document(2), document(3)), page());
+        Query shardC = shard(page(document(61)));
+        when(mockLayout.slices(START, START.plusSeconds(120))).thenReturn(List.of(first, second));
+        when(mockLayout.queries(mockFirestore, first, Query.Direction.ASCENDING)).thenReturn(List.of(shardA, shardB));
+        when(mockLayout.queries(mockFirestore, second, Query.Direction.ASCENDING)).thenReturn(List.of(shardC));
+
+        MessageTimelineReader reader = new MessageTimelineReader(mockFirestore, mockLayout, 2);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 61L), seconds(reader.read(START, START.plusSeconds(120))));
+    }
+
+    @Test
+    void read_ShouldNotOpenLaterSlicesBeforeTheyAreReached() {
+        TimeRange first = new TimeRange(START, START.plusSeconds(60));
+        TimeRange second = new TimeRange(START.plusSeconds(60), START.plusSeconds(120));
+        Query shardA = shard(page(document(1)));
+        when(mockLayout.slices(START, START.plusSeconds(120))).thenReturn(List.of(first, second));
+        when(mockLayout.queries(mockFirestore, first, Query.Direction.ASCENDING)).thenReturn(List.of(shardA));
+
+        Iterator<QueryDocumentSnapshot> iterator =
+                new MessageTimelineReader(mockFirestore, mockLayout, 2).read(START, START.plusSeconds(120));
+        iterator.next();
+
+        verify(mockLayout, never()).queries(mockFirestore, second, Query.Direction.ASCENDING);
+    }
+
+    @Test
+    void findEarliestCreatedAt_ShouldSkipEmptySlicesAndTakeTheEarliestShard() {
+        TimeRange emptied = new TimeRange(START, START.plusSeconds(60));
+        TimeRange stored = new TimeRange(START.plusSeconds(60), START.plusSeconds(120));
+        List<Query> emptiedShards = List.of(first(page()), first(page()));
+        List<Query> storedShards = List.of(first(page(document(75))), first(page(document(62))));
+        when(mockLayout.storedSlices(mockFirestore)).thenReturn(List.of(emptied, stored));
+        when(mockLayout.queries(mockFirestore, emptied, Query.Direction.ASCENDING)).thenReturn(emptiedShards);
+        when(mockLayout.queries(mockFirestore, stored, Query.Direction.ASCENDING)).thenReturn(storedShards);
+
+        MessageTimelineReader reader = new MessageTimelineReader(mockFirestore, mockLayout, 10);
+
+        assertEquals(Optional.of(START.plusSeconds(62)), reader.findEarliestCreatedAt());
+    }
+
+    @Test
+    void findEarliestCreatedAt_WithoutMessages_ShouldReturnEmpty() {
+        when(mockLayout.storedSlices(mockFirestore)).thenReturn(List.of());
+
+        assertTrue(new MessageTimelineReader(mockFirestore, mockLayout, 10).findEarliestCreatedAt().isEmpty());
+    }
+
+    @Test
+    void findCreatedAtFromNewest_ShouldWalkSlicesFromTheNewest() {
+        TimeRange older = new TimeRange(START, START.plusSeconds(60));
+        TimeRange newer = new TimeRange(START.plusSeconds(60), START.plusSeconds(120));
+        Query newerShard = projected(shard(page(document(90), document(70)), page()));
+        Query olderShard = projected(shard(page(document(40), document(10)), page()));
+        when(mockLayout.storedSlices(mockFirestore)).thenReturn(List.of(older, newer));
+        when(mockLayout.queries(mockFirestore, newer, Query.Direction.DESCENDING)).thenReturn(List.of(newerShard));
+        when(mockLayout.queries(mockFirestore, older, Query.Direction.DESCENDING)).thenReturn(List.of(olderShard));
+
+        MessageTimelineReader reader = new MessageTimelineReader(mockFirestore, mockLayout, 2);
+
+        assertEquals(Optional.of(START.plusSeconds(40)), reader.findCreatedAtFromNewest(2));
+        assertEquals(Optional.empty(), reader.findCreatedAtFromNewest(4));
+    }
+
+    private Query shard(QuerySnapshot firstPage, QuerySnapshot... nextPages) {
+        Query query = mock(Query.class);
+        when(query.limit(2)).thenReturn(query);
+        when(query.get()).thenReturn(ApiFutures.immediateFuture(firstPage));
+        QuerySnapshot previous = firstPage;
+        for (QuerySnapshot next : nextPages) {
+            Query after = mock(Query.class);
+            List<QueryDocumentSnapshot> documents = previous.getDocuments();
+            when(query.startAfter(documents.get(documents.size() - 1))).thenReturn(after);
+            when(after.get()).thenReturn(ApiFutures.immediateFuture(next));
+            previous = next;
+        }
+        return query;
+    }
+
+    private Query first(QuerySnapshot page) {
+        Query query = mock(Query.class);
+        when(query.limit(1)).thenReturn(query);
+        when(query.get()).thenReturn(ApiFutures.immediateFuture(page));
+        return query;
+    }
+
+    private Query projected(Query query) {
+        when(query.select("createdAt")).thenReturn(query);
+        return query;
+    }
+
+    private QuerySnapshot page(QueryDocumentSnapshot... documents) {
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(List.of(documents));
+        return snapshot;
+    }
+
+    private QueryDocumentSnapshot document(long second) {
+        QueryDocumentSnapshot document = mock(QueryDocumentSnapshot.class);
+        lenient().when(document.getTimestamp("createdAt"))
+                .thenReturn(Timestamp.ofTimeSecondsAndNanos(START.getEpochSecond() + second, 0));
+        return document;
+    }
+
+    private List<Long> seconds(Iterator<QueryDocumentSnapshot> documents) {
+        List<Long> seconds = new ArrayList<>();
+        documents.forEachRemaining(document ->
+                seconds.add(document.getTimestamp("createdAt").getSeconds() - START.getEpochSecond()));
+        return seconds;
+    }
+}
@@ -0,0 +1,64 @@
+package com.allan.javazure.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileSpanExporter.
+ * Tests the NDJSON span format and appending across exports.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class FileSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void export_ShouldAppendOneJsonLinePerSpan() throws Exception {
+        // Arrange
+        Path file = tempDir.resolve("traces/spans.ndjson");
+        FileSpanExporter exporter = new FileSpanExporter(file, objectMapper);
+
+        // Act
+        try (SdkTracerProvider provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter)).build()) {
+            Tracer tracer = provider.get("test");
+            Span root = tracer.spanBuilder("root").startSpan();
+            Span child = tracer.spanBuilder("child").setParent(Context.root().with(root))
+                    .setAttribute("mode", "firestore").startSpan();
+            child.setStatus(StatusCode.ERROR);
+            child.end();
+            root.end();
+        }
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode root = objectMapper.readTree(lines.get(1));
+        assertEquals("child", child.get("name").asText());
+        assertEquals("ERROR", child.get("status").asText());
+        assertEquals("firestore", child.get("attributes").get("mode").asText());
+        assertEquals(root.get("spanId").asText(), child.get("parentSpanId").asText());
+        assertEquals(root.get("traceId").asText(), child.get("traceId").asText());
+        assertTrue(root.get("parentSpanId").isNull());
+    }
+}
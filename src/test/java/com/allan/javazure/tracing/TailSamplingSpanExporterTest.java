@@ -0,0 +1,237 @@
+package com.allan.javazure.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TailSamplingSpanExporter.
+ * Tests that slow and failed traces are always kept, fast traces are sampled,
+ * and the buffer is bounded by size and age.
+ *
+ * @author Allan
+ * @version 1.0.0
+ */
+class TailSamplingSpanExporterTest {
+
+    private static final Duration SLOW = Duration.ofMillis(500);
+
+    private static final long START_MILLIS = 1_700_000_000_000L;
+
+    private final RecordingExporter delegate = new RecordingExporter();
+    private final AtomicLong clock = new AtomicLong();
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        if (tracerProvider != null) {
+            tracerProvider.close();
+        }
+    }
+
+    @Test
+    void export_WithFastSuccessfulTraceAndZeroRatio_ShouldDropWholeTrace() {
+        // Arrange
+        TailSamplingSpanExporter exporter = exporter(0.0, 100);
+        Tracer tracer = tracer(exporter);
+
+        // Act
+        trace(tracer, 10, false);
+
+        // Assert
+        assertTrue(delegate.spans.isEmpty());
+        assertEquals(1, exporter.getDroppedTraces());
+        assertEquals(0, exporter.getBufferedTraces());
+    }
+
+    @Test
+    void export_WithSlowTrace_ShouldKeepEverySpanOfTrace() {
+        // Arrange
+        TailSamplingSpanExporter exporter = exporter(0.0, 100);
+        Tracer tracer = tracer(exporter);
+
+        // Act
+        trace(tracer, 800, false);
+
+        // Assert
+        assertEquals(2, delegate.spans.size());
+        assertEquals(1, exporter.getKeptTraces());
+    }
+
+    @Test
+    void export_WithFailedChildSpan_ShouldKeepFastTrace() {
+        // Arrange
+        TailSamplingSpanExporter exporter = exporter(0.0, 100);
+        Tracer tracer = tracer(exporter);
+
+        // Act
+        trace(tracer, 10, true);
+
+        // Assert
+        assertEquals(2, delegate.spans.size());
+        assertTrue(delegate.spans.stream().anyMatch(span -> span.getStatus().getStatusCode() == StatusCode.ERROR));
+    }
+
+    @Test
+    void export_WithPartialRatio_ShouldKeepFractionOfFastTraces() {
+        // Arrange
+        TailSamplingSpanExporter exporter = exporter(0.25, 10_000);
+        Tracer tracer = tracer(exporter);
+
+        // Act
+        for (int i = 0; i < 2000; i++) {
+            trace(tracer, 10, false);
+        }
+
+        // Assert
+        long kept = exporter.getKeptTraces();
+        assertEquals(2000, kept + exporter.getDroppedTraces());
+        assertTrue(kept > 400 && kept < 600, "kept " + kept);
+        assertEquals(kept * 2, delegate.spans.size());
+    }
+
+    @Test
+    void export_WithRemoteParent_ShouldTreatLocalSpanAsRoot() {
+        // Arrange
+        TailSamplingSpanExporter exporter = exporter(0.0, 100);
+        Tracer tracer = tracer(exporter);
+        SpanContext remote = SpanContext.createFromRemoteParent("4bf92f3577b34da6a3ce929d0e0e4736",
+                "00f067aa0ba902b7", TraceFlags.getSampled(), TraceState.getDefault());
+
+        // Act
+        Span server = tracer.spanBuilder("server")
+                .setParent(Context.root().with(Span.wrap(remote)))
+                .setStartTimestamp(START_MILLIS, TimeUnit.MILLISECONDS)
+                .startSpan();
+        server.end(START_MILLIS + 900, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(1, delegate.spans.size());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", delegate.spans.get(0).getTraceId());
+    }
+
+    @Test
+    void export_WhenRootNeverArrives_ShouldDecideTraceOnceExpired() {
+        // Arrange
+        TailSamplingSpanExporter exporter = exporter(0.0, 100);
+        Tracer tracer = tracer(exporter);
+        Span root = tracer.spanBuilder("root").setStartTimestamp(START_MILLIS, TimeUnit.MILLISECONDS).startSpan();
+        Span child = tracer.spanBuilder("child").setParent(Context.root().with(root))
+                .setStartTimestamp(START_MILLIS, TimeUnit.MILLISECONDS).startSpan();
+        child.setStatus(StatusCode.ERROR);
+        child.end(START_MILLIS + 5, TimeUnit.MILLISECONDS);
+        assertEquals(1, exporter.getBufferedTraces());
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        exporter.export(List.of());
+        root.end(START_MILLIS + 10, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertEquals(0, exporter.getBufferedTraces());
+        assertEquals(List.of("child", "root"), delegate.spans.stream().map(SpanData::getName).toList());
+    }
+
+    @Test
+    void export_WhenBufferIsFull_ShouldDecideOldestTraceEarly() {
+        // Arrange
+        TailSamplingSpanExporter exporter = exporter(0.0, 2);
+        Tracer tracer = tracer(exporter);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            Span root = tracer.spanBuilder("root").startSpan();
+            tracer.spanBuilder("child").setParent(Context.root().with(root)).startSpan().end();
+        }
+
+        // Assert
+        assertEquals(2, exporter.getBufferedTraces());
+        assertEquals(3, exporter.getDroppedTraces());
+    }
+
+    @Test
+    void shutdown_ShouldDecideBufferedTracesAndShutDownDelegate() {
+        // Arrange
+        TailSamplingSpanExporter exporter = exporter(1.0, 100);
+        Tracer tracer = tracer(exporter);
+        Span root = tracer.spanBuilder("root").startSpan();
+        tracer.spanBuilder("child").setParent(Context.root().with(root)).startSpan().end();
+
+        // Act
+        CompletableResultCode result = exporter.shutdown();
+
+        // Assert
+        assertTrue(result.join(1, TimeUnit.SECONDS).isSuccess());
+        assertEquals(1, delegate.spans.size());
+        assertTrue(delegate.shutDown);
+    }
+
+    @Test
+    void constructor_WithRatioOutOfRange_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TailSamplingSpanExporter(delegate, SLOW, 1.5, 100, Duration.ofSeconds(30)));
+    }
+
+    private TailSamplingSpanExporter exporter(double ratio, int maxBufferedTraces) {
+        return new TailSamplingSpanExporter(delegate, SLOW, ratio, maxBufferedTraces, Duration.ofSeconds(30), clock::get);
+    }
+
+    private Tracer tracer(SpanExporter exporter) {
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+        return tracerProvider.get("test");
+    }
+
+    private static void trace(Tracer tracer, long rootMillis, boolean childFails) {
+        Span root = tracer.spanBuilder("root").setStartTimestamp(START_MILLIS, TimeUnit.MILLISECONDS).startSpan();
+        Span child = tracer.spanBuilder("child").setParent(Context.root().with(root))
+                .setStartTimestamp(START_MILLIS + 1, TimeUnit.MILLISECONDS).startSpan();
+        if (childFails) {
+            child.setStatus(StatusCode.ERROR);
+        }
+        child.end(START_MILLIS + rootMillis - 1, TimeUnit.MILLISECONDS);
+        root.end(START_MILLIS + rootMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static final class RecordingExporter implements SpanExporter {
+
+        private final List<SpanData> spans = new ArrayList<>();
+        private boolean shutDown;
+
+        @Override
+        public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+            spans.addAll(batch);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            shutDown = true;
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
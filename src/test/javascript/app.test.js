@@ -10,6 +10,8 @@
 const {
     DOMElements,
     AlertManager, 
+    OutboxStore,
+    MessageOutbox,
     FormManager,
     PortfolioApp,
     AppConfig
@@ -348,9 +350,259 @@ describe('PortfolioApp', () => {
     });
 });
 
+// In-memory stand-in for the IndexedDB outbox store
+class MemoryOutboxStore {
+    constructor() {
+        this.entries = new Map();
+    }
+
+    async put(entry) {
+        this.entries.set(entry.key, { ...entry });
+    }
+
+    async delete(key) {
+        this.entries.delete(key);
+    }
+
+    async getAll() {
+        return [...this.entries.values()];
+    }
+}
+
+const createResponse = (status, data = {}, headers = {}) => ({
+    ok: status >= 200 && status < 300,
+    status,
+    headers: { get: (name) => headers[name] || null },
+    json: jest.fn().mockResolvedValue(data)
+});
+
+describe('MessageOutbox', () => {
+    let store;
+    let fetchMock;
+    let setTimer;
+    let now;
+    let outbox;
+
+    const createOutbox = (options = {}) => new MessageOutbox(store, {
+        fetch: fetchMock,
+        now: () => now,
+        random: () => 0.5,
+        setTimer,
+        clearTimer: jest.fn(),
+        batchEndpoint: null,
+        ...options
+    });
+
+    beforeEach(() => {
+        store = new MemoryOutboxStore();
+        fetchMock = jest.fn();
+        setTimer = jest.fn().mockReturnValue(1);
+        now = 1000000;
+        outbox = createOutbox();
+    });
+
+    test('should send message with idempotency key and remove it from the store', async () => {
+        fetchMock.mockResolvedValue(createResponse(200, { message: 'Message sent!' }));
+
+        const outcome = await outbox.submit({ content: 'Hello', author: 'Allan' }, 'key-1');
+
+        expect(outcome).toEqual({ status: 'sent', data: { message: 'Message sent!' } });
+        expect(fetchMock).toHaveBeenCalledWith('/messages', {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+                'Idempotency-Key': 'key-1'
+            },
+            body: JSON.stringify({ content: 'Hello', author: 'Allan' })
+        });
+        expect(store.entries.size).toBe(0);
+        expect(setTimer).not.toHaveBeenCalled();
+    });
+
+    test('should keep message queued with backoff when the network fails', async () => {
+        fetchMock.mockRejectedValue(new Error('Network error'));
+
+        const outcome = await outbox.submit({ content: 'Hello', author: null }, 'key-1');
+
+        expect(outcome).toEqual({ status: 'queued' });
+        const entry = store.entries.get('key-1');
+        expect(entry.attempts).toBe(1);
+        expect(entry.nextAttemptAt).toBe(now + 750);
+        expect(setTimer).toHaveBeenCalledWith(expect.any(Function), 750);
+    });
+
+    test('should honor Retry-After in seconds', async () => {
+        fetchMock.mockResolvedValue(createResponse(503, {}, { 'Retry-After': '30' }));
+
+        await outbox.submit({ content: 'Hello', author: null }, 'key-1');
+
+        expect(store.entries.get('key-1').nextAttemptAt).toBe(now + 30000);
+    });
+
+    test('should drop message rejected as invalid', async () => {
+        fetchMock.mockResolvedValue(createResponse(400, { message: 'Content is required' }));
+
+        const outcome = await outbox.submit({ content: ' ', author: null }, 'key-1');
+
+        expect(outcome).toEqual({ status: 'rejected', message: 'Content is required' });
+        expect(store.entries.size).toBe(0);
+    });
+
+    test('should replace queued entry when the same draft is submitted again', async () => {
+        fetchMock.mockRejectedValue(new Error('Network error'));
+
+        await outbox.submit({ content: 'Hello', author: null }, 'key-1');
+        await outbox.submit({ content: 'Hello', author: null }, 'key-1');
+
+        expect(store.entries.size).toBe(1);
+    });
+
+    test('should not send entries before they are due', async () => {
+        await store.put({ key: 'key-1', content: 'Hello', author: null, attempts: 1, createdAt: now, nextAttemptAt: now + 5000 });
+
+        await outbox.flush();
+
+        expect(fetchMock).not.toHaveBeenCalled();
+        expect(setTimer).toHaveBeenCalledWith(expect.any(Function), 5000);
+    });
+
+    test('should stop flushing after the first retryable failure', async () => {
+        await store.put({ key: 'key-1', content: 'First', author: null, attempts: 0, createdAt: now - 2, nextAttemptAt: now });
+        await store.put({ key: 'key-2', content: 'Second', author: null, attempts: 0, createdAt: now - 1, nextAttemptAt: now });
+        fetchMock.mockResolvedValue(createResponse(503));
+
+        await outbox.flush();
+
+        expect(fetchMock).toHaveBeenCalledTimes(1);
+        expect(store.entries.get('key-1').attempts).toBe(1);
+        expect(store.entries.get('key-2').attempts).toBe(0);
+    });
+
+    test('should drop entries older than the maximum age', async () => {
+        const warnSpy = jest.spyOn(console, 'warn').mockImplementation();
+        await store.put({ key: 'key-1', content: 'Old', author: null, attempts: 9, createdAt: now - AppConfig.OUTBOX.MAX_AGE_MS - 1, nextAttemptAt: now });
+
+        await outbox.flush();
+
+        expect(fetchMock).not.toHaveBeenCalled();
+        expect(store.entries.size).toBe(0);
+        warnSpy.mockRestore();
+    });
+
+    test('should coalesce due entries into one batch when the server supports it', async () => {
+        outbox = createOutbox({ batchEndpoint: '/messages/batch' });
+        await store.put({ key: 'key-1', content: 'First', author: null, attempts: 0, createdAt: now - 2, nextAttemptAt: now });
+        await store.put({ key: 'key-2', content: '', author: null, attempts: 0, createdAt: now - 1, nextAttemptAt: now });
+        fetchMock.mockResolvedValue(createResponse(200, { failures: [{ index: 1, message: 'Content is required' }] }));
+
+        const outcomes = await outbox.flush();
+
+        expect(fetchMock).toHaveBeenCalledTimes(1);
+        expect(JSON.parse(fetchMock.mock.calls[0][1].body).messages.map(m => m.idempotencyKey)).toEqual(['key-1', 'key-2']);
+        expect(outcomes.get('key-1').status).toBe('sent');
+        expect(outcomes.get('key-2')).toEqual({ status: 'rejected', message: 'Content is required' });
+        expect(store.entries.size).toBe(0);
+    });
+
+    test('should grow backoff exponentially up to the maximum delay', () => {
+        expect(outbox.backoffDelay(1)).toBe(750);
+        expect(outbox.backoffDelay(3)).toBe(3000);
+        expect(outbox.backoffDelay(20)).toBe(AppConfig.OUTBOX.MAX_DELAY_MS * 0.75);
+        expect(outbox.backoffDelay(1, 10000)).toBe(10000);
+    });
+
+    test('should parse Retry-After as seconds or HTTP date', () => {
+        const date = new Date(now + 5000).toUTCString();
+
+        expect(MessageOutbox.parseRetryAfter('12', now)).toBe(12000);
+        expect(MessageOutbox.parseRetryAfter(date, now)).toBe(5000);
+        expect(MessageOutbox.parseRetryAfter('soon', now)).toBe(null);
+        expect(MessageOutbox.parseRetryAfter(null, now)).toBe(null);
+    });
+
+    test('should treat only transient statuses as retryable', () => {
+        expect(MessageOutbox.isRetryable(503)).toBe(true);
+        expect(MessageOutbox.isRetryable(429)).toBe(true);
+        expect(MessageOutbox.isRetryable(408)).toBe(true);
+        expect(MessageOutbox.isRetryable(400)).toBe(false);
+    });
+
+    test('should generate distinct idempotency keys', () => {
+        expect(MessageOutbox.createKey()).not.toBe(MessageOutbox.createKey());
+    });
+});
+
+describe('FormManager with outbox', () => {
+    let elements;
+    let alertManager;
+    let outbox;
+    let formManager;
+    let event;
+
+    beforeEach(() => {
+        setupMockDOM();
+        elements = new DOMElements();
+        alertManager = new AlertManager(elements);
+        outbox = { submit: jest.fn() };
+        formManager = new FormManager(elements, alertManager, outbox);
+        event = {
+            preventDefault: jest.fn(),
+            target: elements.messageForm
+        };
+        elements.contentInput.value = 'Test message';
+        global.fetch = jest.fn();
+    });
+
+    afterEach(() => {
+        jest.resetAllMocks();
+    });
+
+    test('should show success and clear form when sent', async () => {
+        outbox.submit.mockResolvedValue({ status: 'sent', data: { message: 'Message sent!' } });
+        const showSpy = jest.spyOn(alertManager, 'show');
+
+        await formManager.handleSubmit(event);
+
+        expect(outbox.submit).toHaveBeenCalledWith({ content: 'Test message', author: null }, expect.any(String));
+        expect(showSpy).toHaveBeenCalledWith('Success!', 'Message sent!', true);
+        expect(elements.contentInput.value).toBe('');
+        expect(formManager.draftKey).toBe(null);
+        expect(global.fetch).not.toHaveBeenCalled();
+    });
+
+    test('should clear form when message is queued for retry', async () => {
+        outbox.submit.mockResolvedValue({ status: 'queued' });
+        const showSpy = jest.spyOn(alertManager, 'show');
+
+        await formManager.handleSubmit(event);
+
+        expect(showSpy).toHaveBeenCalledWith('Saved!', expect.any(String), true);
+        expect(elements.contentInput.value).toBe('');
+    });
+
+    test('should keep draft and its key when message is rejected', async () => {
+        outbox.submit.mockResolvedValue({ status: 'rejected', message: 'Content is too long' });
+        const showSpy = jest.spyOn(alertManager, 'show');
+
+        await formManager.handleSubmit(event);
+        await formManager.handleSubmit(event);
+
+        expect(showSpy).toHaveBeenCalledWith('Error', 'Content is too long', false);
+        expect(elements.contentInput.value).toBe('Test message');
+        expect(outbox.submit.mock.calls[0][1]).toBe(outbox.submit.mock.calls[1][1]);
+    });
+});
+
+describe('OutboxStore', () => {
+    test('should not be supported without IndexedDB', () => {
+        expect(OutboxStore.isSupported()).toBe(false);
+    });
+});
+
 describe('AppConfig', () => {
     test('should have correct configuration values', () => {
         expect(AppConfig.ENDPOINTS.MESSAGES).toBe('/messages');
+        expect(AppConfig.ENDPOINTS.MESSAGES_BATCH).toBe(null);
         expect(AppConfig.TIMEOUTS.FOCUS_DELAY).toBe(100);
         expect(AppConfig.ICONS.SUCCESS).toBe('✅');
         expect(AppConfig.ICONS.ERROR).toBe('❌');